@@ -1,16 +1,36 @@
 package com.modernized.controllers;
 
+import com.modernized.dto.AccountLookupRequest;
+import com.modernized.dto.AccountLookupResponse;
+import com.modernized.dto.AccountLookupResponse.AccountLookupResult;
 import com.modernized.dto.AccountResponse;
 import com.modernized.dto.AccountUpdateRequest;
 import com.modernized.entities.Account;
 import com.modernized.entities.Customer;
 import com.modernized.repositories.AccountRepository;
+import com.modernized.services.AccountUpdateService;
 import com.modernized.services.AccountValidationService;
+import com.modernized.services.AccountViewCache;
 import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Account Management Controller
@@ -21,13 +41,61 @@ import java.util.Optional;
 @RequestMapping("/api/accounts")
 public class AccountController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    /** Account fields a merge patch may set, by AccountUpdateRequest property name. */
+    private static final Map<String, BiConsumer<Account, AccountUpdateRequest>> ACCOUNT_PATCH_FIELDS = Map.ofEntries(
+            Map.entry("acctActiveStatus", (account, values) -> account.setAcctActiveStatus(values.getAcctActiveStatus())),
+            Map.entry("acctCurrBal", (account, values) -> account.setAcctCurrBal(values.getAcctCurrBal())),
+            Map.entry("acctCreditLimit", (account, values) -> account.setAcctCreditLimit(values.getAcctCreditLimit())),
+            Map.entry("acctCashCreditLimit", (account, values) -> account.setAcctCashCreditLimit(values.getAcctCashCreditLimit())),
+            Map.entry("acctOpenDate", (account, values) -> account.setAcctOpenDate(values.getAcctOpenDate())),
+            Map.entry("acctExpiraionDate", (account, values) -> account.setAcctExpiraionDate(values.getAcctExpiraionDate())),
+            Map.entry("acctReissueDate", (account, values) -> account.setAcctReissueDate(values.getAcctReissueDate())),
+            Map.entry("acctCurrCycCredit", (account, values) -> account.setAcctCurrCycCredit(values.getAcctCurrCycCredit())),
+            Map.entry("acctCurrCycDebit", (account, values) -> account.setAcctCurrCycDebit(values.getAcctCurrCycDebit())),
+            Map.entry("acctAddrZip", (account, values) -> account.setAcctAddrZip(values.getAcctAddrZip())),
+            Map.entry("acctGroupId", (account, values) -> account.setAcctGroupId(values.getAcctGroupId())));
+
+    /** Customer fields a merge patch may set, by AccountUpdateRequest property name. */
+    private static final Map<String, BiConsumer<Customer, AccountUpdateRequest>> CUSTOMER_PATCH_FIELDS = Map.ofEntries(
+            Map.entry("customerFirstName", (customer, values) -> customer.setCustFirstName(values.getCustomerFirstName())),
+            Map.entry("customerLastName", (customer, values) -> customer.setCustLastName(values.getCustomerLastName())),
+            Map.entry("customerSsn", (customer, values) -> customer.setCustSsn(values.getCustomerSsn() == null
+                    ? null : Long.parseLong(values.getCustomerSsn().replace("-", "").trim()))),
+            Map.entry("customerDateOfBirth", (customer, values) -> customer.setCustDobYyyyMmDd(values.getCustomerDateOfBirth())),
+            Map.entry("customerFicoScore", (customer, values) -> customer.setCustFicoCreditScore(values.getCustomerFicoScore())),
+            Map.entry("customerPhone1", (customer, values) -> customer.setCustPhoneNum1(values.getCustomerPhone1())),
+            Map.entry("customerPhone2", (customer, values) -> customer.setCustPhoneNum2(values.getCustomerPhone2())),
+            Map.entry("customerAddress1", (customer, values) -> customer.setCustAddrLine1(values.getCustomerAddress1())),
+            Map.entry("customerAddress2", (customer, values) -> customer.setCustAddrLine2(values.getCustomerAddress2())),
+            Map.entry("customerCity", (customer, values) -> customer.setCustAddrLine3(values.getCustomerCity())),
+            Map.entry("customerState", (customer, values) -> customer.setCustAddrStateCd(values.getCustomerState())),
+            Map.entry("customerZipCode", (customer, values) -> customer.setCustAddrZip(values.getCustomerZipCode())),
+            Map.entry("customerCountry", (customer, values) -> customer.setCustAddrCountryCd(values.getCustomerCountry())),
+            Map.entry("customerGovtIssuedId", (customer, values) -> customer.setCustGovtIssuedId(values.getCustomerGovtIssuedId())),
+            Map.entry("customerEftAccountId", (customer, values) -> customer.setCustEftAccountId(values.getCustomerEftAccountId())),
+            Map.entry("customerPriCardHolderInd", (customer, values) -> customer.setCustPriCardHolderInd(values.getCustomerPriCardHolderInd())));
+
     private final AccountRepository accountRepository;
+    private final AccountViewCache accountViewCache;
+    private final AccountUpdateService accountUpdateService;
     private final AccountValidationService accountValidationService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     public AccountController(AccountRepository accountRepository, 
-                           AccountValidationService accountValidationService) {
+                           AccountViewCache accountViewCache,
+                           AccountUpdateService accountUpdateService,
+                           AccountValidationService accountValidationService,
+                           ObjectMapper objectMapper,
+                           Validator validator) {
         this.accountRepository = accountRepository;
+        this.accountViewCache = accountViewCache;
+        this.accountUpdateService = accountUpdateService;
         this.accountValidationService = accountValidationService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
@@ -36,20 +104,46 @@ public class AccountController {
      * 
      * Retrieves comprehensive account and customer information for display.
      * Based on SCREEN-004 (Account View) functionality.
+     * Served from the account view cache, or read with a single account-customer
+     * join without loading entities.
      * 
      * @param accountId 11-digit account number
      * @return AccountResponse with account and customer details
      */
     @GetMapping("/{accountId}")
     public ResponseEntity<AccountResponse> getAccount(@PathVariable Long accountId) {
-        Optional<Account> accountOpt = accountRepository.findById(accountId);
+        AccountResponse response = accountViewCache.find(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account ID NOT found"));
         
-        if (accountOpt.isEmpty()) {
-            throw new EntityNotFoundException("Account ID NOT found");
-        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Look Up Accounts
+     * POST /api/accounts/lookup
+     * 
+     * Retrieves account and customer information for up to 1000 accounts at once.
+     * Cached views are reused and the rest are read with account-customer joins of
+     * at most 1000 IDs per IN list, so the request costs at most one query.
+     * Results follow the request order, duplicates included; unknown accounts
+     * are returned with found = false instead of failing the request.
+     * 
+     * @param lookupRequest Account IDs to look up
+     * @return AccountLookupResponse with one result per requested ID
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<AccountLookupResponse> lookupAccounts(
+            @Valid @RequestBody AccountLookupRequest lookupRequest) {
         
-        Account account = accountOpt.get();
-        AccountResponse response = mapToAccountResponse(account);
+        List<Long> accountIds = lookupRequest.getAccountIds();
+        Map<Long, AccountResponse> views = accountViewCache.findAll(accountIds);
+        
+        AccountLookupResponse response = new AccountLookupResponse();
+        for (Long accountId : accountIds) {
+            response.getResults().add(new AccountLookupResult(accountId, views.get(accountId)));
+        }
+        response.setRequestedCount(accountIds.size());
+        response.setFoundCount((int) response.getResults().stream().filter(AccountLookupResult::isFound).count());
         
         return ResponseEntity.ok(response);
     }
@@ -60,6 +154,8 @@ public class AccountController {
      * 
      * Updates account and customer information with field-level validation.
      * Based on SCREEN-005 (Account Update) functionality.
+     * The updated view is written through to the account view cache, and the
+     * customer's other accounts are invalidated in it.
      * 
      * @param accountId Account ID to update
      * @param updateRequest Updated account and customer data
@@ -70,6 +166,7 @@ public class AccountController {
             @PathVariable Long accountId,
             @Valid @RequestBody AccountUpdateRequest updateRequest) {
         
+        long cacheStamp = accountViewCache.stamp(accountId);
         Optional<Account> accountOpt = accountRepository.findById(accountId);
         
         if (accountOpt.isEmpty()) {
@@ -81,10 +178,82 @@ public class AccountController {
         
         Account savedAccount = accountRepository.save(account);
         AccountResponse response = mapToAccountResponse(savedAccount);
+        accountViewCache.writeThrough(response, cacheStamp);
+        if (savedAccount.getCustomer() != null) {
+            accountViewCache.invalidateCustomerAfterCommit(savedAccount.getCustomer().getCustId(), accountId);
+        }
         
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Patch Account Information
+     * PATCH /api/accounts/{id}
+     * 
+     * Applies a JSON merge patch (RFC 7396) using AccountUpdateRequest field names:
+     * only the fields present are validated and set, and null clears a field.
+     * Account and Customer are updated with only their changed columns, and the
+     * customer is not read or written when no customer field is patched.
+     * The response is read back through the account view cache; a customer patch
+     * also invalidates the customer's other accounts in it.
+     * Based on SCREEN-005 (Account Update) functionality.
+     * 
+     * @param accountId Account ID to update
+     * @param patch Merge patch object
+     * @return AccountResponse with updated information
+     */
+    @PatchMapping(value = "/{accountId}", consumes = { MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<AccountResponse> patchAccount(@PathVariable Long accountId, @RequestBody JsonNode patch) {
+        if (!patch.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        
+        AccountUpdateRequest values;
+        try {
+            values = objectMapper.readerFor(AccountUpdateRequest.class)
+                    .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(patch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch");
+        }
+        
+        Set<String> fields = new LinkedHashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        Set<ConstraintViolation<AccountUpdateRequest>> violations = new HashSet<>();
+        for (String field : fields) {
+            violations.addAll(validator.validateProperty(values, field));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        
+        boolean customerPatched = fields.stream().anyMatch(CUSTOMER_PATCH_FIELDS::containsKey);
+        accountUpdateService.updateAccount(accountId, account -> {
+            applyPatch(account, values, fields);
+            if (customerPatched && account.getCustomer() != null) {
+                accountViewCache.invalidateCustomerAfterCommit(account.getCustomer().getCustId(), accountId);
+            }
+            return null;
+        });
+        
+        AccountResponse response = accountViewCache.find(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account ID NOT found"));
+        return ResponseEntity.ok(response);
+    }
+
+    private static void applyPatch(Account account, AccountUpdateRequest values, Set<String> fields) {
+        for (String field : fields) {
+            BiConsumer<Account, AccountUpdateRequest> accountField = ACCOUNT_PATCH_FIELDS.get(field);
+            if (accountField != null) {
+                accountField.accept(account, values);
+            } else if (account.getCustomer() != null) {
+                CUSTOMER_PATCH_FIELDS.get(field).accept(account.getCustomer(), values);
+            }
+        }
+    }
+
     private AccountResponse mapToAccountResponse(Account account) {
         AccountResponse response = new AccountResponse();
         response.setAcctId(account.getAcctId());
@@ -99,6 +268,7 @@ public class AccountController {
         response.setAcctCurrCycDebit(account.getAcctCurrCycDebit());
         response.setAcctAddrZip(account.getAcctAddrZip());
         response.setAcctGroupId(account.getAcctGroupId());
+        response.setAcctVersion(account.getAcctVersion());
         
         if (account.getCustomer() != null) {
             Customer customer = account.getCustomer();
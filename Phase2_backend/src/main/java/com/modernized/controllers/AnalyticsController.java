@@ -0,0 +1,83 @@
+package com.modernized.controllers;
+
+import com.modernized.dto.SnapshotReloadResponse;
+import com.modernized.dto.TransactionAnalyticsResponse;
+import com.modernized.services.TransactionSnapshot;
+import com.modernized.services.TransactionSnapshot.GroupBy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+
+/**
+ * Transaction Analytics Controller
+ * Ad-hoc aggregates answered from the in-memory columnar transaction snapshot
+ * Requires carddemo.analytics.enabled
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private static final int MAX_LIMIT = 10000;
+
+    private final TransactionSnapshot transactionSnapshot;
+
+    public AnalyticsController(TransactionSnapshot transactionSnapshot) {
+        this.transactionSnapshot = transactionSnapshot;
+    }
+
+    /**
+     * Aggregate Transactions
+     * GET /api/analytics/transactions
+     * 
+     * Returns transaction count and total amount grouped by type and category,
+     * origin day, merchant or card. Day and category groups are returned in key
+     * order; merchant and card groups are the largest by total amount.
+     * 
+     * @param groupBy CATEGORY (default), DAY, MERCHANT or CARD
+     * @param fromDate Optional first origin date to include (yyyy-MM-dd)
+     * @param toDate Optional last origin date to include (yyyy-MM-dd)
+     * @param limit Maximum groups to return (default 100)
+     * @return TransactionAnalyticsResponse with totals and groups
+     */
+    @GetMapping("/transactions")
+    public ResponseEntity<TransactionAnalyticsResponse> aggregateTransactions(
+            @RequestParam(defaultValue = "CATEGORY") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        GroupBy grouping;
+        try {
+            grouping = GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Group by must be CATEGORY, DAY, MERCHANT or CARD");
+        }
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        
+        return ResponseEntity.ok(transactionSnapshot.aggregate(grouping, fromDate, toDate, limit));
+    }
+
+    /**
+     * Reload Transaction Snapshot
+     * POST /api/analytics/snapshot/reload
+     * 
+     * Rebuilds the snapshot from the transaction table. Needed after a batch of
+     * postings failed to append, which marks the snapshot stale and makes queries
+     * return 409 until it is reloaded.
+     * 
+     * @return SnapshotReloadResponse with the rows loaded and the append failures so far
+     */
+    @PostMapping("/snapshot/reload")
+    public ResponseEntity<SnapshotReloadResponse> reloadSnapshot() {
+        long startNanos = System.nanoTime();
+        int rowsLoaded = transactionSnapshot.reload();
+        return ResponseEntity.ok(new SnapshotReloadResponse(rowsLoaded, transactionSnapshot.getAppendFailures(),
+                (System.nanoTime() - startNanos) / 1_000_000));
+    }
+}
@@ -0,0 +1,188 @@
+package com.modernized.controllers;
+
+import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
+import com.modernized.dto.BatchJobResponse;
+import com.modernized.dto.BatchPostingResponse;
+import com.modernized.dto.CategoryTypeRefreshResponse;
+import com.modernized.dto.InterestRateRefreshResponse;
+import com.modernized.dto.InterestRunResponse;
+import com.modernized.dto.RollupBackfillResponse;
+import com.modernized.entities.BatchJobInstance;
+import com.modernized.services.BatchJobService;
+import com.modernized.services.DailyTransactionPostingService;
+import com.modernized.services.InterestBatchService;
+import com.modernized.services.InterestRateTable;
+import com.modernized.services.RollupService;
+import com.modernized.services.TransactionPostingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.stream.Collectors;
+
+/**
+ * Batch Job Controller
+ * Triggers the overnight batch programs that replace the COBOL batch jobs
+ * Runs synchronously and returns a run summary
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final DailyTransactionPostingService dailyTransactionPostingService;
+    private final InterestBatchService interestBatchService;
+    private final InterestRateTable interestRateTable;
+    private final BatchJobService batchJobService;
+    private final RollupService rollupService;
+    private final TransactionPostingService transactionPostingService;
+
+    public BatchController(DailyTransactionPostingService dailyTransactionPostingService,
+                           InterestBatchService interestBatchService,
+                           InterestRateTable interestRateTable,
+                           BatchJobService batchJobService,
+                           RollupService rollupService,
+                           TransactionPostingService transactionPostingService) {
+        this.dailyTransactionPostingService = dailyTransactionPostingService;
+        this.interestBatchService = interestBatchService;
+        this.interestRateTable = interestRateTable;
+        this.batchJobService = batchJobService;
+        this.rollupService = rollupService;
+        this.transactionPostingService = transactionPostingService;
+    }
+
+    /**
+     * Post Daily Transactions
+     * POST /api/batch/daily-posting
+     * 
+     * Posts all unposted daily transactions to accounts (CBTRN02C).
+     * Rejected records are recorded in daily_transaction_reject with their reason code
+     * and are not read again by later runs.
+     * If the previous run failed, it is resumed after its last finished chunk.
+     * 
+     * @return BatchPostingResponse with run counts and sample rejections
+     */
+    @PostMapping("/daily-posting")
+    public ResponseEntity<BatchPostingResponse> postDailyTransactions() {
+        return ResponseEntity.ok(dailyTransactionPostingService.postDailyTransactions());
+    }
+
+    /**
+     * Run Monthly Interest Calculation
+     * POST /api/batch/interest
+     * 
+     * Computes monthly interest on all transaction category balances and posts
+     * interest transactions and balance updates (CBACT04C).
+     * A failed run for the period is resumed and charges only the accounts not yet charged; a completed period
+     * is rejected with 409 so interest is never charged twice.
+     * Periods run in order: a month that has not begun is rejected with 400, and any
+     * period other than an unfinished one, or the month after the last completed one,
+     * with 409.
+     * 
+     * @param period Interest period as yyyy-MM, defaults to the current month
+     * @return InterestRunResponse with run counts and total interest
+     */
+    @PostMapping("/interest")
+    public ResponseEntity<InterestRunResponse> runMonthlyInterest(@RequestParam(required = false) String period) {
+        YearMonth interestPeriod;
+        try {
+            interestPeriod = period == null ? YearMonth.now() : YearMonth.parse(period);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Period must be yyyy-MM");
+        }
+        return ResponseEntity.ok(interestBatchService.runMonthlyInterest(interestPeriod));
+    }
+
+    /**
+     * Refresh Interest Rates
+     * POST /api/batch/interest-rates/refresh
+     * 
+     * Reloads the in-memory disclosure group rate table after rates change.
+     * Interest calculations switch to the new rates atomically.
+     * 
+     * @return InterestRateRefreshResponse with the number of rates loaded
+     */
+    @PostMapping("/interest-rates/refresh")
+    public ResponseEntity<InterestRateRefreshResponse> refreshInterestRates() {
+        long startNanos = System.nanoTime();
+        int ratesLoaded = interestRateTable.refresh();
+        return ResponseEntity.ok(new InterestRateRefreshResponse(ratesLoaded, (System.nanoTime() - startNanos) / 1_000_000));
+    }
+
+    /**
+     * Refresh Category Types
+     * POST /api/batch/category-types/refresh
+     * 
+     * Reloads the transaction category to type map used to validate online postings
+     * after transaction categories change.
+     * 
+     * @return CategoryTypeRefreshResponse with the number of categories loaded
+     */
+    @PostMapping("/category-types/refresh")
+    public ResponseEntity<CategoryTypeRefreshResponse> refreshCategoryTypes() {
+        long startNanos = System.nanoTime();
+        int categoriesLoaded = transactionPostingService.refreshCategoryTypes();
+        return ResponseEntity.ok(new CategoryTypeRefreshResponse(categoriesLoaded, (System.nanoTime() - startNanos) / 1_000_000));
+    }
+
+    /**
+     * Backfill Daily Rollups
+     * POST /api/batch/rollup-backfill
+     * 
+     * Rebuilds the daily transaction rollups from the transaction table, one origin
+     * day at a time. Needed once for transactions posted before rollups were kept,
+     * and for any day the rollup check reports as inconsistent.
+     * A failed run for the same range resumes after its last rebuilt day. A range that
+     * has already completed is rejected with 409 unless restart is set, which rebuilds
+     * it again as a new job instance.
+     * 
+     * @param fromDate Optional first origin date (yyyy-MM-dd), defaults to the earliest transaction
+     * @param toDate Optional last origin date (yyyy-MM-dd), defaults to the latest transaction
+     * @param restart Rebuild a range that has already completed, defaults to false
+     * @return RollupBackfillResponse with days and rows rebuilt
+     */
+    @PostMapping("/rollup-backfill")
+    public ResponseEntity<RollupBackfillResponse> backfillRollups(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        return ResponseEntity.ok(rollupService.backfill(fromDate, toDate, restart));
+    }
+
+    /**
+     * Get Batch Job
+     * GET /api/batch/jobs/{jobInstanceId}
+     * 
+     * Returns a batch job instance with its executions and step checkpoints.
+     * 
+     * @param jobInstanceId Job instance ID from a run summary
+     * @return BatchJobResponse with status, executions and checkpoints
+     */
+    @GetMapping("/jobs/{jobInstanceId}")
+    public ResponseEntity<BatchJobResponse> getJob(@PathVariable Long jobInstanceId) {
+        BatchJobInstance instance = batchJobService.findInstance(jobInstanceId)
+                .orElseThrow(() -> new EntityNotFoundException("Batch job not found"));
+
+        BatchJobResponse response = new BatchJobResponse();
+        response.setJobInstanceId(instance.getJobInstanceId());
+        response.setJobName(instance.getJobName());
+        response.setJobKey(instance.getJobKey());
+        response.setStatus(instance.getStatus().name());
+        response.setCreatedTs(instance.getCreatedTs());
+        response.setEndTs(instance.getEndTs());
+        response.setExecutions(batchJobService.findExecutions(jobInstanceId).stream()
+                .map(execution -> new BatchJobResponse.Execution(execution.getJobExecutionId(),
+                        execution.getStatus().name(), execution.getStartTs(), execution.getEndTs(),
+                        execution.getExitMessage()))
+                .collect(Collectors.toList()));
+        response.setSteps(batchJobService.findStepCheckpoints(jobInstanceId).stream()
+                .map(step -> new BatchJobResponse.Step(step.getId().getStepName(), step.getLastKey(),
+                        step.getChunksCommitted(), step.getItemsProcessed(), step.getUpdatedTs()))
+                .collect(Collectors.toList()));
+        return ResponseEntity.ok(response);
+    }
+}
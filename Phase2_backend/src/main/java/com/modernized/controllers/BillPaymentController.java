@@ -1,17 +1,17 @@
 package com.modernized.controllers;
 
 import com.modernized.dto.BillPaymentRequest;
+import com.modernized.dto.AccountResponse;
 import com.modernized.dto.BillPaymentResponse;
-import com.modernized.entities.Account;
-import com.modernized.repositories.AccountRepository;
+import com.modernized.services.AccountUpdateService;
 import com.modernized.services.AccountValidationService;
+import com.modernized.services.AccountViewCache;
 import com.modernized.services.TransactionProcessingService;
 import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
-import java.util.Optional;
 
 /**
  * Bill Payment Controller
@@ -22,16 +22,19 @@ import java.util.Optional;
 @RequestMapping("/api/bill-payment")
 public class BillPaymentController {
 
-    private final AccountRepository accountRepository;
+    private final AccountViewCache accountViewCache;
     private final AccountValidationService accountValidationService;
     private final TransactionProcessingService transactionProcessingService;
+    private final AccountUpdateService accountUpdateService;
 
-    public BillPaymentController(AccountRepository accountRepository,
+    public BillPaymentController(AccountViewCache accountViewCache,
                                AccountValidationService accountValidationService,
-                               TransactionProcessingService transactionProcessingService) {
-        this.accountRepository = accountRepository;
+                               TransactionProcessingService transactionProcessingService,
+                               AccountUpdateService accountUpdateService) {
+        this.accountViewCache = accountViewCache;
         this.accountValidationService = accountValidationService;
         this.transactionProcessingService = transactionProcessingService;
+        this.accountUpdateService = accountUpdateService;
     }
 
     /**
@@ -40,21 +43,17 @@ public class BillPaymentController {
      * 
      * Retrieves current account balance for bill payment confirmation.
      * Based on SCREEN-012 (Bill Payment) balance display functionality.
+     * The balance is read through the account view cache.
      * 
      * @param accountId Account ID for payment
      * @return BillPaymentResponse with current balance
      */
     @GetMapping("/{accountId}")
     public ResponseEntity<BillPaymentResponse> getCurrentBalance(@PathVariable Long accountId) {
-        Optional<Account> accountOpt = accountRepository.findById(accountId);
+        AccountResponse account = accountViewCache.find(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account ID NOT found"));
         
-        if (accountOpt.isEmpty()) {
-            throw new EntityNotFoundException("Account ID NOT found");
-        }
-        
-        Account account = accountOpt.get();
-        
-        if (!accountValidationService.validateBillPaymentEligibility(account)) {
+        if (!accountValidationService.validateBillPaymentEligibility(account.getAcctCurrBal())) {
             return ResponseEntity.ok(new BillPaymentResponse(
                 accountId,
                 account.getAcctCurrBal(),
@@ -97,33 +96,28 @@ public class BillPaymentController {
             ));
         }
         
-        Optional<Account> accountOpt = accountRepository.findById(paymentRequest.getAccountId());
-        
-        if (accountOpt.isEmpty()) {
-            throw new EntityNotFoundException("Account ID NOT found");
-        }
-        
-        Account account = accountOpt.get();
-        
-        if (!accountValidationService.validateBillPaymentEligibility(account)) {
-            return ResponseEntity.ok(new BillPaymentResponse(
+        BillPaymentResponse response = accountUpdateService.updateAccount(paymentRequest.getAccountId(), account -> {
+            if (!accountValidationService.validateBillPaymentEligibility(account)) {
+                return new BillPaymentResponse(
+                    paymentRequest.getAccountId(),
+                    account.getAcctCurrBal(),
+                    BigDecimal.ZERO,
+                    false,
+                    "You have nothing to pay..."
+                );
+            }
+            
+            BigDecimal paymentAmount = transactionProcessingService.processBillPayment(account);
+            
+            return new BillPaymentResponse(
                 paymentRequest.getAccountId(),
-                account.getAcctCurrBal(),
                 BigDecimal.ZERO,
-                false,
-                "You have nothing to pay..."
-            ));
-        }
+                paymentAmount,
+                true,
+                "Payment processed successfully"
+            );
+        });
         
-        BigDecimal paymentAmount = transactionProcessingService.processBillPayment(account);
-        accountRepository.save(account);
-        
-        return ResponseEntity.ok(new BillPaymentResponse(
-            paymentRequest.getAccountId(),
-            BigDecimal.ZERO,
-            paymentAmount,
-            true,
-            "Payment processed successfully"
-        ));
+        return ResponseEntity.ok(response);
     }
 }
@@ -2,9 +2,13 @@ package com.modernized.controllers;
 
 import com.modernized.dto.CardResponse;
 import com.modernized.dto.CardUpdateRequest;
+import com.modernized.dto.CursorPagedResponse;
 import com.modernized.dto.PagedResponse;
+import com.modernized.dto.TransactionCursor;
+import com.modernized.dto.TransactionResponse;
 import com.modernized.entities.Card;
 import com.modernized.repositories.CardRepository;
+import com.modernized.repositories.TransactionRepository;
 import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,6 +16,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,9 +33,11 @@ import java.util.stream.Collectors;
 public class CardController {
 
     private final CardRepository cardRepository;
+    private final TransactionRepository transactionRepository;
 
-    public CardController(CardRepository cardRepository) {
+    public CardController(CardRepository cardRepository, TransactionRepository transactionRepository) {
         this.cardRepository = cardRepository;
+        this.transactionRepository = transactionRepository;
     }
 
     /**
@@ -134,6 +142,75 @@ public class CardController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get Card Transaction History
+     * GET /api/cards/{cardNumber}/transactions
+     * 
+     * Transactions of one card, newest first, with keyset pagination.
+     * Pages are read from the (card number, origin timestamp) index and projected straight
+     * into responses, so no Card, TransactionType or TransactionCategory is loaded.
+     * The next cursor moves to older transactions, the prev cursor to newer ones.
+     * 
+     * @param cardNumber 16-digit card number
+     * @param cursor Opaque next/prev cursor from a previous page; omit for the latest page
+     * @param size Page size (default 10 as per screen flow)
+     * @return CursorPagedResponse with the card's transactions and cursors
+     */
+    @GetMapping("/{cardNumber}/transactions")
+    public ResponseEntity<CursorPagedResponse<TransactionResponse>> getCardTransactions(
+            @PathVariable String cardNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        if (!cardRepository.existsById(cardNumber)) {
+            throw new EntityNotFoundException("Card not found");
+        }
+        
+        Pageable limit = PageRequest.of(0, size + 1);
+        TransactionCursor position = cursor != null ? TransactionCursor.decode(cursor) : null;
+        boolean backward = position != null && !position.isForward();
+        List<TransactionResponse> transactions;
+        
+        if (position == null) {
+            transactions = new ArrayList<>(transactionRepository.findLatestByCard(cardNumber, limit));
+        } else if (position.isForward()) {
+            transactions = new ArrayList<>(transactionRepository.findOlderByCard(
+                    cardNumber, position.getOrigTs(), position.getTranId(), limit));
+        } else {
+            transactions = new ArrayList<>(transactionRepository.findNewerByCard(
+                    cardNumber, position.getOrigTs(), position.getTranId(), limit));
+        }
+        
+        boolean hasMore = transactions.size() > size;
+        if (hasMore) {
+            transactions = transactions.subList(0, size);
+        }
+        if (backward) {
+            Collections.reverse(transactions);
+        }
+        
+        boolean hasNext = backward || hasMore;
+        boolean hasPrev = backward ? hasMore : position != null;
+        
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!transactions.isEmpty()) {
+            TransactionResponse first = transactions.get(0);
+            TransactionResponse last = transactions.get(transactions.size() - 1);
+            if (hasNext) {
+                nextCursor = new TransactionCursor(true, last.getOrigTs(), last.getTranId()).encode();
+            }
+            if (hasPrev) {
+                prevCursor = new TransactionCursor(false, first.getOrigTs(), first.getTranId()).encode();
+            }
+        }
+        
+        return ResponseEntity.ok(new CursorPagedResponse<>(transactions, size, nextCursor, prevCursor));
+    }
+
     private CardResponse mapToCardResponse(Card card) {
         CardResponse response = new CardResponse();
         response.setCardNum(card.getCardNum());
@@ -0,0 +1,41 @@
+package com.modernized.controllers;
+
+import com.modernized.dto.InterestSimulationRequest;
+import com.modernized.dto.InterestSimulationResponse;
+import com.modernized.services.InterestSimulationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+
+/**
+ * Interest Controller
+ * Read-only interest analysis for product teams
+ * Nothing here changes rates, balances or transactions
+ */
+@RestController
+@RequestMapping("/api/interest")
+public class InterestController {
+
+    private final InterestSimulationService interestSimulationService;
+
+    public InterestController(InterestSimulationService interestSimulationService) {
+        this.interestSimulationService = interestSimulationService;
+    }
+
+    /**
+     * Simulate Interest Rates
+     * POST /api/interest/simulations
+     * 
+     * Projects the monthly interest of one account group under proposed disclosure
+     * group rates and compares it with the current rates (RULE-CALC-001).
+     * Type and category pairs without a proposed rate keep their current rate.
+     * 
+     * @param simulationRequest Account group and proposed rates
+     * @return InterestSimulationResponse with totals and per-account change distribution
+     */
+    @PostMapping("/simulations")
+    public ResponseEntity<InterestSimulationResponse> simulate(
+            @Valid @RequestBody InterestSimulationRequest simulationRequest) {
+        return ResponseEntity.ok(interestSimulationService.simulate(simulationRequest));
+    }
+}
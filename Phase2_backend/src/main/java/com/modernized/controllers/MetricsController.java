@@ -0,0 +1,85 @@
+package com.modernized.controllers;
+
+import com.modernized.dto.AccountCacheMetricsResponse;
+import com.modernized.dto.PostingMetricsResponse;
+import com.modernized.services.AccountUpdateService;
+import com.modernized.services.AccountViewCache;
+import com.modernized.services.JournalPostingPipeline;
+import com.modernized.services.ShardedPostingPipeline;
+import com.modernized.services.TransactionPostingService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/**
+ * Operational Metrics Controller
+ * Exposes runtime counters of the posting and caching components for monitoring
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final TransactionPostingService transactionPostingService;
+    private final AccountUpdateService accountUpdateService;
+    private final AccountViewCache accountViewCache;
+    private final ObjectProvider<ShardedPostingPipeline> shardedPostingPipeline;
+    private final ObjectProvider<JournalPostingPipeline> journalPostingPipeline;
+
+    public MetricsController(TransactionPostingService transactionPostingService,
+                             AccountUpdateService accountUpdateService,
+                             AccountViewCache accountViewCache,
+                             ObjectProvider<ShardedPostingPipeline> shardedPostingPipeline,
+                             ObjectProvider<JournalPostingPipeline> journalPostingPipeline) {
+        this.transactionPostingService = transactionPostingService;
+        this.accountUpdateService = accountUpdateService;
+        this.accountViewCache = accountViewCache;
+        this.shardedPostingPipeline = shardedPostingPipeline;
+        this.journalPostingPipeline = journalPostingPipeline;
+    }
+
+    /**
+     * Get Posting Metrics
+     * GET /api/metrics/posting
+     * 
+     * Returns online posting acknowledge latency, account update retry counters and,
+     * in SHARDED posting mode, per-shard commit latency and batch size statistics.
+     * In JOURNAL posting mode it adds journal sync and apply-lag statistics.
+     * 
+     * @return PostingMetricsResponse with current counters
+     */
+    @GetMapping("/posting")
+    public ResponseEntity<PostingMetricsResponse> getPostingMetrics() {
+        PostingMetricsResponse response = new PostingMetricsResponse();
+        response.setPostingMode(transactionPostingService.getPostingMode().name());
+        response.setAccountUpdates(accountUpdateService.getUpdateCount());
+        response.setAccountUpdateConflicts(accountUpdateService.getConflictCount());
+        response.setAccountUpdateRetriesExhausted(accountUpdateService.getExhaustedCount());
+        response.setPostings(transactionPostingService.getPostingCount());
+        response.setAverageAckMicros(transactionPostingService.getAverageAckMicros());
+        response.setMaxAckMicros(transactionPostingService.getMaxAckMicros());
+        
+        ShardedPostingPipeline pipeline = shardedPostingPipeline.getIfAvailable();
+        response.setShards(pipeline != null ? pipeline.getMetrics() : List.of());
+        
+        JournalPostingPipeline journal = journalPostingPipeline.getIfAvailable();
+        response.setJournal(journal != null ? journal.getMetrics() : null);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get Account Cache Metrics
+     * GET /api/metrics/account-cache
+     * 
+     * Returns size, hit, miss, eviction, expiry and invalidation counters of the
+     * account view cache used by Account View and Bill Payment. Stale loads count
+     * database reads that raced an account write and were served but not cached.
+     * 
+     * @return AccountCacheMetricsResponse with current counters
+     */
+    @GetMapping("/account-cache")
+    public ResponseEntity<AccountCacheMetricsResponse> getAccountCacheMetrics() {
+        return ResponseEntity.ok(accountViewCache.getMetrics());
+    }
+}
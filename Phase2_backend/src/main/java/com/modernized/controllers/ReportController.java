@@ -1,13 +1,24 @@
 package com.modernized.controllers;
 
+import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
+import com.modernized.dto.ReportJobResponse;
 import com.modernized.dto.ReportRequest;
 import com.modernized.dto.ReportResponse;
+import com.modernized.entities.ReportJob;
+import com.modernized.services.ReportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 /**
  * Transaction Reports Controller
@@ -18,6 +29,18 @@ import java.util.UUID;
 @RequestMapping("/api/reports")
 public class ReportController {
 
+    /** Tomcat request attributes for handing a file to the connector's sendfile. */
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
     /**
      * Generate Monthly Report
      * POST /api/reports/monthly
@@ -41,12 +64,11 @@ public class ReportController {
         }
         
         LocalDate now = LocalDate.now();
-        String startDate = now.withDayOfMonth(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String endDate = now.withDayOfMonth(now.lengthOfMonth()).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String jobId = "MONTHLY-" + UUID.randomUUID().toString().substring(0, 8);
+        ReportJob job = reportService.submit("MONTHLY", now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()));
         
         return ResponseEntity.ok(new ReportResponse(
-            "MONTHLY", startDate, endDate, jobId, "SUBMITTED", "Monthly report job submitted successfully"
+            "MONTHLY", job.getStartDate(), job.getEndDate(), job.getJobId(), job.getStatus().name(),
+            "Monthly report job submitted successfully"
         ));
     }
 
@@ -73,12 +95,11 @@ public class ReportController {
         }
         
         LocalDate now = LocalDate.now();
-        String startDate = now.withDayOfYear(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String endDate = now.withDayOfYear(now.lengthOfYear()).format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String jobId = "YEARLY-" + UUID.randomUUID().toString().substring(0, 8);
+        ReportJob job = reportService.submit("YEARLY", now.withDayOfYear(1), now.withDayOfYear(now.lengthOfYear()));
         
         return ResponseEntity.ok(new ReportResponse(
-            "YEARLY", startDate, endDate, jobId, "SUBMITTED", "Yearly report job submitted successfully"
+            "YEARLY", job.getStartDate(), job.getEndDate(), job.getJobId(), job.getStatus().name(),
+            "Yearly report job submitted successfully"
         ));
     }
 
@@ -109,23 +130,116 @@ public class ReportController {
             ));
         }
         
+        LocalDate startDate;
+        LocalDate endDate;
         try {
-            LocalDate startDate = LocalDate.parse(reportRequest.getStartDate());
-            LocalDate endDate = LocalDate.parse(reportRequest.getEndDate());
-            
-            if (startDate.isAfter(endDate)) {
-                throw new IllegalArgumentException("Start date must be before or equal to end date");
-            }
-            
-            String jobId = "CUSTOM-" + UUID.randomUUID().toString().substring(0, 8);
-            
-            return ResponseEntity.ok(new ReportResponse(
-                "CUSTOM", reportRequest.getStartDate(), reportRequest.getEndDate(), 
-                jobId, "SUBMITTED", "Custom report job submitted successfully"
-            ));
-            
-        } catch (Exception e) {
+            startDate = LocalDate.parse(reportRequest.getStartDate());
+            endDate = LocalDate.parse(reportRequest.getEndDate());
+        } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Invalid date format. Use YYYY-MM-DD format");
         }
+        
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must be before or equal to end date");
+        }
+        
+        ReportJob job = reportService.submit("CUSTOM", startDate, endDate);
+        
+        return ResponseEntity.ok(new ReportResponse(
+            "CUSTOM", job.getStartDate(), job.getEndDate(), job.getJobId(), job.getStatus().name(),
+            "Custom report job submitted successfully"
+        ));
+    }
+
+    /**
+     * Get Report Job Status
+     * GET /api/reports/{jobId}
+     * 
+     * Returns the state of a submitted report and how many of its transactions
+     * have been read so far.
+     * 
+     * @param jobId Report job ID
+     * @return ReportJobResponse with status and progress
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable String jobId) {
+        ReportJob job = reportService.findJob(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Report job not found"));
+        return ResponseEntity.ok(new ReportJobResponse(job));
+    }
+
+    /**
+     * Download Report
+     * GET /api/reports/{jobId}/download
+     * 
+     * Sends the file of a completed report: transaction count and total amount
+     * per account, card, transaction type and category, as CSV or gzip-compressed CSV.
+     * A single byte range (Range: bytes=start-end) is answered with 206 so an
+     * interrupted download can resume; If-Range with the ETag guards against resuming
+     * a different file. The ETag includes the completion time, so a report run again
+     * into a file of the same name and size gets a new one. The file is sent by the connector's sendfile when available,
+     * otherwise with FileChannel.transferTo, so heap use does not depend on file size.
+     * 
+     * @param jobId Report job ID
+     * @param range Optional Range header
+     * @param ifRange Optional If-Range header
+     * @return Report bytes, the requested range, or 416 if the range is outside the file
+     */
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> downloadReport(
+            @PathVariable String jobId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletRequest request) {
+        ReportJob job = reportService.findJob(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Report job not found"));
+        Path file = reportService.getReportFile(job);
+        long fileSize = job.getFileSize();
+        String eTag = "\"" + job.getFileName() + "-" + fileSize + "-"
+                + job.getCompletedTs().replaceAll("[^0-9]", "") + "\"";
+        
+        long start = 0;
+        long end = fileSize - 1;
+        boolean partial = false;
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(fileSize);
+                end = ranges.get(0).getRangeEnd(fileSize);
+                if (start >= fileSize || start > end) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize)
+                            .build();
+                }
+                partial = true;
+            }
+        }
+        long count = end - start + 1;
+        
+        boolean compressed = job.getFileName().endsWith(".gz");
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(compressed ? new MediaType("application", "gzip") : new MediaType("text", "csv"))
+                .contentLength(count)
+                .eTag(eTag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"");
+        if (partial) {
+            builder.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+        }
+        
+        if (count > 0 && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return builder.build();
+        }
+        long rangeStart = start;
+        StreamingResponseBody body = out -> reportService.transferReport(file, rangeStart, count, out);
+        return builder.body(body);
     }
 }
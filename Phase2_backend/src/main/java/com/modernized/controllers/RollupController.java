@@ -0,0 +1,70 @@
+package com.modernized.controllers;
+
+import com.modernized.dto.RollupCheckResponse;
+import com.modernized.dto.RollupSummaryResponse;
+import com.modernized.services.RollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+
+/**
+ * Transaction Rollup Controller
+ * Range totals read from the daily transaction rollups
+ * instead of scanning the transaction table
+ */
+@RestController
+@RequestMapping("/api/rollups")
+public class RollupController {
+
+    private final RollupService rollupService;
+
+    public RollupController(RollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * Get Transaction Summary
+     * GET /api/rollups/summary
+     * 
+     * Returns transaction count and total amount per type and category for a range
+     * of origin dates, summed from the daily rollups.
+     * 
+     * @param fromDate First origin date (yyyy-MM-dd)
+     * @param toDate Last origin date (yyyy-MM-dd)
+     * @param accountId Optional account filter
+     * @return RollupSummaryResponse with totals per type and category
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<RollupSummaryResponse> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Long accountId) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        return ResponseEntity.ok(rollupService.summarize(fromDate, toDate, accountId));
+    }
+
+    /**
+     * Check Rollup Consistency
+     * GET /api/rollups/check
+     * 
+     * Recomputes each day's totals from the transaction table and compares them with
+     * the stored rollups. Reports the number of differing groups and the first of them;
+     * days with differences can be rebuilt with POST /api/batch/rollup-backfill.
+     * 
+     * @param fromDate First origin date (yyyy-MM-dd)
+     * @param toDate Last origin date (yyyy-MM-dd)
+     * @return RollupCheckResponse with mismatch count and samples
+     */
+    @GetMapping("/check")
+    public ResponseEntity<RollupCheckResponse> checkRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        return ResponseEntity.ok(rollupService.check(fromDate, toDate));
+    }
+}
@@ -3,26 +3,34 @@ package com.modernized.controllers;
 import com.modernized.dto.TransactionResponse;
 import com.modernized.dto.TransactionCreateRequest;
 import com.modernized.dto.PagedResponse;
+import com.modernized.dto.CursorPagedResponse;
+import com.modernized.dto.TransactionCursor;
 import com.modernized.entities.Transaction;
 import com.modernized.entities.Card;
-import com.modernized.entities.Account;
 import com.modernized.repositories.TransactionRepository;
 import com.modernized.repositories.CardRepository;
-import com.modernized.repositories.AccountRepository;
-import com.modernized.services.TransactionProcessingService;
-import com.modernized.services.AccountValidationService;
+import com.modernized.services.TransactionExportService;
+import com.modernized.services.TransactionExportService.ExportFormat;
+import com.modernized.services.TransactionIdGenerator;
+import com.modernized.services.TransactionPostingService;
 import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Transaction Management Controller
@@ -36,20 +44,20 @@ public class TransactionController {
 
     private final TransactionRepository transactionRepository;
     private final CardRepository cardRepository;
-    private final AccountRepository accountRepository;
-    private final TransactionProcessingService transactionProcessingService;
-    private final AccountValidationService accountValidationService;
+    private final TransactionPostingService transactionPostingService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionExportService transactionExportService;
 
     public TransactionController(TransactionRepository transactionRepository,
                                CardRepository cardRepository,
-                               AccountRepository accountRepository,
-                               TransactionProcessingService transactionProcessingService,
-                               AccountValidationService accountValidationService) {
+                               TransactionPostingService transactionPostingService,
+                               TransactionIdGenerator transactionIdGenerator,
+                               TransactionExportService transactionExportService) {
         this.transactionRepository = transactionRepository;
         this.cardRepository = cardRepository;
-        this.accountRepository = accountRepository;
-        this.transactionProcessingService = transactionProcessingService;
-        this.accountValidationService = accountValidationService;
+        this.transactionPostingService = transactionPostingService;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.transactionExportService = transactionExportService;
     }
 
     /**
@@ -59,7 +67,12 @@ public class TransactionController {
      * Displays paginated list of transactions with optional filtering.
      * Based on SCREEN-009 (Transaction List) with 10 transactions per page.
      * 
+     * The transaction ID filter is a substring match by default (CONTAINS), which has to
+     * scan every row. Clients that search by leading characters can ask for PREFIX, which
+     * is answered from the primary key index.
+     * 
      * @param transactionId Optional transaction ID filter
+     * @param match CONTAINS (default) or PREFIX matching of the transaction ID filter
      * @param page Page number (0-based)
      * @param size Page size (default 10 as per screen flow)
      * @return PagedResponse with transaction list
@@ -67,15 +80,23 @@ public class TransactionController {
     @GetMapping
     public ResponseEntity<PagedResponse<TransactionResponse>> getTransactions(
             @RequestParam(required = false) String transactionId,
+            @RequestParam(defaultValue = "CONTAINS") String match,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
-        Pageable pageable = PageRequest.of(page, size);
         Page<Transaction> transactionPage;
         
         if (transactionId != null) {
-            transactionPage = transactionRepository.findByTranIdContaining(transactionId, pageable);
+            Pageable pageable = PageRequest.of(page, size, Sort.by("tranId"));
+            if ("PREFIX".equalsIgnoreCase(match)) {
+                transactionPage = transactionRepository.findByTranIdStartingWith(transactionId, pageable);
+            } else if ("CONTAINS".equalsIgnoreCase(match)) {
+                transactionPage = transactionRepository.findByTranIdContaining(transactionId, pageable);
+            } else {
+                throw new IllegalArgumentException("Match must be PREFIX or CONTAINS");
+            }
         } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("tranOrigTs", "tranId"));
             transactionPage = transactionRepository.findAll(pageable);
         }
         
@@ -93,6 +114,117 @@ public class TransactionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get Transaction List by Cursor
+     * GET /api/transactions/cursor
+     * 
+     * Keyset-paginated transaction list ordered by origin timestamp and transaction ID.
+     * Each page is an index range read of constant cost however deep the user pages,
+     * and no total count is computed.
+     * 
+     * @param cursor Opaque next/prev cursor from a previous page; omit for the first page
+     * @param size Page size (default 10 as per screen flow)
+     * @return CursorPagedResponse with transaction list and cursors
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPagedResponse<TransactionResponse>> getTransactionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page size must be between 1 and 100");
+        }
+        
+        Pageable limit = PageRequest.of(0, size + 1);
+        TransactionCursor position = cursor != null ? TransactionCursor.decode(cursor) : null;
+        boolean backward = position != null && !position.isForward();
+        List<Transaction> transactions;
+        
+        if (position == null) {
+            transactions = new ArrayList<>(transactionRepository.findFirstByOrigTs(limit));
+        } else if (position.isForward()) {
+            transactions = new ArrayList<>(transactionRepository.findAfterByOrigTs(
+                    position.getOrigTs(), position.getTranId(), limit));
+        } else {
+            transactions = new ArrayList<>(transactionRepository.findBeforeByOrigTs(
+                    position.getOrigTs(), position.getTranId(), limit));
+        }
+        
+        boolean hasMore = transactions.size() > size;
+        if (hasMore) {
+            transactions = transactions.subList(0, size);
+        }
+        if (backward) {
+            Collections.reverse(transactions);
+        }
+        
+        boolean hasNext = backward || hasMore;
+        boolean hasPrev = backward ? hasMore : position != null;
+        
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!transactions.isEmpty()) {
+            Transaction first = transactions.get(0);
+            Transaction last = transactions.get(transactions.size() - 1);
+            if (hasNext) {
+                nextCursor = new TransactionCursor(true, last.getTranOrigTs(), last.getTranId()).encode();
+            }
+            if (hasPrev) {
+                prevCursor = new TransactionCursor(false, first.getTranOrigTs(), first.getTranId()).encode();
+            }
+        }
+        
+        List<TransactionResponse> transactionResponses = transactions.stream()
+                .map(this::mapToTransactionResponse)
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(new CursorPagedResponse<>(transactionResponses, size, nextCursor, prevCursor));
+    }
+
+    /**
+     * Export Transactions
+     * GET /api/transactions/export
+     * 
+     * Streams every matching transaction in origin timestamp order for downstream
+     * reconciliation. Rows are written while they are read from the database, so the
+     * export runs in constant memory and needs no paging or count query.
+     * 
+     * @param format CSV (default) or NDJSON
+     * @param cardNumber Optional card number filter
+     * @param fromDate Optional first origin date to include (yyyy-MM-dd)
+     * @param toDate Optional last origin date to include (yyyy-MM-dd)
+     * @return Streaming response body with the exported rows
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "CSV") String format,
+            @RequestParam(required = false) String cardNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Format must be CSV or NDJSON");
+        }
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        
+        MediaType mediaType = exportFormat == ExportFormat.CSV
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+        String fileName = "transactions." + (exportFormat == ExportFormat.CSV ? "csv" : "ndjson");
+        StreamingResponseBody body = out ->
+                transactionExportService.export(exportFormat, cardNumber, fromDate, toDate, out);
+        
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     /**
      * Get Transaction Details
      * GET /api/transactions/{id}
@@ -140,37 +272,22 @@ public class TransactionController {
             throw new IllegalArgumentException("Transaction not confirmed");
         }
         
-        Card card = null;
-        Account account = null;
+        Long accountId;
         
         if (createRequest.getCardNum() != null && !createRequest.getCardNum().trim().isEmpty()) {
             Optional<Card> cardOpt = cardRepository.findById(createRequest.getCardNum());
             if (cardOpt.isEmpty()) {
                 throw new EntityNotFoundException("Card not found");
             }
-            card = cardOpt.get();
-            account = card.getAccount();
+            accountId = cardOpt.get().getCardAcctId();
         } else if (createRequest.getAcctId() != null) {
-            Optional<Account> accountOpt = accountRepository.findById(Long.valueOf(createRequest.getAcctId()));
-            if (accountOpt.isEmpty()) {
-                throw new EntityNotFoundException("Account not found");
-            }
-            account = accountOpt.get();
+            accountId = Long.valueOf(createRequest.getAcctId());
         } else {
             throw new IllegalArgumentException("Either card number or account ID must be provided");
         }
         
-        if (!accountValidationService.validateCreditLimit(account, createRequest.getTranAmt())) {
-            throw new IllegalArgumentException("Transaction would exceed credit limit");
-        }
-        
-        String currentTimestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        if (!accountValidationService.validateAccountExpiration(account, currentTimestamp)) {
-            throw new IllegalArgumentException("Transaction received after account expiration");
-        }
-        
         Transaction transaction = new Transaction();
-        transaction.setTranId(generateTransactionId());
+        transaction.setTranId(transactionIdGenerator.nextId());
         transaction.setTranCardNum(createRequest.getCardNum());
         transaction.setTranTypeCd(createRequest.getTranTypeCd());
         transaction.setTranCatCd(Integer.parseInt(createRequest.getTranCatCd()));
@@ -184,10 +301,7 @@ public class TransactionController {
         transaction.setTranMerchantCity(createRequest.getMerchantCity());
         transaction.setTranMerchantZip(createRequest.getMerchantZip());
         
-        transactionProcessingService.processTransaction(account, transaction);
-        
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        accountRepository.save(account);
+        Transaction savedTransaction = transactionPostingService.postTransaction(accountId, transaction);
         
         TransactionResponse response = mapToTransactionResponse(savedTransaction);
         return ResponseEntity.ok(response);
@@ -210,8 +324,4 @@ public class TransactionController {
         response.setMerchantZip(transaction.getTranMerchantZip());
         return response;
     }
-
-    private String generateTransactionId() {
-        return "T" + System.currentTimeMillis();
-    }
 }
@@ -0,0 +1,17 @@
+package com.modernized.dto;
+
+import jakarta.validation.constraints.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountLookupRequest {
+
+    @NotEmpty(message = "At least one account ID is required")
+    @Size(max = 1000, message = "At most 1000 account IDs can be looked up at once")
+    private List<@NotNull(message = "Account ID cannot be null") Long> accountIds = new ArrayList<>();
+
+    public AccountLookupRequest() {}
+
+    public List<Long> getAccountIds() { return accountIds; }
+    public void setAccountIds(List<Long> accountIds) { this.accountIds = accountIds; }
+}
@@ -0,0 +1,44 @@
+package com.modernized.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountLookupResponse {
+    private int requestedCount;
+    private int foundCount;
+    private List<AccountLookupResult> results = new ArrayList<>();
+
+    public AccountLookupResponse() {}
+
+    public int getRequestedCount() { return requestedCount; }
+    public void setRequestedCount(int requestedCount) { this.requestedCount = requestedCount; }
+
+    public int getFoundCount() { return foundCount; }
+    public void setFoundCount(int foundCount) { this.foundCount = foundCount; }
+
+    public List<AccountLookupResult> getResults() { return results; }
+    public void setResults(List<AccountLookupResult> results) { this.results = results; }
+
+    public static class AccountLookupResult {
+        private Long acctId;
+        private boolean found;
+        private AccountResponse account;
+
+        public AccountLookupResult() {}
+
+        public AccountLookupResult(Long acctId, AccountResponse account) {
+            this.acctId = acctId;
+            this.found = account != null;
+            this.account = account;
+        }
+
+        public Long getAcctId() { return acctId; }
+        public void setAcctId(Long acctId) { this.acctId = acctId; }
+
+        public boolean isFound() { return found; }
+        public void setFound(boolean found) { this.found = found; }
+
+        public AccountResponse getAccount() { return account; }
+        public void setAccount(AccountResponse account) { this.account = account; }
+    }
+}
@@ -15,6 +15,7 @@ public class AccountResponse {
     private BigDecimal acctCurrCycDebit;
     private String acctAddrZip;
     private String acctGroupId;
+    private Long acctVersion;
     
     private String customerFirstName;
     private String customerLastName;
@@ -71,6 +72,9 @@ public class AccountResponse {
     public String getAcctGroupId() { return acctGroupId; }
     public void setAcctGroupId(String acctGroupId) { this.acctGroupId = acctGroupId; }
 
+    public Long getAcctVersion() { return acctVersion; }
+    public void setAcctVersion(Long acctVersion) { this.acctVersion = acctVersion; }
+
     public String getCustomerFirstName() { return customerFirstName; }
     public void setCustomerFirstName(String customerFirstName) { this.customerFirstName = customerFirstName; }
 
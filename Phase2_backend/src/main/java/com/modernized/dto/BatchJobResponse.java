@@ -0,0 +1,107 @@
+package com.modernized.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchJobResponse {
+    private Long jobInstanceId;
+    private String jobName;
+    private String jobKey;
+    private String status;
+    private String createdTs;
+    private String endTs;
+    private List<Execution> executions = new ArrayList<>();
+    private List<Step> steps = new ArrayList<>();
+
+    public BatchJobResponse() {}
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getJobKey() { return jobKey; }
+    public void setJobKey(String jobKey) { this.jobKey = jobKey; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getCreatedTs() { return createdTs; }
+    public void setCreatedTs(String createdTs) { this.createdTs = createdTs; }
+
+    public String getEndTs() { return endTs; }
+    public void setEndTs(String endTs) { this.endTs = endTs; }
+
+    public List<Execution> getExecutions() { return executions; }
+    public void setExecutions(List<Execution> executions) { this.executions = executions; }
+
+    public List<Step> getSteps() { return steps; }
+    public void setSteps(List<Step> steps) { this.steps = steps; }
+
+    public static class Execution {
+        private Long jobExecutionId;
+        private String status;
+        private String startTs;
+        private String endTs;
+        private String exitMessage;
+
+        public Execution() {}
+
+        public Execution(Long jobExecutionId, String status, String startTs, String endTs, String exitMessage) {
+            this.jobExecutionId = jobExecutionId;
+            this.status = status;
+            this.startTs = startTs;
+            this.endTs = endTs;
+            this.exitMessage = exitMessage;
+        }
+
+        public Long getJobExecutionId() { return jobExecutionId; }
+        public void setJobExecutionId(Long jobExecutionId) { this.jobExecutionId = jobExecutionId; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getStartTs() { return startTs; }
+        public void setStartTs(String startTs) { this.startTs = startTs; }
+
+        public String getEndTs() { return endTs; }
+        public void setEndTs(String endTs) { this.endTs = endTs; }
+
+        public String getExitMessage() { return exitMessage; }
+        public void setExitMessage(String exitMessage) { this.exitMessage = exitMessage; }
+    }
+
+    public static class Step {
+        private String stepName;
+        private String lastKey;
+        private long chunksCommitted;
+        private long itemsProcessed;
+        private String updatedTs;
+
+        public Step() {}
+
+        public Step(String stepName, String lastKey, long chunksCommitted, long itemsProcessed, String updatedTs) {
+            this.stepName = stepName;
+            this.lastKey = lastKey;
+            this.chunksCommitted = chunksCommitted;
+            this.itemsProcessed = itemsProcessed;
+            this.updatedTs = updatedTs;
+        }
+
+        public String getStepName() { return stepName; }
+        public void setStepName(String stepName) { this.stepName = stepName; }
+
+        public String getLastKey() { return lastKey; }
+        public void setLastKey(String lastKey) { this.lastKey = lastKey; }
+
+        public long getChunksCommitted() { return chunksCommitted; }
+        public void setChunksCommitted(long chunksCommitted) { this.chunksCommitted = chunksCommitted; }
+
+        public long getItemsProcessed() { return itemsProcessed; }
+        public void setItemsProcessed(long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+        public String getUpdatedTs() { return updatedTs; }
+        public void setUpdatedTs(String updatedTs) { this.updatedTs = updatedTs; }
+    }
+}
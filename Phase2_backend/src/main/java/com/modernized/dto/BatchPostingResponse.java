@@ -0,0 +1,45 @@
+package com.modernized.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchPostingResponse {
+    private Long jobInstanceId;
+    private Long jobExecutionId;
+    private boolean resumed;
+    private long recordsRead;
+    private long transactionsPosted;
+    private long transactionsRejected;
+    private long accountsUpdated;
+    private long elapsedMillis;
+    private List<String> rejections = new ArrayList<>();
+
+    public BatchPostingResponse() {}
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public Long getJobExecutionId() { return jobExecutionId; }
+    public void setJobExecutionId(Long jobExecutionId) { this.jobExecutionId = jobExecutionId; }
+
+    public boolean isResumed() { return resumed; }
+    public void setResumed(boolean resumed) { this.resumed = resumed; }
+
+    public long getRecordsRead() { return recordsRead; }
+    public void setRecordsRead(long recordsRead) { this.recordsRead = recordsRead; }
+
+    public long getTransactionsPosted() { return transactionsPosted; }
+    public void setTransactionsPosted(long transactionsPosted) { this.transactionsPosted = transactionsPosted; }
+
+    public long getTransactionsRejected() { return transactionsRejected; }
+    public void setTransactionsRejected(long transactionsRejected) { this.transactionsRejected = transactionsRejected; }
+
+    public long getAccountsUpdated() { return accountsUpdated; }
+    public void setAccountsUpdated(long accountsUpdated) { this.accountsUpdated = accountsUpdated; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<String> getRejections() { return rejections; }
+    public void setRejections(List<String> rejections) { this.rejections = rejections; }
+}
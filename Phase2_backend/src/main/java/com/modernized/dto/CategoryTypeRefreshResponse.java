@@ -0,0 +1,19 @@
+package com.modernized.dto;
+
+public class CategoryTypeRefreshResponse {
+    private int categoriesLoaded;
+    private long elapsedMillis;
+
+    public CategoryTypeRefreshResponse() {}
+
+    public CategoryTypeRefreshResponse(int categoriesLoaded, long elapsedMillis) {
+        this.categoriesLoaded = categoriesLoaded;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getCategoriesLoaded() { return categoriesLoaded; }
+    public void setCategoriesLoaded(int categoriesLoaded) { this.categoriesLoaded = categoriesLoaded; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
@@ -0,0 +1,31 @@
+package com.modernized.dto;
+
+import java.util.List;
+
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private String prevCursor;
+
+    public CursorPagedResponse() {}
+
+    public CursorPagedResponse(List<T> content, int pageSize, String nextCursor, String prevCursor) {
+        this.content = content;
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public String getPrevCursor() { return prevCursor; }
+    public void setPrevCursor(String prevCursor) { this.prevCursor = prevCursor; }
+}
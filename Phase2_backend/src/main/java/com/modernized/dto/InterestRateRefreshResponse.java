@@ -0,0 +1,19 @@
+package com.modernized.dto;
+
+public class InterestRateRefreshResponse {
+    private int ratesLoaded;
+    private long elapsedMillis;
+
+    public InterestRateRefreshResponse() {}
+
+    public InterestRateRefreshResponse(int ratesLoaded, long elapsedMillis) {
+        this.ratesLoaded = ratesLoaded;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRatesLoaded() { return ratesLoaded; }
+    public void setRatesLoaded(int ratesLoaded) { this.ratesLoaded = ratesLoaded; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
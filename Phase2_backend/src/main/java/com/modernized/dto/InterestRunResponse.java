@@ -0,0 +1,58 @@
+package com.modernized.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InterestRunResponse {
+    private Long jobInstanceId;
+    private Long jobExecutionId;
+    private boolean resumed;
+    private long chunksSkipped;
+    private long accountsRead;
+    private long balancesRead;
+    private long interestTransactions;
+    private long accountsUpdated;
+    private long accountsSkipped;
+    private BigDecimal totalInterest = BigDecimal.ZERO;
+    private long elapsedMillis;
+    private List<String> skipped = new ArrayList<>();
+
+    public InterestRunResponse() {}
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public Long getJobExecutionId() { return jobExecutionId; }
+    public void setJobExecutionId(Long jobExecutionId) { this.jobExecutionId = jobExecutionId; }
+
+    public boolean isResumed() { return resumed; }
+    public void setResumed(boolean resumed) { this.resumed = resumed; }
+
+    public long getChunksSkipped() { return chunksSkipped; }
+    public void setChunksSkipped(long chunksSkipped) { this.chunksSkipped = chunksSkipped; }
+
+    public long getAccountsRead() { return accountsRead; }
+    public void setAccountsRead(long accountsRead) { this.accountsRead = accountsRead; }
+
+    public long getBalancesRead() { return balancesRead; }
+    public void setBalancesRead(long balancesRead) { this.balancesRead = balancesRead; }
+
+    public long getInterestTransactions() { return interestTransactions; }
+    public void setInterestTransactions(long interestTransactions) { this.interestTransactions = interestTransactions; }
+
+    public long getAccountsUpdated() { return accountsUpdated; }
+    public void setAccountsUpdated(long accountsUpdated) { this.accountsUpdated = accountsUpdated; }
+
+    public long getAccountsSkipped() { return accountsSkipped; }
+    public void setAccountsSkipped(long accountsSkipped) { this.accountsSkipped = accountsSkipped; }
+
+    public BigDecimal getTotalInterest() { return totalInterest; }
+    public void setTotalInterest(BigDecimal totalInterest) { this.totalInterest = totalInterest; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<String> getSkipped() { return skipped; }
+    public void setSkipped(List<String> skipped) { this.skipped = skipped; }
+}
@@ -0,0 +1,52 @@
+package com.modernized.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InterestSimulationRequest {
+
+    @NotBlank(message = "Account group ID cannot be empty")
+    @Size(max = 10, message = "Account group ID must be at most 10 characters")
+    private String acctGroupId;
+
+    @NotEmpty(message = "At least one proposed rate is required")
+    @Valid
+    private List<ProposedRate> rates = new ArrayList<>();
+
+    public InterestSimulationRequest() {}
+
+    public String getAcctGroupId() { return acctGroupId; }
+    public void setAcctGroupId(String acctGroupId) { this.acctGroupId = acctGroupId; }
+
+    public List<ProposedRate> getRates() { return rates; }
+    public void setRates(List<ProposedRate> rates) { this.rates = rates; }
+
+    public static class ProposedRate {
+
+        @NotBlank(message = "Transaction type code cannot be empty")
+        @Pattern(regexp = "\\d{2}", message = "Transaction type code must be 2 digits")
+        private String tranTypeCd;
+
+        @NotNull(message = "Transaction category code cannot be null")
+        private Integer tranCatCd;
+
+        @NotNull(message = "Interest rate cannot be null")
+        @DecimalMin(value = "0.00", message = "Interest rate cannot be negative")
+        @Digits(integer = 4, fraction = 2, message = "Interest rate must have at most 4 integer and 2 decimal digits")
+        private BigDecimal disIntRate;
+
+        public ProposedRate() {}
+
+        public String getTranTypeCd() { return tranTypeCd; }
+        public void setTranTypeCd(String tranTypeCd) { this.tranTypeCd = tranTypeCd; }
+
+        public Integer getTranCatCd() { return tranCatCd; }
+        public void setTranCatCd(Integer tranCatCd) { this.tranCatCd = tranCatCd; }
+
+        public BigDecimal getDisIntRate() { return disIntRate; }
+        public void setDisIntRate(BigDecimal disIntRate) { this.disIntRate = disIntRate; }
+    }
+}
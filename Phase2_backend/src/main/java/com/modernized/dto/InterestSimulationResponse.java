@@ -0,0 +1,108 @@
+package com.modernized.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InterestSimulationResponse {
+    private String acctGroupId;
+    private long accounts;
+    private long balances;
+    private BigDecimal currentMonthlyInterest = BigDecimal.ZERO;
+    private BigDecimal proposedMonthlyInterest = BigDecimal.ZERO;
+    private BigDecimal monthlyChange = BigDecimal.ZERO;
+    private long accountsIncreased;
+    private long accountsDecreased;
+    private BigDecimal minAccountChange = BigDecimal.ZERO;
+    private BigDecimal maxAccountChange = BigDecimal.ZERO;
+    private BigDecimal meanAccountChange = BigDecimal.ZERO;
+    private BigDecimal p50AccountChange = BigDecimal.ZERO;
+    private BigDecimal p90AccountChange = BigDecimal.ZERO;
+    private BigDecimal p99AccountChange = BigDecimal.ZERO;
+    private long elapsedMillis;
+    private List<Rate> rates = new ArrayList<>();
+
+    public InterestSimulationResponse() {}
+
+    public String getAcctGroupId() { return acctGroupId; }
+    public void setAcctGroupId(String acctGroupId) { this.acctGroupId = acctGroupId; }
+
+    public long getAccounts() { return accounts; }
+    public void setAccounts(long accounts) { this.accounts = accounts; }
+
+    public long getBalances() { return balances; }
+    public void setBalances(long balances) { this.balances = balances; }
+
+    public BigDecimal getCurrentMonthlyInterest() { return currentMonthlyInterest; }
+    public void setCurrentMonthlyInterest(BigDecimal currentMonthlyInterest) { this.currentMonthlyInterest = currentMonthlyInterest; }
+
+    public BigDecimal getProposedMonthlyInterest() { return proposedMonthlyInterest; }
+    public void setProposedMonthlyInterest(BigDecimal proposedMonthlyInterest) { this.proposedMonthlyInterest = proposedMonthlyInterest; }
+
+    public BigDecimal getMonthlyChange() { return monthlyChange; }
+    public void setMonthlyChange(BigDecimal monthlyChange) { this.monthlyChange = monthlyChange; }
+
+    public long getAccountsIncreased() { return accountsIncreased; }
+    public void setAccountsIncreased(long accountsIncreased) { this.accountsIncreased = accountsIncreased; }
+
+    public long getAccountsDecreased() { return accountsDecreased; }
+    public void setAccountsDecreased(long accountsDecreased) { this.accountsDecreased = accountsDecreased; }
+
+    public BigDecimal getMinAccountChange() { return minAccountChange; }
+    public void setMinAccountChange(BigDecimal minAccountChange) { this.minAccountChange = minAccountChange; }
+
+    public BigDecimal getMaxAccountChange() { return maxAccountChange; }
+    public void setMaxAccountChange(BigDecimal maxAccountChange) { this.maxAccountChange = maxAccountChange; }
+
+    public BigDecimal getMeanAccountChange() { return meanAccountChange; }
+    public void setMeanAccountChange(BigDecimal meanAccountChange) { this.meanAccountChange = meanAccountChange; }
+
+    public BigDecimal getP50AccountChange() { return p50AccountChange; }
+    public void setP50AccountChange(BigDecimal p50AccountChange) { this.p50AccountChange = p50AccountChange; }
+
+    public BigDecimal getP90AccountChange() { return p90AccountChange; }
+    public void setP90AccountChange(BigDecimal p90AccountChange) { this.p90AccountChange = p90AccountChange; }
+
+    public BigDecimal getP99AccountChange() { return p99AccountChange; }
+    public void setP99AccountChange(BigDecimal p99AccountChange) { this.p99AccountChange = p99AccountChange; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<Rate> getRates() { return rates; }
+    public void setRates(List<Rate> rates) { this.rates = rates; }
+
+    public static class Rate {
+        private String tranTypeCd;
+        private Integer tranCatCd;
+        private BigDecimal currentRate;
+        private BigDecimal proposedRate;
+        private long balances;
+
+        public Rate() {}
+
+        public Rate(String tranTypeCd, Integer tranCatCd, BigDecimal currentRate, BigDecimal proposedRate,
+                    long balances) {
+            this.tranTypeCd = tranTypeCd;
+            this.tranCatCd = tranCatCd;
+            this.currentRate = currentRate;
+            this.proposedRate = proposedRate;
+            this.balances = balances;
+        }
+
+        public String getTranTypeCd() { return tranTypeCd; }
+        public void setTranTypeCd(String tranTypeCd) { this.tranTypeCd = tranTypeCd; }
+
+        public Integer getTranCatCd() { return tranCatCd; }
+        public void setTranCatCd(Integer tranCatCd) { this.tranCatCd = tranCatCd; }
+
+        public BigDecimal getCurrentRate() { return currentRate; }
+        public void setCurrentRate(BigDecimal currentRate) { this.currentRate = currentRate; }
+
+        public BigDecimal getProposedRate() { return proposedRate; }
+        public void setProposedRate(BigDecimal proposedRate) { this.proposedRate = proposedRate; }
+
+        public long getBalances() { return balances; }
+        public void setBalances(long balances) { this.balances = balances; }
+    }
+}
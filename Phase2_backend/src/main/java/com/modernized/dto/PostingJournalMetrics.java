@@ -0,0 +1,54 @@
+package com.modernized.dto;
+
+public class PostingJournalMetrics {
+    private long appendedEntries;
+    private long appliedEntries;
+    private long replayedEntries;
+    private long applyLag;
+    private long applyBatches;
+    private long applyFailures;
+    private long deadLetteredEntries;
+    private long lastSyncedSeq;
+    private long lastAppliedSeq;
+    private long syncs;
+    private double averageSyncBatchSize;
+    private long averageSyncMicros;
+
+    public PostingJournalMetrics() {}
+
+    public long getAppendedEntries() { return appendedEntries; }
+    public void setAppendedEntries(long appendedEntries) { this.appendedEntries = appendedEntries; }
+
+    public long getAppliedEntries() { return appliedEntries; }
+    public void setAppliedEntries(long appliedEntries) { this.appliedEntries = appliedEntries; }
+
+    public long getReplayedEntries() { return replayedEntries; }
+    public void setReplayedEntries(long replayedEntries) { this.replayedEntries = replayedEntries; }
+
+    public long getApplyLag() { return applyLag; }
+    public void setApplyLag(long applyLag) { this.applyLag = applyLag; }
+
+    public long getApplyBatches() { return applyBatches; }
+    public void setApplyBatches(long applyBatches) { this.applyBatches = applyBatches; }
+
+    public long getApplyFailures() { return applyFailures; }
+    public void setApplyFailures(long applyFailures) { this.applyFailures = applyFailures; }
+
+    public long getDeadLetteredEntries() { return deadLetteredEntries; }
+    public void setDeadLetteredEntries(long deadLetteredEntries) { this.deadLetteredEntries = deadLetteredEntries; }
+
+    public long getLastSyncedSeq() { return lastSyncedSeq; }
+    public void setLastSyncedSeq(long lastSyncedSeq) { this.lastSyncedSeq = lastSyncedSeq; }
+
+    public long getLastAppliedSeq() { return lastAppliedSeq; }
+    public void setLastAppliedSeq(long lastAppliedSeq) { this.lastAppliedSeq = lastAppliedSeq; }
+
+    public long getSyncs() { return syncs; }
+    public void setSyncs(long syncs) { this.syncs = syncs; }
+
+    public double getAverageSyncBatchSize() { return averageSyncBatchSize; }
+    public void setAverageSyncBatchSize(double averageSyncBatchSize) { this.averageSyncBatchSize = averageSyncBatchSize; }
+
+    public long getAverageSyncMicros() { return averageSyncMicros; }
+    public void setAverageSyncMicros(long averageSyncMicros) { this.averageSyncMicros = averageSyncMicros; }
+}
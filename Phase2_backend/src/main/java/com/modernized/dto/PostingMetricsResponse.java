@@ -0,0 +1,44 @@
+package com.modernized.dto;
+
+import java.util.List;
+
+public class PostingMetricsResponse {
+    private String postingMode;
+    private long accountUpdates;
+    private long accountUpdateConflicts;
+    private long accountUpdateRetriesExhausted;
+    private long postings;
+    private long averageAckMicros;
+    private long maxAckMicros;
+    private List<PostingShardMetrics> shards;
+    private PostingJournalMetrics journal;
+
+    public PostingMetricsResponse() {}
+
+    public String getPostingMode() { return postingMode; }
+    public void setPostingMode(String postingMode) { this.postingMode = postingMode; }
+
+    public long getAccountUpdates() { return accountUpdates; }
+    public void setAccountUpdates(long accountUpdates) { this.accountUpdates = accountUpdates; }
+
+    public long getAccountUpdateConflicts() { return accountUpdateConflicts; }
+    public void setAccountUpdateConflicts(long accountUpdateConflicts) { this.accountUpdateConflicts = accountUpdateConflicts; }
+
+    public long getAccountUpdateRetriesExhausted() { return accountUpdateRetriesExhausted; }
+    public void setAccountUpdateRetriesExhausted(long accountUpdateRetriesExhausted) { this.accountUpdateRetriesExhausted = accountUpdateRetriesExhausted; }
+
+    public long getPostings() { return postings; }
+    public void setPostings(long postings) { this.postings = postings; }
+
+    public long getAverageAckMicros() { return averageAckMicros; }
+    public void setAverageAckMicros(long averageAckMicros) { this.averageAckMicros = averageAckMicros; }
+
+    public long getMaxAckMicros() { return maxAckMicros; }
+    public void setMaxAckMicros(long maxAckMicros) { this.maxAckMicros = maxAckMicros; }
+
+    public List<PostingShardMetrics> getShards() { return shards; }
+    public void setShards(List<PostingShardMetrics> shards) { this.shards = shards; }
+
+    public PostingJournalMetrics getJournal() { return journal; }
+    public void setJournal(PostingJournalMetrics journal) { this.journal = journal; }
+}
@@ -0,0 +1,50 @@
+package com.modernized.dto;
+
+public class PostingShardMetrics {
+    private int shard;
+    private int queueDepth;
+    private long commits;
+    private long postings;
+    private long rejected;
+    private long conflicts;
+    private long maxBatchSize;
+    private double averageBatchSize;
+    private long lastCommitMicros;
+    private long maxCommitMicros;
+    private long averageCommitMicros;
+
+    public PostingShardMetrics() {}
+
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+
+    public long getCommits() { return commits; }
+    public void setCommits(long commits) { this.commits = commits; }
+
+    public long getPostings() { return postings; }
+    public void setPostings(long postings) { this.postings = postings; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public long getConflicts() { return conflicts; }
+    public void setConflicts(long conflicts) { this.conflicts = conflicts; }
+
+    public long getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(long maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public double getAverageBatchSize() { return averageBatchSize; }
+    public void setAverageBatchSize(double averageBatchSize) { this.averageBatchSize = averageBatchSize; }
+
+    public long getLastCommitMicros() { return lastCommitMicros; }
+    public void setLastCommitMicros(long lastCommitMicros) { this.lastCommitMicros = lastCommitMicros; }
+
+    public long getMaxCommitMicros() { return maxCommitMicros; }
+    public void setMaxCommitMicros(long maxCommitMicros) { this.maxCommitMicros = maxCommitMicros; }
+
+    public long getAverageCommitMicros() { return averageCommitMicros; }
+    public void setAverageCommitMicros(long averageCommitMicros) { this.averageCommitMicros = averageCommitMicros; }
+}
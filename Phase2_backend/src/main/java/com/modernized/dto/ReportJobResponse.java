@@ -0,0 +1,95 @@
+package com.modernized.dto;
+
+import com.modernized.entities.ReportJob;
+
+/**
+ * Status and progress of a submitted report job.
+ */
+public class ReportJobResponse {
+    private String jobId;
+    private String reportType;
+    private String startDate;
+    private String endDate;
+    private String status;
+    private Long rowsTotal;
+    private Long rowsRead;
+    private Integer percentComplete;
+    private Long groupsWritten;
+    private String fileName;
+    private Long fileSize;
+    private String submittedTs;
+    private String startedTs;
+    private String completedTs;
+    private String errorMessage;
+
+    public ReportJobResponse() {}
+
+    public ReportJobResponse(ReportJob job) {
+        this.jobId = job.getJobId();
+        this.reportType = job.getReportType();
+        this.startDate = job.getStartDate();
+        this.endDate = job.getEndDate();
+        this.status = job.getStatus().name();
+        this.rowsTotal = job.getRowsTotal();
+        this.rowsRead = job.getRowsRead();
+        if (job.getStatus() == ReportJob.Status.COMPLETED) {
+            this.percentComplete = 100;
+        } else if (job.getRowsTotal() != null && job.getRowsTotal() > 0) {
+            this.percentComplete = (int) Math.min(99, job.getRowsRead() * 100 / job.getRowsTotal());
+        } else {
+            this.percentComplete = 0;
+        }
+        this.groupsWritten = job.getGroupsWritten();
+        this.fileName = job.getFileName();
+        this.fileSize = job.getFileSize();
+        this.submittedTs = job.getSubmittedTs();
+        this.startedTs = job.getStartedTs();
+        this.completedTs = job.getCompletedTs();
+        this.errorMessage = job.getErrorMessage();
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+
+    public String getStartDate() { return startDate; }
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+
+    public String getEndDate() { return endDate; }
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getRowsTotal() { return rowsTotal; }
+    public void setRowsTotal(Long rowsTotal) { this.rowsTotal = rowsTotal; }
+
+    public Long getRowsRead() { return rowsRead; }
+    public void setRowsRead(Long rowsRead) { this.rowsRead = rowsRead; }
+
+    public Integer getPercentComplete() { return percentComplete; }
+    public void setPercentComplete(Integer percentComplete) { this.percentComplete = percentComplete; }
+
+    public Long getGroupsWritten() { return groupsWritten; }
+    public void setGroupsWritten(Long groupsWritten) { this.groupsWritten = groupsWritten; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getSubmittedTs() { return submittedTs; }
+    public void setSubmittedTs(String submittedTs) { this.submittedTs = submittedTs; }
+
+    public String getStartedTs() { return startedTs; }
+    public void setStartedTs(String startedTs) { this.startedTs = startedTs; }
+
+    public String getCompletedTs() { return completedTs; }
+    public void setCompletedTs(String completedTs) { this.completedTs = completedTs; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
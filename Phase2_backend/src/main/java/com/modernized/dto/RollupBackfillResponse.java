@@ -0,0 +1,38 @@
+package com.modernized.dto;
+
+public class RollupBackfillResponse {
+    private Long jobInstanceId;
+    private Long jobExecutionId;
+    private boolean resumed;
+    private String fromDate;
+    private String toDate;
+    private long daysRebuilt;
+    private long rollupRows;
+    private long elapsedMillis;
+
+    public RollupBackfillResponse() {}
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public Long getJobExecutionId() { return jobExecutionId; }
+    public void setJobExecutionId(Long jobExecutionId) { this.jobExecutionId = jobExecutionId; }
+
+    public boolean isResumed() { return resumed; }
+    public void setResumed(boolean resumed) { this.resumed = resumed; }
+
+    public String getFromDate() { return fromDate; }
+    public void setFromDate(String fromDate) { this.fromDate = fromDate; }
+
+    public String getToDate() { return toDate; }
+    public void setToDate(String toDate) { this.toDate = toDate; }
+
+    public long getDaysRebuilt() { return daysRebuilt; }
+    public void setDaysRebuilt(long daysRebuilt) { this.daysRebuilt = daysRebuilt; }
+
+    public long getRollupRows() { return rollupRows; }
+    public void setRollupRows(long rollupRows) { this.rollupRows = rollupRows; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
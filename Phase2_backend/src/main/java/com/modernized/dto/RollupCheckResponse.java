@@ -0,0 +1,95 @@
+package com.modernized.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RollupCheckResponse {
+    private String fromDate;
+    private String toDate;
+    private long daysChecked;
+    private long groupsChecked;
+    private long mismatchCount;
+    private boolean consistent;
+    private long elapsedMillis;
+    private List<Mismatch> mismatches = new ArrayList<>();
+
+    public RollupCheckResponse() {}
+
+    public String getFromDate() { return fromDate; }
+    public void setFromDate(String fromDate) { this.fromDate = fromDate; }
+
+    public String getToDate() { return toDate; }
+    public void setToDate(String toDate) { this.toDate = toDate; }
+
+    public long getDaysChecked() { return daysChecked; }
+    public void setDaysChecked(long daysChecked) { this.daysChecked = daysChecked; }
+
+    public long getGroupsChecked() { return groupsChecked; }
+    public void setGroupsChecked(long groupsChecked) { this.groupsChecked = groupsChecked; }
+
+    public long getMismatchCount() { return mismatchCount; }
+    public void setMismatchCount(long mismatchCount) { this.mismatchCount = mismatchCount; }
+
+    public boolean isConsistent() { return consistent; }
+    public void setConsistent(boolean consistent) { this.consistent = consistent; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<Mismatch> getMismatches() { return mismatches; }
+    public void setMismatches(List<Mismatch> mismatches) { this.mismatches = mismatches; }
+
+    /**
+     * A rollup group whose stored totals differ from the transaction table.
+     * Missing totals are reported as zero.
+     */
+    public static class Mismatch {
+        private String rollupDate;
+        private Long acctId;
+        private String tranTypeCd;
+        private Integer tranCatCd;
+        private long expectedCount;
+        private BigDecimal expectedAmt;
+        private long rollupCount;
+        private BigDecimal rollupAmt;
+
+        public Mismatch() {}
+
+        public Mismatch(String rollupDate, Long acctId, String tranTypeCd, Integer tranCatCd,
+                        long expectedCount, BigDecimal expectedAmt, long rollupCount, BigDecimal rollupAmt) {
+            this.rollupDate = rollupDate;
+            this.acctId = acctId;
+            this.tranTypeCd = tranTypeCd;
+            this.tranCatCd = tranCatCd;
+            this.expectedCount = expectedCount;
+            this.expectedAmt = expectedAmt;
+            this.rollupCount = rollupCount;
+            this.rollupAmt = rollupAmt;
+        }
+
+        public String getRollupDate() { return rollupDate; }
+        public void setRollupDate(String rollupDate) { this.rollupDate = rollupDate; }
+
+        public Long getAcctId() { return acctId; }
+        public void setAcctId(Long acctId) { this.acctId = acctId; }
+
+        public String getTranTypeCd() { return tranTypeCd; }
+        public void setTranTypeCd(String tranTypeCd) { this.tranTypeCd = tranTypeCd; }
+
+        public Integer getTranCatCd() { return tranCatCd; }
+        public void setTranCatCd(Integer tranCatCd) { this.tranCatCd = tranCatCd; }
+
+        public long getExpectedCount() { return expectedCount; }
+        public void setExpectedCount(long expectedCount) { this.expectedCount = expectedCount; }
+
+        public BigDecimal getExpectedAmt() { return expectedAmt; }
+        public void setExpectedAmt(BigDecimal expectedAmt) { this.expectedAmt = expectedAmt; }
+
+        public long getRollupCount() { return rollupCount; }
+        public void setRollupCount(long rollupCount) { this.rollupCount = rollupCount; }
+
+        public BigDecimal getRollupAmt() { return rollupAmt; }
+        public void setRollupAmt(BigDecimal rollupAmt) { this.rollupAmt = rollupAmt; }
+    }
+}
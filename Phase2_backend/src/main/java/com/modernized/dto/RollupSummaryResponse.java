@@ -0,0 +1,62 @@
+package com.modernized.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RollupSummaryResponse {
+    private String fromDate;
+    private String toDate;
+    private Long acctId;
+    private long tranCount;
+    private BigDecimal totalAmt = BigDecimal.ZERO;
+    private List<Line> lines = new ArrayList<>();
+
+    public RollupSummaryResponse() {}
+
+    public String getFromDate() { return fromDate; }
+    public void setFromDate(String fromDate) { this.fromDate = fromDate; }
+
+    public String getToDate() { return toDate; }
+    public void setToDate(String toDate) { this.toDate = toDate; }
+
+    public Long getAcctId() { return acctId; }
+    public void setAcctId(Long acctId) { this.acctId = acctId; }
+
+    public long getTranCount() { return tranCount; }
+    public void setTranCount(long tranCount) { this.tranCount = tranCount; }
+
+    public BigDecimal getTotalAmt() { return totalAmt; }
+    public void setTotalAmt(BigDecimal totalAmt) { this.totalAmt = totalAmt; }
+
+    public List<Line> getLines() { return lines; }
+    public void setLines(List<Line> lines) { this.lines = lines; }
+
+    public static class Line {
+        private String tranTypeCd;
+        private Integer tranCatCd;
+        private long tranCount;
+        private BigDecimal totalAmt;
+
+        public Line() {}
+
+        public Line(String tranTypeCd, Integer tranCatCd, long tranCount, BigDecimal totalAmt) {
+            this.tranTypeCd = tranTypeCd;
+            this.tranCatCd = tranCatCd;
+            this.tranCount = tranCount;
+            this.totalAmt = totalAmt;
+        }
+
+        public String getTranTypeCd() { return tranTypeCd; }
+        public void setTranTypeCd(String tranTypeCd) { this.tranTypeCd = tranTypeCd; }
+
+        public Integer getTranCatCd() { return tranCatCd; }
+        public void setTranCatCd(Integer tranCatCd) { this.tranCatCd = tranCatCd; }
+
+        public long getTranCount() { return tranCount; }
+        public void setTranCount(long tranCount) { this.tranCount = tranCount; }
+
+        public BigDecimal getTotalAmt() { return totalAmt; }
+        public void setTotalAmt(BigDecimal totalAmt) { this.totalAmt = totalAmt; }
+    }
+}
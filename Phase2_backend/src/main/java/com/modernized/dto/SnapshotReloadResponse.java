@@ -0,0 +1,24 @@
+package com.modernized.dto;
+
+public class SnapshotReloadResponse {
+    private int rowsLoaded;
+    private long appendFailures;
+    private long elapsedMillis;
+
+    public SnapshotReloadResponse() {}
+
+    public SnapshotReloadResponse(int rowsLoaded, long appendFailures, long elapsedMillis) {
+        this.rowsLoaded = rowsLoaded;
+        this.appendFailures = appendFailures;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRowsLoaded() { return rowsLoaded; }
+    public void setRowsLoaded(int rowsLoaded) { this.rowsLoaded = rowsLoaded; }
+
+    public long getAppendFailures() { return appendFailures; }
+    public void setAppendFailures(long appendFailures) { this.appendFailures = appendFailures; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
@@ -0,0 +1,65 @@
+package com.modernized.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TransactionAnalyticsResponse {
+    private String groupBy;
+    private String fromDate;
+    private String toDate;
+    private long rowsScanned;
+    private long tranCount;
+    private BigDecimal totalAmt;
+    private long elapsedMillis;
+    private List<Group> groups = new ArrayList<>();
+
+    public TransactionAnalyticsResponse() {}
+
+    public String getGroupBy() { return groupBy; }
+    public void setGroupBy(String groupBy) { this.groupBy = groupBy; }
+
+    public String getFromDate() { return fromDate; }
+    public void setFromDate(String fromDate) { this.fromDate = fromDate; }
+
+    public String getToDate() { return toDate; }
+    public void setToDate(String toDate) { this.toDate = toDate; }
+
+    public long getRowsScanned() { return rowsScanned; }
+    public void setRowsScanned(long rowsScanned) { this.rowsScanned = rowsScanned; }
+
+    public long getTranCount() { return tranCount; }
+    public void setTranCount(long tranCount) { this.tranCount = tranCount; }
+
+    public BigDecimal getTotalAmt() { return totalAmt; }
+    public void setTotalAmt(BigDecimal totalAmt) { this.totalAmt = totalAmt; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public List<Group> getGroups() { return groups; }
+    public void setGroups(List<Group> groups) { this.groups = groups; }
+
+    public static class Group {
+        private String key;
+        private long tranCount;
+        private BigDecimal totalAmt;
+
+        public Group() {}
+
+        public Group(String key, long tranCount, BigDecimal totalAmt) {
+            this.key = key;
+            this.tranCount = tranCount;
+            this.totalAmt = totalAmt;
+        }
+
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+
+        public long getTranCount() { return tranCount; }
+        public void setTranCount(long tranCount) { this.tranCount = tranCount; }
+
+        public BigDecimal getTotalAmt() { return totalAmt; }
+        public void setTotalAmt(BigDecimal totalAmt) { this.totalAmt = totalAmt; }
+    }
+}
@@ -23,6 +23,7 @@ public class TransactionCreateRequest {
     private String tranDesc;
 
     @NotNull(message = "Transaction amount cannot be null")
+    @Digits(integer = 9, fraction = 2, message = "Transaction amount must have at most 9 digits and 2 decimals")
     private BigDecimal tranAmt;
 
     @NotBlank(message = "Origin date cannot be empty")
@@ -0,0 +1,55 @@
+package com.modernized.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a transaction listing ordered by (tran_orig_ts, tran_id).
+ * Forward means towards the listing's next page, whichever way the listing is sorted.
+ * Encoded as URL-safe Base64 so clients treat it as a token rather than building it themselves.
+ * tran_orig_ts is NOT NULL, so every listed transaction has a position.
+ */
+public class TransactionCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final boolean forward;
+    private final String origTs;
+    private final String tranId;
+
+    public TransactionCursor(boolean forward, String origTs, String tranId) {
+        if (origTs == null || tranId == null) {
+            throw new IllegalStateException("Cursor needs an origin timestamp and transaction ID");
+        }
+        this.forward = forward;
+        this.origTs = origTs;
+        this.tranId = tranId;
+    }
+
+    public boolean isForward() { return forward; }
+    public String getOrigTs() { return origTs; }
+    public String getTranId() { return tranId; }
+
+    public String encode() {
+        String raw = (forward ? "N" : "P") + SEPARATOR + origTs + SEPARATOR + tranId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first != 1 || last <= first) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            char direction = raw.charAt(0);
+            if (direction != 'N' && direction != 'P') {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionCursor(direction == 'N', raw.substring(first + 1, last), raw.substring(last + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
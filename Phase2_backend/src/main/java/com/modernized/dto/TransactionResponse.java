@@ -19,6 +19,28 @@ public class TransactionResponse {
 
     public TransactionResponse() {}
 
+    /**
+     * Constructor used by JPQL projections, so listings read columns without loading entities.
+     */
+    public TransactionResponse(String tranId, String cardNum, String tranTypeCd, Integer tranCatCd,
+                               String tranSource, String tranDesc, BigDecimal tranAmt, String origTs,
+                               String procTs, Long merchantId, String merchantName, String merchantCity,
+                               String merchantZip) {
+        this.tranId = tranId;
+        this.cardNum = cardNum;
+        this.tranTypeCd = tranTypeCd;
+        this.tranCatCd = String.valueOf(tranCatCd);
+        this.tranSource = tranSource;
+        this.tranDesc = tranDesc;
+        this.tranAmt = tranAmt;
+        this.origTs = origTs;
+        this.procTs = procTs;
+        this.merchantId = String.valueOf(merchantId);
+        this.merchantName = merchantName;
+        this.merchantCity = merchantCity;
+        this.merchantZip = merchantZip;
+    }
+
     public String getTranId() { return tranId; }
     public void setTranId(String tranId) { this.tranId = tranId; }
 
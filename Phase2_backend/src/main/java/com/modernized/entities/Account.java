@@ -1,6 +1,7 @@
 package com.modernized.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.util.List;
@@ -11,7 +12,10 @@ import java.util.Objects;
  * Source: CVACT01Y.cpy, lines 4-17
  */
 @Entity
-@Table(name = "account")
+@DynamicUpdate
+@Table(name = "account", indexes = {
+    @Index(name = "idx_account_group", columnList = "acct_group_id")
+})
 public class Account {
 
     @Id
@@ -69,6 +73,10 @@ public class Account {
     @Column(name = "acct_group_id", length = 10)
     private String acctGroupId;
 
+    @Version
+    @Column(name = "acct_version")
+    private Long acctVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "acct_cust_id", referencedColumnName = "cust_id")
     private Customer customer;
@@ -137,6 +145,9 @@ public class Account {
     public String getAcctGroupId() { return acctGroupId; }
     public void setAcctGroupId(String acctGroupId) { this.acctGroupId = acctGroupId; }
 
+    public Long getAcctVersion() { return acctVersion; }
+    public void setAcctVersion(Long acctVersion) { this.acctVersion = acctVersion; }
+
     public Customer getCustomer() { return customer; }
     public void setCustomer(Customer customer) { this.customer = customer; }
 
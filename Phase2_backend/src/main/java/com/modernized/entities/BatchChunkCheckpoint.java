@@ -0,0 +1,121 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * A committed chunk of an account-keyed batch step. Written in the same transaction as the
+ * chunk's own changes, with the IDs of the accounts it applied, so a resumed run can skip
+ * exactly the accounts already applied and still process accounts that entered the chunk's
+ * range after it committed.
+ */
+@Entity
+@Table(name = "batch_chunk_checkpoint", indexes = {
+    @Index(name = "idx_batch_chunk_checkpoint_step", columnList = "job_instance_id, step_name, from_acct_id")
+})
+public class BatchChunkCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "chunk_id")
+    private Long chunkId;
+
+    @NotNull
+    @Column(name = "job_instance_id")
+    private Long jobInstanceId;
+
+    @NotNull
+    @Size(min = 1, max = 32)
+    @Column(name = "step_name", length = 32)
+    private String stepName;
+
+    @NotNull
+    @Column(name = "job_execution_id")
+    private Long jobExecutionId;
+
+    @NotNull
+    @Column(name = "from_acct_id")
+    private Long fromAcctId;
+
+    @NotNull
+    @Column(name = "to_acct_id")
+    private Long toAcctId;
+
+    @NotNull
+    @Column(name = "items_processed")
+    private Long itemsProcessed;
+
+    /** Applied account IDs as consecutive 8-byte big-endian longs. */
+    @NotNull
+    @Lob
+    @Column(name = "acct_ids")
+    private byte[] acctIds;
+
+    @Column(name = "committed_ts", length = 26)
+    private String committedTs;
+
+    public BatchChunkCheckpoint() {}
+
+    public BatchChunkCheckpoint(Long jobInstanceId, String stepName, Long jobExecutionId, Long fromAcctId,
+                                Long toAcctId, Long itemsProcessed, byte[] acctIds, String committedTs) {
+        this.jobInstanceId = jobInstanceId;
+        this.stepName = stepName;
+        this.jobExecutionId = jobExecutionId;
+        this.fromAcctId = fromAcctId;
+        this.toAcctId = toAcctId;
+        this.itemsProcessed = itemsProcessed;
+        this.acctIds = acctIds;
+        this.committedTs = committedTs;
+    }
+
+    public Long getChunkId() { return chunkId; }
+    public void setChunkId(Long chunkId) { this.chunkId = chunkId; }
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public String getStepName() { return stepName; }
+    public void setStepName(String stepName) { this.stepName = stepName; }
+
+    public Long getJobExecutionId() { return jobExecutionId; }
+    public void setJobExecutionId(Long jobExecutionId) { this.jobExecutionId = jobExecutionId; }
+
+    public Long getFromAcctId() { return fromAcctId; }
+    public void setFromAcctId(Long fromAcctId) { this.fromAcctId = fromAcctId; }
+
+    public Long getToAcctId() { return toAcctId; }
+    public void setToAcctId(Long toAcctId) { this.toAcctId = toAcctId; }
+
+    public Long getItemsProcessed() { return itemsProcessed; }
+    public void setItemsProcessed(Long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+    public byte[] getAcctIds() { return acctIds; }
+    public void setAcctIds(byte[] acctIds) { this.acctIds = acctIds; }
+
+    public String getCommittedTs() { return committedTs; }
+    public void setCommittedTs(String committedTs) { this.committedTs = committedTs; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchChunkCheckpoint that = (BatchChunkCheckpoint) o;
+        return Objects.equals(chunkId, that.chunkId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chunkId);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchChunkCheckpoint{" +
+                "chunkId=" + chunkId +
+                ", stepName='" + stepName + '\'' +
+                ", fromAcctId=" + fromAcctId +
+                ", toAcctId=" + toAcctId +
+                '}';
+    }
+}
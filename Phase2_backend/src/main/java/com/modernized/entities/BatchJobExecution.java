@@ -0,0 +1,88 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * One attempt at running a batch job instance. A restart after a failure adds an
+ * execution to the same instance.
+ */
+@Entity
+@Table(name = "batch_job_execution", indexes = {
+    @Index(name = "idx_batch_job_execution_instance", columnList = "job_instance_id")
+})
+public class BatchJobExecution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_execution_id")
+    private Long jobExecutionId;
+
+    @NotNull
+    @Column(name = "job_instance_id")
+    private Long jobInstanceId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10)
+    private BatchJobInstance.Status status;
+
+    @Column(name = "start_ts", length = 26)
+    private String startTs;
+
+    @Column(name = "end_ts", length = 26)
+    private String endTs;
+
+    @Size(max = 255)
+    @Column(name = "exit_message", length = 255)
+    private String exitMessage;
+
+    public BatchJobExecution() {}
+
+    public BatchJobExecution(Long jobInstanceId, BatchJobInstance.Status status, String startTs) {
+        this.jobInstanceId = jobInstanceId;
+        this.status = status;
+        this.startTs = startTs;
+    }
+
+    public Long getJobExecutionId() { return jobExecutionId; }
+    public void setJobExecutionId(Long jobExecutionId) { this.jobExecutionId = jobExecutionId; }
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public BatchJobInstance.Status getStatus() { return status; }
+    public void setStatus(BatchJobInstance.Status status) { this.status = status; }
+
+    public String getStartTs() { return startTs; }
+    public void setStartTs(String startTs) { this.startTs = startTs; }
+
+    public String getEndTs() { return endTs; }
+    public void setEndTs(String endTs) { this.endTs = endTs; }
+
+    public String getExitMessage() { return exitMessage; }
+    public void setExitMessage(String exitMessage) { this.exitMessage = exitMessage; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchJobExecution that = (BatchJobExecution) o;
+        return Objects.equals(jobExecutionId, that.jobExecutionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobExecutionId);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJobExecution{" +
+                "jobExecutionId=" + jobExecutionId +
+                ", jobInstanceId=" + jobInstanceId +
+                ", status=" + status +
+                '}';
+    }
+}
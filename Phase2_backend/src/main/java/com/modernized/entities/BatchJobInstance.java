@@ -0,0 +1,95 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * One logical run of a batch job, such as the interest run for a period.
+ * A failed or interrupted instance is resumed by a new execution of the same instance;
+ * a completed instance is never run again.
+ */
+@Entity
+@Table(name = "batch_job_instance", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_batch_job_instance_name_key", columnNames = {"job_name", "job_key"})
+})
+public class BatchJobInstance {
+
+    public enum Status { STARTED, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_instance_id")
+    private Long jobInstanceId;
+
+    @NotNull
+    @Size(min = 1, max = 32)
+    @Column(name = "job_name", length = 32)
+    private String jobName;
+
+    @NotNull
+    @Size(min = 1, max = 64)
+    @Column(name = "job_key", length = 64)
+    private String jobKey;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10)
+    private Status status;
+
+    @Column(name = "created_ts", length = 26)
+    private String createdTs;
+
+    @Column(name = "end_ts", length = 26)
+    private String endTs;
+
+    public BatchJobInstance() {}
+
+    public BatchJobInstance(String jobName, String jobKey, Status status, String createdTs) {
+        this.jobName = jobName;
+        this.jobKey = jobKey;
+        this.status = status;
+        this.createdTs = createdTs;
+    }
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getJobKey() { return jobKey; }
+    public void setJobKey(String jobKey) { this.jobKey = jobKey; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getCreatedTs() { return createdTs; }
+    public void setCreatedTs(String createdTs) { this.createdTs = createdTs; }
+
+    public String getEndTs() { return endTs; }
+    public void setEndTs(String endTs) { this.endTs = endTs; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchJobInstance that = (BatchJobInstance) o;
+        return Objects.equals(jobInstanceId, that.jobInstanceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobInstanceId);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJobInstance{" +
+                "jobInstanceId=" + jobInstanceId +
+                ", jobName='" + jobName + '\'' +
+                ", jobKey='" + jobKey + '\'' +
+                ", status=" + status +
+                '}';
+    }
+}
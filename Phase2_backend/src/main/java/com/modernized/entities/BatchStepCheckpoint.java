@@ -0,0 +1,82 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * Restart point of a batch job step: every chunk up to and including the last key is
+ * committed. The key is the last processed acct_id for account-keyed steps and the last
+ * daily transaction ID for daily posting.
+ */
+@Entity
+@Table(name = "batch_step_checkpoint")
+public class BatchStepCheckpoint {
+
+    @EmbeddedId
+    @NotNull
+    private BatchStepCheckpointId id;
+
+    @Size(max = 32)
+    @Column(name = "last_key", length = 32)
+    private String lastKey;
+
+    @NotNull
+    @Column(name = "chunks_committed")
+    private Long chunksCommitted;
+
+    @NotNull
+    @Column(name = "items_processed")
+    private Long itemsProcessed;
+
+    @Column(name = "updated_ts", length = 26)
+    private String updatedTs;
+
+    public BatchStepCheckpoint() {}
+
+    public BatchStepCheckpoint(BatchStepCheckpointId id, String lastKey, Long chunksCommitted,
+                               Long itemsProcessed, String updatedTs) {
+        this.id = id;
+        this.lastKey = lastKey;
+        this.chunksCommitted = chunksCommitted;
+        this.itemsProcessed = itemsProcessed;
+        this.updatedTs = updatedTs;
+    }
+
+    public BatchStepCheckpointId getId() { return id; }
+    public void setId(BatchStepCheckpointId id) { this.id = id; }
+
+    public String getLastKey() { return lastKey; }
+    public void setLastKey(String lastKey) { this.lastKey = lastKey; }
+
+    public Long getChunksCommitted() { return chunksCommitted; }
+    public void setChunksCommitted(Long chunksCommitted) { this.chunksCommitted = chunksCommitted; }
+
+    public Long getItemsProcessed() { return itemsProcessed; }
+    public void setItemsProcessed(Long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+    public String getUpdatedTs() { return updatedTs; }
+    public void setUpdatedTs(String updatedTs) { this.updatedTs = updatedTs; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchStepCheckpoint that = (BatchStepCheckpoint) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStepCheckpoint{" +
+                "id=" + id +
+                ", lastKey='" + lastKey + '\'' +
+                ", chunksCommitted=" + chunksCommitted +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.modernized.entities;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Column;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class BatchStepCheckpointId implements Serializable {
+
+    @Column(name = "job_instance_id")
+    private Long jobInstanceId;
+
+    @Column(name = "step_name", length = 32)
+    private String stepName;
+
+    public BatchStepCheckpointId() {}
+
+    public BatchStepCheckpointId(Long jobInstanceId, String stepName) {
+        this.jobInstanceId = jobInstanceId;
+        this.stepName = stepName;
+    }
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public String getStepName() { return stepName; }
+    public void setStepName(String stepName) { this.stepName = stepName; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchStepCheckpointId that = (BatchStepCheckpointId) o;
+        return Objects.equals(jobInstanceId, that.jobInstanceId) &&
+               Objects.equals(stepName, that.stepName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobInstanceId, stepName);
+    }
+}
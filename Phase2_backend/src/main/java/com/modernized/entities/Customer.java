@@ -1,6 +1,7 @@
 package com.modernized.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.List;
 import java.util.Objects;
 
@@ -9,6 +10,7 @@ import java.util.Objects;
  * Source: CVCUS01Y.cpy, lines 4-23
  */
 @Entity
+@DynamicUpdate
 @Table(name = "customer")
 public class Customer {
 
@@ -0,0 +1,84 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * A daily transaction the posting batch rejected, with its reason code (the DALYREJS
+ * reject file of CBTRN02C). A rejected daily transaction is not read by later runs; deleting
+ * its reject row submits it for posting again.
+ */
+@Entity
+@Table(name = "daily_transaction_reject")
+public class DailyTransactionReject {
+
+    @Id
+    @NotNull
+    @Size(min = 1, max = 16)
+    @Column(name = "dalytran_id", length = 16)
+    private String dalytranId;
+
+    @NotNull
+    @Column(name = "reject_code")
+    private Integer rejectCode;
+
+    @NotNull
+    @Size(min = 1, max = 64)
+    @Column(name = "reject_reason", length = 64)
+    private String rejectReason;
+
+    @Column(name = "job_instance_id")
+    private Long jobInstanceId;
+
+    @Column(name = "rejected_ts", length = 26)
+    private String rejectedTs;
+
+    public DailyTransactionReject() {}
+
+    public DailyTransactionReject(String dalytranId, Integer rejectCode, String rejectReason,
+                                  Long jobInstanceId, String rejectedTs) {
+        this.dalytranId = dalytranId;
+        this.rejectCode = rejectCode;
+        this.rejectReason = rejectReason;
+        this.jobInstanceId = jobInstanceId;
+        this.rejectedTs = rejectedTs;
+    }
+
+    public String getDalytranId() { return dalytranId; }
+    public void setDalytranId(String dalytranId) { this.dalytranId = dalytranId; }
+
+    public Integer getRejectCode() { return rejectCode; }
+    public void setRejectCode(Integer rejectCode) { this.rejectCode = rejectCode; }
+
+    public String getRejectReason() { return rejectReason; }
+    public void setRejectReason(String rejectReason) { this.rejectReason = rejectReason; }
+
+    public Long getJobInstanceId() { return jobInstanceId; }
+    public void setJobInstanceId(Long jobInstanceId) { this.jobInstanceId = jobInstanceId; }
+
+    public String getRejectedTs() { return rejectedTs; }
+    public void setRejectedTs(String rejectedTs) { this.rejectedTs = rejectedTs; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyTransactionReject that = (DailyTransactionReject) o;
+        return Objects.equals(dalytranId, that.dalytranId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dalytranId);
+    }
+
+    @Override
+    public String toString() {
+        return "DailyTransactionReject{" +
+                "dalytranId='" + dalytranId + '\'' +
+                ", rejectCode=" + rejectCode +
+                ", rejectReason='" + rejectReason + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,59 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * Highest posting journal sequence whose effects are committed to the database.
+ * Written in the same transaction as the journaled postings it covers, so replay after a
+ * crash resumes exactly after the last applied entry.
+ */
+@Entity
+@Table(name = "posting_journal_checkpoint")
+public class PostingJournalCheckpoint {
+
+    @Id
+    @NotNull
+    @Size(min = 1, max = 32)
+    @Column(name = "journal_name", length = 32)
+    private String journalName;
+
+    @NotNull
+    @Column(name = "last_applied_seq")
+    private Long lastAppliedSeq;
+
+    public PostingJournalCheckpoint() {}
+
+    public PostingJournalCheckpoint(String journalName, Long lastAppliedSeq) {
+        this.journalName = journalName;
+        this.lastAppliedSeq = lastAppliedSeq;
+    }
+
+    public String getJournalName() { return journalName; }
+    public void setJournalName(String journalName) { this.journalName = journalName; }
+
+    public Long getLastAppliedSeq() { return lastAppliedSeq; }
+    public void setLastAppliedSeq(Long lastAppliedSeq) { this.lastAppliedSeq = lastAppliedSeq; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PostingJournalCheckpoint that = (PostingJournalCheckpoint) o;
+        return Objects.equals(journalName, that.journalName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(journalName);
+    }
+
+    @Override
+    public String toString() {
+        return "PostingJournalCheckpoint{" +
+                "journalName='" + journalName + '\'' +
+                ", lastAppliedSeq=" + lastAppliedSeq +
+                '}';
+    }
+}
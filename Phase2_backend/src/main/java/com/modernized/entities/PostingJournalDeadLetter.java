@@ -0,0 +1,102 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * A journaled posting that could not be applied to the database and was set aside so the
+ * journal could move past it. The posting was already acknowledged, so every row needs an
+ * operator to repair and repost it or to reverse it with the customer.
+ * The entry is kept as its journal record, since its fields may be what the database refused.
+ */
+@Entity
+@Table(name = "posting_journal_dead_letter")
+public class PostingJournalDeadLetter {
+
+    @Id
+    @NotNull
+    @Column(name = "journal_seq")
+    private Long journalSeq;
+
+    @NotNull
+    @Size(min = 1, max = 32)
+    @Column(name = "journal_name", length = 32)
+    private String journalName;
+
+    @NotNull
+    @Column(name = "acct_id")
+    private Long acctId;
+
+    @Size(max = 16)
+    @Column(name = "tran_id", length = 16)
+    private String tranId;
+
+    @NotNull
+    @Column(name = "entry_record", length = 65535)
+    private byte[] entryRecord;
+
+    @Size(max = 255)
+    @Column(name = "error_message", length = 255)
+    private String errorMessage;
+
+    @Column(name = "quarantined_ts", length = 26)
+    private String quarantinedTs;
+
+    public PostingJournalDeadLetter() {}
+
+    public PostingJournalDeadLetter(Long journalSeq, String journalName, Long acctId, String tranId,
+                                    byte[] entryRecord, String errorMessage, String quarantinedTs) {
+        this.journalSeq = journalSeq;
+        this.journalName = journalName;
+        this.acctId = acctId;
+        this.tranId = tranId;
+        this.entryRecord = entryRecord;
+        this.errorMessage = errorMessage;
+        this.quarantinedTs = quarantinedTs;
+    }
+
+    public Long getJournalSeq() { return journalSeq; }
+    public void setJournalSeq(Long journalSeq) { this.journalSeq = journalSeq; }
+
+    public String getJournalName() { return journalName; }
+    public void setJournalName(String journalName) { this.journalName = journalName; }
+
+    public Long getAcctId() { return acctId; }
+    public void setAcctId(Long acctId) { this.acctId = acctId; }
+
+    public String getTranId() { return tranId; }
+    public void setTranId(String tranId) { this.tranId = tranId; }
+
+    public byte[] getEntryRecord() { return entryRecord; }
+    public void setEntryRecord(byte[] entryRecord) { this.entryRecord = entryRecord; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getQuarantinedTs() { return quarantinedTs; }
+    public void setQuarantinedTs(String quarantinedTs) { this.quarantinedTs = quarantinedTs; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PostingJournalDeadLetter that = (PostingJournalDeadLetter) o;
+        return Objects.equals(journalSeq, that.journalSeq);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(journalSeq);
+    }
+
+    @Override
+    public String toString() {
+        return "PostingJournalDeadLetter{" +
+                "journalSeq=" + journalSeq +
+                ", acctId=" + acctId +
+                ", tranId='" + tranId + '\'' +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
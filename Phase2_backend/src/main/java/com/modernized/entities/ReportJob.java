@@ -0,0 +1,151 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.util.Objects;
+
+/**
+ * A submitted transaction report (SCREEN-013) and its progress.
+ * The report file is written by a background worker; the row records how far it got.
+ */
+@Entity
+@Table(name = "report_job", indexes = {
+    @Index(name = "idx_report_job_status", columnList = "status")
+})
+public class ReportJob {
+
+    public enum Status { SUBMITTED, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @NotNull
+    @Size(min = 1, max = 20)
+    @Column(name = "job_id", length = 20)
+    private String jobId;
+
+    @NotNull
+    @Size(min = 1, max = 10)
+    @Column(name = "report_type", length = 10)
+    private String reportType;
+
+    @NotNull
+    @Size(min = 10, max = 10)
+    @Column(name = "start_date", length = 10)
+    private String startDate;
+
+    @NotNull
+    @Size(min = 10, max = 10)
+    @Column(name = "end_date", length = 10)
+    private String endDate;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10)
+    private Status status;
+
+    @Column(name = "rows_total")
+    private Long rowsTotal;
+
+    @NotNull
+    @Column(name = "rows_read")
+    private Long rowsRead = 0L;
+
+    @NotNull
+    @Column(name = "groups_written")
+    private Long groupsWritten = 0L;
+
+    @Size(max = 40)
+    @Column(name = "file_name", length = 40)
+    private String fileName;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "submitted_ts", length = 26)
+    private String submittedTs;
+
+    @Column(name = "started_ts", length = 26)
+    private String startedTs;
+
+    @Column(name = "completed_ts", length = 26)
+    private String completedTs;
+
+    @Size(max = 255)
+    @Column(name = "error_message", length = 255)
+    private String errorMessage;
+
+    public ReportJob() {}
+
+    public ReportJob(String jobId, String reportType, String startDate, String endDate, Status status,
+                     String submittedTs) {
+        this.jobId = jobId;
+        this.reportType = reportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.submittedTs = submittedTs;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+
+    public String getStartDate() { return startDate; }
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+
+    public String getEndDate() { return endDate; }
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getRowsTotal() { return rowsTotal; }
+    public void setRowsTotal(Long rowsTotal) { this.rowsTotal = rowsTotal; }
+
+    public Long getRowsRead() { return rowsRead; }
+    public void setRowsRead(Long rowsRead) { this.rowsRead = rowsRead; }
+
+    public Long getGroupsWritten() { return groupsWritten; }
+    public void setGroupsWritten(Long groupsWritten) { this.groupsWritten = groupsWritten; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public String getSubmittedTs() { return submittedTs; }
+    public void setSubmittedTs(String submittedTs) { this.submittedTs = submittedTs; }
+
+    public String getStartedTs() { return startedTs; }
+    public void setStartedTs(String startedTs) { this.startedTs = startedTs; }
+
+    public String getCompletedTs() { return completedTs; }
+    public void setCompletedTs(String completedTs) { this.completedTs = completedTs; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportJob that = (ReportJob) o;
+        return Objects.equals(jobId, that.jobId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobId);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJob{" +
+                "jobId='" + jobId + '\'' +
+                ", reportType='" + reportType + '\'' +
+                ", status=" + status +
+                '}';
+    }
+}
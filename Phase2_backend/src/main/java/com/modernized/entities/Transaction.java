@@ -11,7 +11,12 @@ import java.util.Objects;
  * Source: CVTRA05Y.cpy, lines 4-18
  */
 @Entity
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+    @Index(name = "idx_transaction_orig_ts_id", columnList = "tran_orig_ts, tran_id"),
+    @Index(name = "idx_transaction_orig_ts_id_desc", columnList = "tran_orig_ts DESC, tran_id DESC"),
+    @Index(name = "idx_transaction_card_orig_ts", columnList = "tran_card_num, tran_orig_ts, tran_id"),
+    @Index(name = "idx_transaction_card_orig_ts_desc", columnList = "tran_card_num DESC, tran_orig_ts DESC, tran_id DESC")
+})
 public class Transaction {
 
     @Id
@@ -38,6 +43,7 @@ public class Transaction {
     private String tranDesc;
 
     @NotNull
+    @Digits(integer = 9, fraction = 2)
     @Column(name = "tran_amt", precision = 11, scale = 2)
     private BigDecimal tranAmt;
 
@@ -61,7 +67,8 @@ public class Transaction {
     @Column(name = "tran_card_num", length = 16)
     private String tranCardNum;
 
-    @Column(name = "tran_orig_ts", length = 26)
+    @NotNull
+    @Column(name = "tran_orig_ts", length = 26, nullable = false)
     private String tranOrigTs;
 
     @Column(name = "tran_proc_ts", length = 26)
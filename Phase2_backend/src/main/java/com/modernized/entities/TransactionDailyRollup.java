@@ -0,0 +1,69 @@
+package com.modernized.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Count and total amount of posted transactions per origin day, account, type and category.
+ * Maintained by every posting path in the same transaction as the inserted rows, so range
+ * totals can be read from a few rollup rows instead of scanning the transaction table.
+ */
+@Entity
+@Table(name = "transaction_daily_rollup", indexes = {
+    @Index(name = "idx_tran_daily_rollup_acct_date", columnList = "acct_id, rollup_date")
+})
+public class TransactionDailyRollup {
+
+    @EmbeddedId
+    @NotNull
+    private TransactionDailyRollupId id;
+
+    @NotNull
+    @Column(name = "tran_count")
+    private Long tranCount;
+
+    @NotNull
+    @Column(name = "tran_amt", precision = 15, scale = 2)
+    private BigDecimal tranAmt;
+
+    public TransactionDailyRollup() {}
+
+    public TransactionDailyRollup(TransactionDailyRollupId id, Long tranCount, BigDecimal tranAmt) {
+        this.id = id;
+        this.tranCount = tranCount;
+        this.tranAmt = tranAmt;
+    }
+
+    public TransactionDailyRollupId getId() { return id; }
+    public void setId(TransactionDailyRollupId id) { this.id = id; }
+
+    public Long getTranCount() { return tranCount; }
+    public void setTranCount(Long tranCount) { this.tranCount = tranCount; }
+
+    public BigDecimal getTranAmt() { return tranAmt; }
+    public void setTranAmt(BigDecimal tranAmt) { this.tranAmt = tranAmt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionDailyRollup that = (TransactionDailyRollup) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionDailyRollup{" +
+                "id=" + id +
+                ", tranCount=" + tranCount +
+                ", tranAmt=" + tranAmt +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package com.modernized.entities;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Column;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class TransactionDailyRollupId implements Serializable {
+
+    @Column(name = "rollup_date", length = 10)
+    private String rollupDate;
+
+    @Column(name = "acct_id")
+    private Long acctId;
+
+    @Column(name = "tran_type_cd", length = 2)
+    private String tranTypeCd;
+
+    @Column(name = "tran_cat_cd")
+    private Integer tranCatCd;
+
+    public TransactionDailyRollupId() {}
+
+    public TransactionDailyRollupId(String rollupDate, Long acctId, String tranTypeCd, Integer tranCatCd) {
+        this.rollupDate = rollupDate;
+        this.acctId = acctId;
+        this.tranTypeCd = tranTypeCd;
+        this.tranCatCd = tranCatCd;
+    }
+
+    public String getRollupDate() { return rollupDate; }
+    public void setRollupDate(String rollupDate) { this.rollupDate = rollupDate; }
+
+    public Long getAcctId() { return acctId; }
+    public void setAcctId(Long acctId) { this.acctId = acctId; }
+
+    public String getTranTypeCd() { return tranTypeCd; }
+    public void setTranTypeCd(String tranTypeCd) { this.tranTypeCd = tranTypeCd; }
+
+    public Integer getTranCatCd() { return tranCatCd; }
+    public void setTranCatCd(Integer tranCatCd) { this.tranCatCd = tranCatCd; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionDailyRollupId that = (TransactionDailyRollupId) o;
+        return Objects.equals(rollupDate, that.rollupDate) &&
+               Objects.equals(acctId, that.acctId) &&
+               Objects.equals(tranTypeCd, that.tranTypeCd) &&
+               Objects.equals(tranCatCd, that.tranCatCd);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rollupDate, acctId, tranTypeCd, tranCatCd);
+    }
+
+    @Override
+    public String toString() {
+        return rollupDate + "/" + acctId + "/" + tranTypeCd + "/" + tranCatCd;
+    }
+}
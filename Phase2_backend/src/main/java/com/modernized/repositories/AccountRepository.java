@@ -1,7 +1,20 @@
 package com.modernized.repositories;
 
 import com.modernized.entities.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    /**
+     * Find an account and lock its row until the transaction ends, for updates that already
+     * lost an optimistic race and must not lose another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.acctId = :acctId")
+    Optional<Account> findByIdForUpdate(@Param("acctId") Long acctId);
 }
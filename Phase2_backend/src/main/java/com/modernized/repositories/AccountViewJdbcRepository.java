@@ -0,0 +1,121 @@
+package com.modernized.repositories;
+
+import com.modernized.dto.AccountResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read model for the Account View screen (SCREEN-004).
+ * The account and its customer are read in one joined query straight into AccountResponse,
+ * so a view loads no entities and leaves nothing in a persistence context to dirty-check.
+ * Bulk lookups use the same join with chunked IN lists.
+ */
+@Repository
+public class AccountViewJdbcRepository {
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private static final String ACCOUNT_VIEW =
+            "SELECT a.acct_id, a.acct_active_status, a.acct_curr_bal, a.acct_credit_limit, " +
+            "a.acct_cash_credit_limit, a.acct_open_date, a.acct_expiraion_date, a.acct_reissue_date, " +
+            "a.acct_curr_cyc_credit, a.acct_curr_cyc_debit, a.acct_addr_zip, a.acct_group_id, a.acct_version, " +
+            "c.cust_id, c.cust_first_name, c.cust_last_name, c.cust_ssn, c.cust_dob_yyyy_mm_dd, " +
+            "c.cust_fico_credit_score, c.cust_phone_num_1, c.cust_phone_num_2, c.cust_addr_line_1, " +
+            "c.cust_addr_line_2, c.cust_addr_line_3, c.cust_addr_state_cd, c.cust_addr_zip, " +
+            "c.cust_addr_country_cd, c.cust_govt_issued_id, c.cust_eft_account_id, c.cust_pri_card_holder_ind " +
+            "FROM account a LEFT JOIN customer c ON c.cust_id = a.acct_cust_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public AccountViewJdbcRepository(JdbcTemplate jdbcTemplate,
+                                     NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Account and customer fields of one account. Customer fields are left null when the
+     * account has no customer.
+     */
+    public Optional<AccountResponse> findAccountView(Long acctId) {
+        List<AccountResponse> views = jdbcTemplate.query(ACCOUNT_VIEW + "WHERE a.acct_id = ?",
+                (rs, rowNum) -> mapAccountView(rs), acctId);
+        return views.stream().findFirst();
+    }
+
+    /**
+     * Account views of several accounts, read in chunks of at most 1000 IDs per query.
+     *
+     * @param acctIds Account IDs to load
+     * @return Map of account ID to view; unknown accounts are absent
+     */
+    public Map<Long, AccountResponse> findAccountViews(Collection<Long> acctIds) {
+        Map<Long, AccountResponse> views = new HashMap<>();
+        List<Long> ids = new ArrayList<>(acctIds);
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_CHUNK) {
+            namedParameterJdbcTemplate.query(ACCOUNT_VIEW + "WHERE a.acct_id IN (:acctIds)",
+                    new MapSqlParameterSource("acctIds", ids.subList(i, Math.min(i + IN_CLAUSE_CHUNK, ids.size()))),
+                    rs -> {
+                        AccountResponse view = mapAccountView(rs);
+                        views.put(view.getAcctId(), view);
+                    });
+        }
+        return views;
+    }
+
+    /**
+     * IDs of a customer's accounts, whose views all carry the customer's fields.
+     */
+    public List<Long> findAccountIdsByCustomer(Long custId) {
+        return jdbcTemplate.queryForList("SELECT acct_id FROM account WHERE acct_cust_id = ?", Long.class, custId);
+    }
+
+    private static AccountResponse mapAccountView(ResultSet rs) throws SQLException {
+        AccountResponse response = new AccountResponse();
+        response.setAcctId(rs.getLong(1));
+        response.setAcctActiveStatus(rs.getString(2));
+        response.setAcctCurrBal(rs.getBigDecimal(3));
+        response.setAcctCreditLimit(rs.getBigDecimal(4));
+        response.setAcctCashCreditLimit(rs.getBigDecimal(5));
+        response.setAcctOpenDate(rs.getString(6));
+        response.setAcctExpiraionDate(rs.getString(7));
+        response.setAcctReissueDate(rs.getString(8));
+        response.setAcctCurrCycCredit(rs.getBigDecimal(9));
+        response.setAcctCurrCycDebit(rs.getBigDecimal(10));
+        response.setAcctAddrZip(rs.getString(11));
+        response.setAcctGroupId(rs.getString(12));
+        response.setAcctVersion(rs.getObject(13, Long.class));
+
+        rs.getLong(14);
+        if (!rs.wasNull()) {
+            response.setCustomerFirstName(rs.getString(15));
+            response.setCustomerLastName(rs.getString(16));
+            response.setCustomerSsn(String.valueOf(rs.getObject(17, Long.class)));
+            response.setCustomerDateOfBirth(rs.getString(18));
+            response.setCustomerFicoScore(rs.getObject(19, Integer.class));
+            response.setCustomerPhone1(rs.getString(20));
+            response.setCustomerPhone2(rs.getString(21));
+            response.setCustomerAddress1(rs.getString(22));
+            response.setCustomerAddress2(rs.getString(23));
+            response.setCustomerCity(rs.getString(24));
+            response.setCustomerState(rs.getString(25));
+            response.setCustomerZipCode(rs.getString(26));
+            response.setCustomerCountry(rs.getString(27));
+            response.setCustomerGovtIssuedId(rs.getString(28));
+            response.setCustomerEftAccountId(rs.getString(29));
+            response.setCustomerPriCardHolderInd(rs.getString(30));
+        }
+        return response;
+    }
+}
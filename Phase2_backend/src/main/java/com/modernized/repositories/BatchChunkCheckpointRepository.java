@@ -0,0 +1,10 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.BatchChunkCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface BatchChunkCheckpointRepository extends JpaRepository<BatchChunkCheckpoint, Long> {
+
+    List<BatchChunkCheckpoint> findByJobInstanceIdAndStepNameOrderByFromAcctId(Long jobInstanceId, String stepName);
+}
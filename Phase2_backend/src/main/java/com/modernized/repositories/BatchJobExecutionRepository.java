@@ -0,0 +1,13 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.BatchJobExecution;
+import com.modernized.entities.BatchJobInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface BatchJobExecutionRepository extends JpaRepository<BatchJobExecution, Long> {
+
+    List<BatchJobExecution> findByJobInstanceIdOrderByJobExecutionId(Long jobInstanceId);
+
+    List<BatchJobExecution> findByJobInstanceIdAndStatus(Long jobInstanceId, BatchJobInstance.Status status);
+}
@@ -0,0 +1,19 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.BatchJobInstance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface BatchJobInstanceRepository extends JpaRepository<BatchJobInstance, Long> {
+
+    Optional<BatchJobInstance> findByJobNameAndJobKey(String jobName, String jobKey);
+
+    Optional<BatchJobInstance> findFirstByJobNameAndStatusInOrderByJobInstanceIdDesc(
+            String jobName, Collection<BatchJobInstance.Status> statuses);
+
+    Optional<BatchJobInstance> findFirstByJobNameAndJobKeyStartingWithAndStatusInOrderByJobInstanceIdDesc(
+            String jobName, String jobKeyPrefix, Collection<BatchJobInstance.Status> statuses);
+
+    Optional<BatchJobInstance> findFirstByJobNameAndStatusOrderByJobKeyDesc(String jobName, BatchJobInstance.Status status);
+}
@@ -0,0 +1,11 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.BatchStepCheckpoint;
+import com.modernized.entities.BatchStepCheckpointId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+public interface BatchStepCheckpointRepository extends JpaRepository<BatchStepCheckpoint, BatchStepCheckpointId> {
+
+    List<BatchStepCheckpoint> findByIdJobInstanceId(Long jobInstanceId);
+}
@@ -0,0 +1,7 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.DailyTransactionReject;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DailyTransactionRejectRepository extends JpaRepository<DailyTransactionReject, String> {
+}
@@ -0,0 +1,41 @@
+package com.modernized.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import javax.sql.DataSource;
+
+/**
+ * JDBC access for interest simulations.
+ * Category balances are streamed to a callback in a single read-only query, so a simulation
+ * sees one consistent snapshot without loading any entities.
+ */
+@Repository
+public class InterestSimulationJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestSimulationJdbcRepository(DataSource dataSource,
+                                            @Value("${carddemo.simulation.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Stream the category balances of every account in a group, ordered by account.
+     * Columns: trancat_acct_id, trancat_type_cd, trancat_cd, tran_cat_bal.
+     *
+     * @param acctGroupId Account group ID
+     * @param handler Callback invoked once per row while the result set is open
+     */
+    public void streamGroupCategoryBalances(String acctGroupId, RowCallbackHandler handler) {
+        String sql = "SELECT b.trancat_acct_id, b.trancat_type_cd, b.trancat_cd, b.tran_cat_bal " +
+                "FROM transaction_category_balance b " +
+                "JOIN account a ON a.acct_id = b.trancat_acct_id " +
+                "WHERE a.acct_group_id = ? " +
+                "ORDER BY b.trancat_acct_id";
+
+        jdbcTemplate.query(sql, handler, acctGroupId);
+    }
+}
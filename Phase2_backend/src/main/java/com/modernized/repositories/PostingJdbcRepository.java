@@ -0,0 +1,479 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.Account;
+import com.modernized.entities.DailyTransaction;
+import com.modernized.entities.DailyTransactionReject;
+import com.modernized.entities.Transaction;
+import com.modernized.entities.TransactionCategoryBalance;
+import com.modernized.entities.TransactionCategoryBalanceId;
+import com.modernized.entities.TransactionDailyRollupId;
+import com.modernized.services.MoneyKernel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access for bulk posting paths.
+ * Bypasses the persistence context so batch jobs can read and write millions of rows
+ * with statement batching instead of one entity flush per record.
+ */
+@Repository
+public class PostingJdbcRepository {
+
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private static final String INSERT_REJECT =
+            "INSERT INTO daily_transaction_reject (dalytran_id, reject_code, reject_reason, job_instance_id, rejected_ts) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transaction (tran_id, tran_type_cd, tran_cat_cd, tran_source, tran_desc, tran_amt, " +
+            "tran_merchant_id, tran_merchant_name, tran_merchant_city, tran_merchant_zip, tran_card_num, " +
+            "tran_orig_ts, tran_proc_ts) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_ACCOUNT_DELTA =
+            "UPDATE account SET acct_curr_bal = acct_curr_bal + ?, " +
+            "acct_curr_cyc_credit = acct_curr_cyc_credit + ?, " +
+            "acct_curr_cyc_debit = acct_curr_cyc_debit + ?, " +
+            "acct_version = acct_version + 1 " +
+            "WHERE acct_id = ?";
+
+    private static final String MERGE_CATEGORY_BALANCE =
+            "MERGE INTO transaction_category_balance b " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(2)), CAST(? AS INTEGER), CAST(? AS NUMERIC(11,2)))) " +
+            "AS s(acct_id, type_cd, cat_cd, amt) " +
+            "ON b.trancat_acct_id = s.acct_id AND b.trancat_type_cd = s.type_cd AND b.trancat_cd = s.cat_cd " +
+            "WHEN MATCHED THEN UPDATE SET tran_cat_bal = b.tran_cat_bal + s.amt " +
+            "WHEN NOT MATCHED THEN INSERT (trancat_acct_id, trancat_type_cd, trancat_cd, tran_cat_bal) " +
+            "VALUES (s.acct_id, s.type_cd, s.cat_cd, s.amt)";
+
+    private static final String MERGE_DAILY_ROLLUP =
+            "MERGE INTO transaction_daily_rollup r " +
+            "USING (VALUES (CAST(? AS VARCHAR(10)), CAST(? AS BIGINT), CAST(? AS VARCHAR(2)), CAST(? AS INTEGER), " +
+            "CAST(? AS BIGINT), CAST(? AS NUMERIC(15,2)))) " +
+            "AS s(rollup_date, acct_id, type_cd, cat_cd, cnt, amt) " +
+            "ON r.rollup_date = s.rollup_date AND r.acct_id = s.acct_id " +
+            "AND r.tran_type_cd = s.type_cd AND r.tran_cat_cd = s.cat_cd " +
+            "WHEN MATCHED THEN UPDATE SET tran_count = r.tran_count + s.cnt, tran_amt = r.tran_amt + s.amt " +
+            "WHEN NOT MATCHED THEN INSERT (rollup_date, acct_id, tran_type_cd, tran_cat_cd, tran_count, tran_amt) " +
+            "VALUES (s.rollup_date, s.acct_id, s.type_cd, s.cat_cd, s.cnt, s.amt)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public PostingJdbcRepository(JdbcTemplate jdbcTemplate,
+                                 NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Read the next chunk of daily transactions that have been neither posted nor rejected.
+     * Keyset paging on dalytran_id keeps every chunk an index range scan.
+     *
+     * @param afterId Last daily transaction ID of the previous chunk, or null for the first chunk
+     * @param limit Maximum rows to return
+     * @return Unprocessed daily transactions ordered by ID
+     */
+    public List<DailyTransaction> findUnpostedDailyTransactions(String afterId, int limit) {
+        String sql = "SELECT d.dalytran_id, d.dalytran_type_cd, d.dalytran_cat_cd, d.dalytran_source, " +
+                "d.dalytran_desc, d.dalytran_amt, d.dalytran_merchant_id, d.dalytran_merchant_name, " +
+                "d.dalytran_merchant_city, d.dalytran_merchant_zip, d.dalytran_card_num, " +
+                "d.dalytran_orig_ts, d.dalytran_proc_ts " +
+                "FROM daily_transaction d " +
+                "WHERE d.dalytran_id > ? " +
+                "AND NOT EXISTS (SELECT 1 FROM transaction t WHERE t.tran_id = d.dalytran_id) " +
+                "AND NOT EXISTS (SELECT 1 FROM daily_transaction_reject r WHERE r.dalytran_id = d.dalytran_id) " +
+                "ORDER BY d.dalytran_id LIMIT ?";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new DailyTransaction(
+                rs.getString("dalytran_id"),
+                rs.getString("dalytran_type_cd"),
+                rs.getObject("dalytran_cat_cd", Integer.class),
+                rs.getString("dalytran_source"),
+                rs.getString("dalytran_desc"),
+                rs.getBigDecimal("dalytran_amt"),
+                rs.getObject("dalytran_merchant_id", Long.class),
+                rs.getString("dalytran_merchant_name"),
+                rs.getString("dalytran_merchant_city"),
+                rs.getString("dalytran_merchant_zip"),
+                rs.getString("dalytran_card_num"),
+                rs.getString("dalytran_orig_ts"),
+                rs.getString("dalytran_proc_ts")
+        ), afterId == null ? "" : afterId, limit);
+    }
+
+    /**
+     * Resolve the owning account of each card number (card cross-reference lookup).
+     *
+     * @param cardNumbers Card numbers to resolve
+     * @return Map of card number to account ID; unknown cards are absent
+     */
+    public Map<String, Long> findAccountIdsByCardNumbers(Collection<String> cardNumbers) {
+        Map<String, Long> accountIds = new HashMap<>();
+        for (List<String> chunk : partition(cardNumbers)) {
+            namedParameterJdbcTemplate.query(
+                    "SELECT card_num, card_acct_id FROM card WHERE card_num IN (:cardNumbers)",
+                    new MapSqlParameterSource("cardNumbers", chunk),
+                    rs -> {
+                        accountIds.put(rs.getString("card_num"), rs.getObject("card_acct_id", Long.class));
+                    });
+        }
+        return accountIds;
+    }
+
+    /**
+     * Load detached account snapshots holding the columns needed for posting validation.
+     *
+     * @param accountIds Account IDs to load
+     * @return Map of account ID to unmanaged Account; unknown accounts are absent
+     */
+    public Map<Long, Account> findAccountsByIds(Collection<Long> accountIds) {
+        Map<Long, Account> accounts = new HashMap<>();
+        for (List<Long> chunk : partition(accountIds)) {
+            namedParameterJdbcTemplate.query(
+                    "SELECT acct_id, acct_active_status, acct_curr_bal, acct_credit_limit, acct_cash_credit_limit, " +
+                    "acct_open_date, acct_expiraion_date, acct_reissue_date, acct_curr_cyc_credit, " +
+                    "acct_curr_cyc_debit, acct_addr_zip, acct_group_id " +
+                    "FROM account WHERE acct_id IN (:accountIds)",
+                    new MapSqlParameterSource("accountIds", chunk),
+                    rs -> {
+                        Account account = new Account(
+                                rs.getLong("acct_id"),
+                                rs.getString("acct_active_status"),
+                                rs.getBigDecimal("acct_curr_bal"),
+                                rs.getBigDecimal("acct_credit_limit"),
+                                rs.getBigDecimal("acct_cash_credit_limit"),
+                                rs.getString("acct_open_date"),
+                                rs.getString("acct_expiraion_date"),
+                                rs.getString("acct_reissue_date"),
+                                rs.getBigDecimal("acct_curr_cyc_credit"),
+                                rs.getBigDecimal("acct_curr_cyc_debit"),
+                                rs.getString("acct_addr_zip"),
+                                rs.getString("acct_group_id"));
+                        accounts.put(account.getAcctId(), account);
+                    });
+        }
+        return accounts;
+    }
+
+    /**
+     * Read an account's balances together with the posting journal checkpoint in one
+     * statement, so the balances include exactly the journal entries up to that sequence.
+     *
+     * @param accountId Account to read
+     * @param journalName Journal whose checkpoint to read
+     * @return The account and its applied sequence (0 before the first apply), empty if not found
+     */
+    public Optional<AccountAtCheckpoint> findAccountAtJournalCheckpoint(Long accountId, String journalName) {
+        List<AccountAtCheckpoint> accounts = jdbcTemplate.query(
+                "SELECT acct_id, acct_active_status, acct_curr_bal, acct_credit_limit, acct_cash_credit_limit, " +
+                "acct_open_date, acct_expiraion_date, acct_reissue_date, acct_curr_cyc_credit, " +
+                "acct_curr_cyc_debit, acct_addr_zip, acct_group_id, " +
+                "COALESCE((SELECT last_applied_seq FROM posting_journal_checkpoint WHERE journal_name = ?), 0) " +
+                "AS applied_seq FROM account WHERE acct_id = ?",
+                (rs, rowNum) -> new AccountAtCheckpoint(new Account(
+                        rs.getLong("acct_id"),
+                        rs.getString("acct_active_status"),
+                        rs.getBigDecimal("acct_curr_bal"),
+                        rs.getBigDecimal("acct_credit_limit"),
+                        rs.getBigDecimal("acct_cash_credit_limit"),
+                        rs.getString("acct_open_date"),
+                        rs.getString("acct_expiraion_date"),
+                        rs.getString("acct_reissue_date"),
+                        rs.getBigDecimal("acct_curr_cyc_credit"),
+                        rs.getBigDecimal("acct_curr_cyc_debit"),
+                        rs.getString("acct_addr_zip"),
+                        rs.getString("acct_group_id")),
+                        rs.getLong("applied_seq")),
+                journalName, accountId);
+        return accounts.stream().findFirst();
+    }
+
+    /**
+     * Resolve one card number per account, used as the card of system-generated transactions.
+     *
+     * @param accountIds Account IDs to resolve
+     * @return Map of account ID to its lowest card number; accounts without cards are absent
+     */
+    public Map<Long, String> findCardNumbersByAccountIds(Collection<Long> accountIds) {
+        Map<Long, String> cardNumbers = new HashMap<>();
+        for (List<Long> chunk : partition(accountIds)) {
+            namedParameterJdbcTemplate.query(
+                    "SELECT card_acct_id, MIN(card_num) AS card_num FROM card " +
+                    "WHERE card_acct_id IN (:accountIds) GROUP BY card_acct_id",
+                    new MapSqlParameterSource("accountIds", chunk),
+                    rs -> {
+                        cardNumbers.put(rs.getLong("card_acct_id"), rs.getString("card_num"));
+                    });
+        }
+        return cardNumbers;
+    }
+
+    /**
+     * Read the next chunk of account IDs that have transaction category balances.
+     * Keyset paging on the leading primary key column keeps every chunk an index range scan.
+     *
+     * @param afterAcctId Last account ID of the previous chunk, or 0 for the first chunk
+     * @param limit Maximum account IDs to return
+     * @return Account IDs in ascending order
+     */
+    public List<Long> findCategoryBalanceAccountIds(long afterAcctId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT trancat_acct_id FROM transaction_category_balance " +
+                "WHERE trancat_acct_id > ? ORDER BY trancat_acct_id LIMIT ?",
+                Long.class, afterAcctId, limit);
+    }
+
+    /**
+     * Read the transaction category balances of an account ID range, grouped by account.
+     *
+     * @param fromAcctId First account ID, inclusive
+     * @param toAcctId Last account ID, inclusive
+     * @return Balances ordered by account, type and category
+     */
+    public List<TransactionCategoryBalance> findCategoryBalances(long fromAcctId, long toAcctId) {
+        return jdbcTemplate.query(
+                "SELECT trancat_acct_id, trancat_type_cd, trancat_cd, tran_cat_bal " +
+                "FROM transaction_category_balance WHERE trancat_acct_id BETWEEN ? AND ? " +
+                "ORDER BY trancat_acct_id, trancat_type_cd, trancat_cd",
+                (rs, rowNum) -> new TransactionCategoryBalance(
+                        new TransactionCategoryBalanceId(
+                                rs.getLong("trancat_acct_id"),
+                                rs.getString("trancat_type_cd"),
+                                rs.getInt("trancat_cd")),
+                        rs.getBigDecimal("tran_cat_bal")),
+                fromAcctId, toAcctId);
+    }
+
+    /**
+     * Load the transaction type owning each transaction category.
+     *
+     * @return Map of category code to type code
+     */
+    public Map<Integer, String> findCategoryTypes() {
+        Map<Integer, String> categoryTypes = new HashMap<>();
+        jdbcTemplate.query("SELECT tran_cat_cd, tran_type_cd FROM transaction_category", rs -> {
+            categoryTypes.put(rs.getInt("tran_cat_cd"), rs.getString("tran_type_cd"));
+        });
+        return categoryTypes;
+    }
+
+    /**
+     * Record rejected daily transactions with a single batched statement.
+     *
+     * @param rejects Rejected daily transactions with their reason codes
+     */
+    public void insertRejects(List<DailyTransactionReject> rejects) {
+        if (rejects.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_REJECT, rejects, rejects.size(), (ps, reject) -> {
+            ps.setString(1, reject.getDalytranId());
+            ps.setInt(2, reject.getRejectCode());
+            ps.setString(3, reject.getRejectReason());
+            ps.setObject(4, reject.getJobInstanceId());
+            ps.setString(5, reject.getRejectedTs());
+        });
+    }
+
+    /**
+     * Insert transactions with a single batched statement.
+     *
+     * @param transactions Transactions to insert
+     */
+    public void insertTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getTranId());
+            ps.setString(2, transaction.getTranTypeCd());
+            ps.setObject(3, transaction.getTranCatCd());
+            ps.setString(4, transaction.getTranSource());
+            ps.setString(5, transaction.getTranDesc());
+            ps.setBigDecimal(6, transaction.getTranAmt());
+            ps.setObject(7, transaction.getTranMerchantId());
+            ps.setString(8, transaction.getTranMerchantName());
+            ps.setString(9, transaction.getTranMerchantCity());
+            ps.setString(10, transaction.getTranMerchantZip());
+            ps.setString(11, transaction.getTranCardNum());
+            ps.setString(12, transaction.getTranOrigTs());
+            ps.setString(13, transaction.getTranProcTs());
+        });
+    }
+
+    /**
+     * Apply balance deltas to accounts as relative updates.
+     * Relative updates never overwrite a concurrent writer's change to the same row,
+     * and the version bump makes optimistic JPA writers holding a stale copy retry.
+     *
+     * @param deltas Per-account balance and cycle deltas
+     */
+    public void applyAccountDeltas(Collection<AccountDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(APPLY_ACCOUNT_DELTA, deltas, deltas.size(), (ps, delta) -> {
+            ps.setBigDecimal(1, delta.getBalance());
+            ps.setBigDecimal(2, delta.getCycleCredit());
+            ps.setBigDecimal(3, delta.getCycleDebit());
+            ps.setLong(4, delta.getAcctId());
+        });
+    }
+
+    /**
+     * Add amounts to transaction category balances, creating missing rows (RULE-CALC-005).
+     *
+     * @param deltas Amount to add per (account, type, category)
+     */
+    public void mergeCategoryBalances(Map<TransactionCategoryBalanceId, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<TransactionCategoryBalanceId, BigDecimal>> entries = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(MERGE_CATEGORY_BALANCE, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getKey().getTrancatAcctId());
+            ps.setString(2, entry.getKey().getTrancatTypeCd());
+            ps.setInt(3, entry.getKey().getTrancatCd());
+            ps.setBigDecimal(4, entry.getValue());
+        });
+    }
+
+    /**
+     * Add posted transactions to the daily rollups, creating missing rows.
+     * Must run in the transaction that inserts the transactions.
+     *
+     * @param deltas Count and amount to add per (day, account, type, category)
+     */
+    public void mergeDailyRollups(RollupDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<TransactionDailyRollupId, long[]>> entries = new ArrayList<>(deltas.totals.entrySet());
+        jdbcTemplate.batchUpdate(MERGE_DAILY_ROLLUP, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getKey().getRollupDate());
+            ps.setLong(2, entry.getKey().getAcctId());
+            ps.setString(3, entry.getKey().getTranTypeCd());
+            ps.setInt(4, entry.getKey().getTranCatCd());
+            ps.setLong(5, entry.getValue()[0]);
+            ps.setBigDecimal(6, MoneyKernel.toAmount(entry.getValue()[1]));
+        });
+    }
+
+    private static <T> List<List<T>> partition(Collection<T> values) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += IN_CLAUSE_CHUNK) {
+            chunks.add(list.subList(i, Math.min(i + IN_CLAUSE_CHUNK, list.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Balance change for one account (RULE-CALC-004).
+     */
+    public static class AccountDelta {
+        private final Long acctId;
+        private final BigDecimal balance;
+        private final BigDecimal cycleCredit;
+        private final BigDecimal cycleDebit;
+
+        public AccountDelta(Long acctId, BigDecimal balance, BigDecimal cycleCredit, BigDecimal cycleDebit) {
+            this.acctId = acctId;
+            this.balance = balance;
+            this.cycleCredit = cycleCredit;
+            this.cycleDebit = cycleDebit;
+        }
+
+        /**
+         * Difference between an account snapshot before and after in-memory processing.
+         *
+         * @param before Account values as read
+         * @param after Account values after applying postings
+         * @return Delta to apply to the stored row
+         */
+        public static AccountDelta between(Account before, Account after) {
+            return new AccountDelta(
+                    after.getAcctId(),
+                    after.getAcctCurrBal().subtract(before.getAcctCurrBal()),
+                    after.getAcctCurrCycCredit().subtract(before.getAcctCurrCycCredit()),
+                    after.getAcctCurrCycDebit().subtract(before.getAcctCurrCycDebit()));
+        }
+
+        /**
+         * Combined effect of this delta followed by another on the same account.
+         */
+        public AccountDelta plus(AccountDelta other) {
+            return new AccountDelta(acctId, balance.add(other.balance),
+                    cycleCredit.add(other.cycleCredit), cycleDebit.add(other.cycleDebit));
+        }
+
+        /**
+         * Add this delta to an account's in-memory balances.
+         */
+        public void applyTo(Account account) {
+            account.setAcctCurrBal(account.getAcctCurrBal().add(balance));
+            account.setAcctCurrCycCredit(account.getAcctCurrCycCredit().add(cycleCredit));
+            account.setAcctCurrCycDebit(account.getAcctCurrCycDebit().add(cycleDebit));
+        }
+
+        public Long getAcctId() { return acctId; }
+        public BigDecimal getBalance() { return balance; }
+        public BigDecimal getCycleCredit() { return cycleCredit; }
+        public BigDecimal getCycleDebit() { return cycleDebit; }
+    }
+
+    /**
+     * Stored account balances and the journal sequence they include.
+     */
+    public static class AccountAtCheckpoint {
+        private final Account account;
+        private final long appliedSeq;
+
+        public AccountAtCheckpoint(Account account, long appliedSeq) {
+            this.account = account;
+            this.appliedSeq = appliedSeq;
+        }
+
+        public Account getAccount() { return account; }
+        public long getAppliedSeq() { return appliedSeq; }
+    }
+
+    /**
+     * Daily rollup changes collected while a posting batch is built.
+     * Transactions without an origin timestamp belong to no day and are not rolled up.
+     */
+    public static class RollupDeltas {
+        private final Map<TransactionDailyRollupId, long[]> totals = new HashMap<>();
+
+        public void add(Long acctId, Transaction transaction) {
+            String origTs = transaction.getTranOrigTs();
+            if (origTs == null || origTs.length() < 10) {
+                return;
+            }
+            long[] total = totals.computeIfAbsent(new TransactionDailyRollupId(origTs.substring(0, 10), acctId,
+                    transaction.getTranTypeCd(), transaction.getTranCatCd()), key -> new long[2]);
+            total[0]++;
+            total[1] = MoneyKernel.add(total[1], MoneyKernel.toCents(transaction.getTranAmt()));
+        }
+
+        public boolean isEmpty() {
+            return totals.isEmpty();
+        }
+
+        public static RollupDeltas of(Long acctId, Transaction transaction) {
+            RollupDeltas deltas = new RollupDeltas();
+            deltas.add(acctId, transaction);
+            return deltas;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.PostingJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostingJournalCheckpointRepository extends JpaRepository<PostingJournalCheckpoint, String> {
+}
@@ -0,0 +1,7 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.PostingJournalDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostingJournalDeadLetterRepository extends JpaRepository<PostingJournalDeadLetter, Long> {
+}
@@ -0,0 +1,53 @@
+package com.modernized.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import javax.sql.DataSource;
+
+/**
+ * JDBC access for transaction reports.
+ * Report rows are streamed to a callback along the origin timestamp index, so a report reads
+ * only its date range however many transactions the table holds, and totals them as they
+ * arrive.
+ */
+@Repository
+public class ReportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReportJdbcRepository(DataSource dataSource,
+                                @Value("${carddemo.reports.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Number of transactions with tran_orig_ts in [fromTs, toTs), read from the origin
+     * timestamp index.
+     */
+    public long countTransactions(String fromTs, String toTs) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction WHERE tran_orig_ts >= ? AND tran_orig_ts < ?",
+                Long.class, fromTs, toTs);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Stream transactions with tran_orig_ts in [fromTs, toTs) in no particular order, read
+     * along the origin timestamp index.
+     * Columns: card_acct_id (null if the card is unknown), tran_card_num, tran_type_cd,
+     * tran_cat_cd, tran_amt.
+     *
+     * @param handler Callback invoked once per row while the result set is open
+     */
+    public void streamTransactions(String fromTs, String toTs, RowCallbackHandler handler) {
+        String sql = "SELECT c.card_acct_id, t.tran_card_num, t.tran_type_cd, t.tran_cat_cd, t.tran_amt " +
+                "FROM transaction t USE INDEX (idx_transaction_orig_ts_id) " +
+                "LEFT JOIN card c ON c.card_num = t.tran_card_num " +
+                "WHERE t.tran_orig_ts >= ? AND t.tran_orig_ts < ?";
+
+        jdbcTemplate.query(sql, handler, fromTs, toTs);
+    }
+}
@@ -0,0 +1,19 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, String> {
+
+    List<ReportJob> findByStatusInOrderBySubmittedTs(Collection<ReportJob.Status> statuses);
+
+    @Modifying
+    @Query("UPDATE ReportJob r SET r.rowsRead = :rowsRead, r.groupsWritten = :groupsWritten WHERE r.jobId = :jobId")
+    int updateProgress(@Param("jobId") String jobId, @Param("rowsRead") long rowsRead,
+                       @Param("groupsWritten") long groupsWritten);
+}
@@ -0,0 +1,104 @@
+package com.modernized.repositories;
+
+import com.modernized.entities.TransactionDailyRollup;
+import com.modernized.entities.TransactionDailyRollupId;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access for the daily transaction rollups.
+ * Rollup groups are derived from the transaction table by joining each transaction's card
+ * to its account, which is how the posting paths resolve the account they roll up to.
+ */
+@Repository
+public class RollupJdbcRepository {
+
+    private static final String BASE_GROUPS =
+            "SELECT LEFT(t.tran_orig_ts, 10) AS rollup_date, c.card_acct_id, t.tran_type_cd, t.tran_cat_cd, " +
+            "COUNT(*) AS tran_count, SUM(t.tran_amt) AS tran_amt " +
+            "FROM transaction t JOIN card c ON c.card_num = t.tran_card_num " +
+            "WHERE t.tran_orig_ts >= ? AND t.tran_orig_ts < ? " +
+            "GROUP BY LEFT(t.tran_orig_ts, 10), c.card_acct_id, t.tran_type_cd, t.tran_cat_cd";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RollupJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Earliest and latest transaction origin timestamps, read from the origin timestamp index.
+     *
+     * @return Two-element array of timestamps, both null if there are no transactions
+     */
+    public String[] findOrigTsRange() {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(tran_orig_ts), MAX(tran_orig_ts) FROM transaction",
+                (rs, rowNum) -> new String[] { rs.getString(1), rs.getString(2) });
+    }
+
+    /**
+     * Replace one day's rollups with totals computed from the transaction table.
+     * Must run in a transaction so readers never see the day half rebuilt.
+     *
+     * @param day Origin date (yyyy-MM-dd)
+     * @param nextDay The following date
+     * @return Number of rollup rows written
+     */
+    public int rebuildDay(String day, String nextDay) {
+        jdbcTemplate.update("DELETE FROM transaction_daily_rollup WHERE rollup_date = ?", day);
+        return jdbcTemplate.update(
+                "INSERT INTO transaction_daily_rollup " +
+                "(rollup_date, acct_id, tran_type_cd, tran_cat_cd, tran_count, tran_amt) " + BASE_GROUPS,
+                day, nextDay);
+    }
+
+    /**
+     * Rollup totals computed from the transaction table for origin timestamps in [fromTs, toTs).
+     *
+     * @param handler Callback invoked once per (day, account, type, category) group
+     */
+    public void streamBaseGroups(String fromTs, String toTs, RowCallbackHandler handler) {
+        jdbcTemplate.query(BASE_GROUPS, handler, fromTs, toTs);
+    }
+
+    /**
+     * Stored rollups of one day.
+     */
+    public List<TransactionDailyRollup> findRollups(String day) {
+        List<TransactionDailyRollup> rollups = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT rollup_date, acct_id, tran_type_cd, tran_cat_cd, tran_count, tran_amt " +
+                "FROM transaction_daily_rollup WHERE rollup_date = ?",
+                rs -> {
+                    rollups.add(new TransactionDailyRollup(
+                            new TransactionDailyRollupId(rs.getString(1), rs.getLong(2), rs.getString(3), rs.getInt(4)),
+                            rs.getLong(5), rs.getBigDecimal(6)));
+                }, day);
+        return rollups;
+    }
+
+    /**
+     * Totals per transaction type and category over a date range, summed from the rollups.
+     *
+     * @param fromDate First origin date, inclusive
+     * @param toDate Last origin date, inclusive
+     * @param acctId Account to restrict to, or null for all accounts
+     * @param handler Callback invoked per type and category with count and amount
+     */
+    public void sumByTypeAndCategory(String fromDate, String toDate, Long acctId, RowCallbackHandler handler) {
+        String sql = "SELECT tran_type_cd, tran_cat_cd, SUM(tran_count), SUM(tran_amt) " +
+                "FROM transaction_daily_rollup WHERE rollup_date BETWEEN ? AND ? " +
+                (acctId != null ? "AND acct_id = ? " : "") +
+                "GROUP BY tran_type_cd, tran_cat_cd ORDER BY tran_type_cd, tran_cat_cd";
+
+        if (acctId != null) {
+            jdbcTemplate.query(sql, handler, fromDate, toDate, acctId);
+        } else {
+            jdbcTemplate.query(sql, handler, fromDate, toDate);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.modernized.repositories;
 import com.modernized.entities.TransactionCategoryBalance;
 import com.modernized.entities.TransactionCategoryBalanceId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
 
 public interface TransactionCategoryBalanceRepository extends JpaRepository<TransactionCategoryBalance, TransactionCategoryBalanceId> {
+    
+    List<TransactionCategoryBalance> findByIdTrancatAcctId(Long trancatAcctId);
 }
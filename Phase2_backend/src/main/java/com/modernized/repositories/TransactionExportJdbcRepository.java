@@ -0,0 +1,59 @@
+package com.modernized.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access for transaction exports.
+ * Rows are handed to a callback as the driver fetches them, so an export never holds
+ * more than one fetch of rows in memory however many transactions it covers.
+ */
+@Repository
+public class TransactionExportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionExportJdbcRepository(DataSource dataSource,
+                                           @Value("${carddemo.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Stream transactions in (tran_orig_ts, tran_id) order, optionally filtered.
+     * A card filter reads the card index range, otherwise the origin timestamp index is used.
+     * Columns are selected in TransactionResponse field order.
+     *
+     * @param cardNum Card number to export, or null for all cards
+     * @param fromTs Inclusive lower bound on tran_orig_ts, or null
+     * @param toTs Exclusive upper bound on tran_orig_ts, or null
+     * @param handler Callback invoked once per row while the result set is open
+     */
+    public void streamTransactions(String cardNum, String fromTs, String toTs, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, tran_desc, tran_amt, " +
+                "tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, tran_merchant_city, " +
+                "tran_merchant_zip FROM transaction WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (cardNum != null) {
+            sql.append(" AND tran_card_num = ?");
+            args.add(cardNum);
+        }
+        if (fromTs != null) {
+            sql.append(" AND tran_orig_ts >= ?");
+            args.add(fromTs);
+        }
+        if (toTs != null) {
+            sql.append(" AND tran_orig_ts < ?");
+            args.add(toTs);
+        }
+        sql.append(" ORDER BY tran_orig_ts, tran_id");
+
+        jdbcTemplate.query(sql.toString(), handler, args.toArray());
+    }
+}
@@ -1,14 +1,58 @@
 package com.modernized.repositories;
 
+import com.modernized.dto.TransactionResponse;
 import com.modernized.entities.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
     
     @Query("SELECT t FROM Transaction t WHERE t.tranId LIKE %:tranId%")
     Page<Transaction> findByTranIdContaining(@Param("tranId") String tranId, Pageable pageable);
+    
+    Page<Transaction> findByTranIdStartingWith(String prefix, Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t ORDER BY t.tranOrigTs, t.tranId")
+    List<Transaction> findFirstByOrigTs(Pageable pageable);
+    
+    // The redundant tranOrigTs bounds start the index range at the cursor; without them H2
+    // reads the index from its first entry and filters up to the cursor. Pages before the
+    // cursor read idx_transaction_orig_ts_id_desc, since H2 does not scan an index backwards.
+    @Query("SELECT t FROM Transaction t WHERE t.tranOrigTs >= :origTs " +
+           "AND (t.tranOrigTs > :origTs OR (t.tranOrigTs = :origTs AND t.tranId > :tranId)) " +
+           "ORDER BY t.tranOrigTs, t.tranId")
+    List<Transaction> findAfterByOrigTs(@Param("origTs") String origTs, @Param("tranId") String tranId, Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.tranOrigTs <= :origTs " +
+           "AND (t.tranOrigTs < :origTs OR (t.tranOrigTs = :origTs AND t.tranId < :tranId)) " +
+           "ORDER BY t.tranOrigTs DESC, t.tranId DESC")
+    List<Transaction> findBeforeByOrigTs(@Param("origTs") String origTs, @Param("tranId") String tranId, Pageable pageable);
+    
+    String RESPONSE_PROJECTION = "SELECT new com.modernized.dto.TransactionResponse(t.tranId, t.tranCardNum, " +
+           "t.tranTypeCd, t.tranCatCd, t.tranSource, t.tranDesc, t.tranAmt, t.tranOrigTs, t.tranProcTs, " +
+           "t.tranMerchantId, t.tranMerchantName, t.tranMerchantCity, t.tranMerchantZip) FROM Transaction t ";
+    
+    // Card pages order by the card number too, so H2 reads them in index order from
+    // idx_transaction_card_orig_ts (ascending) or idx_transaction_card_orig_ts_desc instead of
+    // sorting every transaction of the card. The redundant tranOrigTs bound starts the index
+    // range at the cursor.
+    @Query(RESPONSE_PROJECTION + "WHERE t.tranCardNum = :cardNum " +
+           "ORDER BY t.tranCardNum DESC, t.tranOrigTs DESC, t.tranId DESC")
+    List<TransactionResponse> findLatestByCard(@Param("cardNum") String cardNum, Pageable pageable);
+    
+    @Query(RESPONSE_PROJECTION + "WHERE t.tranCardNum = :cardNum AND t.tranOrigTs <= :origTs " +
+           "AND (t.tranOrigTs < :origTs OR (t.tranOrigTs = :origTs AND t.tranId < :tranId)) " +
+           "ORDER BY t.tranCardNum DESC, t.tranOrigTs DESC, t.tranId DESC")
+    List<TransactionResponse> findOlderByCard(@Param("cardNum") String cardNum, @Param("origTs") String origTs,
+                                              @Param("tranId") String tranId, Pageable pageable);
+    
+    @Query(RESPONSE_PROJECTION + "WHERE t.tranCardNum = :cardNum AND t.tranOrigTs >= :origTs " +
+           "AND (t.tranOrigTs > :origTs OR (t.tranOrigTs = :origTs AND t.tranId > :tranId)) " +
+           "ORDER BY t.tranCardNum, t.tranOrigTs, t.tranId")
+    List<TransactionResponse> findNewerByCard(@Param("cardNum") String cardNum, @Param("origTs") String origTs,
+                                              @Param("tranId") String tranId, Pageable pageable);
 }
@@ -0,0 +1,33 @@
+package com.modernized.repositories;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import javax.sql.DataSource;
+
+/**
+ * JDBC access for loading the columnar transaction snapshot.
+ */
+@Repository
+public class TransactionSnapshotJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionSnapshotJdbcRepository(DataSource dataSource,
+                                             @Value("${carddemo.analytics.fetch-size:10000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Stream the analytic columns of every transaction, in no particular order.
+     * Columns: tran_amt, tran_orig_ts, tran_type_cd, tran_cat_cd, tran_card_num, tran_merchant_id.
+     *
+     * @param handler Callback invoked once per row while the result set is open
+     */
+    public void streamAllTransactions(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT tran_amt, tran_orig_ts, tran_type_cd, tran_cat_cd, tran_card_num, tran_merchant_id " +
+                "FROM transaction", handler);
+    }
+}
@@ -0,0 +1,146 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
+import com.modernized.entities.Account;
+import com.modernized.repositories.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Read-modify-write of a single account without lost updates.
+ *
+ * Every update runs in its own transaction against the versioned Account row. A concurrent
+ * change surfaces as an optimistic locking failure and the whole read-modify-write is retried,
+ * up to a bounded number of attempts.
+ *
+ * A retry does not race again: it queues on the account's striped lock and reads the row with
+ * a pessimistic write lock, so it waits for the other writers instead of colliding with them.
+ * Writers that find the stripe already held queue on it from their first attempt. Under contention
+ * an update therefore rarely conflicts more than once, even with many clients posting to one account.
+ * An escalated attempt can still lose to a writer that bypassed the locks, as a version conflict
+ * or a deadlock with it; such attempts are retried after a short randomized backoff.
+ *
+ * In STRIPED mode, or for accounts listed as hot, writers on the same node are serialized on
+ * the striped lock from the first attempt so they queue instead of colliding at all.
+ *
+ * The account's cached view is invalidated when the transaction that saved it commits.
+ */
+@Service
+public class AccountUpdateService {
+
+    public enum LockingMode { OPTIMISTIC, STRIPED }
+
+    private final AccountRepository accountRepository;
+    private final AccountViewCache accountViewCache;
+    private final TransactionTemplate transactionTemplate;
+    private final LockingMode lockingMode;
+    private final Set<Long> hotAccounts;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final ReentrantLock[] stripes;
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public AccountUpdateService(AccountRepository accountRepository,
+                                AccountViewCache accountViewCache,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${carddemo.account-locking.mode:OPTIMISTIC}") LockingMode lockingMode,
+                                @Value("${carddemo.account-locking.hot-accounts:}") List<Long> hotAccounts,
+                                @Value("${carddemo.account-locking.max-attempts:5}") int maxAttempts,
+                                @Value("${carddemo.account-locking.backoff-millis:5}") long backoffMillis,
+                                @Value("${carddemo.account-locking.stripes:256}") int stripes) {
+        this.accountRepository = accountRepository;
+        this.accountViewCache = accountViewCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockingMode = lockingMode;
+        this.hotAccounts = new HashSet<>(hotAccounts);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Load an account, apply a change and save it, retrying on concurrent modification.
+     * The update function may run more than once and must not have side effects outside
+     * the current transaction. Exceptions it throws roll back the attempt and are not retried.
+     *
+     * @param accountId Account to update
+     * @param update Change to apply to the managed account; its result is returned
+     * @return Result of the last, committed invocation of the update function
+     */
+    public <T> T updateAccount(Long accountId, Function<Account, T> update) {
+        boolean striped = lockingMode == LockingMode.STRIPED || hotAccounts.contains(accountId);
+        ReentrantLock stripe = stripes[Math.floorMod(Long.hashCode(accountId), stripes.length)];
+        for (int attempt = 1; ; attempt++) {
+            // Writers arriving while others already queue on the stripe join the queue instead of racing it.
+            boolean escalated = attempt > 1 || stripe.isLocked();
+            ReentrantLock lock = striped || escalated ? stripe : null;
+            if (lock != null) {
+                lock.lock();
+            }
+            try {
+                T result = attemptUpdate(accountId, update, escalated);
+                updates.incrementAndGet();
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    exhausted.incrementAndGet();
+                    throw e;
+                }
+            } finally {
+                if (lock != null) {
+                    lock.unlock();
+                }
+            }
+            if (attempt > 1) {
+                backoff(attempt - 1);
+            }
+        }
+    }
+
+    private <T> T attemptUpdate(Long accountId, Function<Account, T> update, boolean lockRow) {
+        return transactionTemplate.execute(status -> {
+            Account account = (lockRow ? accountRepository.findByIdForUpdate(accountId) : accountRepository.findById(accountId))
+                    .orElseThrow(() -> new EntityNotFoundException("Account ID NOT found"));
+            T value = update.apply(account);
+            accountRepository.saveAndFlush(account);
+            accountViewCache.invalidateAfterCommit(accountId);
+            return value;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long maxDelay = backoffMillis * attempt;
+        if (maxDelay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelay + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying account update", e);
+        }
+    }
+
+    public long getUpdateCount() { return updates.get(); }
+
+    public long getConflictCount() { return conflicts.get(); }
+
+    public long getExhaustedCount() { return exhausted.get(); }
+}
@@ -81,11 +81,18 @@ public class AccountValidationService {
      * @return true if account has positive balance, false otherwise
      */
     public boolean validateBillPaymentEligibility(Account account) {
-        if (account == null || account.getAcctCurrBal() == null) {
+        return account != null && validateBillPaymentEligibility(account.getAcctCurrBal());
+    }
+
+    /**
+     * Validate bill payment eligibility from a current balance
+     */
+    public boolean validateBillPaymentEligibility(BigDecimal currentBalance) {
+        if (currentBalance == null) {
             return false;
         }
         
-        return account.getAcctCurrBal().compareTo(BigDecimal.ZERO) > 0;
+        return currentBalance.compareTo(BigDecimal.ZERO) > 0;
     }
 
     /**
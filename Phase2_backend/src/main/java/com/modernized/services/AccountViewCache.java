@@ -0,0 +1,269 @@
+package com.modernized.services;
+
+import com.modernized.dto.AccountCacheMetricsResponse;
+import com.modernized.dto.AccountResponse;
+import com.modernized.repositories.AccountViewJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process cache of account read models (AccountResponse) for the Account View
+ * and Bill Payment screens.
+ *
+ * Entries are evicted least recently used beyond carddemo.account-cache.max-size and
+ * expire carddemo.account-cache.ttl-seconds after they were loaded. Every path that writes
+ * an account invalidates it after its transaction commits; the account update screen writes
+ * its new view through instead. A view also carries its customer's fields, so a customer
+ * write invalidates every account of the customer.
+ *
+ * Stale entries are kept out with an invalidation generation per lock stripe of account IDs.
+ * A load records its stripe's generation before reading the database and is only stored if
+ * no write to the stripe finished since, and never over an entry with a higher acct_version.
+ * A load that raced a write is therefore served once but not cached. Cached responses are
+ * shared and must not be modified.
+ */
+@Service
+public class AccountViewCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final AccountViewJdbcRepository accountViewJdbcRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final LinkedHashMap<Long, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+    private long writeThroughs;
+    private long staleLoads;
+
+    public AccountViewCache(AccountViewJdbcRepository accountViewJdbcRepository,
+                            @Value("${carddemo.account-cache.max-size:10000}") int maxSize,
+                            @Value("${carddemo.account-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.accountViewJdbcRepository = accountViewJdbcRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > AccountViewCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Account view from the cache, loading and caching it on a miss.
+     *
+     * @param acctId Account ID
+     * @return Account view, empty if the account does not exist
+     */
+    public Optional<AccountResponse> find(Long acctId) {
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(acctId);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedNanos < ttlNanos) {
+                    hits++;
+                    return Optional.of(entry.view);
+                }
+                entries.remove(acctId);
+                expirations++;
+            }
+            misses++;
+            generation = generations[stripe(acctId)];
+        }
+
+        Optional<AccountResponse> view = accountViewJdbcRepository.findAccountView(acctId);
+        if (view.isPresent() && maxSize > 0) {
+            synchronized (this) {
+                if (generations[stripe(acctId)] == generation && !isNewerCached(view.get())) {
+                    entries.put(acctId, new Entry(view.get()));
+                } else {
+                    staleLoads++;
+                }
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Account views of several accounts. Cached views are returned as they are and all
+     * misses are loaded together, each stored under the same rules as {@link #find}.
+     *
+     * @param acctIds Account IDs, duplicates allowed
+     * @return Map of account ID to view; unknown accounts are absent
+     */
+    public Map<Long, AccountResponse> findAll(Collection<Long> acctIds) {
+        Map<Long, AccountResponse> views = new HashMap<>();
+        Map<Long, Long> missGenerations = new HashMap<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Long acctId : acctIds) {
+                if (views.containsKey(acctId) || missGenerations.containsKey(acctId)) {
+                    continue;
+                }
+                Entry entry = entries.get(acctId);
+                if (entry != null) {
+                    if (now - entry.loadedNanos < ttlNanos) {
+                        hits++;
+                        views.put(acctId, entry.view);
+                        continue;
+                    }
+                    entries.remove(acctId);
+                    expirations++;
+                }
+                misses++;
+                missGenerations.put(acctId, generations[stripe(acctId)]);
+            }
+        }
+        if (missGenerations.isEmpty()) {
+            return views;
+        }
+
+        Map<Long, AccountResponse> loaded = accountViewJdbcRepository.findAccountViews(missGenerations.keySet());
+        if (maxSize > 0 && !loaded.isEmpty()) {
+            synchronized (this) {
+                for (AccountResponse view : loaded.values()) {
+                    Long acctId = view.getAcctId();
+                    if (generations[stripe(acctId)] == missGenerations.get(acctId) && !isNewerCached(view)) {
+                        entries.put(acctId, new Entry(view));
+                    } else {
+                        staleLoads++;
+                    }
+                }
+            }
+        }
+        views.putAll(loaded);
+        return views;
+    }
+
+    /**
+     * Generation to pass to {@link #writeThrough}, taken before the write reads the account.
+     */
+    public synchronized long stamp(Long acctId) {
+        return generations[stripe(acctId)];
+    }
+
+    /**
+     * Store the view produced by a committed account update. If another write to the
+     * stripe finished since the stamp was taken, the view may already be outdated and the
+     * account is invalidated instead.
+     *
+     * @param view View built from the saved account
+     * @param stamp Result of {@link #stamp} taken before the update read the account
+     */
+    public synchronized void writeThrough(AccountResponse view, long stamp) {
+        int stripe = stripe(view.getAcctId());
+        boolean current = generations[stripe] == stamp;
+        generations[stripe]++;
+        if (current && maxSize > 0 && !isNewerCached(view)) {
+            entries.put(view.getAcctId(), new Entry(view));
+            writeThroughs++;
+        } else if (entries.remove(view.getAcctId()) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Invalidate accounts once the current transaction commits, or at once if there is none.
+     * Call from inside the transaction that writes the accounts.
+     */
+    public void invalidateAfterCommit(Collection<Long> acctIds) {
+        if (acctIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(acctIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(acctIds);
+            }
+        });
+    }
+
+    public void invalidateAfterCommit(Long acctId) {
+        invalidateAfterCommit(List.of(acctId));
+    }
+
+    /**
+     * Invalidate a customer's other accounts once the current transaction commits, or at once
+     * if there is none. The written account is left to the caller's own invalidation or
+     * write-through.
+     *
+     * @param custId Customer whose fields were written
+     * @param writtenAcctId Account the customer was written through
+     */
+    public void invalidateCustomerAfterCommit(Long custId, Long writtenAcctId) {
+        List<Long> acctIds = new ArrayList<>(accountViewJdbcRepository.findAccountIdsByCustomer(custId));
+        acctIds.remove(writtenAcctId);
+        invalidateAfterCommit(acctIds);
+    }
+
+    private synchronized void invalidate(Collection<Long> acctIds) {
+        for (Long acctId : acctIds) {
+            generations[stripe(acctId)]++;
+            if (entries.remove(acctId) != null) {
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized AccountCacheMetricsResponse getMetrics() {
+        AccountCacheMetricsResponse metrics = new AccountCacheMetricsResponse();
+        metrics.setSize(entries.size());
+        metrics.setMaxSize(maxSize);
+        metrics.setTtlSeconds(TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+        metrics.setHits(hits);
+        metrics.setMisses(misses);
+        metrics.setHitRatio(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        metrics.setEvictions(evictions);
+        metrics.setExpirations(expirations);
+        metrics.setInvalidations(invalidations);
+        metrics.setWriteThroughs(writeThroughs);
+        metrics.setStaleLoads(staleLoads);
+        return metrics;
+    }
+
+    private boolean isNewerCached(AccountResponse view) {
+        Entry cached = entries.get(view.getAcctId());
+        return cached != null && version(cached.view) > version(view);
+    }
+
+    private static long version(AccountResponse view) {
+        return view.getAcctVersion() != null ? view.getAcctVersion() : -1;
+    }
+
+    private static int stripe(Long acctId) {
+        return Math.floorMod(Long.hashCode(acctId), GENERATION_STRIPES);
+    }
+
+    private static final class Entry {
+        private final AccountResponse view;
+        private final long loadedNanos = System.nanoTime();
+
+        private Entry(AccountResponse view) {
+            this.view = view;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.entities.BatchChunkCheckpoint;
+import com.modernized.entities.BatchJobExecution;
+import com.modernized.entities.BatchJobInstance;
+import com.modernized.entities.BatchStepCheckpoint;
+import com.modernized.entities.BatchStepCheckpointId;
+import com.modernized.repositories.BatchChunkCheckpointRepository;
+import com.modernized.repositories.BatchJobExecutionRepository;
+import com.modernized.repositories.BatchJobInstanceRepository;
+import com.modernized.repositories.BatchStepCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Job execution store for restartable batch runs.
+ *
+ * Starting a job creates its instance, or resumes it with a new execution if an earlier
+ * execution failed or was interrupted. A completed instance cannot be run again, so a
+ * period's interest can never be charged twice; jobs that are safe to repeat may do its
+ * work again as a new instance.
+ *
+ * Steps save a checkpoint after each committed chunk, and a resumed execution continues
+ * after the checkpoint's last key. Account-keyed steps instead record every chunk and the
+ * accounts it applied in the chunk's own transaction, so a resumed execution skips exactly
+ * the accounts already applied, including those of chunks that committed ahead of the
+ * checkpoint, and still processes accounts added since.
+ */
+@Service
+public class BatchJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchJobService.class);
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter RUN_KEY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final int MAX_EXIT_MESSAGE_LENGTH = 255;
+
+    private final BatchJobInstanceRepository jobInstanceRepository;
+    private final BatchJobExecutionRepository jobExecutionRepository;
+    private final BatchStepCheckpointRepository stepCheckpointRepository;
+    private final BatchChunkCheckpointRepository chunkCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchJobService(BatchJobInstanceRepository jobInstanceRepository,
+                           BatchJobExecutionRepository jobExecutionRepository,
+                           BatchStepCheckpointRepository stepCheckpointRepository,
+                           BatchChunkCheckpointRepository chunkCheckpointRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.jobInstanceRepository = jobInstanceRepository;
+        this.jobExecutionRepository = jobExecutionRepository;
+        this.stepCheckpointRepository = stepCheckpointRepository;
+        this.chunkCheckpointRepository = chunkCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Start the job instance with the given key, or resume it if it did not complete.
+     * Callers must not run the same job concurrently; an execution still marked STARTED
+     * is taken to be from a run that died and is marked FAILED.
+     *
+     * @param jobName Job name
+     * @param jobKey Instance key, such as the interest period
+     * @return The new execution
+     * @throws ConflictException if the instance has already completed
+     */
+    public JobRun start(String jobName, String jobKey) {
+        return transactionTemplate.execute(status -> {
+            String now = now();
+            BatchJobInstance instance = jobInstanceRepository.findByJobNameAndJobKey(jobName, jobKey).orElse(null);
+            boolean resumed = instance != null;
+            if (instance == null) {
+                instance = jobInstanceRepository.save(
+                        new BatchJobInstance(jobName, jobKey, BatchJobInstance.Status.STARTED, now));
+            } else if (instance.getStatus() == BatchJobInstance.Status.COMPLETED) {
+                throw new ConflictException("Job " + jobName + " " + jobKey + " has already completed");
+            } else {
+                for (BatchJobExecution abandoned : jobExecutionRepository.findByJobInstanceIdAndStatus(
+                        instance.getJobInstanceId(), BatchJobInstance.Status.STARTED)) {
+                    abandoned.setStatus(BatchJobInstance.Status.FAILED);
+                    abandoned.setEndTs(now);
+                    abandoned.setExitMessage("Abandoned");
+                }
+                instance.setStatus(BatchJobInstance.Status.STARTED);
+                instance.setEndTs(null);
+            }
+
+            BatchJobExecution execution = jobExecutionRepository.save(
+                    new BatchJobExecution(instance.getJobInstanceId(), BatchJobInstance.Status.STARTED, now));
+            log.info("{} job {} {} execution {}", resumed ? "Resuming" : "Starting",
+                    jobName, jobKey, execution.getJobExecutionId());
+            return new JobRun(instance.getJobInstanceId(), execution.getJobExecutionId(), jobName, jobKey, resumed);
+        });
+    }
+
+    /**
+     * Resume the latest unfinished instance of a job, or start a new instance keyed by the
+     * current time. For jobs that may run any number of times, such as daily posting.
+     */
+    public JobRun resumeOrStart(String jobName) {
+        String jobKey = jobInstanceRepository.findFirstByJobNameAndStatusInOrderByJobInstanceIdDesc(jobName,
+                        List.of(BatchJobInstance.Status.STARTED, BatchJobInstance.Status.FAILED))
+                .map(BatchJobInstance::getJobKey)
+                .orElseGet(() -> newRunKey(jobName, ""));
+        return start(jobName, jobKey);
+    }
+
+    /**
+     * Start the job instance with the given key as {@link #start} does, or if it has already
+     * completed, do its work again as a new instance keyed by the key and the current time.
+     * An unfinished rerun of the key is resumed rather than starting another. Only for jobs
+     * that are safe to repeat, such as rebuilding rollups.
+     */
+    public JobRun startOrRerun(String jobName, String jobKey) {
+        boolean completed = jobInstanceRepository.findByJobNameAndJobKey(jobName, jobKey)
+                .filter(instance -> instance.getStatus() == BatchJobInstance.Status.COMPLETED)
+                .isPresent();
+        if (!completed) {
+            return start(jobName, jobKey);
+        }
+        String rerunKey = jobInstanceRepository.findFirstByJobNameAndJobKeyStartingWithAndStatusInOrderByJobInstanceIdDesc(
+                        jobName, jobKey + "@", List.of(BatchJobInstance.Status.STARTED, BatchJobInstance.Status.FAILED))
+                .map(BatchJobInstance::getJobKey)
+                .orElseGet(() -> newRunKey(jobName, jobKey + "@"));
+        return start(jobName, rerunKey);
+    }
+
+    /**
+     * Key for a new instance: the prefix and the current time, with a counter added when the
+     * job already has an instance with that key, so runs in the same second never collide.
+     */
+    private String newRunKey(String jobName, String prefix) {
+        String key = prefix + LocalDateTime.now().format(RUN_KEY_FORMAT);
+        String candidate = key;
+        for (int n = 1; jobInstanceRepository.findByJobNameAndJobKey(jobName, candidate).isPresent(); n++) {
+            candidate = key + "-" + n;
+        }
+        return candidate;
+    }
+
+    /**
+     * Latest instance of a job in one of the given statuses, by instance ID.
+     */
+    public Optional<BatchJobInstance> findLatestInstance(String jobName, Collection<BatchJobInstance.Status> statuses) {
+        return jobInstanceRepository.findFirstByJobNameAndStatusInOrderByJobInstanceIdDesc(jobName, statuses);
+    }
+
+    /**
+     * Completed instance of a job with the highest key, for jobs whose keys sort in run order,
+     * such as interest periods.
+     */
+    public Optional<BatchJobInstance> findHighestCompletedInstance(String jobName) {
+        return jobInstanceRepository.findFirstByJobNameAndStatusOrderByJobKeyDesc(jobName, BatchJobInstance.Status.COMPLETED);
+    }
+
+    public Optional<BatchStepCheckpoint> findStepCheckpoint(JobRun run, String stepName) {
+        return stepCheckpointRepository.findById(new BatchStepCheckpointId(run.getJobInstanceId(), stepName));
+    }
+
+    /**
+     * Save a step's restart point. Every chunk up to and including lastKey must be committed.
+     */
+    public void saveStepCheckpoint(JobRun run, String stepName, String lastKey, long chunksCommitted,
+                                   long itemsProcessed) {
+        transactionTemplate.executeWithoutResult(status -> stepCheckpointRepository.save(new BatchStepCheckpoint(
+                new BatchStepCheckpointId(run.getJobInstanceId(), stepName),
+                lastKey, chunksCommitted, itemsProcessed, now())));
+    }
+
+    /**
+     * Record a committed chunk of an account-keyed step and the accounts it applied.
+     * Must be called inside the transaction that writes the chunk's changes.
+     */
+    public void recordChunk(JobRun run, String stepName, long fromAcctId, long toAcctId, Collection<Long> acctIds,
+                            long itemsProcessed) {
+        ByteBuffer encoded = ByteBuffer.allocate(acctIds.size() * Long.BYTES);
+        for (Long acctId : acctIds) {
+            encoded.putLong(acctId);
+        }
+        chunkCheckpointRepository.save(new BatchChunkCheckpoint(run.getJobInstanceId(), stepName,
+                run.getJobExecutionId(), fromAcctId, toAcctId, itemsProcessed, encoded.array(), now()));
+    }
+
+    public CommittedChunks findCommittedChunks(JobRun run, String stepName) {
+        return new CommittedChunks(chunkCheckpointRepository.findByJobInstanceIdAndStepNameOrderByFromAcctId(
+                run.getJobInstanceId(), stepName));
+    }
+
+    public void complete(JobRun run) {
+        finish(run, BatchJobInstance.Status.COMPLETED, null);
+    }
+
+    public void fail(JobRun run, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        finish(run, BatchJobInstance.Status.FAILED,
+                message.length() > MAX_EXIT_MESSAGE_LENGTH ? message.substring(0, MAX_EXIT_MESSAGE_LENGTH) : message);
+    }
+
+    public Optional<BatchJobInstance> findInstance(Long jobInstanceId) {
+        return jobInstanceRepository.findById(jobInstanceId);
+    }
+
+    public List<BatchJobExecution> findExecutions(Long jobInstanceId) {
+        return jobExecutionRepository.findByJobInstanceIdOrderByJobExecutionId(jobInstanceId);
+    }
+
+    public List<BatchStepCheckpoint> findStepCheckpoints(Long jobInstanceId) {
+        return stepCheckpointRepository.findByIdJobInstanceId(jobInstanceId);
+    }
+
+    private void finish(JobRun run, BatchJobInstance.Status status, String exitMessage) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            String now = now();
+            jobExecutionRepository.findById(run.getJobExecutionId()).ifPresent(execution -> {
+                execution.setStatus(status);
+                execution.setEndTs(now);
+                execution.setExitMessage(exitMessage);
+            });
+            jobInstanceRepository.findById(run.getJobInstanceId()).ifPresent(instance -> {
+                instance.setStatus(status);
+                instance.setEndTs(now);
+            });
+        });
+        log.info("Job {} {} execution {} {}", run.getJobName(), run.getJobKey(), run.getJobExecutionId(), status);
+    }
+
+    private static String now() {
+        return LocalDateTime.now().format(TIMESTAMP_FORMAT);
+    }
+
+    /**
+     * An execution of a job instance, as handed to the running job.
+     */
+    public static class JobRun {
+        private final Long jobInstanceId;
+        private final Long jobExecutionId;
+        private final String jobName;
+        private final String jobKey;
+        private final boolean resumed;
+
+        public JobRun(Long jobInstanceId, Long jobExecutionId, String jobName, String jobKey, boolean resumed) {
+            this.jobInstanceId = jobInstanceId;
+            this.jobExecutionId = jobExecutionId;
+            this.jobName = jobName;
+            this.jobKey = jobKey;
+            this.resumed = resumed;
+        }
+
+        public Long getJobInstanceId() { return jobInstanceId; }
+        public Long getJobExecutionId() { return jobExecutionId; }
+        public String getJobName() { return jobName; }
+        public String getJobKey() { return jobKey; }
+        public boolean isResumed() { return resumed; }
+    }
+
+    /**
+     * Accounts applied by the chunks already committed for a step, searchable without
+     * allocating per lookup.
+     */
+    public static final class CommittedChunks {
+        private final long[] acctIds;
+
+        private CommittedChunks(List<BatchChunkCheckpoint> chunks) {
+            int count = 0;
+            for (BatchChunkCheckpoint chunk : chunks) {
+                count += chunk.getAcctIds().length / Long.BYTES;
+            }
+            long[] ids = new long[count];
+            int index = 0;
+            for (BatchChunkCheckpoint chunk : chunks) {
+                ByteBuffer buffer = ByteBuffer.wrap(chunk.getAcctIds());
+                while (buffer.hasRemaining()) {
+                    ids[index++] = buffer.getLong();
+                }
+            }
+            Arrays.sort(ids);
+            acctIds = ids;
+        }
+
+        public boolean isEmpty() {
+            return acctIds.length == 0;
+        }
+
+        /**
+         * Number of accounts applied.
+         */
+        public int size() {
+            return acctIds.length;
+        }
+
+        /**
+         * Whether a committed chunk applied the account.
+         */
+        public boolean contains(long acctId) {
+            return Arrays.binarySearch(acctIds, acctId) >= 0;
+        }
+    }
+}
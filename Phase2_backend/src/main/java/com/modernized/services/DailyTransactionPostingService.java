@@ -0,0 +1,334 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.BatchPostingResponse;
+import com.modernized.entities.Account;
+import com.modernized.entities.BatchStepCheckpoint;
+import com.modernized.entities.DailyTransaction;
+import com.modernized.entities.DailyTransactionReject;
+import com.modernized.entities.Transaction;
+import com.modernized.entities.TransactionCategoryBalanceId;
+import com.modernized.repositories.PostingJdbcRepository;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import com.modernized.repositories.PostingJdbcRepository.RollupDeltas;
+import com.modernized.services.BatchJobService.JobRun;
+import com.modernized.services.MoneyKernel.AccountCents;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Batch posting of daily transactions (CBTRN02C).
+ * Reads unposted DailyTransaction rows in chunks, validates each against its account,
+ * and writes Transaction rows, account balances and category balances with JDBC batching.
+ *
+ * Each chunk is split by account ID into a fixed number of partitions processed in parallel.
+ * An account always maps to the same partition, so no two workers touch the same account
+ * and every partition commits in its own database transaction.
+ *
+ * Within a partition, credit limit checks and balance updates run on long cents through
+ * MoneyKernel; amounts are converted to BigDecimal only for the rows written.
+ *
+ * A rejected row is recorded with its reason code in daily_transaction_reject, in the same
+ * database transaction as its partition's postings, and is not read again by later runs.
+ * A rejection is therefore final for the row even if the account could take it later, as in
+ * the reject file of CBTRN02C; deleting the reject row submits it again.
+ *
+ * Every run is an execution in the job execution store. A row counts as processed once its
+ * Transaction or reject row is committed, and the step checkpoint records the last daily
+ * transaction ID of each finished chunk, so a run that dies is resumed after its last
+ * finished chunk.
+ */
+@Service
+public class DailyTransactionPostingService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyTransactionPostingService.class);
+
+    public static final String JOB_NAME = "daily-posting";
+    public static final String STEP_NAME = "post-daily-transactions";
+
+    private static final int INVALID_CARD_CODE = 100;
+    private static final int ACCOUNT_NOT_FOUND_CODE = 101;
+    private static final int INVALID_CATEGORY_CODE = 104;
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final PostingJdbcRepository postingJdbcRepository;
+    private final AccountValidationService accountValidationService;
+    private final BatchJobService batchJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountViewCache accountViewCache;
+    private final ExecutorService partitionExecutor;
+    private final int chunkSize;
+    private final int partitions;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public DailyTransactionPostingService(PostingJdbcRepository postingJdbcRepository,
+                                          AccountValidationService accountValidationService,
+                                          BatchJobService batchJobService,
+                                          PlatformTransactionManager transactionManager,
+                                          ApplicationEventPublisher eventPublisher,
+                                          AccountViewCache accountViewCache,
+                                          @Value("${carddemo.batch.posting.chunk-size:5000}") int chunkSize,
+                                          @Value("${carddemo.batch.posting.partitions:0}") int partitions) {
+        this.postingJdbcRepository = postingJdbcRepository;
+        this.accountValidationService = accountValidationService;
+        this.batchJobService = batchJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.accountViewCache = accountViewCache;
+        this.chunkSize = chunkSize;
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.partitionExecutor = Executors.newFixedThreadPool(this.partitions);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionExecutor.shutdownNow();
+    }
+
+    /**
+     * Post all unprocessed daily transactions.
+     * Rows already posted or rejected are skipped, and a run after a failure resumes the
+     * failed run after its last finished chunk, so it only processes what is left.
+     *
+     * @return Run summary with counts and a sample of this run's rejections
+     */
+    public BatchPostingResponse postDailyTransactions() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Daily transaction posting is already running");
+        }
+        try {
+            JobRun run = batchJobService.resumeOrStart(JOB_NAME);
+            try {
+                BatchPostingResponse response = postDailyTransactions(run);
+                batchJobService.complete(run);
+                return response;
+            } catch (RuntimeException e) {
+                batchJobService.fail(run, e);
+                throw e;
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private BatchPostingResponse postDailyTransactions(JobRun run) {
+        long startNanos = System.nanoTime();
+        BatchPostingResponse response = new BatchPostingResponse();
+        response.setJobInstanceId(run.getJobInstanceId());
+        response.setJobExecutionId(run.getJobExecutionId());
+        response.setResumed(run.isResumed());
+        Map<Integer, String> categoryTypes = postingJdbcRepository.findCategoryTypes();
+
+        Optional<BatchStepCheckpoint> checkpoint = batchJobService.findStepCheckpoint(run, STEP_NAME);
+        String afterId = checkpoint.map(BatchStepCheckpoint::getLastKey).orElse(null);
+        long chunksCommitted = checkpoint.map(BatchStepCheckpoint::getChunksCommitted).orElse(0L);
+        long itemsProcessed = checkpoint.map(BatchStepCheckpoint::getItemsProcessed).orElse(0L);
+        if (run.isResumed()) {
+            log.info("Resuming daily posting {} after {}", run.getJobKey(), afterId);
+        }
+
+        while (true) {
+            List<DailyTransaction> chunk = postingJdbcRepository.findUnpostedDailyTransactions(afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getDalytranId();
+            postChunk(run, chunk, categoryTypes, response);
+            chunksCommitted++;
+            itemsProcessed += chunk.size();
+            batchJobService.saveStepCheckpoint(run, STEP_NAME, afterId, chunksCommitted, itemsProcessed);
+        }
+
+        response.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Daily posting finished: read={} posted={} rejected={} accounts={} in {} ms",
+                response.getRecordsRead(), response.getTransactionsPosted(),
+                response.getTransactionsRejected(), response.getAccountsUpdated(), response.getElapsedMillis());
+        return response;
+    }
+
+    private void postChunk(JobRun run, List<DailyTransaction> chunk, Map<Integer, String> categoryTypes,
+                           BatchPostingResponse response) {
+        response.setRecordsRead(response.getRecordsRead() + chunk.size());
+        String processedTs = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+
+        Set<String> cardNumbers = chunk.stream()
+                .map(DailyTransaction::getDalytranCardNum)
+                .filter(cardNum -> cardNum != null)
+                .collect(Collectors.toSet());
+        Map<String, Long> accountIdsByCard = postingJdbcRepository.findAccountIdsByCardNumbers(cardNumbers);
+
+        List<List<DailyTransaction>> partitioned = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            partitioned.add(new ArrayList<>());
+        }
+        List<DailyTransactionReject> cardRejects = new ArrayList<>();
+        for (DailyTransaction dailyTransaction : chunk) {
+            Long acctId = accountIdsByCard.get(dailyTransaction.getDalytranCardNum());
+            if (acctId == null) {
+                cardRejects.add(reject(run, dailyTransaction, INVALID_CARD_CODE, "INVALID CARD NUMBER FOUND",
+                        processedTs));
+                continue;
+            }
+            partitioned.get((int) Math.floorMod(acctId, (long) partitions)).add(dailyTransaction);
+        }
+        transactionTemplate.executeWithoutResult(status -> postingJdbcRepository.insertRejects(cardRejects));
+        for (DailyTransactionReject reject : cardRejects) {
+            addRejection(response, reject);
+        }
+
+        List<Future<PartitionResult>> futures = new ArrayList<>();
+        for (List<DailyTransaction> partition : partitioned) {
+            if (!partition.isEmpty()) {
+                futures.add(partitionExecutor.submit(() -> transactionTemplate.execute(
+                        status -> postPartition(run, partition, accountIdsByCard, categoryTypes, processedTs))));
+            }
+        }
+
+        for (Future<PartitionResult> future : futures) {
+            PartitionResult result;
+            try {
+                result = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Daily transaction posting interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Daily transaction posting failed", e.getCause());
+            }
+            response.setTransactionsPosted(response.getTransactionsPosted() + result.posted);
+            response.setAccountsUpdated(response.getAccountsUpdated() + result.accountsUpdated);
+            for (DailyTransactionReject reject : result.rejects) {
+                addRejection(response, reject);
+            }
+        }
+    }
+
+    private PartitionResult postPartition(JobRun run, List<DailyTransaction> partition,
+                                          Map<String, Long> accountIdsByCard, Map<Integer, String> categoryTypes,
+                                          String processedTs) {
+        Set<Long> accountIds = partition.stream()
+                .map(dailyTransaction -> accountIdsByCard.get(dailyTransaction.getDalytranCardNum()))
+                .collect(Collectors.toSet());
+        Map<Long, Account> accounts = postingJdbcRepository.findAccountsByIds(accountIds);
+        Map<Long, AccountCents> balances = new LinkedHashMap<>();
+
+        PartitionResult result = new PartitionResult();
+        List<Transaction> transactions = new ArrayList<>(partition.size());
+        Map<TransactionCategoryBalanceId, BigDecimal> categoryDeltas = new LinkedHashMap<>();
+        RollupDeltas rollupDeltas = new RollupDeltas();
+
+        for (DailyTransaction dailyTransaction : partition) {
+            Long acctId = accountIdsByCard.get(dailyTransaction.getDalytranCardNum());
+            Account account = accounts.get(acctId);
+            if (account == null) {
+                result.rejects.add(reject(run, dailyTransaction, ACCOUNT_NOT_FOUND_CODE, "ACCOUNT RECORD NOT FOUND",
+                        processedTs));
+                continue;
+            }
+            String categoryType = categoryTypes.get(dailyTransaction.getDalytranCatCd());
+            if (categoryType == null || !categoryType.equals(dailyTransaction.getDalytranTypeCd())) {
+                result.rejects.add(reject(run, dailyTransaction, INVALID_CATEGORY_CODE,
+                        "INVALID TRANSACTION TYPE/CATEGORY", processedTs));
+                continue;
+            }
+            AccountCents accountCents = balances.computeIfAbsent(acctId, id -> new AccountCents(account));
+            long amountCents = MoneyKernel.toCents(dailyTransaction.getDalytranAmt());
+            if (!accountCents.withinCreditLimit(amountCents)) {
+                result.rejects.add(reject(run, dailyTransaction,
+                        accountValidationService.getCreditLimitFailureCode(), "OVERLIMIT TRANSACTION", processedTs));
+                continue;
+            }
+            if (!accountValidationService.validateAccountExpiration(account, dailyTransaction.getDalytranOrigTs())) {
+                result.rejects.add(reject(run, dailyTransaction,
+                        accountValidationService.getAccountExpirationFailureCode(),
+                        "TRANSACTION RECEIVED AFTER ACCT EXPIRATION", processedTs));
+                continue;
+            }
+
+            Transaction transaction = toTransaction(dailyTransaction, processedTs);
+            accountCents.post(amountCents);
+            transactions.add(transaction);
+            categoryDeltas.merge(
+                    new TransactionCategoryBalanceId(acctId, transaction.getTranTypeCd(), transaction.getTranCatCd()),
+                    transaction.getTranAmt(), BigDecimal::add);
+            rollupDeltas.add(acctId, transaction);
+        }
+
+        List<AccountDelta> accountDeltas = balances.values().stream()
+                .filter(AccountCents::isChanged)
+                .map(AccountCents::toDelta)
+                .collect(Collectors.toList());
+
+        postingJdbcRepository.insertTransactions(transactions);
+        postingJdbcRepository.insertRejects(result.rejects);
+        postingJdbcRepository.applyAccountDeltas(accountDeltas);
+        accountViewCache.invalidateAfterCommit(
+                accountDeltas.stream().map(AccountDelta::getAcctId).collect(Collectors.toList()));
+        postingJdbcRepository.mergeCategoryBalances(categoryDeltas);
+        postingJdbcRepository.mergeDailyRollups(rollupDeltas);
+        eventPublisher.publishEvent(new TransactionsPostedEvent(transactions));
+
+        result.posted = transactions.size();
+        result.accountsUpdated = accountDeltas.size();
+        return result;
+    }
+
+    private Transaction toTransaction(DailyTransaction dailyTransaction, String processedTs) {
+        return new Transaction(
+                dailyTransaction.getDalytranId(),
+                dailyTransaction.getDalytranTypeCd(),
+                dailyTransaction.getDalytranCatCd(),
+                dailyTransaction.getDalytranSource(),
+                dailyTransaction.getDalytranDesc(),
+                dailyTransaction.getDalytranAmt(),
+                dailyTransaction.getDalytranMerchantId(),
+                dailyTransaction.getDalytranMerchantName(),
+                dailyTransaction.getDalytranMerchantCity(),
+                dailyTransaction.getDalytranMerchantZip(),
+                dailyTransaction.getDalytranCardNum(),
+                dailyTransaction.getDalytranOrigTs(),
+                processedTs);
+    }
+
+    private static DailyTransactionReject reject(JobRun run, DailyTransaction dailyTransaction, int code,
+                                                 String reason, String rejectedTs) {
+        return new DailyTransactionReject(dailyTransaction.getDalytranId(), code, reason,
+                run.getJobInstanceId(), rejectedTs);
+    }
+
+    private void addRejection(BatchPostingResponse response, DailyTransactionReject reject) {
+        response.setTransactionsRejected(response.getTransactionsRejected() + 1);
+        if (response.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+            response.getRejections().add(
+                    reject.getDalytranId() + ": " + reject.getRejectCode() + " " + reject.getRejectReason());
+        }
+    }
+
+    private static class PartitionResult {
+        private long posted;
+        private long accountsUpdated;
+        private final List<DailyTransactionReject> rejects = new ArrayList<>();
+    }
+}
@@ -0,0 +1,376 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.InterestRunResponse;
+import com.modernized.entities.Account;
+import com.modernized.entities.BatchJobInstance;
+import com.modernized.entities.BatchStepCheckpoint;
+import com.modernized.entities.Transaction;
+import com.modernized.entities.TransactionCategoryBalance;
+import com.modernized.entities.TransactionCategoryBalanceId;
+import com.modernized.repositories.PostingJdbcRepository;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import com.modernized.repositories.PostingJdbcRepository.RollupDeltas;
+import com.modernized.services.BatchJobService.CommittedChunks;
+import com.modernized.services.BatchJobService.JobRun;
+import com.modernized.services.MoneyKernel.AccountCents;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly interest run over transaction category balances (CBACT04C).
+ * For every category balance, looks up the disclosure group rate of the account's group
+ * (falling back to DEFAULT) in the in-memory rate table, computes the monthly interest (RULE-CALC-001), writes one
+ * interest transaction per balance and adds the account's total interest to its current
+ * balance (RULE-CALC-006) and to its interest category balance (RULE-CALC-005).
+ * Interest transactions originate at the last second of the period they charge, so they
+ * list, roll up and report under that period whenever the run happens; while the period is
+ * still current they originate at the time of the run instead, so none is dated in the future.
+ * The processing timestamp is the time of the run.
+ *
+ * The interest formula and balance updates run on long cents through MoneyKernel; amounts
+ * are converted to BigDecimal only for the rows written.
+ *
+ * Accounts are read in keyset chunks and each chunk is processed and committed as its own
+ * task on a fork-join pool. A bounded number of chunks is in flight, so memory stays flat
+ * however many accounts are processed.
+ *
+ * Each period is one job instance in the job execution store. Every chunk records the
+ * accounts it charged in its own transaction. A run that dies is resumed by reading the
+ * account IDs from the start again and charging only the accounts no chunk recorded, so no
+ * account is charged twice, and accounts that gained category balances after the failure are
+ * charged too. A completed period cannot be run again.
+ *
+ * Interest is charged on the balances as they are when the run happens, so periods run strictly
+ * in order: only the month after the last completed period may start, and never a month that
+ * has not begun. A period that did not complete must be resumed before any other runs.
+ */
+@Service
+public class InterestBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestBatchService.class);
+
+    public static final String JOB_NAME = "monthly-interest";
+    public static final String STEP_NAME = "interest-accrual";
+    public static final String INTEREST_TYPE_CD = "05";
+    public static final int INTEREST_CAT_CD = 8;
+    private static final int MAX_REPORTED_SKIPS = 100;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final PostingJdbcRepository postingJdbcRepository;
+    private final InterestRateTable interestRateTable;
+    private final BatchJobService batchJobService;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountViewCache accountViewCache;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public InterestBatchService(PostingJdbcRepository postingJdbcRepository,
+                                InterestRateTable interestRateTable,
+                                BatchJobService batchJobService,
+                                TransactionIdGenerator transactionIdGenerator,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                AccountViewCache accountViewCache,
+                                @Value("${carddemo.batch.interest.chunk-size:1000}") int chunkSize,
+                                @Value("${carddemo.batch.interest.parallelism:0}") int parallelism) {
+        this.postingJdbcRepository = postingJdbcRepository;
+        this.interestRateTable = interestRateTable;
+        this.batchJobService = batchJobService;
+        this.transactionIdGenerator = transactionIdGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.accountViewCache = accountViewCache;
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Compute and post monthly interest for every account with category balances,
+     * resuming the period's earlier run if it did not complete.
+     *
+     * @param period Interest period
+     * @return Run summary with counts, total interest and a sample of skipped accounts
+     * @throws IllegalArgumentException if the period has not begun
+     * @throws ConflictException if interest is running, or the period is not the unfinished period
+     *         or the one after the last completed period
+     */
+    public InterestRunResponse runMonthlyInterest(YearMonth period) {
+        if (period.isAfter(YearMonth.now())) {
+            throw new IllegalArgumentException("Interest period " + period + " has not begun");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Interest calculation is already running");
+        }
+        try {
+            checkNextPeriod(period);
+            JobRun run = batchJobService.start(JOB_NAME, period.toString());
+            try {
+                InterestRunResponse response = accrueInterest(run, period);
+                batchJobService.complete(run);
+                return response;
+            } catch (RuntimeException e) {
+                batchJobService.fail(run, e);
+                throw e;
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void checkNextPeriod(YearMonth period) {
+        Optional<String> unfinished = batchJobService.findLatestInstance(JOB_NAME,
+                        List.of(BatchJobInstance.Status.STARTED, BatchJobInstance.Status.FAILED))
+                .map(BatchJobInstance::getJobKey);
+        if (unfinished.isPresent()) {
+            if (!unfinished.get().equals(period.toString())) {
+                throw new ConflictException("Interest period " + unfinished.get() + " did not complete and must be resumed first");
+            }
+            return;
+        }
+        Optional<YearMonth> lastCompleted = batchJobService.findHighestCompletedInstance(JOB_NAME)
+                .map(instance -> YearMonth.parse(instance.getJobKey()));
+        if (lastCompleted.isPresent() && !period.equals(lastCompleted.get().plusMonths(1))) {
+            throw new ConflictException("Interest period " + period + " cannot run; the next period after "
+                    + lastCompleted.get() + " is " + lastCompleted.get().plusMonths(1));
+        }
+    }
+
+    private InterestRunResponse accrueInterest(JobRun run, YearMonth period) {
+        long startNanos = System.nanoTime();
+        InterestRunResponse response = new InterestRunResponse();
+        response.setJobInstanceId(run.getJobInstanceId());
+        response.setJobExecutionId(run.getJobExecutionId());
+        response.setResumed(run.isResumed());
+        interestRateTable.refresh();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime periodEnd = period.atEndOfMonth().atTime(LocalTime.MAX);
+        String origTs = (periodEnd.isAfter(now) ? now : periodEnd).format(TIMESTAMP_FORMAT);
+        String processedTs = now.format(TIMESTAMP_FORMAT);
+
+        CommittedChunks committed = batchJobService.findCommittedChunks(run, STEP_NAME);
+        Optional<BatchStepCheckpoint> checkpoint = batchJobService.findStepCheckpoint(run, STEP_NAME);
+        long afterAcctId = 0;
+        StepProgress progress = new StepProgress(
+                checkpoint.map(BatchStepCheckpoint::getChunksCommitted).orElse(0L),
+                checkpoint.map(BatchStepCheckpoint::getItemsProcessed).orElse(0L));
+        if (run.isResumed()) {
+            log.info("Resuming interest run {} with {} accounts already charged", run.getJobKey(), committed.size());
+        }
+
+        int maxInFlight = pool.getParallelism() * 2;
+        Deque<PendingChunk> inFlight = new ArrayDeque<>();
+        while (true) {
+            List<Long> accountIds = postingJdbcRepository.findCategoryBalanceAccountIds(afterAcctId, chunkSize);
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            long fromAcctId = accountIds.get(0);
+            long toAcctId = accountIds.get(accountIds.size() - 1);
+            afterAcctId = toAcctId;
+
+            if (accountIds.stream().allMatch(committed::contains)) {
+                response.setChunksSkipped(response.getChunksSkipped() + 1);
+                inFlight.add(new PendingChunk(toAcctId, null));
+            } else {
+                inFlight.add(new PendingChunk(toAcctId, pool.submit(() -> transactionTemplate.execute(
+                        status -> processChunk(run, committed, fromAcctId, toAcctId, origTs, processedTs)))));
+            }
+            while (inFlight.size() >= maxInFlight || (!inFlight.isEmpty() && inFlight.peek().task == null)) {
+                if (awaitChunk(inFlight.poll(), response, progress)) {
+                    batchJobService.saveStepCheckpoint(run, STEP_NAME, String.valueOf(progress.lastAcctId),
+                            progress.chunksCommitted, progress.itemsProcessed);
+                }
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            awaitChunk(inFlight.poll(), response, progress);
+        }
+        batchJobService.saveStepCheckpoint(run, STEP_NAME, String.valueOf(afterAcctId),
+                progress.chunksCommitted, progress.itemsProcessed);
+
+        response.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Interest run {} finished: accounts={} balances={} transactions={} total={} in {} ms",
+                run.getJobKey(), response.getAccountsRead(), response.getBalancesRead(),
+                response.getInterestTransactions(), response.getTotalInterest(), response.getElapsedMillis());
+        return response;
+    }
+
+    /**
+     * Wait for the oldest chunk in flight and add its result; chunks complete in read order,
+     * so every chunk up to this one is then committed.
+     *
+     * @return true if the chunk was processed in this run, false if it had been skipped
+     */
+    private boolean awaitChunk(PendingChunk chunk, InterestRunResponse response, StepProgress progress) {
+        progress.lastAcctId = chunk.toAcctId;
+        if (chunk.task == null) {
+            return false;
+        }
+        ChunkResult result = chunk.task.join();
+        merge(response, result);
+        progress.chunksCommitted++;
+        progress.itemsProcessed += result.balancesRead;
+        return true;
+    }
+
+    private ChunkResult processChunk(JobRun run, CommittedChunks committed, long fromAcctId, long toAcctId,
+                                     String origTs, String processedTs) {
+        List<TransactionCategoryBalance> balances = postingJdbcRepository.findCategoryBalances(fromAcctId, toAcctId);
+        if (!committed.isEmpty()) {
+            balances.removeIf(balance -> committed.contains(balance.getId().getTrancatAcctId()));
+        }
+        Set<Long> accountIds = balances.stream()
+                .map(balance -> balance.getId().getTrancatAcctId())
+                .collect(Collectors.toSet());
+        Map<Long, Account> accounts = postingJdbcRepository.findAccountsByIds(accountIds);
+        Map<Long, String> cardNumbers = postingJdbcRepository.findCardNumbersByAccountIds(accountIds);
+
+        ChunkResult result = new ChunkResult();
+        result.accountsRead = accountIds.size();
+        result.balancesRead = balances.size();
+        Map<Long, AccountCents> updated = new LinkedHashMap<>();
+        Map<TransactionCategoryBalanceId, BigDecimal> categoryDeltas = new LinkedHashMap<>();
+        RollupDeltas rollupDeltas = new RollupDeltas();
+
+        for (TransactionCategoryBalance balance : balances) {
+            Long acctId = balance.getId().getTrancatAcctId();
+            Account account = accounts.get(acctId);
+            String cardNum = cardNumbers.get(acctId);
+            if (account == null || cardNum == null) {
+                result.skipped.add(acctId + ": " + (account == null ? "ACCOUNT RECORD NOT FOUND" : "NO CARD FOR ACCOUNT"));
+                continue;
+            }
+
+            BigDecimal rate = interestRateTable.findRate(account.getAcctGroupId(),
+                    balance.getId().getTrancatTypeCd(), balance.getId().getTrancatCd());
+            if (rate == null || rate.signum() == 0) {
+                continue;
+            }
+            long interestCents = MoneyKernel.monthlyInterest(
+                    MoneyKernel.toCents(balance.getTranCatBal()), MoneyKernel.toCents(rate));
+            if (interestCents == 0) {
+                continue;
+            }
+
+            updated.computeIfAbsent(acctId, id -> new AccountCents(account)).addInterest(interestCents);
+            BigDecimal interest = MoneyKernel.toAmount(interestCents);
+            Transaction transaction = interestTransaction(acctId, cardNum, interest, origTs, processedTs);
+            result.transactions.add(transaction);
+            rollupDeltas.add(acctId, transaction);
+            categoryDeltas.merge(new TransactionCategoryBalanceId(acctId, INTEREST_TYPE_CD, INTEREST_CAT_CD),
+                    interest, BigDecimal::add);
+            result.totalInterest = result.totalInterest.add(interest);
+        }
+
+        List<AccountDelta> accountDeltas = updated.values().stream()
+                .map(AccountCents::toDelta)
+                .collect(Collectors.toList());
+
+        postingJdbcRepository.insertTransactions(result.transactions);
+        postingJdbcRepository.applyAccountDeltas(accountDeltas);
+        accountViewCache.invalidateAfterCommit(
+                accountDeltas.stream().map(AccountDelta::getAcctId).collect(Collectors.toList()));
+        postingJdbcRepository.mergeCategoryBalances(categoryDeltas);
+        postingJdbcRepository.mergeDailyRollups(rollupDeltas);
+        eventPublisher.publishEvent(new TransactionsPostedEvent(result.transactions));
+        batchJobService.recordChunk(run, STEP_NAME, fromAcctId, toAcctId, accountIds, balances.size());
+        result.accountsUpdated = accountDeltas.size();
+        return result;
+    }
+
+    private Transaction interestTransaction(Long acctId, String cardNum, BigDecimal interest,
+                                            String origTs, String processedTs) {
+        return new Transaction(
+                transactionIdGenerator.nextId(),
+                INTEREST_TYPE_CD,
+                INTEREST_CAT_CD,
+                "System",
+                "Int. for a/c " + acctId,
+                interest,
+                0L,
+                null,
+                null,
+                null,
+                cardNum,
+                origTs,
+                processedTs);
+    }
+
+
+    private void merge(InterestRunResponse response, ChunkResult result) {
+        response.setAccountsRead(response.getAccountsRead() + result.accountsRead);
+        response.setBalancesRead(response.getBalancesRead() + result.balancesRead);
+        response.setInterestTransactions(response.getInterestTransactions() + result.transactions.size());
+        response.setAccountsUpdated(response.getAccountsUpdated() + result.accountsUpdated);
+        response.setAccountsSkipped(response.getAccountsSkipped() + result.skipped.size());
+        response.setTotalInterest(response.getTotalInterest().add(result.totalInterest));
+        for (String skip : result.skipped) {
+            if (response.getSkipped().size() < MAX_REPORTED_SKIPS) {
+                response.getSkipped().add(skip);
+            }
+        }
+    }
+
+    private static class StepProgress {
+        private long lastAcctId;
+        private long chunksCommitted;
+        private long itemsProcessed;
+
+        private StepProgress(long chunksCommitted, long itemsProcessed) {
+            this.chunksCommitted = chunksCommitted;
+            this.itemsProcessed = itemsProcessed;
+        }
+    }
+
+    private static class PendingChunk {
+        private final long toAcctId;
+        private final ForkJoinTask<ChunkResult> task;
+
+        private PendingChunk(long toAcctId, ForkJoinTask<ChunkResult> task) {
+            this.toAcctId = toAcctId;
+            this.task = task;
+        }
+    }
+
+    private static class ChunkResult {
+        private long accountsRead;
+        private long balancesRead;
+        private long accountsUpdated;
+        private BigDecimal totalInterest = BigDecimal.ZERO;
+        private final List<Transaction> transactions = new ArrayList<>();
+        private final Set<String> skipped = new LinkedHashSet<>();
+    }
+}
@@ -18,11 +18,14 @@ public class InterestCalculationService {
 
     private final AccountRepository accountRepository;
     private final TransactionCategoryBalanceRepository transactionCategoryBalanceRepository;
+    private final InterestRateTable interestRateTable;
 
     public InterestCalculationService(AccountRepository accountRepository,
-                                    TransactionCategoryBalanceRepository transactionCategoryBalanceRepository) {
+                                    TransactionCategoryBalanceRepository transactionCategoryBalanceRepository,
+                                    InterestRateTable interestRateTable) {
         this.accountRepository = accountRepository;
         this.transactionCategoryBalanceRepository = transactionCategoryBalanceRepository;
+        this.interestRateTable = interestRateTable;
     }
 
     /**
@@ -90,6 +93,8 @@ public class InterestCalculationService {
 
     /**
      * Calculate total interest for all transaction categories of an account.
+     * Applies RULE-CALC-001 to each category balance whose disclosure group rate
+     * (with DEFAULT group fallback) passes RULE-THRESHOLD-009.
      * 
      * @param accountId The account ID
      * @return Total monthly interest for the account
@@ -99,7 +104,19 @@ public class InterestCalculationService {
             return BigDecimal.ZERO;
         }
         
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            return BigDecimal.ZERO;
+        }
+        
         BigDecimal totalInterest = BigDecimal.ZERO;
+        for (TransactionCategoryBalance balance : transactionCategoryBalanceRepository.findByIdTrancatAcctId(accountId)) {
+            BigDecimal interestRate = interestRateTable.findRate(account.getAcctGroupId(),
+                    balance.getId().getTrancatTypeCd(), balance.getId().getTrancatCd());
+            if (interestRate != null && interestRate.compareTo(BigDecimal.ZERO) != 0) {
+                totalInterest = totalInterest.add(calculateMonthlyInterest(balance.getTranCatBal(), interestRate));
+            }
+        }
         
         return totalInterest;
     }
@@ -0,0 +1,149 @@
+package com.modernized.services;
+
+import com.modernized.entities.DisclosureGroup;
+import com.modernized.repositories.DisclosureGroupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory disclosure group interest rate table.
+ *
+ * Rates are preloaded into an open-addressing table keyed by a long that packs the account
+ * group (as an interned index), the two-character type code and the category code, so a
+ * lookup neither queries the database nor allocates. When an account's group has no rate for
+ * a type and category, the DEFAULT group's rate is used, as in CBACT04C.
+ *
+ * A refresh builds a complete new table and publishes it with a single volatile write, so
+ * lookups always see either the old or the new rates, never a mix.
+ */
+@Service
+public class InterestRateTable implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestRateTable.class);
+
+    public static final String DEFAULT_GROUP_ID = "DEFAULT";
+
+    private final DisclosureGroupRepository disclosureGroupRepository;
+    private volatile Snapshot snapshot = new Snapshot(List.of());
+
+    public InterestRateTable(DisclosureGroupRepository disclosureGroupRepository) {
+        this.disclosureGroupRepository = disclosureGroupRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Reload all disclosure group rates and atomically replace the table.
+     *
+     * @return Number of rates loaded
+     */
+    public int refresh() {
+        List<DisclosureGroup> groups = disclosureGroupRepository.findAll();
+        snapshot = new Snapshot(groups);
+        log.info("Loaded {} disclosure group interest rates", groups.size());
+        return groups.size();
+    }
+
+    /**
+     * Annual interest rate for an account group, transaction type and category,
+     * falling back to the DEFAULT group.
+     *
+     * @param acctGroupId Account group ID
+     * @param tranTypeCd Two-character transaction type code
+     * @param tranCatCd Transaction category code
+     * @return Rate as a percentage, or null if neither the group nor DEFAULT has one
+     */
+    public BigDecimal findRate(String acctGroupId, String tranTypeCd, int tranCatCd) {
+        return snapshot.find(acctGroupId, tranTypeCd, tranCatCd);
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Integer> groupIndexes = new HashMap<>();
+        private final long[] keys;
+        private final BigDecimal[] rates;
+        private final int mask;
+        private final int size;
+        private final int defaultGroupIndex;
+
+        private Snapshot(List<DisclosureGroup> groups) {
+            int capacity = Integer.highestOneBit(Math.max(groups.size(), 1) * 2 - 1) << 1;
+            keys = new long[capacity];
+            rates = new BigDecimal[capacity];
+            mask = capacity - 1;
+
+            int loaded = 0;
+            for (DisclosureGroup group : groups) {
+                if (group.getDisIntRate() == null) {
+                    continue;
+                }
+                Integer groupIndex = groupIndexes.computeIfAbsent(group.getId().getDisAcctGroupId(),
+                        id -> groupIndexes.size() + 1);
+                long key = key(groupIndex, group.getId().getDisTranTypeCd(), group.getId().getDisTranCatCd());
+                int slot = slot(key);
+                while (keys[slot] != 0 && keys[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                if (keys[slot] == 0) {
+                    loaded++;
+                }
+                keys[slot] = key;
+                rates[slot] = group.getDisIntRate();
+            }
+            size = loaded;
+            defaultGroupIndex = groupIndexes.getOrDefault(DEFAULT_GROUP_ID, 0);
+        }
+
+        private BigDecimal find(String acctGroupId, String tranTypeCd, int tranCatCd) {
+            if (acctGroupId != null) {
+                Integer groupIndex = groupIndexes.get(acctGroupId);
+                if (groupIndex != null) {
+                    BigDecimal rate = get(key(groupIndex, tranTypeCd, tranCatCd));
+                    if (rate != null) {
+                        return rate;
+                    }
+                }
+            }
+            return defaultGroupIndex == 0 ? null : get(key(defaultGroupIndex, tranTypeCd, tranCatCd));
+        }
+
+        private BigDecimal get(long key) {
+            int slot = slot(key);
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return rates[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private int slot(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        }
+
+        /**
+         * Group index in bits 48-63, type code characters in bits 32-47, category in bits 0-31.
+         * Group indexes start at 1, so a valid key is never 0, which marks an empty slot.
+         */
+        private static long key(int groupIndex, String tranTypeCd, int tranCatCd) {
+            int typeBits = 0;
+            for (int i = 0; i < tranTypeCd.length() && i < 2; i++) {
+                typeBits = (typeBits << 8) | (tranTypeCd.charAt(i) & 0xFF);
+            }
+            return ((long) groupIndex << 48) | ((long) typeBits << 32) | (tranCatCd & 0xFFFFFFFFL);
+        }
+    }
+}
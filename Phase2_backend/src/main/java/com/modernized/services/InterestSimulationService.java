@@ -0,0 +1,259 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.InterestSimulationRequest;
+import com.modernized.dto.InterestSimulationResponse;
+import com.modernized.repositories.InterestSimulationJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+
+/**
+ * What-if interest simulation for proposed disclosure group rates.
+ *
+ * The group's category balances are read in one streaming query into primitive columns
+ * (balance in cents, rate key, account boundaries), so the simulation sees a single
+ * consistent snapshot and loads no entities. Current and proposed monthly interest
+ * (RULE-CALC-001, RULE-THRESHOLD-009) is then computed per account in parallel with
+ * MoneyKernel. Current rates come from the in-memory rate table with DEFAULT fallback;
+ * nothing is written.
+ */
+@Service
+public class InterestSimulationService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestSimulationService.class);
+
+    private final InterestSimulationJdbcRepository interestSimulationJdbcRepository;
+    private final InterestRateTable interestRateTable;
+    private final ForkJoinPool pool;
+    private final Semaphore permits;
+
+    public InterestSimulationService(InterestSimulationJdbcRepository interestSimulationJdbcRepository,
+                                     InterestRateTable interestRateTable,
+                                     @Value("${carddemo.simulation.parallelism:0}") int parallelism,
+                                     @Value("${carddemo.simulation.max-concurrent:2}") int maxConcurrent) {
+        this.interestSimulationJdbcRepository = interestSimulationJdbcRepository;
+        this.interestRateTable = interestRateTable;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Project the monthly interest of an account group under proposed rates.
+     * Type and category pairs without a proposed rate keep their current rate.
+     *
+     * @param request Account group and proposed rates
+     * @return Current and proposed totals with the distribution of per-account changes
+     * @throws IllegalArgumentException if a rate is proposed twice for the same type and category
+     * @throws ConflictException if the maximum number of simulations is already running
+     */
+    public InterestSimulationResponse simulate(InterestSimulationRequest request) {
+        if (!permits.tryAcquire()) {
+            throw new ConflictException("Too many interest simulations are running");
+        }
+        try {
+            long startNanos = System.nanoTime();
+            String acctGroupId = request.getAcctGroupId();
+            RateKeys rateKeys = new RateKeys();
+            Map<Integer, BigDecimal> proposedRatesByKey = new HashMap<>();
+            for (InterestSimulationRequest.ProposedRate rate : request.getRates()) {
+                int keyIndex = rateKeys.indexOf(rate.getTranTypeCd(), rate.getTranCatCd());
+                if (proposedRatesByKey.put(keyIndex, rate.getDisIntRate()) != null) {
+                    throw new IllegalArgumentException("Duplicate proposed rate for type "
+                            + rate.getTranTypeCd() + " category " + rate.getTranCatCd());
+                }
+            }
+
+            BalanceColumns columns = new BalanceColumns();
+            interestSimulationJdbcRepository.streamGroupCategoryBalances(acctGroupId, rs -> columns.add(
+                    rs.getLong(1),
+                    rateKeys.indexOf(rs.getString(2), rs.getInt(3)),
+                    MoneyKernel.toCents(rs.getBigDecimal(4))));
+
+            int keyCount = rateKeys.size();
+            long[] currentRates = new long[keyCount];
+            long[] proposedRates = new long[keyCount];
+            List<InterestSimulationResponse.Rate> rates = new ArrayList<>(keyCount);
+            long[] balancesPerKey = columns.countPerKey(keyCount);
+            for (int k = 0; k < keyCount; k++) {
+                BigDecimal current = interestRateTable.findRate(acctGroupId, rateKeys.typeCd(k), rateKeys.catCd(k));
+                BigDecimal proposed = proposedRatesByKey.getOrDefault(k, current);
+                currentRates[k] = current == null ? 0 : MoneyKernel.toCents(current);
+                proposedRates[k] = proposed == null ? 0 : MoneyKernel.toCents(proposed);
+                rates.add(new InterestSimulationResponse.Rate(rateKeys.typeCd(k), rateKeys.catCd(k),
+                        current, proposed, balancesPerKey[k]));
+            }
+
+            InterestSimulationResponse response = summarize(columns, currentRates, proposedRates);
+            response.setAcctGroupId(acctGroupId);
+            response.setRates(rates);
+            response.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+            log.info("Interest simulation for group {}: accounts={} balances={} change={} in {} ms",
+                    acctGroupId, response.getAccounts(), response.getBalances(), response.getMonthlyChange(),
+                    response.getElapsedMillis());
+            return response;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private InterestSimulationResponse summarize(BalanceColumns columns, long[] currentRates, long[] proposedRates) {
+        int accounts = columns.accountCount;
+        long[] balanceCents = columns.balanceCents;
+        int[] keyIndexes = columns.keyIndexes;
+        int[] accountStarts = columns.accountStarts;
+        long[] current = new long[accounts];
+        long[] changes = new long[accounts];
+
+        pool.submit(() -> IntStream.range(0, accounts).parallel().forEach(account -> {
+            long currentInterest = 0;
+            long proposedInterest = 0;
+            int end = account + 1 < accounts ? accountStarts[account + 1] : columns.rowCount;
+            for (int row = accountStarts[account]; row < end; row++) {
+                currentInterest = MoneyKernel.add(currentInterest,
+                        MoneyKernel.monthlyInterest(balanceCents[row], currentRates[keyIndexes[row]]));
+                proposedInterest = MoneyKernel.add(proposedInterest,
+                        MoneyKernel.monthlyInterest(balanceCents[row], proposedRates[keyIndexes[row]]));
+            }
+            current[account] = currentInterest;
+            changes[account] = MoneyKernel.subtract(proposedInterest, currentInterest);
+        })).join();
+
+        long totalCurrent = Arrays.stream(current).reduce(0, MoneyKernel::add);
+        long totalChange = Arrays.stream(changes).reduce(0, MoneyKernel::add);
+        Arrays.parallelSort(changes);
+
+        InterestSimulationResponse response = new InterestSimulationResponse();
+        response.setAccounts(accounts);
+        response.setBalances(columns.rowCount);
+        response.setCurrentMonthlyInterest(MoneyKernel.toAmount(totalCurrent));
+        response.setProposedMonthlyInterest(MoneyKernel.toAmount(MoneyKernel.add(totalCurrent, totalChange)));
+        response.setMonthlyChange(MoneyKernel.toAmount(totalChange));
+        if (accounts > 0) {
+            int firstIncrease = firstGreaterThan(changes, 0);
+            int firstNonNegative = firstGreaterThan(changes, -1);
+            response.setAccountsIncreased(accounts - firstIncrease);
+            response.setAccountsDecreased(firstNonNegative);
+            response.setMinAccountChange(MoneyKernel.toAmount(changes[0]));
+            response.setMaxAccountChange(MoneyKernel.toAmount(changes[accounts - 1]));
+            response.setMeanAccountChange(MoneyKernel.toAmount(totalChange)
+                    .divide(BigDecimal.valueOf(accounts), 2, RoundingMode.HALF_UP));
+            response.setP50AccountChange(MoneyKernel.toAmount(percentile(changes, 50)));
+            response.setP90AccountChange(MoneyKernel.toAmount(percentile(changes, 90)));
+            response.setP99AccountChange(MoneyKernel.toAmount(percentile(changes, 99)));
+        }
+        return response;
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted, non-empty array.
+     */
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Index of the first element greater than the value in a sorted array, or its length.
+     */
+    private static int firstGreaterThan(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] > value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Dense indexes for the (type, category) pairs seen by a simulation.
+     */
+    private static final class RateKeys {
+        private final Map<Long, Integer> indexes = new HashMap<>();
+        private final List<String> typeCds = new ArrayList<>();
+        private final List<Integer> catCds = new ArrayList<>();
+
+        /**
+         * Type codes are at most two characters, so the key packs both characters and the
+         * category without collisions.
+         */
+        private int indexOf(String tranTypeCd, int tranCatCd) {
+            long typeBits = 0;
+            for (int i = 0; i < tranTypeCd.length() && i < 2; i++) {
+                typeBits = (typeBits << 16) | tranTypeCd.charAt(i);
+            }
+            long key = (typeBits << 32) | (tranCatCd & 0xFFFFFFFFL);
+            Integer index = indexes.get(key);
+            if (index == null) {
+                index = typeCds.size();
+                indexes.put(key, index);
+                typeCds.add(tranTypeCd);
+                catCds.add(tranCatCd);
+            }
+            return index;
+        }
+
+        private int size() { return typeCds.size(); }
+        private String typeCd(int index) { return typeCds.get(index); }
+        private int catCd(int index) { return catCds.get(index); }
+    }
+
+    /**
+     * Category balances as primitive columns, grouped by account in read order.
+     */
+    private static final class BalanceColumns {
+        private long[] balanceCents = new long[1024];
+        private int[] keyIndexes = new int[1024];
+        private int[] accountStarts = new int[256];
+        private int rowCount;
+        private int accountCount;
+        private long lastAcctId = Long.MIN_VALUE;
+
+        private void add(long acctId, int keyIndex, long cents) {
+            if (rowCount == balanceCents.length) {
+                balanceCents = Arrays.copyOf(balanceCents, rowCount * 2);
+                keyIndexes = Arrays.copyOf(keyIndexes, rowCount * 2);
+            }
+            if (acctId != lastAcctId) {
+                if (accountCount == accountStarts.length) {
+                    accountStarts = Arrays.copyOf(accountStarts, accountCount * 2);
+                }
+                accountStarts[accountCount++] = rowCount;
+                lastAcctId = acctId;
+            }
+            balanceCents[rowCount] = cents;
+            keyIndexes[rowCount] = keyIndex;
+            rowCount++;
+        }
+
+        private long[] countPerKey(int keyCount) {
+            long[] counts = new long[keyCount];
+            for (int row = 0; row < rowCount; row++) {
+                counts[keyIndexes[row]]++;
+            }
+            return counts;
+        }
+    }
+}
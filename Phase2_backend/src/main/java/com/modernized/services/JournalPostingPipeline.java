@@ -0,0 +1,445 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
+import com.modernized.dto.PostingJournalMetrics;
+import com.modernized.entities.Account;
+import com.modernized.entities.PostingJournalCheckpoint;
+import com.modernized.entities.PostingJournalDeadLetter;
+import com.modernized.entities.Transaction;
+import com.modernized.entities.TransactionCategoryBalanceId;
+import com.modernized.repositories.PostingJdbcRepository;
+import com.modernized.repositories.PostingJdbcRepository.AccountAtCheckpoint;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import com.modernized.repositories.PostingJdbcRepository.RollupDeltas;
+import com.modernized.repositories.PostingJournalCheckpointRepository;
+import com.modernized.repositories.PostingJournalDeadLetterRepository;
+import com.modernized.services.PostingJournal.Entry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Journaled posting with asynchronous database apply.
+ *
+ * A posting is validated against the stored account plus the balance changes of postings
+ * that are journaled but not yet applied, appended to the posting journal and acknowledged
+ * as soon as the journal sync covering it completes. A background applier then writes the
+ * journaled transactions, account deltas and category balance deltas to the database in
+ * batches, committing the journal checkpoint in the same transaction. On startup, entries
+ * after the checkpoint are replayed before any new posting is accepted.
+ *
+ * Account reads return the applied balance, so they can briefly lag acknowledged postings.
+ *
+ * The unapplied entries of an account are kept in memory by sequence. A posting reads them
+ * first and then the stored account together with the journal checkpoint in one statement,
+ * and adds only the entries after that checkpoint, so an apply that commits in between is
+ * counted exactly once.
+ *
+ * Postings are checked against the transaction constraints before they are journaled. If a
+ * batch still fails to apply, its entries are applied one at a time; an entry that keeps
+ * failing is moved to the posting_journal_dead_letter table for an operator, so the journal
+ * and a restart's replay continue past it.
+ */
+@Service
+@ConditionalOnProperty(name = "carddemo.posting.mode", havingValue = "JOURNAL")
+public class JournalPostingPipeline implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalPostingPipeline.class);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String JOURNAL_NAME = "posting";
+    private static final long APPLY_RETRY_MILLIS = 1000;
+
+    private final PostingJournal journal;
+    private final PostingJdbcRepository postingJdbcRepository;
+    private final PostingJournalCheckpointRepository checkpointRepository;
+    private final PostingJournalDeadLetterRepository deadLetterRepository;
+    private final AccountValidationService accountValidationService;
+    private final TransactionProcessingService transactionProcessingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountViewCache accountViewCache;
+    private final int applyBatch;
+    private final int maxApplyAttempts;
+    private final Semaphore pendingPermits;
+    private final ReentrantLock[] stripes;
+
+    private final BlockingQueue<Entry> applyQueue = new LinkedBlockingQueue<>();
+    private final Map<Long, List<Entry>> pendingEntries = new ConcurrentHashMap<>();
+    private volatile boolean closing;
+    private volatile long appliedSeq;
+    private Thread applier;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong applyBatches = new AtomicLong();
+    private final AtomicLong applyFailures = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    public JournalPostingPipeline(PostingJournal journal,
+                                  PostingJdbcRepository postingJdbcRepository,
+                                  PostingJournalCheckpointRepository checkpointRepository,
+                                  PostingJournalDeadLetterRepository deadLetterRepository,
+                                  AccountValidationService accountValidationService,
+                                  TransactionProcessingService transactionProcessingService,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AccountViewCache accountViewCache,
+                                  @Value("${carddemo.journal.apply-batch:512}") int applyBatch,
+                                  @Value("${carddemo.journal.max-pending:100000}") int maxPending,
+                                  @Value("${carddemo.journal.max-apply-attempts:3}") int maxApplyAttempts,
+                                  @Value("${carddemo.account-locking.stripes:256}") int stripes) {
+        this.journal = journal;
+        this.postingJdbcRepository = postingJdbcRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.accountValidationService = accountValidationService;
+        this.transactionProcessingService = transactionProcessingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.accountViewCache = accountViewCache;
+        this.applyBatch = applyBatch;
+        this.maxApplyAttempts = maxApplyAttempts;
+        this.pendingPermits = new Semaphore(maxPending);
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Replay unapplied journal entries, then open the journal for new postings.
+     * Runs after the schema and seed data exist and before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long checkpoint = checkpointRepository.findById(JOURNAL_NAME)
+                .map(PostingJournalCheckpoint::getLastAppliedSeq)
+                .orElse(0L);
+        appliedSeq = checkpoint;
+
+        try {
+            List<Entry> batch = new ArrayList<>(applyBatch);
+            journal.recover(checkpoint, entry -> {
+                batch.add(entry);
+                if (batch.size() >= applyBatch) {
+                    applyIsolated(batch, false);
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                applyIsolated(batch, false);
+            }
+            journal.release(appliedSeq);
+            journal.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Posting journal recovery failed", e);
+        }
+        if (replayed.get() > 0) {
+            log.info("Replayed {} journaled postings up to sequence {}", replayed.get(), appliedSeq);
+        }
+
+        applier = new Thread(this::applyLoop, "posting-journal-apply");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    /**
+     * Stop accepting postings, apply what is already journaled and close the journal.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closing = true;
+        if (applier != null) {
+            try {
+                applier.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journal.shutdown();
+        journal.release(appliedSeq);
+    }
+
+    /**
+     * Journal a transaction and wait until the journal entry is durable.
+     * The transaction's fields must already be validated by TransactionPostingService.
+     *
+     * @param accountId Account the transaction posts to
+     * @param transaction Fully populated transaction to post
+     * @return The accepted transaction
+     */
+    public Transaction submit(Long accountId, Transaction transaction) {
+        if (closing) {
+            throw new IllegalStateException("Posting pipeline is shutting down");
+        }
+        try {
+            pendingPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for journal capacity", e);
+        }
+
+        Entry entry;
+        boolean journaled = false;
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(accountId), stripes.length)];
+        lock.lock();
+        try {
+            List<Entry> pending = pendingEntries.getOrDefault(accountId, List.of());
+            AccountAtCheckpoint stored = postingJdbcRepository.findAccountAtJournalCheckpoint(accountId, JOURNAL_NAME)
+                    .orElseThrow(() -> new EntityNotFoundException("Account ID NOT found"));
+            Account account = stored.getAccount();
+            for (Entry unapplied : pending) {
+                if (unapplied.getSeq() > stored.getAppliedSeq()) {
+                    unapplied.getDelta().applyTo(account);
+                }
+            }
+
+            if (!accountValidationService.validateCreditLimit(account, transaction.getTranAmt())) {
+                throw new IllegalArgumentException("Transaction would exceed credit limit");
+            }
+            String currentTimestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+            if (!accountValidationService.validateAccountExpiration(account, currentTimestamp)) {
+                throw new IllegalArgumentException("Transaction received after account expiration");
+            }
+
+            Account before = new Account();
+            before.setAcctId(accountId);
+            before.setAcctCurrBal(account.getAcctCurrBal());
+            before.setAcctCurrCycCredit(account.getAcctCurrCycCredit());
+            before.setAcctCurrCycDebit(account.getAcctCurrCycDebit());
+            transactionProcessingService.processTransaction(account, transaction);
+            AccountDelta delta = AccountDelta.between(before, account);
+
+            entry = new Entry(accountId, transaction, delta);
+            journal.append(entry, appendedEntry -> {
+                pendingEntries.merge(accountId, List.of(appendedEntry), JournalPostingPipeline::concat);
+                applyQueue.add(appendedEntry);
+            });
+            journaled = true;
+            appended.incrementAndGet();
+        } finally {
+            lock.unlock();
+            if (!journaled) {
+                pendingPermits.release();
+            }
+        }
+
+        journal.awaitSynced(entry.getSeq());
+        return transaction;
+    }
+
+    public PostingJournalMetrics getMetrics() {
+        long syncs = journal.getSyncCount();
+        PostingJournalMetrics metrics = new PostingJournalMetrics();
+        metrics.setAppendedEntries(appended.get());
+        metrics.setAppliedEntries(applied.get());
+        metrics.setReplayedEntries(replayed.get());
+        metrics.setApplyLag(journal.getAppendedSeq() - appliedSeq);
+        metrics.setApplyBatches(applyBatches.get());
+        metrics.setApplyFailures(applyFailures.get());
+        metrics.setDeadLetteredEntries(deadLettered.get());
+        metrics.setLastSyncedSeq(journal.getSyncedSeq());
+        metrics.setLastAppliedSeq(appliedSeq);
+        metrics.setSyncs(syncs);
+        metrics.setAverageSyncBatchSize(syncs == 0 ? 0 : (double) journal.getSyncedEntryCount() / syncs);
+        metrics.setAverageSyncMicros(syncs == 0 ? 0 : journal.getTotalSyncNanos() / syncs / 1000);
+        return metrics;
+    }
+
+    private void applyLoop() {
+        List<Entry> batch = new ArrayList<>(applyBatch);
+        while (true) {
+            Entry first;
+            try {
+                first = applyQueue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (first == null) {
+                if (closing) {
+                    break;
+                }
+                continue;
+            }
+            batch.add(first);
+            applyQueue.drainTo(batch, applyBatch - 1);
+            try {
+                journal.awaitSynced(batch.get(batch.size() - 1).getSeq());
+            } catch (IllegalStateException e) {
+                log.error("Posting journal failed; {} journaled postings left unapplied", batch.size(), e);
+                break;
+            }
+
+            try {
+                applyIsolated(batch, true);
+            } catch (IllegalStateException e) {
+                log.warn("Posting journal apply stopped; {} journaled postings left unapplied", batch.size(), e);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Apply a batch in one transaction or, if that fails, each of its entries on its own.
+     * An entry that fails maxApplyAttempts times is moved to the dead-letter table; only if
+     * that fails too, for example because the database is down, is the entry retried on.
+     *
+     * @throws IllegalStateException if interrupted while waiting to retry
+     */
+    private void applyIsolated(List<Entry> batch, boolean live) {
+        if (batch.size() > 1) {
+            try {
+                applyEntries(batch, live);
+                return;
+            } catch (RuntimeException e) {
+                applyFailures.incrementAndGet();
+                log.warn("Applying {} journaled postings failed, applying them one at a time", batch.size(), e);
+            }
+        }
+        for (Entry entry : batch) {
+            applyAlone(entry, live);
+        }
+    }
+
+    private void applyAlone(Entry entry, boolean live) {
+        for (int attempt = 1; ; attempt++) {
+            RuntimeException failure;
+            try {
+                applyEntries(List.of(entry), live);
+                return;
+            } catch (RuntimeException e) {
+                applyFailures.incrementAndGet();
+                failure = e;
+            }
+            if (attempt < maxApplyAttempts) {
+                log.warn("Applying journaled posting {} failed (attempt {} of {})",
+                        entry.getSeq(), attempt, maxApplyAttempts, failure);
+            } else {
+                try {
+                    deadLetter(entry, failure, live);
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Could not dead-letter journaled posting {}, retrying", entry.getSeq(), e);
+                }
+            }
+            try {
+                Thread.sleep(APPLY_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while applying journaled postings", e);
+            }
+        }
+    }
+
+    private void applyEntries(List<Entry> batch, boolean live) {
+        long lastSeq = batch.get(batch.size() - 1).getSeq();
+        List<Transaction> transactions = batch.stream().map(Entry::getTransaction).collect(Collectors.toList());
+        Map<Long, AccountDelta> accountDeltas = new LinkedHashMap<>();
+        Map<TransactionCategoryBalanceId, BigDecimal> categoryDeltas = new LinkedHashMap<>();
+        RollupDeltas rollupDeltas = new RollupDeltas();
+        for (Entry entry : batch) {
+            Transaction transaction = entry.getTransaction();
+            accountDeltas.merge(entry.getAccountId(), entry.getDelta(), AccountDelta::plus);
+            categoryDeltas.merge(new TransactionCategoryBalanceId(entry.getAccountId(),
+                    transaction.getTranTypeCd(), transaction.getTranCatCd()),
+                    transaction.getTranAmt(), BigDecimal::add);
+            rollupDeltas.add(entry.getAccountId(), transaction);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            postingJdbcRepository.insertTransactions(transactions);
+            postingJdbcRepository.applyAccountDeltas(accountDeltas.values());
+            accountViewCache.invalidateAfterCommit(accountDeltas.keySet());
+            postingJdbcRepository.mergeCategoryBalances(categoryDeltas);
+            postingJdbcRepository.mergeDailyRollups(rollupDeltas);
+            eventPublisher.publishEvent(new TransactionsPostedEvent(transactions));
+            checkpointRepository.save(new PostingJournalCheckpoint(JOURNAL_NAME, lastSeq));
+        });
+        applyBatches.incrementAndGet();
+        if (live) {
+            applied.addAndGet(batch.size());
+        } else {
+            replayed.addAndGet(batch.size());
+        }
+        advance(batch, lastSeq, live);
+    }
+
+    /**
+     * Set an entry that cannot be applied aside and move the checkpoint past it, in one
+     * transaction. Its acknowledged balance change is dropped from the pending deltas.
+     */
+    private void deadLetter(Entry entry, RuntimeException failure, boolean live) {
+        String reason = truncate(String.valueOf(NestedExceptionUtils.getMostSpecificCause(failure).getMessage()), 255);
+        transactionTemplate.executeWithoutResult(status -> {
+            deadLetterRepository.save(new PostingJournalDeadLetter(entry.getSeq(), JOURNAL_NAME, entry.getAccountId(),
+                    truncate(entry.getTransaction().getTranId(), 16), PostingJournal.payloadOf(entry), reason,
+                    LocalDateTime.now().format(TIMESTAMP_FORMAT)));
+            checkpointRepository.save(new PostingJournalCheckpoint(JOURNAL_NAME, entry.getSeq()));
+        });
+        deadLettered.incrementAndGet();
+        log.error("Journaled posting {} (transaction {}, account {}) moved to posting_journal_dead_letter: {}",
+                entry.getSeq(), entry.getTransaction().getTranId(), entry.getAccountId(), reason);
+        advance(List.of(entry), entry.getSeq(), live);
+    }
+
+    /**
+     * Record that the database checkpoint covers the given entries, and for live entries
+     * drop them from the pending entries and free their journal capacity.
+     */
+    private void advance(List<Entry> entries, long lastSeq, boolean live) {
+        appliedSeq = lastSeq;
+        if (!live) {
+            return;
+        }
+        Set<Long> accountIds = entries.stream().map(Entry::getAccountId).collect(Collectors.toSet());
+        for (Long accountId : accountIds) {
+            pendingEntries.computeIfPresent(accountId, (id, pending) -> {
+                List<Entry> remaining = pending.stream()
+                        .filter(entry -> entry.getSeq() > lastSeq)
+                        .collect(Collectors.toList());
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+        pendingPermits.release(entries.size());
+        journal.release(lastSeq);
+    }
+
+    private static List<Entry> concat(List<Entry> pending, List<Entry> appended) {
+        List<Entry> entries = new ArrayList<>(pending.size() + appended.size());
+        entries.addAll(pending);
+        entries.addAll(appended);
+        return entries;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,138 @@
+package com.modernized.services;
+
+import com.modernized.entities.Account;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on scale-2 long values, for batch loops.
+ *
+ * Amounts are held as whole cents and interest rates as hundredths of a percent, which are
+ * the scales of the amount and rate columns. The operations give the same results as the
+ * BigDecimal business rules but allocate nothing, and every operation throws
+ * ArithmeticException on overflow instead of wrapping. Values are converted at the batch
+ * boundary only; the REST layer keeps using BigDecimal.
+ */
+public final class MoneyKernel {
+
+    /** 1200 (months times percent) times 100 (rate scale) for RULE-CALC-001 on scaled values. */
+    private static final long INTEREST_DIVISOR = 120_000L;
+
+    private MoneyKernel() {
+    }
+
+    /**
+     * Convert a scale-2 value to its unscaled long.
+     *
+     * @param amount Amount or rate with at most two decimal places
+     * @return Value in cents (or hundredths)
+     * @throws ArithmeticException if the value has more than two decimal places or does not fit
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Convert cents back to a scale-2 BigDecimal.
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * RULE-CALC-001 on scaled values: balance * rate / 1200, rounded HALF_UP to cents.
+     *
+     * @param balanceCents Category balance in cents
+     * @param rateHundredths Annual rate in hundredths of a percent
+     * @return Monthly interest in cents
+     */
+    public static long monthlyInterest(long balanceCents, long rateHundredths) {
+        long product = Math.multiplyExact(balanceCents, rateHundredths);
+        long quotient = product / INTEREST_DIVISOR;
+        long remainder = product % INTEREST_DIVISOR;
+        if (Math.abs(remainder) * 2 >= INTEREST_DIVISOR) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    /**
+     * Account balances in cents, updated in place while a batch processes its postings.
+     * The values as read are kept so the batch can write back only the change.
+     */
+    public static final class AccountCents {
+        private final Long acctId;
+        private final long creditLimit;
+        private final long readBalance;
+        private final long readCycleCredit;
+        private final long readCycleDebit;
+        private long balance;
+        private long cycleCredit;
+        private long cycleDebit;
+
+        public AccountCents(Account account) {
+            this.acctId = account.getAcctId();
+            this.creditLimit = toCents(account.getAcctCreditLimit());
+            this.readBalance = toCents(account.getAcctCurrBal());
+            this.readCycleCredit = toCents(account.getAcctCurrCycCredit());
+            this.readCycleDebit = toCents(account.getAcctCurrCycDebit());
+            this.balance = readBalance;
+            this.cycleCredit = readCycleCredit;
+            this.cycleDebit = readCycleDebit;
+        }
+
+        /**
+         * RULE-DECISION-002: CREDIT-LIMIT >= CURRENT-CYCLE-CREDIT - CURRENT-CYCLE-DEBIT + AMOUNT
+         */
+        public boolean withinCreditLimit(long amountCents) {
+            return creditLimit >= add(subtract(cycleCredit, cycleDebit), amountCents);
+        }
+
+        /**
+         * RULE-CALC-004: add the amount to the balance and to the cycle credit or debit.
+         */
+        public void post(long amountCents) {
+            balance = add(balance, amountCents);
+            if (amountCents >= 0) {
+                cycleCredit = add(cycleCredit, amountCents);
+            } else {
+                cycleDebit = add(cycleDebit, amountCents);
+            }
+        }
+
+        /**
+         * RULE-CALC-006: add interest to the current balance only.
+         */
+        public void addInterest(long interestCents) {
+            balance = add(balance, interestCents);
+        }
+
+        public Long getAcctId() { return acctId; }
+        public long getCreditLimit() { return creditLimit; }
+        public long getBalance() { return balance; }
+        public long getCycleCredit() { return cycleCredit; }
+        public long getCycleDebit() { return cycleDebit; }
+
+        public boolean isChanged() {
+            return balance != readBalance || cycleCredit != readCycleCredit || cycleDebit != readCycleDebit;
+        }
+
+        /**
+         * Change since the account was read, as a delta to apply to the stored row.
+         */
+        public AccountDelta toDelta() {
+            return new AccountDelta(acctId,
+                    toAmount(subtract(balance, readBalance)),
+                    toAmount(subtract(cycleCredit, readCycleCredit)),
+                    toAmount(subtract(cycleDebit, readCycleDebit)));
+        }
+    }
+}
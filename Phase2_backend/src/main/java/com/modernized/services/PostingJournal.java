@@ -0,0 +1,479 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only posting journal on memory-mapped segment files.
+ *
+ * A record is [payload length][CRC32 of payload][payload], where the payload starts with the
+ * entry's sequence number. Appenders copy their record into the current mapped segment and
+ * then wait for the syncer thread, which forces everything appended so far to disk with one
+ * call. Concurrent appends therefore share a single fsync (group commit).
+ *
+ * Mapped files are zero-filled, so a zero length ends a segment. A checksum mismatch marks a
+ * torn write from a crash; recovery stops reading the segment there.
+ */
+@Service
+@ConditionalOnProperty(name = "carddemo.posting.mode", havingValue = "JOURNAL")
+public class PostingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_HEADER = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long syncIntervalNanos;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object syncMonitor = new Object();
+    private final Deque<Segment> segments = new ConcurrentLinkedDeque<>();
+    private volatile Segment current;
+    private long nextSeq = 1;
+    private volatile long appendedSeq;
+    private volatile long syncedSeq;
+    private volatile RuntimeException failure;
+    private volatile boolean running;
+    private Thread syncer;
+
+    private final AtomicLong syncs = new AtomicLong();
+    private final AtomicLong syncedEntries = new AtomicLong();
+    private final AtomicLong totalSyncNanos = new AtomicLong();
+
+    public PostingJournal(@Value("${carddemo.journal.directory:${java.io.tmpdir}/carddemo-journal}") String directory,
+                          @Value("${carddemo.journal.segment-size:67108864}") int segmentSize,
+                          @Value("${carddemo.journal.sync-interval-micros:0}") long syncIntervalMicros) {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        this.syncIntervalNanos = TimeUnit.MICROSECONDS.toNanos(syncIntervalMicros);
+    }
+
+    /**
+     * Read every intact record left on disk and pass those after the checkpoint to the consumer,
+     * in sequence order. Must be called once, before {@link #open()}.
+     *
+     * @param afterSeq Last sequence already applied to the database
+     * @param consumer Receives each unapplied entry
+     * @return Highest sequence found on disk, or afterSeq if higher
+     */
+    public long recover(long afterSeq, Consumer<Entry> consumer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        long lastSeq = afterSeq;
+        for (Path file : files) {
+            long segmentLastSeq = 0;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int offset = 0;
+                while (offset + RECORD_HEADER <= buffer.limit()) {
+                    int length = buffer.getInt(offset);
+                    if (length <= 0 || offset + RECORD_HEADER + length > buffer.limit()) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    buffer.get(offset + RECORD_HEADER, payload);
+                    if (checksum(payload) != buffer.getInt(offset + 4)) {
+                        log.warn("Posting journal {} ends with a torn record at offset {}", file, offset);
+                        break;
+                    }
+                    Entry entry = decode(payload);
+                    if (entry.seq > afterSeq) {
+                        consumer.accept(entry);
+                    }
+                    segmentLastSeq = entry.seq;
+                    lastSeq = Math.max(lastSeq, entry.seq);
+                    offset += RECORD_HEADER + length;
+                }
+            }
+            segments.add(new Segment(file, segmentLastSeq));
+        }
+        nextSeq = lastSeq + 1;
+        appendedSeq = lastSeq;
+        syncedSeq = lastSeq;
+        return lastSeq;
+    }
+
+    /**
+     * Start a fresh segment for new appends and start the syncer thread.
+     */
+    public void open() throws IOException {
+        current = createSegment(nextSeq);
+        running = true;
+        syncer = new Thread(this::syncLoop, "posting-journal-sync");
+        syncer.setDaemon(true);
+        syncer.start();
+        log.info("Posting journal open in {} at sequence {}", directory, nextSeq);
+    }
+
+    public void shutdown() {
+        running = false;
+        if (syncer != null) {
+            LockSupport.unpark(syncer);
+            try {
+                syncer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Segment segment : segments) {
+            segment.close();
+        }
+    }
+
+    /**
+     * Append an entry and assign its sequence number. The record is durable only once
+     * {@link #awaitSynced(long)} returns for that sequence.
+     *
+     * @param entry Entry to append; its sequence number is set by this call
+     * @param onAppended Called under the append lock, so calls happen in sequence order
+     * @return Sequence number of the entry
+     */
+    public long append(Entry entry, Consumer<Entry> onAppended) {
+        byte[] payload = encode(entry);
+        int recordSize = RECORD_HEADER + payload.length;
+        if (recordSize + 4 > segmentSize) {
+            throw new IllegalArgumentException("Journal entry larger than a segment");
+        }
+
+        appendLock.lock();
+        try {
+            if (failure != null) {
+                throw new IllegalStateException("Posting journal is unavailable", failure);
+            }
+            if (current.writeOffset + recordSize + 4 > segmentSize) {
+                roll();
+            }
+            long seq = nextSeq++;
+            ByteBuffer.wrap(payload).putLong(0, seq);
+            entry.seq = seq;
+
+            MappedByteBuffer buffer = current.buffer;
+            int offset = current.writeOffset;
+            buffer.put(offset + RECORD_HEADER, payload);
+            buffer.putInt(offset + 4, checksum(payload));
+            buffer.putInt(offset, payload.length);
+            current.writeOffset = offset + recordSize;
+            current.lastSeq = seq;
+            appendedSeq = seq;
+            onAppended.accept(entry);
+        } finally {
+            appendLock.unlock();
+        }
+        LockSupport.unpark(syncer);
+        return entry.seq;
+    }
+
+    /**
+     * Wait until the entry with the given sequence has been forced to disk.
+     *
+     * @param seq Sequence returned by append
+     */
+    public void awaitSynced(long seq) {
+        if (syncedSeq >= seq) {
+            return;
+        }
+        synchronized (syncMonitor) {
+            while (syncedSeq < seq) {
+                if (failure != null) {
+                    throw new IllegalStateException("Posting journal is unavailable", failure);
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journal sync", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete closed segments whose entries are all applied to the database.
+     * After shutdown the last segment counts as closed too.
+     *
+     * @param appliedSeq Highest sequence covered by the database checkpoint
+     */
+    public void release(long appliedSeq) {
+        Iterator<Segment> iterator = segments.iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if ((segment == current && running) || segment.lastSeq > appliedSeq) {
+                break;
+            }
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Could not delete applied journal segment {}", segment.path, e);
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    public long getAppendedSeq() { return appendedSeq; }
+
+    public long getSyncedSeq() { return syncedSeq; }
+
+    public long getSyncCount() { return syncs.get(); }
+
+    public long getSyncedEntryCount() { return syncedEntries.get(); }
+
+    public long getTotalSyncNanos() { return totalSyncNanos.get(); }
+
+    private void syncLoop() {
+        while (running || syncedSeq < appendedSeq) {
+            long target;
+            Segment segment;
+            MappedByteBuffer buffer;
+            int from;
+            int to;
+            appendLock.lock();
+            try {
+                target = appendedSeq;
+                segment = current;
+                buffer = segment.buffer;
+                from = segment.syncedOffset;
+                to = segment.writeOffset;
+            } finally {
+                appendLock.unlock();
+            }
+
+            if (target == syncedSeq) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                continue;
+            }
+
+            long startNanos = System.nanoTime();
+            try {
+                if (to > from) {
+                    buffer.force(from, to - from);
+                    segment.syncedOffset = to;
+                }
+            } catch (UncheckedIOException e) {
+                log.error("Posting journal sync failed", e);
+                failure = e;
+                synchronized (syncMonitor) {
+                    syncMonitor.notifyAll();
+                }
+                return;
+            }
+            syncs.incrementAndGet();
+            syncedEntries.addAndGet(target - syncedSeq);
+            totalSyncNanos.addAndGet(System.nanoTime() - startNanos);
+
+            synchronized (syncMonitor) {
+                syncedSeq = target;
+                syncMonitor.notifyAll();
+            }
+            if (syncIntervalNanos > 0) {
+                LockSupport.parkNanos(syncIntervalNanos);
+            }
+        }
+    }
+
+    private void roll() {
+        current.buffer.force();
+        current.syncedOffset = current.writeOffset;
+        try {
+            current = createSegment(nextSeq);
+        } catch (IOException e) {
+            failure = new UncheckedIOException(e);
+            throw new IllegalStateException("Could not create journal segment", e);
+        }
+    }
+
+    private Segment createSegment(long firstSeq) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(path, 0);
+        segment.channel = channel;
+        segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Payload of an appended entry as it is stored in the journal, including its sequence.
+     */
+    static byte[] payloadOf(Entry entry) {
+        byte[] payload = encode(entry);
+        ByteBuffer.wrap(payload).putLong(0, entry.seq);
+        return payload;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Entry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            Transaction transaction = entry.transaction;
+            out.writeLong(0L);
+            out.writeLong(entry.accountId);
+            writeString(out, transaction.getTranId());
+            writeString(out, transaction.getTranTypeCd());
+            out.writeInt(transaction.getTranCatCd());
+            writeString(out, transaction.getTranSource());
+            writeString(out, transaction.getTranDesc());
+            writeDecimal(out, transaction.getTranAmt());
+            out.writeBoolean(transaction.getTranMerchantId() != null);
+            if (transaction.getTranMerchantId() != null) {
+                out.writeLong(transaction.getTranMerchantId());
+            }
+            writeString(out, transaction.getTranMerchantName());
+            writeString(out, transaction.getTranMerchantCity());
+            writeString(out, transaction.getTranMerchantZip());
+            writeString(out, transaction.getTranCardNum());
+            writeString(out, transaction.getTranOrigTs());
+            writeString(out, transaction.getTranProcTs());
+            writeDecimal(out, entry.delta.getBalance());
+            writeDecimal(out, entry.delta.getCycleCredit());
+            writeDecimal(out, entry.delta.getCycleDebit());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        long accountId = in.readLong();
+        String tranId = readString(in);
+        String tranTypeCd = readString(in);
+        int tranCatCd = in.readInt();
+        String tranSource = readString(in);
+        String tranDesc = readString(in);
+        BigDecimal tranAmt = readDecimal(in);
+        Long merchantId = in.readBoolean() ? in.readLong() : null;
+        String merchantName = readString(in);
+        String merchantCity = readString(in);
+        String merchantZip = readString(in);
+        String cardNum = readString(in);
+        String origTs = readString(in);
+        String procTs = readString(in);
+        AccountDelta delta = new AccountDelta(accountId, readDecimal(in), readDecimal(in), readDecimal(in));
+
+        Transaction transaction = new Transaction(tranId, tranTypeCd, tranCatCd, tranSource, tranDesc, tranAmt,
+                merchantId, merchantName, merchantCity, merchantZip, cardNum, origTs, procTs);
+        Entry entry = new Entry(accountId, transaction, delta);
+        entry.seq = seq;
+        return entry;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeUTF(value.toPlainString());
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        return new BigDecimal(in.readUTF());
+    }
+
+    /**
+     * One accepted posting: the transaction and the balance change it makes to its account.
+     */
+    public static class Entry {
+        private long seq;
+        private final Long accountId;
+        private final Transaction transaction;
+        private final AccountDelta delta;
+
+        public Entry(Long accountId, Transaction transaction, AccountDelta delta) {
+            this.accountId = accountId;
+            this.transaction = transaction;
+            this.delta = delta;
+        }
+
+        public long getSeq() { return seq; }
+        public Long getAccountId() { return accountId; }
+        public Transaction getTransaction() { return transaction; }
+        public AccountDelta getDelta() { return delta; }
+    }
+
+    private static class Segment {
+        private final Path path;
+        private volatile long lastSeq;
+        private FileChannel channel;
+        private MappedByteBuffer buffer;
+        private int writeOffset;
+        private volatile int syncedOffset;
+
+        private Segment(Path path, long lastSeq) {
+            this.path = path;
+            this.lastSeq = lastSeq;
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    buffer.force();
+                    channel.close();
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Could not close journal segment {}", path, e);
+                }
+                channel = null;
+                buffer = null;
+            }
+        }
+    }
+}
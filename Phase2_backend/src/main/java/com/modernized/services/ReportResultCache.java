@@ -0,0 +1,160 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Completed report jobs by report type and date range, so a repeated submission can reuse
+ * the file instead of scanning the transactions again.
+ *
+ * Each committed posting marks its origin days dirty with a new posting sequence number,
+ * and drops the cached reports whose range contains one of those days. A report records the
+ * sequence number before it starts reading, and is only cached if none of its days were
+ * marked after that, so a posting that commits while the report runs keeps it out of the
+ * cache. Reports of closed periods therefore stay cached until evicted, while a report of
+ * the current month is reused only until the next posting into it.
+ *
+ * Only postings that publish TransactionsPostedEvent are seen; transactions changed any
+ * other way (SQL scripts, manual fixes) are not, and need a restart to empty the cache,
+ * which is held in memory only.
+ */
+@Service
+public class ReportResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportResultCache.class);
+
+    private final int maxEntries;
+    private final AtomicLong postingSequence = new AtomicLong();
+    private final Map<String, Long> dirtyDays = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> entries;
+
+    public ReportResultCache(@Value("${carddemo.reports.cache-size:64}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ReportResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Posting sequence number to record before a report starts reading transactions.
+     */
+    public long currentSequence() {
+        return postingSequence.get();
+    }
+
+    /**
+     * Completed job whose file answers this report, if one is cached.
+     *
+     * @param startDate First origin date (yyyy-MM-dd)
+     * @param endDate Last origin date (yyyy-MM-dd)
+     * @return Job ID of the cached report
+     */
+    public synchronized Optional<String> find(String reportType, String startDate, String endDate) {
+        Entry entry = entries.get(key(reportType, startDate, endDate));
+        return entry != null ? Optional.of(entry.jobId) : Optional.empty();
+    }
+
+    /**
+     * Cache a completed report unless a posting landed in its range after it started reading.
+     *
+     * @param readSequence Value of {@link #currentSequence()} taken before the report read any rows
+     * @return Whether the report was cached
+     */
+    public synchronized boolean put(String reportType, String startDate, String endDate, String jobId,
+                                    long readSequence) {
+        if (maxEntries <= 0) {
+            return false;
+        }
+        for (Map.Entry<String, Long> dirty : dirtyDays.entrySet()) {
+            if (dirty.getValue() > readSequence && covers(startDate, endDate, dirty.getKey())) {
+                return false;
+            }
+        }
+        entries.put(key(reportType, startDate, endDate), new Entry(startDate, endDate, jobId));
+        return true;
+    }
+
+    /**
+     * Forget a cached report, for example because its file is gone.
+     */
+    public synchronized void remove(String reportType, String startDate, String endDate) {
+        entries.remove(key(reportType, startDate, endDate));
+    }
+
+    /**
+     * Mark the origin days of committed postings dirty and drop the reports that cover them.
+     * The days are marked before the cache is locked, so a concurrent {@link #put} either sees
+     * the mark or is evicted here afterwards.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsPosted(TransactionsPostedEvent event) {
+        Set<String> days = new HashSet<>();
+        for (Transaction transaction : event.getTransactions()) {
+            String origTs = transaction.getTranOrigTs();
+            if (origTs != null && origTs.length() >= 10) {
+                days.add(origTs.substring(0, 10));
+            }
+        }
+        if (days.isEmpty()) {
+            return;
+        }
+        long sequence = postingSequence.incrementAndGet();
+        for (String day : days) {
+            dirtyDays.merge(day, sequence, Math::max);
+        }
+
+        int removed = 0;
+        synchronized (this) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                for (String day : days) {
+                    if (covers(entry.startDate, entry.endDate, day)) {
+                        iterator.remove();
+                        removed++;
+                        break;
+                    }
+                }
+            }
+        }
+        if (removed > 0) {
+            log.debug("Postings on {} invalidated {} cached reports", days, removed);
+        }
+    }
+
+    private static boolean covers(String startDate, String endDate, String day) {
+        return day.compareTo(startDate) >= 0 && day.compareTo(endDate) <= 0;
+    }
+
+    private static String key(String reportType, String startDate, String endDate) {
+        return reportType + "|" + startDate + "|" + endDate;
+    }
+
+    private static final class Entry {
+        private final String startDate;
+        private final String endDate;
+        private final String jobId;
+
+        private Entry(String startDate, String endDate, String jobId) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.jobId = jobId;
+        }
+    }
+}
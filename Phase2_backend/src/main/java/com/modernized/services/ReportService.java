@@ -0,0 +1,533 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.entities.ReportJob;
+import com.modernized.repositories.ReportJdbcRepository;
+import com.modernized.repositories.ReportJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Asynchronous transaction reports (SCREEN-013).
+ *
+ * A submitted report is saved as a SUBMITTED job and queued on a bounded worker pool; when
+ * the queue is full the submission is refused rather than piling up. The date range is split
+ * into calendar months, and each month's transactions are streamed along the origin timestamp
+ * index and totalled in memory per account, card, transaction type and category on the
+ * partition pool, at most carddemo.reports.partition-threads months at a time. Each month's
+ * totals are merged as soon as it completes and the merged totals are written in card order.
+ * Memory use is therefore bounded by the range's card, type and category groups plus those
+ * of the months still in flight, not by the number of transactions.
+ *
+ * Progress is saved to the job row while the report runs, and the file is written under a
+ * temporary name and renamed when complete, so a finished job always has a whole file. Jobs
+ * still SUBMITTED or RUNNING at startup are queued again. With carddemo.reports.gzip the file
+ * is compressed as it is written, and is downloaded compressed.
+ *
+ * Completed reports are kept in {@link ReportResultCache}. Submitting a report whose type and
+ * range are cached saves a job that is already COMPLETED and shares the cached job's file.
+ */
+@Service
+public class ReportService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PARTITION_PROGRESS_BATCH = 1024;
+    private static final long PROGRESS_POLL_MILLIS = 1000;
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 255;
+    private static final String HEADER = "acctId,cardNum,tranTypeCd,tranCatCd,tranCount,totalAmt";
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportJdbcRepository reportJdbcRepository;
+    private final ReportResultCache reportResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final boolean gzip;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService partitionExecutor;
+    private final int partitionThreads;
+
+    public ReportService(ReportJobRepository reportJobRepository,
+                         ReportJdbcRepository reportJdbcRepository,
+                         ReportResultCache reportResultCache,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${carddemo.reports.directory:${java.io.tmpdir}/carddemo-reports}") String directory,
+                         @Value("${carddemo.reports.workers:2}") int workers,
+                         @Value("${carddemo.reports.queue-capacity:16}") int queueCapacity,
+                         @Value("${carddemo.reports.gzip:false}") boolean gzip,
+                         @Value("${carddemo.reports.partition-threads:4}") int partitionThreads) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportJdbcRepository = reportJdbcRepository;
+        this.reportResultCache = reportResultCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.gzip = gzip;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.partitionThreads = partitionThreads;
+        AtomicInteger partitionThreadCount = new AtomicInteger();
+        this.partitionExecutor = Executors.newFixedThreadPool(Math.max(partitionThreads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "report-partition-" + partitionThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create report directory " + directory, e);
+        }
+        List<ReportJob> unfinished = reportJobRepository.findByStatusInOrderBySubmittedTs(
+                List.of(ReportJob.Status.SUBMITTED, ReportJob.Status.RUNNING));
+        for (ReportJob job : unfinished) {
+            try {
+                executor.execute(() -> run(job.getJobId()));
+            } catch (RejectedExecutionException e) {
+                finish(job.getJobId(), ReportJob.Status.FAILED, null, "Report queue was full at restart");
+            }
+        }
+        if (!unfinished.isEmpty()) {
+            log.info("Requeued {} unfinished report jobs", unfinished.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        partitionExecutor.shutdownNow();
+    }
+
+    /**
+     * Save a report job and queue it, or complete it at once from a cached report.
+     *
+     * @param reportType MONTHLY, YEARLY or CUSTOM
+     * @param startDate First transaction origin date to include
+     * @param endDate Last transaction origin date to include
+     * @return The SUBMITTED job, or a COMPLETED one for a cached report
+     * @throws ConflictException if the report queue is full
+     */
+    public ReportJob submit(String reportType, LocalDate startDate, LocalDate endDate) {
+        String jobId = reportType + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Optional<ReportJob> cached = completeFromCache(jobId, reportType, startDate.toString(), endDate.toString());
+        if (cached.isPresent()) {
+            log.info("Report job {} for {} to {} served from cached report", jobId, startDate, endDate);
+            return cached.get();
+        }
+        ReportJob job = transactionTemplate.execute(status -> reportJobRepository.save(new ReportJob(
+                jobId, reportType, startDate.toString(), endDate.toString(), ReportJob.Status.SUBMITTED, now())));
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            transactionTemplate.executeWithoutResult(status -> reportJobRepository.deleteById(jobId));
+            throw new ConflictException("Report queue is full, try again later");
+        }
+        log.info("Submitted report job {} for {} to {}", jobId, startDate, endDate);
+        return job;
+    }
+
+    private Optional<ReportJob> completeFromCache(String jobId, String reportType, String startDate, String endDate) {
+        Optional<ReportJob> source = reportResultCache.find(reportType, startDate, endDate)
+                .flatMap(reportJobRepository::findById)
+                .filter(found -> found.getStatus() == ReportJob.Status.COMPLETED
+                        && Files.isRegularFile(directory.resolve(found.getFileName())));
+        if (source.isEmpty()) {
+            reportResultCache.remove(reportType, startDate, endDate);
+            return Optional.empty();
+        }
+        ReportJob job = new ReportJob(jobId, reportType, startDate, endDate, ReportJob.Status.COMPLETED, now());
+        job.setStartedTs(job.getSubmittedTs());
+        job.setCompletedTs(job.getSubmittedTs());
+        job.setRowsTotal(source.get().getRowsTotal());
+        job.setRowsRead(source.get().getRowsRead());
+        job.setGroupsWritten(source.get().getGroupsWritten());
+        job.setFileName(source.get().getFileName());
+        job.setFileSize(source.get().getFileSize());
+        return Optional.of(transactionTemplate.execute(status -> reportJobRepository.save(job)));
+    }
+
+    public Optional<ReportJob> findJob(String jobId) {
+        return reportJobRepository.findById(jobId);
+    }
+
+    /**
+     * File of a completed report.
+     *
+     * @throws ConflictException if the report has not completed
+     */
+    public Path getReportFile(ReportJob job) {
+        if (job.getStatus() != ReportJob.Status.COMPLETED) {
+            throw new ConflictException("Report " + job.getJobId() + " is " + job.getStatus());
+        }
+        return directory.resolve(job.getFileName());
+    }
+
+    /**
+     * Copy a byte range of a report file to the output with FileChannel.transferTo, which
+     * moves the bytes in fixed-size transfers whatever the size of the file.
+     *
+     * @param file Report file
+     * @param start First byte to send
+     * @param count Number of bytes to send
+     * @param out Destination stream; flushed but not closed
+     */
+    public void transferReport(Path file, long start, long count, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file)) {
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    throw new IOException("Report file " + file.getFileName() + " is shorter than expected");
+                }
+                position += sent;
+            }
+        }
+        out.flush();
+    }
+
+    private void run(String jobId) {
+        ReportJob job = transactionTemplate.execute(status -> {
+            ReportJob found = reportJobRepository.findById(jobId).orElse(null);
+            if (found != null) {
+                found.setStatus(ReportJob.Status.RUNNING);
+                found.setStartedTs(now());
+                found.setRowsRead(0L);
+                found.setGroupsWritten(0L);
+                found.setErrorMessage(null);
+                found.setFileName(jobId + (gzip ? ".csv.gz" : ".csv"));
+            }
+            return found;
+        });
+        if (job == null) {
+            return;
+        }
+
+        String fromTs = job.getStartDate();
+        String toTs = LocalDate.parse(job.getEndDate()).plusDays(1).toString();
+        Path tempFile = directory.resolve(job.getFileName() + ".tmp");
+        long readSequence = reportResultCache.currentSequence();
+        try {
+            long rowsTotal = reportJdbcRepository.countTransactions(fromTs, toTs);
+            transactionTemplate.executeWithoutResult(status ->
+                    reportJobRepository.findById(jobId).ifPresent(found -> found.setRowsTotal(rowsTotal)));
+
+            CardSummary summary;
+            OutputStream fileOut = Files.newOutputStream(tempFile);
+            if (gzip) {
+                fileOut = new GZIPOutputStream(fileOut, BUFFER_SIZE);
+            }
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(fileOut, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writer.write(HEADER);
+                writer.write('\n');
+                summary = new CardSummary(writer);
+                List<String[]> partitions = partitionThreads > 0
+                        ? monthPartitions(LocalDate.parse(job.getStartDate()), LocalDate.parse(job.getEndDate()))
+                        : List.<String[]>of(new String[] { fromTs, toTs });
+                aggregatePartitions(jobId, partitions, summary);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Path file = Files.move(tempFile, directory.resolve(job.getFileName()), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            long fileSize = Files.size(file);
+            saveProgress(jobId, summary.rowsRead, summary.groupsWritten);
+            finish(jobId, ReportJob.Status.COMPLETED, fileSize, null);
+            reportResultCache.put(job.getReportType(), job.getStartDate(), job.getEndDate(), jobId, readSequence);
+            log.info("Report job {} completed: rows={} groups={} bytes={}",
+                    jobId, summary.rowsRead, summary.groupsWritten, fileSize);
+        } catch (Exception e) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // Leftover temporary file is overwritten by the next run
+            }
+            if (executor.isShutdown()) {
+                log.info("Report job {} stopped by shutdown, will run again at startup", jobId);
+                return;
+            }
+            log.error("Report job {} failed", jobId, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(jobId, ReportJob.Status.FAILED, null,
+                    message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message);
+        }
+    }
+
+    private void saveProgress(String jobId, long rowsRead, long groupsWritten) {
+        transactionTemplate.executeWithoutResult(status ->
+                reportJobRepository.updateProgress(jobId, rowsRead, groupsWritten));
+    }
+
+    private void finish(String jobId, ReportJob.Status status, Long fileSize, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> reportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setFileSize(fileSize);
+            job.setErrorMessage(errorMessage);
+            job.setCompletedTs(now());
+        }));
+    }
+
+    private static String now() {
+        return LocalDateTime.now().format(TIMESTAMP_FORMAT);
+    }
+
+    /**
+     * Split [startDate, endDate] into calendar-month partitions.
+     *
+     * @return Pairs of [fromTs, toTs) origin timestamp bounds
+     */
+    private static List<String[]> monthPartitions(LocalDate startDate, LocalDate endDate) {
+        List<String[]> partitions = new ArrayList<>();
+        LocalDate end = endDate.plusDays(1);
+        for (LocalDate from = startDate; from.isBefore(end); ) {
+            LocalDate nextMonth = from.withDayOfMonth(1).plusMonths(1);
+            LocalDate to = nextMonth.isBefore(end) ? nextMonth : end;
+            partitions.add(new String[] { from.toString(), to.toString() });
+            from = to;
+        }
+        return partitions;
+    }
+
+    /**
+     * Aggregate the partitions on the partition pool, at most one per partition thread at a
+     * time, merging each partition's totals as soon as it completes; then write the merged
+     * totals in card order. The report worker saves progress while it waits, so partitions
+     * only hold the connection they stream from.
+     */
+    private void aggregatePartitions(String jobId, List<String[]> partitions, CardSummary summary) {
+        AtomicLong rowsRead = new AtomicLong();
+        int maxInFlight = Math.max(partitionThreads, 1);
+        CompletionService<Map<String, CardGroups>> completionService =
+                new ExecutorCompletionService<>(partitionExecutor);
+        List<Future<Map<String, CardGroups>>> futures = new ArrayList<>(partitions.size());
+        Map<String, CardGroups> merged = new TreeMap<>();
+        try {
+            int submitted = 0;
+            for (int completed = 0; completed < partitions.size(); completed++) {
+                while (submitted < partitions.size() && submitted - completed < maxInFlight) {
+                    String[] partition = partitions.get(submitted++);
+                    futures.add(completionService.submit(
+                            () -> aggregatePartition(partition[0], partition[1], rowsRead)));
+                }
+                for (Map.Entry<String, CardGroups> card : awaitPartition(jobId, completionService, rowsRead).entrySet()) {
+                    CardGroups groups = merged.putIfAbsent(card.getKey(), card.getValue());
+                    if (groups != null) {
+                        groups.addAll(card.getValue());
+                    }
+                }
+            }
+        } finally {
+            for (Future<Map<String, CardGroups>> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        summary.rowsRead = rowsRead.get();
+        for (Map.Entry<String, CardGroups> card : merged.entrySet()) {
+            summary.write(card.getKey(), card.getValue());
+        }
+    }
+
+    /**
+     * Totals of the next partition to complete, saving progress while none has.
+     */
+    private Map<String, CardGroups> awaitPartition(String jobId,
+                                                   CompletionService<Map<String, CardGroups>> completionService,
+                                                   AtomicLong rowsRead) {
+        while (true) {
+            try {
+                Future<Map<String, CardGroups>> future =
+                        completionService.poll(PROGRESS_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (future == null) {
+                    saveProgress(jobId, rowsRead.get(), 0);
+                    continue;
+                }
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Report interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Report partition failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Totals per card, type and category of one partition. Runs on the partition pool.
+     */
+    private Map<String, CardGroups> aggregatePartition(String fromTs, String toTs, AtomicLong rowsRead) {
+        Map<String, CardGroups> cards = new HashMap<>();
+        long[] unreported = new long[1];
+        reportJdbcRepository.streamTransactions(fromTs, toTs, rs -> {
+            String cardNum = rs.getString(2);
+            CardGroups groups = cards.get(cardNum);
+            if (groups == null) {
+                long acctId = rs.getLong(1);
+                groups = new CardGroups(rs.wasNull() ? "" : Long.toString(acctId));
+                cards.put(cardNum, groups);
+            }
+            groups.add(groupKey(rs.getString(3), rs.getInt(4)), 1, MoneyKernel.toCents(rs.getBigDecimal(5)));
+            if (++unreported[0] == PARTITION_PROGRESS_BATCH) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Report interrupted");
+                }
+                rowsRead.addAndGet(unreported[0]);
+                unreported[0] = 0;
+            }
+        });
+        rowsRead.addAndGet(unreported[0]);
+        return cards;
+    }
+
+    /**
+     * Transaction type and category packed into an int, ordered as the codes sort.
+     */
+    private static int groupKey(String tranTypeCd, int tranCatCd) {
+        return ((tranTypeCd.charAt(0) << 8 | (tranTypeCd.length() > 1 ? tranTypeCd.charAt(1) : 0)) << 16)
+                | (tranCatCd & 0xFFFF);
+    }
+
+    /**
+     * One card's totals, keyed by packed type and category and kept sorted so each card's
+     * lines come out in a stable order.
+     */
+    private static final class CardGroups {
+        private final String acctId;
+        private int[] keys = new int[16];
+        private long[] counts = new long[16];
+        private long[] totalCents = new long[16];
+        private int groupCount;
+
+        private CardGroups(String acctId) {
+            this.acctId = acctId;
+        }
+
+        private void add(int key, long count, long amountCents) {
+            int index = Arrays.binarySearch(keys, 0, groupCount, key);
+            if (index < 0) {
+                index = -index - 1;
+                if (groupCount == keys.length) {
+                    keys = Arrays.copyOf(keys, groupCount * 2);
+                    counts = Arrays.copyOf(counts, groupCount * 2);
+                    totalCents = Arrays.copyOf(totalCents, groupCount * 2);
+                }
+                System.arraycopy(keys, index, keys, index + 1, groupCount - index);
+                System.arraycopy(counts, index, counts, index + 1, groupCount - index);
+                System.arraycopy(totalCents, index, totalCents, index + 1, groupCount - index);
+                keys[index] = key;
+                counts[index] = 0;
+                totalCents[index] = 0;
+                groupCount++;
+            }
+            counts[index] += count;
+            totalCents[index] = MoneyKernel.add(totalCents[index], amountCents);
+        }
+
+        private void addAll(CardGroups other) {
+            for (int i = 0; i < other.groupCount; i++) {
+                add(other.keys[i], other.counts[i], other.totalCents[i]);
+            }
+        }
+
+        private void write(Writer writer, String cardNum) throws IOException {
+            for (int i = 0; i < groupCount; i++) {
+                int typeChars = keys[i] >>> 16;
+                writer.write(acctId);
+                writer.write(',');
+                writer.write(cardNum);
+                writer.write(',');
+                writer.write(typeChars >>> 8);
+                if ((typeChars & 0xFF) != 0) {
+                    writer.write(typeChars & 0xFF);
+                }
+                writer.write(',');
+                writer.write(Integer.toString(keys[i] & 0xFFFF));
+                writer.write(',');
+                writer.write(Long.toString(counts[i]));
+                writer.write(',');
+                writer.write(MoneyKernel.toAmount(totalCents[i]).toPlainString());
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Writes the merged totals as report lines, card by card, and counts what was written.
+     */
+    private static final class CardSummary {
+        private final Writer writer;
+        private long rowsRead;
+        private long groupsWritten;
+
+        private CardSummary(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void write(String cardNum, CardGroups groups) {
+            try {
+                groups.write(writer, cardNum);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            groupsWritten += groups.groupCount;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.RollupBackfillResponse;
+import com.modernized.dto.RollupCheckResponse;
+import com.modernized.dto.RollupSummaryResponse;
+import com.modernized.entities.BatchStepCheckpoint;
+import com.modernized.entities.TransactionDailyRollup;
+import com.modernized.entities.TransactionDailyRollupId;
+import com.modernized.repositories.RollupJdbcRepository;
+import com.modernized.services.BatchJobService.JobRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Daily transaction rollups: backfill, consistency check and range summaries.
+ *
+ * The posting paths keep the rollups current as they insert transactions. The backfill
+ * builds them for transactions posted before the rollups existed, one origin day per
+ * transaction, and is restartable after the last rebuilt day. The checker recomputes each
+ * day from the transaction table and reports groups whose stored totals differ.
+ *
+ * A day is rebuilt from what is committed when its rebuild runs, so postings for the same
+ * day that commit while it is being rebuilt may be missed; run the check afterwards and
+ * backfill any reported day again with restart, which rebuilds a range that has already
+ * completed as a new job instance.
+ */
+@Service
+public class RollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    private static final String JOB_NAME = "rollup-backfill";
+    private static final String STEP_NAME = "rebuild-days";
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private final RollupJdbcRepository rollupJdbcRepository;
+    private final BatchJobService batchJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+
+    public RollupService(RollupJdbcRepository rollupJdbcRepository,
+                         BatchJobService batchJobService,
+                         PlatformTransactionManager transactionManager) {
+        this.rollupJdbcRepository = rollupJdbcRepository;
+        this.batchJobService = batchJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuild the rollups of every day in a date range from the transaction table.
+     * Without dates, the range of all transaction origin dates is used. A failed run for
+     * the same range resumes after its last rebuilt day.
+     *
+     * @param fromDate First origin date, or null
+     * @param toDate Last origin date, or null
+     * @param restart Rebuild the range again if it has already completed
+     * @return Run summary
+     * @throws ConflictException if a backfill is already running, or this range has already
+     *         completed and restart is false
+     */
+    public RollupBackfillResponse backfill(LocalDate fromDate, LocalDate toDate, boolean restart) {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new ConflictException("Rollup backfill is already running");
+        }
+        try {
+            long startNanos = System.nanoTime();
+            RollupBackfillResponse response = new RollupBackfillResponse();
+            if (fromDate == null || toDate == null) {
+                String[] range = rollupJdbcRepository.findOrigTsRange();
+                if (range[0] == null) {
+                    return response;
+                }
+                fromDate = fromDate != null ? fromDate : LocalDate.parse(range[0].substring(0, 10));
+                toDate = toDate != null ? toDate : LocalDate.parse(range[1].substring(0, 10));
+            }
+            response.setFromDate(fromDate.toString());
+            response.setToDate(toDate.toString());
+
+            String jobKey = fromDate + ".." + toDate;
+            JobRun run = restart
+                    ? batchJobService.startOrRerun(JOB_NAME, jobKey)
+                    : batchJobService.start(JOB_NAME, jobKey);
+            response.setJobInstanceId(run.getJobInstanceId());
+            response.setJobExecutionId(run.getJobExecutionId());
+            response.setResumed(run.isResumed());
+            try {
+                rebuildDays(run, fromDate, toDate, response);
+                batchJobService.complete(run);
+            } catch (RuntimeException e) {
+                batchJobService.fail(run, e);
+                throw e;
+            }
+
+            response.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+            log.info("Rollup backfill {} to {}: days={} rows={} in {} ms", fromDate, toDate,
+                    response.getDaysRebuilt(), response.getRollupRows(), response.getElapsedMillis());
+            return response;
+        } finally {
+            backfillRunning.set(false);
+        }
+    }
+
+    private void rebuildDays(JobRun run, LocalDate fromDate, LocalDate toDate, RollupBackfillResponse response) {
+        Optional<BatchStepCheckpoint> checkpoint = batchJobService.findStepCheckpoint(run, STEP_NAME);
+        long days = checkpoint.map(BatchStepCheckpoint::getChunksCommitted).orElse(0L);
+        long rows = checkpoint.map(BatchStepCheckpoint::getItemsProcessed).orElse(0L);
+        LocalDate day = checkpoint.map(found -> LocalDate.parse(found.getLastKey()).plusDays(1)).orElse(fromDate);
+        if (run.isResumed()) {
+            log.info("Resuming rollup backfill {} at {}", run.getJobKey(), day);
+        }
+
+        for (; !day.isAfter(toDate); day = day.plusDays(1)) {
+            String dayKey = day.toString();
+            String nextDay = day.plusDays(1).toString();
+            Integer written = transactionTemplate.execute(status -> rollupJdbcRepository.rebuildDay(dayKey, nextDay));
+            days++;
+            rows += written;
+            batchJobService.saveStepCheckpoint(run, STEP_NAME, dayKey, days, rows);
+        }
+        response.setDaysRebuilt(days);
+        response.setRollupRows(rows);
+    }
+
+    /**
+     * Compare the rollups of a date range with totals recomputed from the transaction table.
+     *
+     * @param fromDate First origin date
+     * @param toDate Last origin date
+     * @return Check summary with the first mismatched groups
+     */
+    public RollupCheckResponse check(LocalDate fromDate, LocalDate toDate) {
+        long startNanos = System.nanoTime();
+        RollupCheckResponse response = new RollupCheckResponse();
+        response.setFromDate(fromDate.toString());
+        response.setToDate(toDate.toString());
+
+        for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+            Map<TransactionDailyRollupId, TransactionDailyRollup> stored = new HashMap<>();
+            for (TransactionDailyRollup rollup : rollupJdbcRepository.findRollups(day.toString())) {
+                stored.put(rollup.getId(), rollup);
+            }
+            rollupJdbcRepository.streamBaseGroups(day.toString(), day.plusDays(1).toString(), rs -> {
+                TransactionDailyRollupId id = new TransactionDailyRollupId(
+                        rs.getString(1), rs.getLong(2), rs.getString(3), rs.getInt(4));
+                long expectedCount = rs.getLong(5);
+                BigDecimal expectedAmt = rs.getBigDecimal(6);
+                TransactionDailyRollup rollup = stored.remove(id);
+                response.setGroupsChecked(response.getGroupsChecked() + 1);
+                if (rollup == null) {
+                    mismatch(response, id, expectedCount, expectedAmt, 0, BigDecimal.ZERO);
+                } else if (rollup.getTranCount() != expectedCount
+                        || rollup.getTranAmt().compareTo(expectedAmt) != 0) {
+                    mismatch(response, id, expectedCount, expectedAmt, rollup.getTranCount(), rollup.getTranAmt());
+                }
+            });
+            for (TransactionDailyRollup orphan : stored.values()) {
+                response.setGroupsChecked(response.getGroupsChecked() + 1);
+                mismatch(response, orphan.getId(), 0, BigDecimal.ZERO, orphan.getTranCount(), orphan.getTranAmt());
+            }
+            response.setDaysChecked(response.getDaysChecked() + 1);
+        }
+
+        response.setConsistent(response.getMismatchCount() == 0);
+        response.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Rollup check {} to {}: groups={} mismatches={} in {} ms", fromDate, toDate,
+                response.getGroupsChecked(), response.getMismatchCount(), response.getElapsedMillis());
+        return response;
+    }
+
+    private static void mismatch(RollupCheckResponse response, TransactionDailyRollupId id,
+                                 long expectedCount, BigDecimal expectedAmt, long rollupCount, BigDecimal rollupAmt) {
+        response.setMismatchCount(response.getMismatchCount() + 1);
+        if (response.getMismatches().size() < MAX_REPORTED_MISMATCHES) {
+            response.getMismatches().add(new RollupCheckResponse.Mismatch(id.getRollupDate(), id.getAcctId(),
+                    id.getTranTypeCd(), id.getTranCatCd(), expectedCount, expectedAmt, rollupCount, rollupAmt));
+        }
+    }
+
+    /**
+     * Transaction count and amount per type and category over a date range, from the rollups.
+     *
+     * @param fromDate First origin date
+     * @param toDate Last origin date
+     * @param acctId Account to restrict to, or null for all accounts
+     */
+    public RollupSummaryResponse summarize(LocalDate fromDate, LocalDate toDate, Long acctId) {
+        RollupSummaryResponse response = new RollupSummaryResponse();
+        response.setFromDate(fromDate.toString());
+        response.setToDate(toDate.toString());
+        response.setAcctId(acctId);
+        rollupJdbcRepository.sumByTypeAndCategory(fromDate.toString(), toDate.toString(), acctId, rs -> {
+            long count = rs.getLong(3);
+            BigDecimal amount = rs.getBigDecimal(4);
+            response.getLines().add(new RollupSummaryResponse.Line(rs.getString(1), rs.getInt(2), count, amount));
+            response.setTranCount(response.getTranCount() + count);
+            response.setTotalAmt(response.getTotalAmt().add(amount));
+        });
+        return response;
+    }
+}
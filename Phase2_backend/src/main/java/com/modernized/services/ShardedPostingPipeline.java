@@ -0,0 +1,308 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.EntityNotFoundException;
+import com.modernized.dto.PostingShardMetrics;
+import com.modernized.entities.Account;
+import com.modernized.entities.Transaction;
+import com.modernized.entities.TransactionCategoryBalanceId;
+import com.modernized.repositories.AccountRepository;
+import com.modernized.repositories.PostingJdbcRepository;
+import com.modernized.repositories.PostingJdbcRepository.RollupDeltas;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sharded single-writer posting pipeline with group commit.
+ *
+ * Postings are routed by account ID to a fixed set of shards. Each shard has one writer
+ * thread that drains its queue, applies every pending posting of the batch in one database
+ * transaction and commits once. A caller's future completes only after the commit that
+ * contains its posting, so an acknowledged posting is durable.
+ *
+ * Because an account always maps to the same shard, online postings to a hot account are
+ * applied sequentially by one thread instead of contending for the row.
+ *
+ * Postings are checked against the transaction constraints before they are queued, and
+ * postings rejected by account validation are only failed once the batch without them has
+ * committed. If a group commit still fails, the batch is split in halves and each half is
+ * committed on its own, so a single bad posting fails alone instead of with its batch.
+ */
+@Service
+@ConditionalOnProperty(name = "carddemo.posting.mode", havingValue = "SHARDED")
+public class ShardedPostingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedPostingPipeline.class);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AccountRepository accountRepository;
+    private final PostingJdbcRepository postingJdbcRepository;
+    private final AccountValidationService accountValidationService;
+    private final TransactionProcessingService transactionProcessingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccountViewCache accountViewCache;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final Shard[] shards;
+
+    public ShardedPostingPipeline(AccountRepository accountRepository,
+                                  PostingJdbcRepository postingJdbcRepository,
+                                  AccountValidationService accountValidationService,
+                                  TransactionProcessingService transactionProcessingService,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AccountViewCache accountViewCache,
+                                  @Value("${carddemo.posting.shards:8}") int shardCount,
+                                  @Value("${carddemo.posting.max-batch:256}") int maxBatch,
+                                  @Value("${carddemo.posting.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${carddemo.account-locking.max-attempts:5}") int maxAttempts) {
+        this.accountRepository = accountRepository;
+        this.postingJdbcRepository = postingJdbcRepository;
+        this.accountValidationService = accountValidationService;
+        this.transactionProcessingService = transactionProcessingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.accountViewCache = accountViewCache;
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+            shards[i].start();
+        }
+        log.info("Sharded posting pipeline started with {} shards, max batch {}", shardCount, maxBatch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Shard shard : shards) {
+            shard.interrupt();
+        }
+    }
+
+    /**
+     * Queue a transaction for posting on its account's shard.
+     * Blocks while the shard queue is full, which pushes back on callers under overload.
+     * The transaction's fields must already be validated by TransactionPostingService.
+     *
+     * @param accountId Account the transaction posts to
+     * @param transaction Fully populated transaction to post
+     * @return Future completed with the stored transaction after its group commit,
+     *         or exceptionally if the commit failed
+     */
+    public CompletableFuture<Transaction> submit(Long accountId, Transaction transaction) {
+        PendingPosting posting = new PendingPosting(accountId, transaction);
+        Shard shard = shards[Math.floorMod(Long.hashCode(accountId), shards.length)];
+        try {
+            shard.queue.put(posting);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            posting.future.completeExceptionally(new IllegalStateException("Interrupted while queueing posting", e));
+        }
+        return posting.future;
+    }
+
+    /**
+     * Snapshot of per-shard commit counters.
+     *
+     * @return One metrics entry per shard
+     */
+    public List<PostingShardMetrics> getMetrics() {
+        List<PostingShardMetrics> metrics = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            long commits = shard.commits.get();
+            PostingShardMetrics shardMetrics = new PostingShardMetrics();
+            shardMetrics.setShard(shard.index);
+            shardMetrics.setQueueDepth(shard.queue.size());
+            shardMetrics.setCommits(commits);
+            shardMetrics.setPostings(shard.postings.get());
+            shardMetrics.setRejected(shard.rejected.get());
+            shardMetrics.setConflicts(shard.conflicts.get());
+            shardMetrics.setMaxBatchSize(shard.maxBatchSize.get());
+            shardMetrics.setAverageBatchSize(commits == 0 ? 0 : (double) shard.batchedPostings.get() / commits);
+            shardMetrics.setLastCommitMicros(shard.lastCommitNanos.get() / 1000);
+            shardMetrics.setMaxCommitMicros(shard.maxCommitNanos.get() / 1000);
+            shardMetrics.setAverageCommitMicros(commits == 0 ? 0 : shard.totalCommitNanos.get() / commits / 1000);
+            metrics.add(shardMetrics);
+        }
+        return metrics;
+    }
+
+    private void processBatch(Shard shard, List<PendingPosting> batch) {
+        for (int attempt = 1; ; attempt++) {
+            long startNanos = System.nanoTime();
+            try {
+                Map<PendingPosting, RuntimeException> rejections = new LinkedHashMap<>();
+                List<PendingPosting> accepted = transactionTemplate.execute(status -> applyBatch(batch, rejections));
+                long elapsed = System.nanoTime() - startNanos;
+                shard.recordCommit(batch.size(), accepted.size(), elapsed);
+                for (PendingPosting posting : accepted) {
+                    posting.future.complete(posting.transaction);
+                }
+                rejections.forEach((posting, rejection) -> posting.future.completeExceptionally(rejection));
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                shard.conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    shard.rejected.addAndGet(batch.size());
+                    failAll(batch, e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                if (batch.size() == 1) {
+                    log.error("Posting {} failed on posting shard {}", batch.get(0).transaction.getTranId(),
+                            shard.index, e);
+                    shard.rejected.incrementAndGet();
+                    failAll(batch, e);
+                    return;
+                }
+                log.warn("Group commit of {} postings failed on posting shard {}, committing halves separately",
+                        batch.size(), shard.index, e);
+                int middle = batch.size() / 2;
+                processBatch(shard, batch.subList(0, middle));
+                processBatch(shard, batch.subList(middle, batch.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Apply the postings that pass account validation. Rejected postings are only collected,
+     * since this attempt may still roll back and be retried.
+     */
+    private List<PendingPosting> applyBatch(List<PendingPosting> batch, Map<PendingPosting, RuntimeException> rejections) {
+        Set<Long> accountIds = batch.stream().map(posting -> posting.accountId).collect(Collectors.toSet());
+        Map<Long, Account> accounts = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getAcctId, Function.identity()));
+        String currentTimestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+
+        List<PendingPosting> accepted = new ArrayList<>(batch.size());
+        Set<Account> touched = new HashSet<>();
+        Map<TransactionCategoryBalanceId, BigDecimal> categoryDeltas = new LinkedHashMap<>();
+        RollupDeltas rollupDeltas = new RollupDeltas();
+        for (PendingPosting posting : batch) {
+            Account account = accounts.get(posting.accountId);
+            if (account == null) {
+                rejections.put(posting, new EntityNotFoundException("Account ID NOT found"));
+                continue;
+            }
+            if (!accountValidationService.validateCreditLimit(account, posting.transaction.getTranAmt())) {
+                rejections.put(posting, new IllegalArgumentException("Transaction would exceed credit limit"));
+                continue;
+            }
+            if (!accountValidationService.validateAccountExpiration(account, currentTimestamp)) {
+                rejections.put(posting, new IllegalArgumentException("Transaction received after account expiration"));
+                continue;
+            }
+            transactionProcessingService.processTransaction(account, posting.transaction);
+            categoryDeltas.merge(new TransactionCategoryBalanceId(posting.accountId,
+                    posting.transaction.getTranTypeCd(), posting.transaction.getTranCatCd()),
+                    posting.transaction.getTranAmt(), BigDecimal::add);
+            rollupDeltas.add(posting.accountId, posting.transaction);
+            touched.add(account);
+            accepted.add(posting);
+        }
+
+        List<Transaction> transactions = accepted.stream()
+                .map(posting -> posting.transaction)
+                .collect(Collectors.toList());
+        postingJdbcRepository.insertTransactions(transactions);
+        postingJdbcRepository.mergeCategoryBalances(categoryDeltas);
+        postingJdbcRepository.mergeDailyRollups(rollupDeltas);
+        eventPublisher.publishEvent(new TransactionsPostedEvent(transactions));
+        accountRepository.saveAllAndFlush(touched);
+        accountViewCache.invalidateAfterCommit(
+                touched.stream().map(Account::getAcctId).collect(Collectors.toList()));
+        return accepted;
+    }
+
+    private void failAll(List<PendingPosting> batch, RuntimeException cause) {
+        for (PendingPosting posting : batch) {
+            posting.future.completeExceptionally(cause);
+        }
+    }
+
+    private static class PendingPosting {
+        private final Long accountId;
+        private final Transaction transaction;
+        private final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+        private PendingPosting(Long accountId, Transaction transaction) {
+            this.accountId = accountId;
+            this.transaction = transaction;
+        }
+    }
+
+    private class Shard extends Thread {
+        private final int index;
+        private final BlockingQueue<PendingPosting> queue;
+        private final AtomicLong commits = new AtomicLong();
+        private final AtomicLong postings = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final AtomicLong batchedPostings = new AtomicLong();
+        private final AtomicLong maxBatchSize = new AtomicLong();
+        private final AtomicLong lastCommitNanos = new AtomicLong();
+        private final AtomicLong maxCommitNanos = new AtomicLong();
+        private final AtomicLong totalCommitNanos = new AtomicLong();
+
+        private Shard(int index, int queueCapacity) {
+            super("posting-shard-" + index);
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<PendingPosting> batch = new ArrayList<>(maxBatch);
+            while (!isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queue.drainTo(batch, maxBatch - 1);
+                processBatch(this, batch);
+                batch.clear();
+            }
+            List<PendingPosting> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            failAll(remaining, new IllegalStateException("Posting pipeline is shutting down"));
+        }
+
+        private void recordCommit(int batchSize, int accepted, long elapsedNanos) {
+            commits.incrementAndGet();
+            postings.addAndGet(accepted);
+            rejected.addAndGet(batchSize - accepted);
+            batchedPostings.addAndGet(batchSize);
+            maxBatchSize.accumulateAndGet(batchSize, Math::max);
+            lastCommitNanos.set(elapsedNanos);
+            maxCommitNanos.accumulateAndGet(elapsedNanos, Math::max);
+            totalCommitNanos.addAndGet(elapsedNanos);
+        }
+    }
+}
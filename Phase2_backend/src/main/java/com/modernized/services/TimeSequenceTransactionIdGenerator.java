@@ -0,0 +1,82 @@
+package com.modernized.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free transaction ID generator combining time, node and sequence.
+ *
+ * Layout of the 63-bit value: 41 bits of milliseconds since 2024-01-01, 10 bits of node ID
+ * and 12 bits of per-millisecond sequence, allowing 4096 IDs per millisecond per node.
+ * The value is rendered as "T" followed by 13 fixed-width base-36 digits (14 characters),
+ * so IDs also sort by creation time.
+ *
+ * When a millisecond's sequence is exhausted, or the wall clock moves backwards, the generator
+ * keeps counting from its last value instead of waiting, so nextId() never blocks.
+ */
+@Service
+public class TimeSequenceTransactionIdGenerator implements TransactionIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final int ENCODED_DIGITS = 13;
+    private static final char PREFIX = 'T';
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    @Autowired
+    public TimeSequenceTransactionIdGenerator(@Value("${carddemo.transaction-id.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * Generator reading the time from the given clock, so tests can drive sequence rollover
+     * and clock regression.
+     */
+    TimeSequenceTransactionIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Transaction ID node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        long next;
+        while (true) {
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long last = lastTimeAndSequence.get();
+            long candidate = now << SEQUENCE_BITS;
+            if (candidate <= last) {
+                candidate = last + 1;
+            }
+            if (lastTimeAndSequence.compareAndSet(last, candidate)) {
+                next = candidate;
+                break;
+            }
+        }
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return encode((timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence);
+    }
+
+    private static String encode(long value) {
+        char[] chars = new char[ENCODED_DIGITS + 1];
+        chars[0] = PREFIX;
+        for (int i = ENCODED_DIGITS; i > 0; i--) {
+            chars[i] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,147 @@
+package com.modernized.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modernized.repositories.TransactionExportJdbcRepository;
+import org.springframework.stereotype.Service;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Export of transactions for downstream reconciliation.
+ * Each row is written to the output as soon as it is read, so memory use does not grow
+ * with the size of the export and no count query is run.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum ExportFormat { CSV, NDJSON }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] COLUMNS = {
+            "tranId", "cardNum", "tranTypeCd", "tranCatCd", "tranSource", "tranDesc", "tranAmt",
+            "origTs", "procTs", "merchantId", "merchantName", "merchantCity", "merchantZip"
+    };
+
+    private final TransactionExportJdbcRepository transactionExportJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionExportJdbcRepository transactionExportJdbcRepository,
+                                    ObjectMapper objectMapper) {
+        this.transactionExportJdbcRepository = transactionExportJdbcRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write matching transactions to the output in origin timestamp order.
+     *
+     * @param format Output format
+     * @param cardNum Card number filter, or null for all cards
+     * @param fromDate First origin date to include, or null
+     * @param toDate Last origin date to include, or null
+     * @param out Destination stream; flushed but not closed
+     */
+    public void export(ExportFormat format, String cardNum, LocalDate fromDate, LocalDate toDate,
+                       OutputStream out) throws IOException {
+        String fromTs = fromDate != null ? fromDate.toString() : null;
+        String toTs = toDate != null ? toDate.plusDays(1).toString() : null;
+
+        try {
+            if (format == ExportFormat.CSV) {
+                exportCsv(cardNum, fromTs, toTs, out);
+            } else {
+                exportNdjson(cardNum, fromTs, toTs, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportCsv(String cardNum, String fromTs, String toTs, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(String.join(",", COLUMNS));
+        writer.write('\n');
+
+        transactionExportJdbcRepository.streamTransactions(cardNum, fromTs, toTs, rs -> {
+            try {
+                for (int column = 1; column <= COLUMNS.length; column++) {
+                    if (column > 1) {
+                        writer.write(',');
+                    }
+                    writeCsvValue(writer, columnValue(rs, column));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void exportNdjson(String cardNum, String fromTs, String toTs, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(new BufferedOutputStream(out, BUFFER_SIZE), JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+
+        transactionExportJdbcRepository.streamTransactions(cardNum, fromTs, toTs, rs -> {
+            try {
+                generator.writeStartObject();
+                for (int column = 1; column <= COLUMNS.length; column++) {
+                    Object value = rs.getObject(column);
+                    generator.writeFieldName(COLUMNS[column - 1]);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof BigDecimal) {
+                        generator.writeNumber((BigDecimal) value);
+                    } else if (value instanceof Integer) {
+                        generator.writeNumber((Integer) value);
+                    } else if (value instanceof Long) {
+                        generator.writeNumber((Long) value);
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private String columnValue(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value == null) {
+            return "";
+        }
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
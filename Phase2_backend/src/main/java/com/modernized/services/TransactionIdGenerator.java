@@ -0,0 +1,15 @@
+package com.modernized.services;
+
+/**
+ * Source of unique transaction IDs for the tran_id column (max 16 characters).
+ * Implementations must be thread-safe and unique across every node writing to the same database.
+ */
+public interface TransactionIdGenerator {
+
+    /**
+     * Generate the next transaction ID.
+     *
+     * @return Unique transaction ID of at most 16 characters
+     */
+    String nextId();
+}
@@ -0,0 +1,170 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import com.modernized.entities.TransactionCategoryBalanceId;
+import com.modernized.repositories.PostingJdbcRepository;
+import com.modernized.repositories.PostingJdbcRepository.RollupDeltas;
+import com.modernized.repositories.TransactionRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Online posting of a single transaction to its account.
+ *
+ * In DIRECT mode the transaction is validated and applied inside a versioned account update,
+ * so concurrent postings to the same account never overwrite each other's balance changes.
+ * In SHARDED mode it is handed to the single-writer pipeline and the caller waits for the
+ * group commit that contains it. In JOURNAL mode it is acknowledged once its posting journal
+ * entry is durable and applied to the database asynchronously.
+ *
+ * Every mode first validates the transaction's fields, including an amount of at most two
+ * decimals, and checks that the category belongs to the transaction type. Every mode then
+ * adds the amount to the account's transaction category balance (RULE-CALC-005) in the same
+ * database transaction that stores the posting.
+ *
+ * The category types are loaded at startup; refreshCategoryTypes picks up categories added since.
+ *
+ * Acknowledge latency is recorded in every mode so the modes can be compared.
+ */
+@Service
+public class TransactionPostingService implements SmartInitializingSingleton {
+
+    public enum PostingMode { DIRECT, SHARDED, JOURNAL }
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AccountUpdateService accountUpdateService;
+    private final AccountValidationService accountValidationService;
+    private final TransactionProcessingService transactionProcessingService;
+    private final TransactionRepository transactionRepository;
+    private final PostingJdbcRepository postingJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<ShardedPostingPipeline> shardedPostingPipeline;
+    private final ObjectProvider<JournalPostingPipeline> journalPostingPipeline;
+    private final PostingMode postingMode;
+    private volatile Map<Integer, String> categoryTypes = Map.of();
+
+    private final AtomicLong postings = new AtomicLong();
+    private final AtomicLong totalAckNanos = new AtomicLong();
+    private final AtomicLong maxAckNanos = new AtomicLong();
+
+    public TransactionPostingService(AccountUpdateService accountUpdateService,
+                                     AccountValidationService accountValidationService,
+                                     TransactionProcessingService transactionProcessingService,
+                                     TransactionRepository transactionRepository,
+                                     PostingJdbcRepository postingJdbcRepository,
+                                     ApplicationEventPublisher eventPublisher,
+                                     ObjectProvider<ShardedPostingPipeline> shardedPostingPipeline,
+                                     ObjectProvider<JournalPostingPipeline> journalPostingPipeline,
+                                     @Value("${carddemo.posting.mode:DIRECT}") PostingMode postingMode) {
+        this.accountUpdateService = accountUpdateService;
+        this.accountValidationService = accountValidationService;
+        this.transactionProcessingService = transactionProcessingService;
+        this.transactionRepository = transactionRepository;
+        this.postingJdbcRepository = postingJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardedPostingPipeline = shardedPostingPipeline;
+        this.journalPostingPipeline = journalPostingPipeline;
+        this.postingMode = postingMode;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refreshCategoryTypes();
+    }
+
+    /**
+     * Reload the transaction type owning each category and atomically replace the map
+     * used to validate postings.
+     *
+     * @return Number of categories loaded
+     */
+    public int refreshCategoryTypes() {
+        Map<Integer, String> loaded = postingJdbcRepository.findCategoryTypes();
+        categoryTypes = loaded;
+        return loaded.size();
+    }
+
+    public PostingMode getPostingMode() {
+        return postingMode;
+    }
+
+    /**
+     * Validate a transaction against its account (RULE-DECISION-002, RULE-DECISION-003),
+     * update the account balance (RULE-CALC-004) and category balance (RULE-CALC-005)
+     * and store the transaction.
+     *
+     * @param accountId Account the transaction posts to
+     * @param transaction Fully populated transaction to post
+     * @return The stored transaction
+     */
+    public Transaction postTransaction(Long accountId, Transaction transaction) {
+        long startNanos = System.nanoTime();
+        Transaction posted = post(accountId, transaction);
+        long elapsed = System.nanoTime() - startNanos;
+        postings.incrementAndGet();
+        totalAckNanos.addAndGet(elapsed);
+        maxAckNanos.accumulateAndGet(elapsed, Math::max);
+        return posted;
+    }
+
+    public long getPostingCount() { return postings.get(); }
+
+    public long getAverageAckMicros() {
+        long count = postings.get();
+        return count == 0 ? 0 : totalAckNanos.get() / count / 1000;
+    }
+
+    public long getMaxAckMicros() { return maxAckNanos.get() / 1000; }
+
+    private Transaction post(Long accountId, Transaction transaction) {
+        transactionProcessingService.validateTransaction(transaction);
+        String categoryType = categoryTypes.get(transaction.getTranCatCd());
+        if (categoryType == null || !categoryType.equals(transaction.getTranTypeCd())) {
+            throw new IllegalArgumentException("Invalid transaction type/category");
+        }
+        
+        if (postingMode == PostingMode.JOURNAL) {
+            return journalPostingPipeline.getObject().submit(accountId, transaction);
+        }
+        if (postingMode == PostingMode.SHARDED) {
+            try {
+                return shardedPostingPipeline.getObject().submit(accountId, transaction).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        
+        return accountUpdateService.updateAccount(accountId, account -> {
+            if (!accountValidationService.validateCreditLimit(account, transaction.getTranAmt())) {
+                throw new IllegalArgumentException("Transaction would exceed credit limit");
+            }
+
+            String currentTimestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+            if (!accountValidationService.validateAccountExpiration(account, currentTimestamp)) {
+                throw new IllegalArgumentException("Transaction received after account expiration");
+            }
+
+            transactionProcessingService.processTransaction(account, transaction);
+            postingJdbcRepository.mergeCategoryBalances(Map.of(
+                    new TransactionCategoryBalanceId(accountId, transaction.getTranTypeCd(), transaction.getTranCatCd()),
+                    transaction.getTranAmt()));
+            postingJdbcRepository.mergeDailyRollups(RollupDeltas.of(accountId, transaction));
+            Transaction saved = transactionRepository.save(transaction);
+            eventPublisher.publishEvent(new TransactionsPostedEvent(List.of(saved)));
+            return saved;
+        });
+    }
+}
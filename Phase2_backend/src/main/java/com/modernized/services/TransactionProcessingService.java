@@ -5,8 +5,12 @@ import com.modernized.entities.Transaction;
 import com.modernized.entities.TransactionCategoryBalance;
 import com.modernized.repositories.AccountRepository;
 import com.modernized.repositories.TransactionCategoryBalanceRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
+import java.util.Set;
 
 /**
  * Business processing rules for transaction handling.
@@ -17,11 +21,30 @@ public class TransactionProcessingService {
 
     private final AccountRepository accountRepository;
     private final TransactionCategoryBalanceRepository transactionCategoryBalanceRepository;
+    private final Validator validator;
 
     public TransactionProcessingService(AccountRepository accountRepository,
-                                      TransactionCategoryBalanceRepository transactionCategoryBalanceRepository) {
+                                      TransactionCategoryBalanceRepository transactionCategoryBalanceRepository,
+                                      Validator validator) {
         this.accountRepository = accountRepository;
         this.transactionCategoryBalanceRepository = transactionCategoryBalanceRepository;
+        this.validator = validator;
+    }
+
+    /**
+     * Check a transaction against the constraints of its columns before it is posted:
+     * required card number, type and category, field lengths, and an amount with at most
+     * 2 decimals. A posting that could never be stored is rejected here instead of
+     * failing the batch or journal entry that carries it.
+     * 
+     * @param transaction The transaction to post
+     * @throws ConstraintViolationException if the transaction violates a constraint
+     */
+    public void validateTransaction(Transaction transaction) {
+        Set<ConstraintViolation<Transaction>> violations = validator.validate(transaction);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
     }
 
     /**
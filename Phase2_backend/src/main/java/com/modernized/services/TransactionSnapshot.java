@@ -0,0 +1,477 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.TransactionAnalyticsResponse;
+import com.modernized.entities.Transaction;
+import com.modernized.repositories.TransactionSnapshotJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar in-memory snapshot of the transaction table for analytic queries.
+ *
+ * Only the columns used for aggregation are kept, as primitive arrays: amount in cents,
+ * origin epoch day, a dictionary index for the (type, category) pair, and dictionary indexes
+ * for card number and merchant ID. That is 22 bytes per transaction instead of a loaded
+ * entity. The snapshot is loaded at startup when carddemo.analytics.enabled is set, and
+ * committed postings are appended from TransactionsPostedEvent.
+ *
+ * Appends go to the space past the published row count, and a new immutable view with the
+ * larger count is then published with one volatile write. Queries therefore scan a consistent
+ * prefix without locking, in parallel on their own ForkJoinPool.
+ *
+ * A batch of postings is published whole or not at all. If appending one fails, the snapshot
+ * no longer matches the table: the failure is counted, the snapshot is marked stale, and
+ * queries are rejected until reload rebuilds it from the table.
+ */
+@Service
+public class TransactionSnapshot implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSnapshot.class);
+
+    public enum GroupBy { CATEGORY, DAY, MERCHANT, CARD }
+
+    private static final int NO_DAY = Integer.MIN_VALUE;
+    private static final int NO_MERCHANT = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final TransactionSnapshotJdbcRepository transactionSnapshotJdbcRepository;
+    private final boolean enabled;
+    private final ForkJoinPool pool;
+    private final Semaphore permits;
+    private final Object writeLock = new Object();
+    private final Map<Long, Integer> typeCatIndexes = new HashMap<>();
+    private final Map<String, Integer> cardIndexes = new HashMap<>();
+    private final Map<Long, Integer> merchantIndexes = new HashMap<>();
+    private volatile Columns columns = new Columns();
+    private volatile boolean stale;
+    private final AtomicLong appendFailures = new AtomicLong();
+    private boolean loaded;
+
+    public TransactionSnapshot(TransactionSnapshotJdbcRepository transactionSnapshotJdbcRepository,
+                               @Value("${carddemo.analytics.enabled:false}") boolean enabled,
+                               @Value("${carddemo.analytics.parallelism:0}") int parallelism,
+                               @Value("${carddemo.analytics.max-concurrent:2}") int maxConcurrent) {
+        this.transactionSnapshotJdbcRepository = transactionSnapshotJdbcRepository;
+        this.enabled = enabled;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the transaction table and clear a stale mark. Queries keep
+     * scanning the previous snapshot until the new one is published.
+     *
+     * @return Number of transactions loaded
+     * @throws ConflictException if the snapshot is disabled
+     */
+    public int reload() {
+        if (!enabled) {
+            throw new ConflictException("Transaction snapshot is disabled");
+        }
+        long startNanos = System.nanoTime();
+        Columns loadedColumns;
+        synchronized (writeLock) {
+            typeCatIndexes.clear();
+            cardIndexes.clear();
+            merchantIndexes.clear();
+            Columns building = new Columns();
+            transactionSnapshotJdbcRepository.streamAllTransactions(rs -> append(building,
+                    MoneyKernel.toCents(rs.getBigDecimal(1)), rs.getString(2), rs.getString(3), rs.getInt(4),
+                    rs.getString(5), rs.getObject(6, Long.class)));
+            columns = building;
+            stale = false;
+            loaded = true;
+            loadedColumns = building;
+        }
+        log.info("Loaded transaction snapshot: rows={} cards={} merchants={} in {} ms", loadedColumns.size,
+                loadedColumns.cardCount, loadedColumns.merchantCount, (System.nanoTime() - startNanos) / 1_000_000);
+        return loadedColumns.size;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public long getAppendFailures() {
+        return appendFailures.get();
+    }
+
+    /**
+     * Append committed postings. Runs on the posting thread after its commit, so a failure
+     * is not reported to a caller whose posting already succeeded; the batch is dropped and
+     * the snapshot marked stale instead. Postings committed before a load, or while the
+     * snapshot is stale, are read by the load.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsPosted(TransactionsPostedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (!loaded || stale) {
+                return;
+            }
+            Columns building = columns.copy();
+            try {
+                for (Transaction transaction : event.getTransactions()) {
+                    append(building, MoneyKernel.toCents(transaction.getTranAmt()), transaction.getTranOrigTs(),
+                            transaction.getTranTypeCd(), transaction.getTranCatCd(), transaction.getTranCardNum(),
+                            transaction.getTranMerchantId());
+                }
+            } catch (RuntimeException e) {
+                // The dictionaries may now index entries of the dropped batch, so nothing more is
+                // appended until a reload rebuilds them.
+                appendFailures.incrementAndGet();
+                stale = true;
+                log.error("Appending {} transactions to the snapshot failed; it is stale until reloaded",
+                        event.getTransactions().size(), e);
+                return;
+            }
+            columns = building;
+        }
+    }
+
+    private void append(Columns target, long amountCents, String origTs, String tranTypeCd, int tranCatCd,
+                        String cardNum, Long merchantId) {
+        long typeCatKey = ((long) typeBits(tranTypeCd) << 32) | (tranCatCd & 0xFFFFFFFFL);
+        Integer typeCat = typeCatIndexes.get(typeCatKey);
+        if (typeCat == null) {
+            typeCat = target.addTypeCat(tranTypeCd, tranCatCd);
+            typeCatIndexes.put(typeCatKey, typeCat);
+        }
+        Integer card = cardIndexes.get(cardNum);
+        if (card == null) {
+            card = target.addCard(cardNum);
+            cardIndexes.put(cardNum, card);
+        }
+        int merchant = NO_MERCHANT;
+        if (merchantId != null) {
+            Integer index = merchantIndexes.get(merchantId);
+            if (index == null) {
+                index = target.addMerchant(merchantId);
+                merchantIndexes.put(merchantId, index);
+            }
+            merchant = index;
+        }
+        target.addRow(amountCents, epochDay(origTs), typeCat.shortValue(), card, merchant);
+    }
+
+    /**
+     * Count and total amount of snapshot transactions per group.
+     *
+     * @param groupBy Grouping column
+     * @param fromDate First origin date to include, or null
+     * @param toDate Last origin date to include, or null
+     * @param limit Maximum groups to return; merchants and cards are the largest by amount
+     * @throws ConflictException if the snapshot is disabled or stale, or too many queries are running
+     */
+    public TransactionAnalyticsResponse aggregate(GroupBy groupBy, LocalDate fromDate, LocalDate toDate, int limit) {
+        if (!enabled) {
+            throw new ConflictException("Transaction snapshot is disabled");
+        }
+        if (stale) {
+            throw new ConflictException("Transaction snapshot is stale and must be reloaded");
+        }
+        if (!permits.tryAcquire()) {
+            throw new ConflictException("Too many analytics queries are running");
+        }
+        try {
+            long startNanos = System.nanoTime();
+            Columns view = columns;
+            // Every row lies in [minDay, maxDay], so clamping the range to it matches the same rows
+            // and sizes the DAY groups by the snapshot's days, however wide the requested range.
+            long fromEpochDay = fromDate != null ? Math.max(fromDate.toEpochDay(), view.minDay) : view.minDay;
+            long toEpochDay = toDate != null ? Math.min(toDate.toEpochDay(), view.maxDay) : view.maxDay;
+            boolean noDays = fromEpochDay > toEpochDay;
+            int fromDay = noDays ? 0 : (int) fromEpochDay;
+            int toDay = noDays ? -1 : (int) toEpochDay;
+            int groupCount = switch (groupBy) {
+                case CATEGORY -> view.typeCatCount;
+                case DAY -> toDay >= fromDay ? toDay - fromDay + 1 : 0;
+                case MERCHANT -> view.merchantCount;
+                case CARD -> view.cardCount;
+            };
+            boolean filterDays = fromDate != null || toDate != null;
+            long[][] totals = scan(view, groupBy, filterDays, fromDay, toDay, groupCount);
+            long[] counts = totals[0];
+            long[] sums = totals[1];
+
+            TransactionAnalyticsResponse response = new TransactionAnalyticsResponse();
+            response.setGroupBy(groupBy.name());
+            response.setFromDate(fromDate != null ? fromDate.toString() : null);
+            response.setToDate(toDate != null ? toDate.toString() : null);
+            response.setRowsScanned(view.size);
+            long matched = 0;
+            long totalCents = 0;
+            for (int group = 0; group < groupCount; group++) {
+                matched += counts[group];
+                totalCents = MoneyKernel.add(totalCents, sums[group]);
+            }
+            response.setTranCount(matched);
+            response.setTotalAmt(MoneyKernel.toAmount(totalCents));
+            for (int group : selectGroups(view, groupBy, counts, sums, limit)) {
+                response.getGroups().add(new TransactionAnalyticsResponse.Group(
+                        groupKey(view, groupBy, group, fromDay), counts[group], MoneyKernel.toAmount(sums[group])));
+            }
+            response.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+            return response;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * One partial count and sum array per worker, merged at the end, so the scan shares no
+     * mutable state.
+     */
+    private long[][] scan(Columns view, GroupBy groupBy, boolean filterDays, int fromDay, int toDay, int groupCount) {
+        int rows = view.size;
+        int parts = pool.getParallelism();
+        int partSize = (rows + parts - 1) / Math.max(parts, 1);
+        long[] amountCents = view.amountCents;
+        int[] epochDays = view.epochDays;
+        short[] typeCats = view.typeCats;
+        int[] cards = view.cards;
+        int[] merchants = view.merchants;
+
+        return pool.submit(() -> IntStream.range(0, parts).parallel().mapToObj(part -> {
+            long[] counts = new long[groupCount];
+            long[] sums = new long[groupCount];
+            int end = (int) Math.min((long) (part + 1) * partSize, rows);
+            for (int row = part * partSize; row < end; row++) {
+                int day = epochDays[row];
+                if (filterDays && (day == NO_DAY || day < fromDay || day > toDay)) {
+                    continue;
+                }
+                int group = switch (groupBy) {
+                    case CATEGORY -> typeCats[row];
+                    case DAY -> day == NO_DAY || day < fromDay || day > toDay ? -1 : day - fromDay;
+                    case MERCHANT -> merchants[row];
+                    case CARD -> cards[row];
+                };
+                if (group < 0) {
+                    continue;
+                }
+                counts[group]++;
+                sums[group] = MoneyKernel.add(sums[group], amountCents[row]);
+            }
+            return new long[][] { counts, sums };
+        }).reduce((a, b) -> {
+            for (int group = 0; group < groupCount; group++) {
+                a[0][group] += b[0][group];
+                a[1][group] = MoneyKernel.add(a[1][group], b[1][group]);
+            }
+            return a;
+        }).orElseGet(() -> new long[][] { new long[groupCount], new long[groupCount] })).join();
+    }
+
+    private static List<Integer> selectGroups(Columns view, GroupBy groupBy, long[] counts, long[] sums, int limit) {
+        List<Integer> selected = new ArrayList<>();
+        if (groupBy == GroupBy.MERCHANT || groupBy == GroupBy.CARD) {
+            PriorityQueue<Integer> largest = new PriorityQueue<>(Comparator.comparingLong(group -> sums[group]));
+            for (int group = 0; group < counts.length; group++) {
+                if (counts[group] == 0) {
+                    continue;
+                }
+                if (largest.size() < limit) {
+                    largest.add(group);
+                } else if (limit > 0 && sums[group] > sums[largest.peek()]) {
+                    largest.poll();
+                    largest.add(group);
+                }
+            }
+            selected.addAll(largest);
+            selected.sort(Comparator.comparingLong((Integer group) -> sums[group]).reversed());
+            return selected;
+        }
+        for (int group = 0; group < counts.length; group++) {
+            if (counts[group] > 0) {
+                selected.add(group);
+            }
+        }
+        if (groupBy == GroupBy.CATEGORY) {
+            selected.sort(Comparator.comparing((Integer group) -> view.typeCds[group])
+                    .thenComparingInt(group -> view.catCds[group]));
+        }
+        return selected.size() > limit ? selected.subList(0, limit) : selected;
+    }
+
+    private static String groupKey(Columns view, GroupBy groupBy, int group, int fromDay) {
+        return switch (groupBy) {
+            case CATEGORY -> view.typeCds[group] + "/" + view.catCds[group];
+            case DAY -> LocalDate.ofEpochDay(fromDay + group).toString();
+            case MERCHANT -> Long.toString(view.merchantIds[group]);
+            case CARD -> view.cardNums[group];
+        };
+    }
+
+    private static int typeBits(String tranTypeCd) {
+        int bits = 0;
+        for (int i = 0; i < tranTypeCd.length() && i < 2; i++) {
+            bits = (bits << 16) | tranTypeCd.charAt(i);
+        }
+        return bits;
+    }
+
+    /**
+     * Epoch day of a "yyyy-MM-dd..." timestamp, without a formatter.
+     */
+    private static int epochDay(String origTs) {
+        if (origTs == null || origTs.length() < 10) {
+            return NO_DAY;
+        }
+        int year = digits(origTs, 0, 4);
+        int month = digits(origTs, 5, 7);
+        int day = digits(origTs, 8, 10);
+        try {
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return NO_DAY;
+        }
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * A published view of the columns. Arrays may be shared with later views, which only
+     * write past this view's row and dictionary counts.
+     */
+    private static final class Columns {
+        private long[] amountCents = new long[INITIAL_CAPACITY];
+        private int[] epochDays = new int[INITIAL_CAPACITY];
+        private short[] typeCats = new short[INITIAL_CAPACITY];
+        private int[] cards = new int[INITIAL_CAPACITY];
+        private int[] merchants = new int[INITIAL_CAPACITY];
+        private int size;
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+        private String[] typeCds = new String[16];
+        private int[] catCds = new int[16];
+        private int typeCatCount;
+        private String[] cardNums = new String[INITIAL_CAPACITY];
+        private int cardCount;
+        private long[] merchantIds = new long[INITIAL_CAPACITY];
+        private int merchantCount;
+
+        private Columns copy() {
+            return new Columns(this);
+        }
+
+        private Columns() {
+        }
+
+        private Columns(Columns previous) {
+            amountCents = previous.amountCents;
+            epochDays = previous.epochDays;
+            typeCats = previous.typeCats;
+            cards = previous.cards;
+            merchants = previous.merchants;
+            size = previous.size;
+            minDay = previous.minDay;
+            maxDay = previous.maxDay;
+            typeCds = previous.typeCds;
+            catCds = previous.catCds;
+            typeCatCount = previous.typeCatCount;
+            cardNums = previous.cardNums;
+            cardCount = previous.cardCount;
+            merchantIds = previous.merchantIds;
+            merchantCount = previous.merchantCount;
+        }
+
+        private void addRow(long amount, int epochDay, short typeCat, int card, int merchant) {
+            if (size == amountCents.length) {
+                int capacity = size * 2;
+                amountCents = Arrays.copyOf(amountCents, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                typeCats = Arrays.copyOf(typeCats, capacity);
+                cards = Arrays.copyOf(cards, capacity);
+                merchants = Arrays.copyOf(merchants, capacity);
+            }
+            amountCents[size] = amount;
+            epochDays[size] = epochDay;
+            typeCats[size] = typeCat;
+            cards[size] = card;
+            merchants[size] = merchant;
+            size++;
+            if (epochDay != NO_DAY) {
+                minDay = Math.min(minDay, epochDay);
+                maxDay = Math.max(maxDay, epochDay);
+            }
+        }
+
+        private int addTypeCat(String tranTypeCd, int tranCatCd) {
+            if (typeCatCount == Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many transaction type and category pairs for the snapshot");
+            }
+            if (typeCatCount == typeCds.length) {
+                typeCds = Arrays.copyOf(typeCds, typeCatCount * 2);
+                catCds = Arrays.copyOf(catCds, typeCatCount * 2);
+            }
+            typeCds[typeCatCount] = tranTypeCd;
+            catCds[typeCatCount] = tranCatCd;
+            return typeCatCount++;
+        }
+
+        private int addCard(String cardNum) {
+            if (cardCount == cardNums.length) {
+                cardNums = Arrays.copyOf(cardNums, cardCount * 2);
+            }
+            cardNums[cardCount] = cardNum;
+            return cardCount++;
+        }
+
+        private int addMerchant(long merchantId) {
+            if (merchantCount == merchantIds.length) {
+                merchantIds = Arrays.copyOf(merchantIds, merchantCount * 2);
+            }
+            merchantIds[merchantCount] = merchantId;
+            return merchantCount++;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import java.util.List;
+
+/**
+ * Published by every posting path in the transaction that inserts the transactions.
+ * Listeners that keep derived state should use @TransactionalEventListener so they only see
+ * transactions that actually committed.
+ */
+public class TransactionsPostedEvent {
+
+    private final List<Transaction> transactions;
+
+    public TransactionsPostedEvent(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+}
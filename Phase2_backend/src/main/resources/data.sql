@@ -8,10 +8,10 @@ INSERT INTO customer (cust_id, cust_first_name, cust_last_name, cust_dob_yyyy_mm
 (1002, 'Bob', 'Williams', '1978-07-22', 987654321, 680, '555-0201', NULL, '456 Oak Ave', NULL, 'Los Angeles', 'CA', '90210', 'USA'),
 (1003, 'Carol', 'Brown', '1992-11-08', 456789123, 720, '555-0301', '555-0302', '789 Pine Rd', 'Suite 100', 'Chicago', 'IL', '60601', 'USA');
 
-INSERT INTO account (acct_id, acct_cust_id, acct_active_status, acct_curr_bal, acct_credit_limit, acct_cash_credit_limit, acct_open_date, acct_expiraion_date, acct_reissue_date, acct_curr_cyc_credit, acct_curr_cyc_debit, acct_addr_zip, acct_group_id) VALUES
-(12345678901, 1001, 'Y', 1500.00, 5000.00, 1000.00, '2020-01-15', '2027-01-15', '2023-01-15', 2500.00, 1000.00, '10001', 'GRP001'),
-(12345678902, 1002, 'Y', 750.50, 3000.00, 500.00, '2019-06-10', '2027-06-10', '2022-06-10', 1200.00, 450.50, '90210', 'GRP002'),
-(12345678903, 1003, 'Y', 0.00, 7500.00, 1500.00, '2021-03-20', '2027-03-20', '2024-03-20', 0.00, 0.00, '60601', 'GRP003');
+INSERT INTO account (acct_id, acct_cust_id, acct_active_status, acct_curr_bal, acct_credit_limit, acct_cash_credit_limit, acct_open_date, acct_expiraion_date, acct_reissue_date, acct_curr_cyc_credit, acct_curr_cyc_debit, acct_addr_zip, acct_group_id, acct_version) VALUES
+(12345678901, 1001, 'Y', 1500.00, 5000.00, 1000.00, '2020-01-15', '2027-01-15', '2023-01-15', 2500.00, 1000.00, '10001', 'GRP001', 0),
+(12345678902, 1002, 'Y', 750.50, 3000.00, 500.00, '2019-06-10', '2027-06-10', '2022-06-10', 1200.00, 450.50, '90210', 'GRP002', 0),
+(12345678903, 1003, 'Y', 0.00, 7500.00, 1500.00, '2021-03-20', '2027-03-20', '2024-03-20', 0.00, 0.00, '60601', 'GRP003', 0);
 
 INSERT INTO card (card_num, card_acct_id, card_embossed_name, card_active_status, card_expiraion_date) VALUES
 ('4111111111111111', 12345678901, 'Alice Johnson', 'Y', '12/2025'),
@@ -26,18 +26,45 @@ INSERT INTO transaction_type (tran_type, tran_type_desc) VALUES
 ('04', 'Fee'),
 ('05', 'Interest');
 
-INSERT INTO transaction_category (tran_cat_cd, tran_cat_type_desc) VALUES
-('01', 'Groceries'),
-('02', 'Gas'),
-('03', 'Restaurants'),
-('04', 'Shopping'),
-('05', 'Cash'),
-('06', 'Payment'),
-('07', 'Fee'),
-('08', 'Interest');
+INSERT INTO transaction_category (tran_cat_cd, tran_type_cd, tran_cat_type_desc) VALUES
+('01', '01', 'Groceries'),
+('02', '01', 'Gas'),
+('03', '01', 'Restaurants'),
+('04', '01', 'Shopping'),
+('05', '02', 'Cash'),
+('06', '03', 'Payment'),
+('07', '04', 'Fee'),
+('08', '05', 'Interest');
+
+INSERT INTO disclosure_group (dis_acct_group_id, dis_tran_type_cd, dis_tran_cat_cd, dis_int_rate) VALUES
+('DEFAULT', '01', 1, 15.00),
+('DEFAULT', '01', 2, 15.00),
+('DEFAULT', '01', 3, 15.00),
+('DEFAULT', '01', 4, 15.00),
+('DEFAULT', '02', 5, 24.00),
+('DEFAULT', '03', 6, 0.00),
+('DEFAULT', '04', 7, 0.00),
+('DEFAULT', '05', 8, 0.00),
+('GRP001', '01', 1, 12.00),
+('GRP001', '01', 2, 12.00),
+('GRP001', '01', 3, 12.00),
+('GRP001', '01', 4, 12.00),
+('GRP001', '02', 5, 21.00),
+('GRP003', '02', 5, 22.50);
+
+INSERT INTO transaction_category_balance (trancat_acct_id, trancat_type_cd, trancat_cd, tran_cat_bal) VALUES
+(12345678901, '01', 1, 85.50),
+(12345678901, '01', 2, 45.00),
+(12345678902, '01', 3, 67.25),
+(12345678903, '03', 6, -500.00);
 
 INSERT INTO transaction (tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, tran_desc, tran_amt, tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, tran_merchant_city, tran_merchant_zip) VALUES
 ('T001', '4111111111111111', '01', 1, 'POS', 'GROCERY STORE PURCHASE', 85.50, '2024-01-15 10:30:00', '2024-01-15 10:30:00', 1001, 'SuperMart Grocery', 'New York', '10001'),
 ('T002', '4111111111111111', '01', 2, 'POS', 'GAS STATION PURCHASE', 45.00, '2024-01-16 08:15:00', '2024-01-16 08:15:00', 1002, 'QuickFill Gas', 'New York', '10002'),
 ('T003', '4111111111111112', '01', 3, 'POS', 'RESTAURANT PURCHASE', 67.25, '2024-01-17 19:45:00', '2024-01-17 19:45:00', 1003, 'Fine Dining Restaurant', 'Los Angeles', '90210'),
 ('T004', '4111111111111113', '03', 6, 'ONLINE', 'PAYMENT RECEIVED', -500.00, '2024-01-18 14:20:00', '2024-01-18 14:20:00', 1004, 'Online Payment System', 'Chicago', '60601');
+
+INSERT INTO daily_transaction (dalytran_id, dalytran_card_num, dalytran_type_cd, dalytran_cat_cd, dalytran_source, dalytran_desc, dalytran_amt, dalytran_orig_ts, dalytran_proc_ts, dalytran_merchant_id, dalytran_merchant_name, dalytran_merchant_city, dalytran_merchant_zip) VALUES
+('D001', '4111111111111111', '01', 4, 'POS', 'DEPARTMENT STORE PURCHASE', 120.00, '2024-01-19 11:05:00', '2024-01-19 11:05:00', 1005, 'City Department Store', 'New York', '10001'),
+('D002', '4111111111111112', '01', 1, 'POS', 'GROCERY STORE PURCHASE', 42.10, '2024-01-19 17:40:00', '2024-01-19 17:40:00', 1001, 'SuperMart Grocery', 'Los Angeles', '90210'),
+('D003', '4111111111111113', '02', 5, 'ATM', 'CASH WITHDRAWAL', 200.00, '2024-01-20 09:00:00', '2024-01-20 09:00:00', 1006, 'Downtown ATM', 'Chicago', '60601');
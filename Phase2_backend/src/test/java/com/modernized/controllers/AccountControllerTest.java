@@ -0,0 +1,181 @@
+package com.modernized.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.modernized.entities.Account;
+import com.modernized.entities.Customer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merge patches and bulk lookups sent over HTTP. Runs against its own in-memory database, so the
+ * accounts and customers it patches are not read by other tests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:accountpatch", "spring.jpa.properties.hibernate.generate_statistics=true"})
+class AccountControllerTest {
+
+    private static final Long ACCOUNT_ID = 12345678901L;
+    private static final Long UNKNOWN_ACCOUNT_ID = 99999999999L;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void nullClearsOptionalFieldsAndAbsentFieldsAreKept() throws Exception {
+        HttpResponse<String> response = patch("{\"acctReissueDate\": null, \"acctAddrZip\": null, " +
+                "\"customerPhone2\": null, \"acctCreditLimit\": 6000.00}");
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode account = objectMapper.readTree(response.body());
+        assertTrue(account.get("acctReissueDate").isNull());
+        assertTrue(account.get("acctAddrZip").isNull());
+        assertTrue(account.get("customerPhone2").isNull());
+        assertEquals(0, account.get("acctCreditLimit").decimalValue().compareTo(new BigDecimal("6000.00")));
+        assertEquals("GRP001", account.get("acctGroupId").asText());
+        assertEquals("555-0101", account.get("customerPhone1").asText());
+
+        Map<String, Object> stored = jdbcTemplate.queryForMap("SELECT a.acct_reissue_date, a.acct_addr_zip, " +
+                "a.acct_open_date, c.cust_phone_num_2, c.cust_phone_num_1 FROM account a " +
+                "JOIN customer c ON c.cust_id = a.acct_cust_id WHERE a.acct_id = ?", ACCOUNT_ID);
+        assertNull(stored.get("ACCT_REISSUE_DATE"));
+        assertNull(stored.get("ACCT_ADDR_ZIP"));
+        assertNull(stored.get("CUST_PHONE_NUM_2"));
+        assertEquals("2020-01-15", stored.get("ACCT_OPEN_DATE"));
+        assertEquals("555-0101", stored.get("CUST_PHONE_NUM_1"));
+        assertEquals(1, customerStatistics().getUpdateCount());
+    }
+
+    @Test
+    void unknownFieldsAndInvalidValuesAreRejectedWithoutWriting() throws Exception {
+        long version = accountVersion();
+
+        HttpResponse<String> unknown = patch("{\"acctCreditLimit\": 7000.00, \"acctNickname\": \"holiday\"}");
+        assertEquals(400, unknown.statusCode());
+        assertTrue(unknown.body().contains("acctNickname"), unknown.body());
+
+        // A required field cannot be cleared, and an array is not a merge patch.
+        assertEquals(400, patch("{\"acctActiveStatus\": null}").statusCode());
+        assertEquals(400, patch("{\"acctActiveStatus\": \"X\"}").statusCode());
+        assertEquals(400, patch("[{\"op\": \"remove\", \"path\": \"/acctAddrZip\"}]").statusCode());
+
+        assertEquals(version, accountVersion());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void accountOnlyPatchNeitherReadsNorUpdatesTheCustomer() throws Exception {
+        long version = accountVersion();
+
+        HttpResponse<String> response = patch("{\"acctCurrCycDebit\": 1234.56}");
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals("Alice", objectMapper.readTree(response.body()).get("customerFirstName").asText());
+
+        assertEquals(version + 1, accountVersion());
+        assertEquals(1, statistics.getEntityStatistics(Account.class.getName()).getUpdateCount());
+        EntityStatistics customer = customerStatistics();
+        assertEquals(0, customer.getUpdateCount());
+        assertEquals(0, customer.getLoadCount());
+        assertEquals(0, customer.getFetchCount());
+    }
+
+    @Test
+    void lookupFollowsTheRequestOrderWithDuplicatesAndNotFoundMarkers() throws Exception {
+        // One account is already cached, so cached and loaded views are merged back in request order.
+        assertEquals(200, lookup("{\"accountIds\": [12345678902]}").statusCode());
+        List<Long> requested = List.of(12345678903L, UNKNOWN_ACCOUNT_ID, ACCOUNT_ID, 12345678903L, 12345678902L,
+                UNKNOWN_ACCOUNT_ID);
+
+        HttpResponse<String> response = lookup(objectMapper.writeValueAsString(Map.of("accountIds", requested)));
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals(6, body.get("requestedCount").asInt());
+        assertEquals(4, body.get("foundCount").asInt());
+        JsonNode results = body.get("results");
+        assertEquals(requested.size(), results.size());
+        for (int i = 0; i < requested.size(); i++) {
+            JsonNode result = results.get(i);
+            assertEquals(requested.get(i).longValue(), result.get("acctId").asLong(), "result " + i);
+            if (requested.get(i).equals(UNKNOWN_ACCOUNT_ID)) {
+                assertFalse(result.get("found").asBoolean());
+                assertTrue(result.path("account").isNull() || result.path("account").isMissingNode());
+            } else {
+                assertTrue(result.get("found").asBoolean());
+                assertEquals(requested.get(i).longValue(), result.get("account").get("acctId").asLong());
+            }
+        }
+        assertEquals("Carol", results.get(0).get("account").get("customerFirstName").asText());
+        assertEquals(results.get(0).get("account"), results.get(3).get("account"));
+        assertEquals("Bob", results.get(4).get("account").get("customerFirstName").asText());
+    }
+
+    @Test
+    void lookupRejectsEmptyOversizedAndNullIdLists() throws Exception {
+        assertEquals(400, lookup("{\"accountIds\": []}").statusCode());
+        assertEquals(400, lookup("{\"accountIds\": [12345678901, null]}").statusCode());
+        List<Long> tooMany = LongStream.rangeClosed(1, 1001).boxed().toList();
+        assertEquals(400, lookup(objectMapper.writeValueAsString(Map.of("accountIds", tooMany))).statusCode());
+        assertEquals(200, lookup(objectMapper.writeValueAsString(Map.of("accountIds", tooMany.subList(0, 1000))))
+                .statusCode());
+    }
+
+    private EntityStatistics customerStatistics() {
+        return statistics.getEntityStatistics(Customer.class.getName());
+    }
+
+    private long accountVersion() {
+        return jdbcTemplate.queryForObject("SELECT acct_version FROM account WHERE acct_id = ?", Long.class, ACCOUNT_ID);
+    }
+
+    private HttpResponse<String> lookup(String body) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/carddemo/api/accounts/lookup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> patch(String body) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + port + "/carddemo/api/accounts/" + ACCOUNT_ID))
+                .header("Content-Type", "application/merge-patch+json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.modernized.controllers;
+
+import com.modernized.entities.ReportJob;
+import com.modernized.services.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Report downloads over a real connector, so ranges are checked on the bytes Tomcat actually sends,
+ * whether it uses sendfile or the FileChannel copy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReportControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ReportService reportService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private String downloadUri;
+    private byte[] report;
+    private String eTag;
+
+    @BeforeEach
+    void completeReport() throws Exception {
+        ReportJob job = reportService.submit("CUSTOM", LocalDate.parse("2024-01-01"), LocalDate.parse("2024-01-31"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (reportService.findJob(job.getJobId()).orElseThrow().getStatus() != ReportJob.Status.COMPLETED) {
+            assertNotEquals(ReportJob.Status.FAILED, reportService.findJob(job.getJobId()).orElseThrow().getStatus());
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for report " + job.getJobId());
+            Thread.sleep(20);
+        }
+        downloadUri = "http://localhost:" + port + "/carddemo/api/reports/" + job.getJobId() + "/download";
+
+        HttpResponse<byte[]> full = download(null, null);
+        assertEquals(200, full.statusCode());
+        assertEquals("bytes", full.headers().firstValue("Accept-Ranges").orElseThrow());
+        report = full.body();
+        eTag = full.headers().firstValue("ETag").orElseThrow();
+        assertTrue(report.length > 20, report.length + " bytes");
+        assertEquals((long) report.length, reportService.findJob(job.getJobId()).orElseThrow().getFileSize());
+    }
+
+    @Test
+    void singleRangesAreAnsweredWithPartialContent() throws Exception {
+        int size = report.length;
+        assertPartial(download("bytes=5-14", null), 5, 14);
+        assertPartial(download("bytes=10-", null), 10, size - 1);
+        assertPartial(download("bytes=-7", null), size - 7, size - 1);
+        // An end past the file is clamped to its last byte.
+        assertPartial(download("bytes=" + (size - 3) + "-" + (size + 100), null), size - 3, size - 1);
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsNotSatisfiable() throws Exception {
+        HttpResponse<byte[]> response = download("bytes=" + report.length + "-", null);
+        assertEquals(416, response.statusCode());
+        assertEquals("bytes */" + report.length, response.headers().firstValue("Content-Range").orElseThrow());
+    }
+
+    @Test
+    void ifRangeOnlyAllowsAPartialResponseForTheSameFile() throws Exception {
+        assertPartial(download("bytes=5-14", eTag), 5, 14);
+        assertFull(download("bytes=5-14", "\"report-from-an-earlier-run\""));
+    }
+
+    @Test
+    void multipleAndMalformedRangesGetTheWholeFile() throws Exception {
+        assertFull(download("bytes=0-4,10-14", null));
+        assertFull(download("bytes=abc", null));
+        assertFull(download("items=0-4", null));
+    }
+
+    @Test
+    void unknownReportIsNotFound() throws Exception {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(
+                "http://localhost:" + port + "/carddemo/api/reports/no-such-report/download")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(404, response.statusCode());
+    }
+
+    private void assertPartial(HttpResponse<byte[]> response, int start, int end) {
+        assertEquals(206, response.statusCode());
+        assertEquals("bytes " + start + "-" + end + "/" + report.length,
+                response.headers().firstValue("Content-Range").orElseThrow());
+        assertArrayEquals(Arrays.copyOfRange(report, start, end + 1), response.body());
+        assertEquals(eTag, response.headers().firstValue("ETag").orElseThrow());
+    }
+
+    private void assertFull(HttpResponse<byte[]> response) {
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Range").isEmpty());
+        assertArrayEquals(report, response.body());
+    }
+
+    private HttpResponse<byte[]> download(String range, String ifRange) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(downloadUri));
+        if (range != null) {
+            request.header("Range", range);
+        }
+        if (ifRange != null) {
+            request.header("If-Range", ifRange);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,94 @@
+package com.modernized.services;
+
+import com.modernized.repositories.AccountRepository;
+import com.modernized.services.AccountUpdateService.LockingMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.modernized=INFO"})
+class AccountUpdateServiceBenchmark {
+
+    private static final List<Long> ACCOUNT_IDS = List.of(12345678981L, 12345678982L, 12345678983L,
+            12345678984L, 12345678985L, 12345678986L, 12345678987L, 12345678988L, 12345678989L, 12345678990L);
+    private static final BigDecimal DELTA = new BigDecimal("0.01");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountViewCache accountViewCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createAccounts() {
+        for (Long accountId : ACCOUNT_IDS) {
+            jdbcTemplate.update("MERGE INTO account (acct_id, acct_cust_id, acct_active_status, acct_curr_bal, " +
+                    "acct_credit_limit, acct_cash_credit_limit, acct_open_date, acct_expiraion_date, acct_reissue_date, " +
+                    "acct_curr_cyc_credit, acct_curr_cyc_debit, acct_addr_zip, acct_group_id, acct_version) " +
+                    "KEY (acct_id) VALUES (?, 1003, 'Y', 0.00, 1000.00, 100.00, '2024-01-01', '2027-01-01', " +
+                    "'2024-01-01', 0.00, 0.00, '60601', 'GRP003', 0)", accountId);
+        }
+    }
+
+    @Test
+    void sixtyFourThreadsOnTenAccounts() throws Exception {
+        for (LockingMode mode : LockingMode.values()) {
+            measure(mode, 64, 50, ACCOUNT_IDS);
+        }
+    }
+
+    @Test
+    void thirtyTwoThreadsOnOneAccount() throws Exception {
+        for (LockingMode mode : LockingMode.values()) {
+            measure(mode, 32, 50, ACCOUNT_IDS.subList(0, 1));
+        }
+    }
+
+    private void measure(LockingMode mode, int threads, int updatesPerThread, List<Long> accountIds) throws Exception {
+        // The application.yml defaults: 5 attempts with a 5 ms backoff.
+        AccountUpdateService service = new AccountUpdateService(accountRepository, accountViewCache, transactionManager,
+                mode, List.of(), 5, 5, 256);
+        BigDecimal before = totalBalance(accountIds);
+
+        double updatesPerSecond = BenchmarkSupport.throughput(threads, updatesPerThread, () -> {
+            Long accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+            service.updateAccount(accountId, account -> {
+                account.setAcctCurrBal(account.getAcctCurrBal().add(DELTA));
+                return null;
+            });
+        });
+
+        // throughput() runs the updates twice over: one warm-up and one timed pass.
+        long updates = 2L * threads * updatesPerThread;
+        BigDecimal lost = before.add(DELTA.multiply(BigDecimal.valueOf(updates))).subtract(totalBalance(accountIds));
+        BenchmarkSupport.report(String.format("AccountUpdateService %s, %d threads on %d accounts",
+                        mode, threads, accountIds.size()),
+                String.format("%,.0f updates/s, %d conflicts, %d exhausted, %s lost",
+                        updatesPerSecond, service.getConflictCount(), service.getExhaustedCount(), lost));
+        assertEquals(updates, service.getUpdateCount());
+        assertEquals(0, lost.signum());
+    }
+
+    private BigDecimal totalBalance(List<Long> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .map(account -> account.getAcctCurrBal())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
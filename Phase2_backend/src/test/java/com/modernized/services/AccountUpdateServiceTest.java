@@ -0,0 +1,188 @@
+package com.modernized.services;
+
+import com.modernized.entities.Account;
+import com.modernized.repositories.AccountRepository;
+import com.modernized.services.AccountUpdateService.LockingMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AccountUpdateServiceTest {
+
+    private static final List<Long> ACCOUNT_IDS = List.of(12345678901L, 12345678902L, 12345678903L,
+            12345678971L, 12345678972L, 12345678973L, 12345678974L, 12345678975L, 12345678976L, 12345678977L);
+    private static final int THREADS = 64;
+    private static final int UPDATES_PER_THREAD = 20;
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+    private static final long DEFAULT_BACKOFF_MILLIS = 5;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountViewCache accountViewCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createAccounts() {
+        for (Long accountId : ACCOUNT_IDS) {
+            jdbcTemplate.update("MERGE INTO account (acct_id, acct_cust_id, acct_active_status, acct_curr_bal, " +
+                    "acct_credit_limit, acct_cash_credit_limit, acct_open_date, acct_expiraion_date, acct_reissue_date, " +
+                    "acct_curr_cyc_credit, acct_curr_cyc_debit, acct_addr_zip, acct_group_id, acct_version) " +
+                    "KEY (acct_id) SELECT ?, 1003, 'Y', 0.00, 1000.00, 100.00, '2024-01-01', '2027-01-01', " +
+                    "'2024-01-01', 0.00, 0.00, '60601', 'GRP003', 0 WHERE NOT EXISTS " +
+                    "(SELECT 1 FROM account WHERE acct_id = ?)", accountId, accountId);
+        }
+    }
+
+    @Test
+    void optimisticUpdatesFromManyThreadsLoseNoDelta() throws Exception {
+        AccountUpdateService service = service(LockingMode.OPTIMISTIC, DEFAULT_MAX_ATTEMPTS, DEFAULT_BACKOFF_MILLIS);
+
+        assertNoLostUpdates(service, ACCOUNT_IDS);
+        assertEquals(THREADS * UPDATES_PER_THREAD, service.getUpdateCount());
+        assertEquals(0, service.getExhaustedCount());
+    }
+
+    @Test
+    void optimisticUpdatesOnOneHotAccountConflictAtMostOnceEach() throws Exception {
+        AccountUpdateService service = service(LockingMode.OPTIMISTIC, DEFAULT_MAX_ATTEMPTS, DEFAULT_BACKOFF_MILLIS);
+
+        assertNoLostUpdates(service, ACCOUNT_IDS.subList(0, 1));
+        assertEquals(THREADS * UPDATES_PER_THREAD, service.getUpdateCount());
+        assertEquals(0, service.getExhaustedCount());
+        assertTrue(service.getConflictCount() <= service.getUpdateCount(),
+                service.getConflictCount() + " conflicts for " + service.getUpdateCount() + " updates");
+    }
+
+    @Test
+    void stripedUpdatesFromManyThreadsLoseNoDeltaAndNeverConflict() throws Exception {
+        AccountUpdateService service = service(LockingMode.STRIPED, 1, 0);
+
+        assertNoLostUpdates(service, ACCOUNT_IDS);
+        assertEquals(THREADS * UPDATES_PER_THREAD, service.getUpdateCount());
+        assertEquals(0, service.getConflictCount());
+    }
+
+    @Test
+    void retryAfterAConflictLocksTheRowAndWins() {
+        Long accountId = ACCOUNT_IDS.get(0);
+        AccountUpdateService service = service(LockingMode.OPTIMISTIC, DEFAULT_MAX_ATTEMPTS, 0);
+        BigDecimal before = balance(accountId);
+        AtomicInteger invocations = new AtomicInteger();
+
+        service.updateAccount(accountId, account -> {
+            if (invocations.incrementAndGet() == 1) {
+                // Another writer commits between the first attempt's read and its save.
+                CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                        "UPDATE account SET acct_curr_bal = acct_curr_bal + 10, acct_version = acct_version + 1 " +
+                                "WHERE acct_id = ?", accountId)).join();
+            }
+            account.setAcctCurrBal(account.getAcctCurrBal().add(BigDecimal.ONE));
+            return null;
+        });
+
+        assertEquals(2, invocations.get());
+        assertEquals(1, service.getConflictCount());
+        assertEquals(0, service.getExhaustedCount());
+        assertEquals(1, service.getUpdateCount());
+        assertEquals(0, before.add(BigDecimal.valueOf(11)).compareTo(balance(accountId)));
+    }
+
+    @Test
+    void updateGivesUpAfterMaxAttempts() {
+        Long accountId = ACCOUNT_IDS.get(0);
+        AccountUpdateService service = service(LockingMode.OPTIMISTIC, 1, 0);
+        BigDecimal before = balance(accountId);
+        AtomicInteger invocations = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.updateAccount(accountId, account -> {
+            invocations.incrementAndGet();
+            CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                    "UPDATE account SET acct_version = acct_version + 1 WHERE acct_id = ?", accountId)).join();
+            account.setAcctCurrBal(account.getAcctCurrBal().add(BigDecimal.ONE));
+            return null;
+        }));
+
+        assertEquals(1, invocations.get());
+        assertEquals(1, service.getConflictCount());
+        assertEquals(1, service.getExhaustedCount());
+        assertEquals(0, service.getUpdateCount());
+        assertEquals(0, before.compareTo(balance(accountId)));
+    }
+
+    private void assertNoLostUpdates(AccountUpdateService service, List<Long> accountIds) throws Exception {
+        Map<Long, BigDecimal> before = new HashMap<>();
+        for (Long accountId : accountIds) {
+            before.put(accountId, balance(accountId));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Map<Long, BigDecimal>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    Map<Long, BigDecimal> applied = new HashMap<>();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        Long accountId = accountIds.get((thread + i) % accountIds.size());
+                        BigDecimal delta = BigDecimal.valueOf(thread * 100 + i + 1, 2);
+                        service.updateAccount(accountId, account -> {
+                            account.setAcctCurrBal(account.getAcctCurrBal().add(delta));
+                            return null;
+                        });
+                        applied.merge(accountId, delta, BigDecimal::add);
+                    }
+                    return applied;
+                }));
+            }
+            start.countDown();
+
+            Map<Long, BigDecimal> expected = new HashMap<>(before);
+            for (Future<Map<Long, BigDecimal>> result : results) {
+                result.get(60, TimeUnit.SECONDS).forEach((accountId, delta) -> expected.merge(accountId, delta, BigDecimal::add));
+            }
+            for (Long accountId : accountIds) {
+                assertEquals(0, expected.get(accountId).compareTo(balance(accountId)),
+                        "Balance of " + accountId + " lost an update");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private AccountUpdateService service(LockingMode mode, int maxAttempts, long backoffMillis) {
+        return new AccountUpdateService(accountRepository, accountViewCache, transactionManager,
+                mode, List.of(), maxAttempts, backoffMillis, 16);
+    }
+
+    private BigDecimal balance(Long accountId) {
+        return accountRepository.findById(accountId).map(Account::getAcctCurrBal).orElseThrow();
+    }
+}
@@ -0,0 +1,171 @@
+package com.modernized.services;
+
+import com.modernized.dto.AccountCacheMetricsResponse;
+import com.modernized.dto.AccountResponse;
+import com.modernized.repositories.AccountViewJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountViewCacheTest {
+
+    private static final Long ACCOUNT_ID = 12345678901L;
+    private static final Long OTHER_ACCOUNT_ID = 12345678902L;
+
+    private final StubRepository repository = new StubRepository();
+    private final AccountViewCache cache = new AccountViewCache(repository, 100, 300);
+
+    @Test
+    void loadRacingAnInvalidationIsServedOnceButNotCached() {
+        repository.put(view(ACCOUNT_ID, 1));
+        repository.duringLoad = () -> {
+            // The account is written and its transaction commits while the load is reading.
+            repository.put(view(ACCOUNT_ID, 2));
+            cache.invalidateAfterCommit(ACCOUNT_ID);
+        };
+
+        assertEquals(1L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+        AccountCacheMetricsResponse metrics = cache.getMetrics();
+        assertEquals(1, metrics.getStaleLoads());
+        assertEquals(0, metrics.getSize());
+
+        assertEquals(2L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+        assertEquals(2L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+        assertEquals(2, repository.loads);
+        assertEquals(1, cache.getMetrics().getHits());
+    }
+
+    @Test
+    void bulkLoadRejectsOnlyTheAccountsWrittenWhileItRead() {
+        repository.put(view(ACCOUNT_ID, 1));
+        repository.put(view(OTHER_ACCOUNT_ID, 1));
+        repository.duringLoad = () -> {
+            repository.put(view(ACCOUNT_ID, 2));
+            cache.invalidateAfterCommit(ACCOUNT_ID);
+        };
+
+        Map<Long, AccountResponse> views = cache.findAll(List.of(ACCOUNT_ID, OTHER_ACCOUNT_ID, ACCOUNT_ID));
+        assertEquals(1L, views.get(ACCOUNT_ID).getAcctVersion());
+        assertEquals(1L, views.get(OTHER_ACCOUNT_ID).getAcctVersion());
+        assertEquals(1, cache.getMetrics().getStaleLoads());
+        assertEquals(1, cache.getMetrics().getSize());
+
+        assertSame(views.get(OTHER_ACCOUNT_ID), cache.find(OTHER_ACCOUNT_ID).orElseThrow());
+        assertEquals(2L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+    }
+
+    @Test
+    void slowerLoadOfAnOlderVersionDoesNotReplaceANewerView() {
+        repository.put(view(ACCOUNT_ID, 1));
+        repository.duringLoad = () -> {
+            // A second reader sees the next version and caches it before the first one finishes.
+            repository.put(view(ACCOUNT_ID, 2));
+            assertEquals(2L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+            repository.put(view(ACCOUNT_ID, 1));
+        };
+
+        assertEquals(1L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+        assertEquals(1, cache.getMetrics().getStaleLoads());
+        assertEquals(2L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+    }
+
+    @Test
+    void writeThroughWithAnOutdatedStampOrOlderVersionInvalidatesInstead() {
+        long stamp = cache.stamp(ACCOUNT_ID);
+        cache.writeThrough(view(ACCOUNT_ID, 5), cache.stamp(ACCOUNT_ID));
+        assertEquals(5L, cache.find(ACCOUNT_ID).orElseThrow().getAcctVersion());
+
+        // The first update read the account before the second one finished.
+        cache.writeThrough(view(ACCOUNT_ID, 6), stamp);
+        assertEquals(0, cache.getMetrics().getSize());
+        assertEquals(1, cache.getMetrics().getInvalidations());
+
+        cache.writeThrough(view(ACCOUNT_ID, 7), cache.stamp(ACCOUNT_ID));
+        cache.writeThrough(view(ACCOUNT_ID, 6), cache.stamp(ACCOUNT_ID));
+        assertEquals(0, cache.getMetrics().getSize());
+        assertEquals(2, cache.getMetrics().getWriteThroughs());
+        assertEquals(0, repository.loads);
+    }
+
+    @Test
+    void invalidationInsideATransactionWaitsForTheCommit() {
+        repository.put(view(ACCOUNT_ID, 1));
+        cache.find(ACCOUNT_ID);
+        long stamp = cache.stamp(ACCOUNT_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateAfterCommit(ACCOUNT_ID);
+            assertEquals(1, cache.getMetrics().getSize());
+            assertEquals(stamp, cache.stamp(ACCOUNT_ID));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, cache.getMetrics().getSize());
+        assertNotEquals(stamp, cache.stamp(ACCOUNT_ID));
+    }
+
+    private static AccountResponse view(Long acctId, long version) {
+        AccountResponse view = new AccountResponse();
+        view.setAcctId(acctId);
+        view.setAcctVersion(version);
+        return view;
+    }
+
+    /**
+     * Account views held in a map. duringLoad runs once, inside the next load, after the row has been read.
+     */
+    private static final class StubRepository extends AccountViewJdbcRepository {
+
+        private final Map<Long, AccountResponse> rows = new HashMap<>();
+        private Runnable duringLoad;
+        private int loads;
+
+        private StubRepository() {
+            super(null, null);
+        }
+
+        private void put(AccountResponse view) {
+            rows.put(view.getAcctId(), view);
+        }
+
+        @Override
+        public Optional<AccountResponse> findAccountView(Long acctId) {
+            loads++;
+            Optional<AccountResponse> view = Optional.ofNullable(rows.get(acctId));
+            runDuringLoad();
+            return view;
+        }
+
+        @Override
+        public Map<Long, AccountResponse> findAccountViews(Collection<Long> acctIds) {
+            loads++;
+            Map<Long, AccountResponse> views = new HashMap<>();
+            for (Long acctId : acctIds) {
+                if (rows.containsKey(acctId)) {
+                    views.put(acctId, rows.get(acctId));
+                }
+            }
+            runDuringLoad();
+            return views;
+        }
+
+        private void runDuringLoad() {
+            Runnable hook = duringLoad;
+            duringLoad = null;
+            if (hook != null) {
+                hook.run();
+            }
+        }
+    }
+}
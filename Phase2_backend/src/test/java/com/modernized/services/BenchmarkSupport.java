@@ -0,0 +1,108 @@
+package com.modernized.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing helpers for the tests tagged "benchmark", which only run with {@code mvn -B test -Pbenchmark}.
+ *
+ * Results are printed as "[benchmark] name: result" lines in the test output. Every measurement
+ * is preceded by an untimed warm-up pass of the same shape so the JIT has compiled the code
+ * under test before the clock starts.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {}
+
+    /**
+     * Runs the operation operationsPerThread times on each of the given number of threads,
+     * all released together, and returns operations per second over the whole run.
+     */
+    static double throughput(int threads, int operationsPerThread, Runnable operation) throws Exception {
+        runConcurrently(threads, operationsPerThread, operation);
+        long elapsed = runConcurrently(threads, operationsPerThread, operation);
+        return (double) threads * operationsPerThread * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Times each of the given number of calls to the operation after the same number of warm-up calls.
+     * The returned latencies are sorted, in nanoseconds.
+     */
+    static long[] latencies(int samples, Runnable operation) {
+        for (int i = 0; i < samples; i++) {
+            operation.run();
+        }
+        long[] nanos = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    /**
+     * Wall-clock milliseconds of one call, taking the best of the given number of runs after one warm-up run.
+     */
+    static double bestMillis(int runs, Runnable operation) {
+        operation.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+
+    static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+    }
+
+    static String summary(long[] sortedNanos) {
+        return String.format("p50=%.3f ms, p99=%.3f ms, max=%.3f ms (%d samples)",
+                percentileMillis(sortedNanos, 50), percentileMillis(sortedNanos, 99),
+                percentileMillis(sortedNanos, 100), sortedNanos.length);
+    }
+
+    static void report(String benchmark, String result) {
+        System.out.printf("[benchmark] %s: %s (%d cpus)%n", benchmark, result,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    private static long runConcurrently(int threads, int operationsPerThread, Runnable operation) throws Exception {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.MINUTES);
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
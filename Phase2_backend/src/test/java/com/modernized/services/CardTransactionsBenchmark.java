@@ -0,0 +1,91 @@
+package com.modernized.services;
+
+import com.modernized.controllers.CardController;
+import com.modernized.dto.CursorPagedResponse;
+import com.modernized.dto.TransactionResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GET /api/cards/{cardNumber}/transactions for a card with CARD_ROWS transactions, among OTHER_ROWS
+ * transactions of other cards. H2 would answer each repeated page query from its previous result while
+ * the table is unchanged, so result reuse is switched off and every call reads the index.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:cardpages;OPTIMIZE_REUSE_RESULTS=FALSE",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO", "logging.level.com.modernized=INFO"})
+class CardTransactionsBenchmark {
+
+    private static final String CARD_NUMBER = "4111111111111114";
+    private static final int CARD_ROWS = 100_000;
+    private static final int OTHER_ROWS = 200_000;
+    private static final String ID_PREFIX = "BC";
+
+    @Autowired
+    private CardController cardController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void generateTransactions() {
+        // One transaction a minute, so the card's history spans about 70 days; other cards' rows interleave.
+        jdbcTemplate.update("INSERT INTO transaction (tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, " +
+                "tran_desc, tran_amt, tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, " +
+                "tran_merchant_city, tran_merchant_zip) " +
+                "SELECT '" + ID_PREFIX + "' || LPAD(CAST(x AS VARCHAR), 10, '0'), " +
+                "CASE WHEN MOD(x, 3) = 0 THEN '" + CARD_NUMBER + "' ELSE '411111111111111' || MOD(x, 3) END, " +
+                "'01', 1, 'POS', 'BENCHMARK', 1.00, " +
+                "FORMATDATETIME(DATEADD('MINUTE', x / 3, TIMESTAMP '2024-03-01 00:00:00'), 'yyyy-MM-dd HH:mm:ss'), " +
+                "'2024-03-01 00:00:00', 1001, 'M', 'C', '10001' FROM SYSTEM_RANGE(1, " + (CARD_ROWS + OTHER_ROWS) + ")");
+    }
+
+    @AfterEach
+    void deleteTransactions() {
+        for (int from = 0; from < CARD_ROWS + OTHER_ROWS; from += 100_000) {
+            jdbcTemplate.update("DELETE FROM transaction WHERE tran_id > ? AND tran_id <= ?",
+                    String.format("%s%010d", ID_PREFIX, from), String.format("%s%010d", ID_PREFIX, from + 100_000));
+        }
+    }
+
+    @Test
+    void latestAndDeepPagesOfOneCard() {
+        assertEquals(CARD_ROWS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction WHERE tran_card_num = ? AND tran_id LIKE '" + ID_PREFIX + "%'",
+                Integer.class, CARD_NUMBER));
+
+        long[] latest = BenchmarkSupport.latencies(1_000, () -> {
+            CursorPagedResponse<TransactionResponse> page = page(null, 10);
+            assertEquals(String.format("%s%010d", ID_PREFIX, CARD_ROWS + OTHER_ROWS), page.getContent().get(0).getTranId());
+        });
+        long[] latestHundred = BenchmarkSupport.latencies(1_000, () -> page(null, 100));
+        BenchmarkSupport.report("latest page of 10, card with " + CARD_ROWS + " transactions", BenchmarkSupport.summary(latest));
+        BenchmarkSupport.report("latest page of 100, card with " + CARD_ROWS + " transactions",
+                BenchmarkSupport.summary(latestHundred));
+
+        // Walk half-way down the history, then time the next and previous pages from there.
+        String cursor = null;
+        for (int i = 0; i < CARD_ROWS / 2 / 100; i++) {
+            cursor = page(cursor, 100).getNextCursor();
+        }
+        String deep = cursor;
+        String back = page(deep, 10).getPrevCursor();
+        long[] older = BenchmarkSupport.latencies(1_000, () -> assertEquals(10, page(deep, 10).getContent().size()));
+        long[] newer = BenchmarkSupport.latencies(1_000, () -> assertEquals(10, page(back, 10).getContent().size()));
+        BenchmarkSupport.report("page of 10 at the middle of the history, next cursor", BenchmarkSupport.summary(older));
+        BenchmarkSupport.report("page of 10 at the middle of the history, prev cursor", BenchmarkSupport.summary(newer));
+
+        assertTrue(BenchmarkSupport.percentileMillis(latest, 95) < 10);
+    }
+
+    private CursorPagedResponse<TransactionResponse> page(String cursor, int size) {
+        return cardController.getCardTransactions(CARD_NUMBER, cursor, size).getBody();
+    }
+}
@@ -0,0 +1,78 @@
+package com.modernized.services;
+
+import com.modernized.dto.BatchPostingResponse;
+import com.modernized.entities.DailyTransactionReject;
+import com.modernized.repositories.DailyTransactionRejectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DailyTransactionPostingServiceTest {
+
+    private static final Long ACCOUNT_ID = 12345678903L;
+
+    @Autowired
+    private DailyTransactionPostingService dailyTransactionPostingService;
+
+    @Autowired
+    private DailyTransactionRejectRepository dailyTransactionRejectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectedRowsAreRecordedAndNeverReadAgain() {
+        insertDailyTransaction("RJ-OVERLIMIT", 1, new BigDecimal("8000.00"));
+        insertDailyTransaction("RJ-CATEGORY", 5, new BigDecimal("10.00"));
+        insertDailyTransaction("RJ-POSTED", 1, new BigDecimal("25.00"));
+        BigDecimal cycleDebit = jdbcTemplate.queryForObject(
+                "SELECT acct_curr_cyc_debit FROM account WHERE acct_id = ?", BigDecimal.class, ACCOUNT_ID);
+        try {
+            BatchPostingResponse first = dailyTransactionPostingService.postDailyTransactions();
+            assertTrue(first.getRejections().contains("RJ-OVERLIMIT: 102 OVERLIMIT TRANSACTION"));
+            assertTrue(first.getRejections().contains("RJ-CATEGORY: 104 INVALID TRANSACTION TYPE/CATEGORY"));
+            assertEquals(1, transactionCount("RJ-POSTED"));
+
+            DailyTransactionReject overlimit = dailyTransactionRejectRepository.findById("RJ-OVERLIMIT").orElseThrow();
+            assertEquals(102, overlimit.getRejectCode());
+            assertEquals("OVERLIMIT TRANSACTION", overlimit.getRejectReason());
+            assertEquals(first.getJobInstanceId(), overlimit.getJobInstanceId());
+            assertEquals(104, dailyTransactionRejectRepository.findById("RJ-CATEGORY").orElseThrow().getRejectCode());
+            assertFalse(dailyTransactionRejectRepository.existsById("RJ-POSTED"));
+
+            // A payment makes room under the credit limit; the rejected row must still not post.
+            jdbcTemplate.update("UPDATE account SET acct_curr_cyc_debit = acct_curr_cyc_debit + 8000 WHERE acct_id = ?",
+                    ACCOUNT_ID);
+            BatchPostingResponse second = dailyTransactionPostingService.postDailyTransactions();
+            assertEquals(0, second.getRecordsRead());
+            assertEquals(0, second.getTransactionsRejected());
+            assertEquals(0, transactionCount("RJ-OVERLIMIT"));
+
+            // Deleting the reject row submits the row again.
+            dailyTransactionRejectRepository.deleteById("RJ-OVERLIMIT");
+            BatchPostingResponse third = dailyTransactionPostingService.postDailyTransactions();
+            assertEquals(1, third.getRecordsRead());
+            assertEquals(1, third.getTransactionsPosted());
+            assertEquals(1, transactionCount("RJ-OVERLIMIT"));
+        } finally {
+            jdbcTemplate.update("UPDATE account SET acct_curr_cyc_debit = ? WHERE acct_id = ?", cycleDebit, ACCOUNT_ID);
+        }
+    }
+
+    private void insertDailyTransaction(String id, int tranCatCd, BigDecimal amount) {
+        jdbcTemplate.update("INSERT INTO daily_transaction (dalytran_id, dalytran_card_num, dalytran_type_cd, " +
+                        "dalytran_cat_cd, dalytran_source, dalytran_desc, dalytran_amt, dalytran_orig_ts, " +
+                        "dalytran_proc_ts) VALUES (?, '4111111111111113', '01', ?, 'POS', 'TEST', ?, " +
+                        "'2024-01-21 10:00:00', '2024-01-21 10:00:00')",
+                id, tranCatCd, amount);
+    }
+
+    private int transactionCount(String tranId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction WHERE tran_id = ?", Integer.class, tranId);
+    }
+}
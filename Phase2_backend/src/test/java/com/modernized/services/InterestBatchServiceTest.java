@@ -0,0 +1,181 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.InterestRunResponse;
+import com.modernized.services.BatchJobService.JobRun;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against its own in-memory database, so the interest it charges does not change balances other tests read.
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:interestbatch",
+        "carddemo.batch.interest.chunk-size=2", "carddemo.batch.interest.parallelism=1"})
+class InterestBatchServiceTest {
+
+    // Read in chunks of two after the seeded accounts: [03, 20], [22, 24], [26, 28], [30].
+    private static final List<Long> RESUME_ACCOUNT_IDS = List.of(12345678920L, 12345678922L, 12345678924L,
+            12345678926L, 12345678928L, 12345678930L);
+    private static final Long FAILING_ACCOUNT_ID = 12345678922L;
+
+    @Autowired
+    private InterestBatchService interestBatchService;
+
+    @Autowired
+    private BatchJobService batchJobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void forgetInterestRuns() {
+        String instances = "(SELECT job_instance_id FROM batch_job_instance WHERE job_name = '"
+                + InterestBatchService.JOB_NAME + "')";
+        jdbcTemplate.update("DELETE FROM batch_chunk_checkpoint WHERE job_instance_id IN " + instances);
+        jdbcTemplate.update("DELETE FROM batch_step_checkpoint WHERE job_instance_id IN " + instances);
+        jdbcTemplate.update("DELETE FROM batch_job_execution WHERE job_instance_id IN " + instances);
+        jdbcTemplate.update("DELETE FROM batch_job_instance WHERE job_name = ?", InterestBatchService.JOB_NAME);
+    }
+
+    @Test
+    void periodsRunInOrderAndNeverInTheFuture() {
+        YearMonth current = YearMonth.now();
+        assertThrows(IllegalArgumentException.class, () -> interestBatchService.runMonthlyInterest(current.plusMonths(1)));
+
+        YearMonth first = current.minusMonths(3);
+        InterestRunResponse firstRun = interestBatchService.runMonthlyInterest(first);
+        assertTrue(firstRun.getInterestTransactions() > 0);
+        assertEquals(List.of(first.atEndOfMonth() + " 23:59:59"), interestTimestamps(first));
+
+        assertThrows(ConflictException.class, () -> interestBatchService.runMonthlyInterest(first));
+        assertThrows(ConflictException.class, () -> interestBatchService.runMonthlyInterest(first.minusMonths(1)));
+        assertThrows(ConflictException.class, () -> interestBatchService.runMonthlyInterest(first.plusMonths(2)));
+
+        // A period that died is the only one that may run until it completes.
+        YearMonth second = first.plusMonths(1);
+        JobRun died = batchJobService.start(InterestBatchService.JOB_NAME, second.toString());
+        batchJobService.fail(died, new IllegalStateException("Killed"));
+        assertThrows(ConflictException.class, () -> interestBatchService.runMonthlyInterest(second.plusMonths(1)));
+        assertTrue(interestBatchService.runMonthlyInterest(second).isResumed());
+
+        interestBatchService.runMonthlyInterest(second.plusMonths(1));
+        String beforeRun = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        assertTrue(interestBatchService.runMonthlyInterest(current).getInterestTransactions() > 0);
+        String afterRun = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        // Interest for the month in progress is dated at the run, not at the end of the month.
+        assertFalse(interestTimestamps(current).isEmpty());
+        for (String origTs : interestTimestamps(current)) {
+            assertTrue(origTs.compareTo(beforeRun) >= 0 && origTs.compareTo(afterRun) <= 0, origTs);
+        }
+        assertThrows(IllegalArgumentException.class, () -> interestBatchService.runMonthlyInterest(current.plusMonths(1)));
+    }
+
+    @Test
+    void resumedRunChargesEveryAccountExactlyOnce() {
+        RESUME_ACCOUNT_IDS.forEach(this::createAccountWithBalance);
+        YearMonth period = YearMonth.now().minusMonths(6);
+
+        // The chunk [22, 24] fails; with two chunks in flight, [26, 28] has been handed to the pool
+        // and commits ahead of it, past the step checkpoint.
+        FailingChunk.failingCardNum = cardNum(FAILING_ACCOUNT_ID);
+        try {
+            assertThrows(IllegalStateException.class, () -> interestBatchService.runMonthlyInterest(period));
+            awaitChunkCommitted(12345678926L);
+        } finally {
+            FailingChunk.failingCardNum = null;
+        }
+
+        // Accounts that gain a category balance after the failure, inside the range of a chunk that
+        // committed in order and inside the range of the one that committed ahead.
+        createAccountWithBalance(12345678910L);
+        createAccountWithBalance(12345678927L);
+
+        assertTrue(interestBatchService.runMonthlyInterest(period).isResumed());
+
+        Map<Long, Integer> expected = new HashMap<>();
+        expected.put(12345678901L, 2);
+        expected.put(12345678902L, 1);
+        RESUME_ACCOUNT_IDS.forEach(acctId -> expected.put(acctId, 1));
+        expected.put(12345678910L, 1);
+        expected.put(12345678927L, 1);
+        assertEquals(expected, interestTransactionsByAccount(period));
+    }
+
+    /**
+     * Fails the chunk that charges FailingChunk.failingCardNum inside its transaction.
+     */
+    @TestConfiguration
+    static class FailingChunk {
+
+        static volatile String failingCardNum;
+
+        @EventListener
+        public void onTransactionsPosted(TransactionsPostedEvent event) {
+            String cardNum = failingCardNum;
+            if (event.getTransactions().stream().anyMatch(transaction -> transaction.getTranCardNum().equals(cardNum))) {
+                throw new IllegalStateException("Chunk failed");
+            }
+        }
+    }
+
+    private void createAccountWithBalance(Long acctId) {
+        jdbcTemplate.update("INSERT INTO account (acct_id, acct_cust_id, acct_active_status, acct_curr_bal, " +
+                "acct_credit_limit, acct_cash_credit_limit, acct_open_date, acct_expiraion_date, acct_reissue_date, " +
+                "acct_curr_cyc_credit, acct_curr_cyc_debit, acct_addr_zip, acct_group_id, acct_version) " +
+                "VALUES (?, 1003, 'Y', 1000.00, 5000.00, 500.00, '2024-01-01', '2027-01-01', '2024-01-01', " +
+                "1000.00, 0.00, '60601', 'DEFAULT', 0)", acctId);
+        jdbcTemplate.update("INSERT INTO card (card_num, card_acct_id, card_embossed_name, card_active_status, " +
+                "card_expiraion_date) VALUES (?, ?, 'Interest Test', 'Y', '12/2027')", cardNum(acctId), acctId);
+        jdbcTemplate.update("INSERT INTO transaction_category_balance (trancat_acct_id, trancat_type_cd, trancat_cd, " +
+                "tran_cat_bal) VALUES (?, '01', 1, 1000.00)", acctId);
+    }
+
+    private void awaitChunkCommitted(Long fromAcctId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM batch_chunk_checkpoint WHERE from_acct_id = ?",
+                Integer.class, fromAcctId) == 0) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for chunk " + fromAcctId);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private Map<Long, Integer> interestTransactionsByAccount(YearMonth period) {
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT c.card_acct_id, COUNT(*) FROM transaction t JOIN card c ON c.card_num = t.tran_card_num " +
+                        "WHERE t.tran_type_cd = ? AND t.tran_orig_ts LIKE ? GROUP BY c.card_acct_id",
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getInt(2));
+                }, InterestBatchService.INTEREST_TYPE_CD, period + "%");
+        return counts;
+    }
+
+    private static String cardNum(Long acctId) {
+        return "49999999999999" + acctId % 100;
+    }
+
+    private List<String> interestTimestamps(YearMonth period) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT tran_orig_ts FROM transaction " +
+                        "WHERE tran_type_cd = ? AND tran_orig_ts LIKE ?", String.class,
+                InterestBatchService.INTEREST_TYPE_CD, period + "%");
+    }
+}
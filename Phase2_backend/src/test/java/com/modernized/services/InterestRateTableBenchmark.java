@@ -0,0 +1,84 @@
+package com.modernized.services;
+
+import com.modernized.entities.DisclosureGroup;
+import com.modernized.entities.DisclosureGroupId;
+import com.modernized.repositories.DisclosureGroupRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Disclosure group rate lookups as the interest run makes them, one per category balance: through the
+ * preloaded InterestRateTable against a primary-key select through DisclosureGroupRepository, both with
+ * the fallback to the DEFAULT group.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.modernized=INFO"})
+class InterestRateTableBenchmark {
+
+    // Group, type code and category of each lookup; GRP002 has no rows and falls back to DEFAULT.
+    private static final String[] GROUPS = {"GRP001", "GRP001", "GRP002", "GRP003", "GRP003", "DEFAULT"};
+    private static final String[] TYPES = {"01", "02", "01", "02", "01", "03"};
+    private static final int[] CATEGORIES = {1, 5, 3, 5, 2, 6};
+
+    @Autowired
+    private InterestRateTable interestRateTable;
+
+    @Autowired
+    private DisclosureGroupRepository disclosureGroupRepository;
+
+    @Test
+    void rateTableAgainstRepositoryLookup() {
+        for (int i = 0; i < GROUPS.length; i++) {
+            assertEquals(0, repositoryRate(i).compareTo(interestRateTable.findRate(GROUPS[i], TYPES[i], CATEGORIES[i])));
+        }
+
+        int tableLookups = 10_000_000;
+        int repositoryLookups = 20_000;
+        double tableMillis = BenchmarkSupport.bestMillis(5, () -> tableLookups(tableLookups));
+        double repositoryMillis = BenchmarkSupport.bestMillis(3, () -> {
+            for (int i = 0; i < repositoryLookups; i++) {
+                repositoryRate(i % GROUPS.length);
+            }
+        });
+        double tableNanos = tableMillis * 1_000_000 / tableLookups;
+        double repositoryNanos = repositoryMillis * 1_000_000 / repositoryLookups;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        tableLookups(tableLookups);
+        double bytesPerLookup = (double) (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / tableLookups;
+
+        BenchmarkSupport.report("InterestRateTable.findRate", String.format("%.1f ns/lookup, %.3f bytes allocated/lookup",
+                tableNanos, bytesPerLookup));
+        BenchmarkSupport.report("DisclosureGroupRepository.findById with DEFAULT fallback",
+                String.format("%,.0f ns/lookup", repositoryNanos));
+        BenchmarkSupport.report("rate table speedup", String.format("%,.0fx", repositoryNanos / tableNanos));
+        assertTrue(bytesPerLookup < 1, bytesPerLookup + " bytes allocated per lookup");
+    }
+
+    private void tableLookups(int lookups) {
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            int key = i % GROUPS.length;
+            if (interestRateTable.findRate(GROUPS[key], TYPES[key], CATEGORIES[key]) != null) {
+                found++;
+            }
+        }
+        assertEquals(lookups, found);
+    }
+
+    private BigDecimal repositoryRate(int key) {
+        return disclosureGroupRepository.findById(new DisclosureGroupId(GROUPS[key], TYPES[key], CATEGORIES[key]))
+                .or(() -> disclosureGroupRepository.findById(
+                        new DisclosureGroupId(InterestRateTable.DEFAULT_GROUP_ID, TYPES[key], CATEGORIES[key])))
+                .map(DisclosureGroup::getDisIntRate)
+                .orElse(null);
+    }
+}
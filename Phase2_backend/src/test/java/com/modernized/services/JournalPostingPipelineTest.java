@@ -0,0 +1,171 @@
+package com.modernized.services;
+
+import com.modernized.entities.PostingJournalDeadLetter;
+import com.modernized.entities.Transaction;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import com.modernized.repositories.PostingJournalDeadLetterRepository;
+import com.modernized.services.PostingJournal.Entry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against its own in-memory database, so the JOURNAL mode context does not share rows with other tests.
+ */
+@SpringBootTest(properties = {"carddemo.posting.mode=JOURNAL", "spring.datasource.url=jdbc:h2:mem:journalpipeline",
+        "carddemo.journal.apply-batch=4", "carddemo.journal.max-apply-attempts=2"})
+class JournalPostingPipelineTest {
+
+    private static final Long REPLAY_ACCOUNT_ID = 12345678902L;
+    private static final Long DEAD_LETTER_ACCOUNT_ID = 12345678901L;
+    private static final Long LIMIT_ACCOUNT_ID = 12345678903L;
+
+    @Autowired
+    private JournalPostingPipeline journalPostingPipeline;
+
+    @Autowired
+    private PostingJournalDeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Journals two postings the database has not seen and leaves the journal open, as after a crash,
+     * so the pipeline has to replay them on startup.
+     */
+    @DynamicPropertySource
+    static void journalLeftByAnUncleanStop(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("carddemo-journal-test");
+        PostingJournal crashed = new PostingJournal(directory.toString(), 1024 * 1024, 0);
+        crashed.recover(0, entry -> fail("Unexpected journal entry " + entry.getSeq()));
+        crashed.open();
+        crashed.append(entry(REPLAY_ACCOUNT_ID, "4111111111111112", "JP-REPLAY-1", "10.00"), appended -> {});
+        crashed.awaitSynced(crashed.append(entry(REPLAY_ACCOUNT_ID, "4111111111111112", "JP-REPLAY-2", "5.00"),
+                appended -> {}));
+        registry.add("carddemo.journal.directory", directory::toString);
+    }
+
+    @Test
+    void postingsJournaledBeforeAnUncleanStopAreReplayedOnStartup() {
+        assertEquals(2, journalPostingPipeline.getMetrics().getReplayedEntries());
+        assertEquals(1, transactionCount("JP-REPLAY-1"));
+        assertEquals(1, transactionCount("JP-REPLAY-2"));
+        // Seeded with a balance of 750.50 and a cycle credit of 1200.00.
+        assertEquals(0, new BigDecimal("765.50").compareTo(accountValue("acct_curr_bal", REPLAY_ACCOUNT_ID)));
+        assertEquals(0, new BigDecimal("1215.00").compareTo(accountValue("acct_curr_cyc_credit", REPLAY_ACCOUNT_ID)));
+    }
+
+    @Test
+    void entryThatKeepsFailingToApplyIsDeadLetteredAndItsDeltaDropped() {
+        BigDecimal balance = accountValue("acct_curr_bal", DEAD_LETTER_ACCOUNT_ID);
+        long deadLettered = journalPostingPipeline.getMetrics().getDeadLetteredEntries();
+
+        // T001 is a seeded transaction ID, so the insert fails on every attempt after the posting is acknowledged.
+        journalPostingPipeline.submit(DEAD_LETTER_ACCOUNT_ID, transaction("4111111111111111", "T001", "20.00"));
+        awaitTrue(() -> journalPostingPipeline.getMetrics().getDeadLetteredEntries() == deadLettered + 1);
+
+        PostingJournalDeadLetter deadLetter = deadLetterRepository.findAll().stream()
+                .filter(letter -> "T001".equals(letter.getTranId()))
+                .findFirst().orElseThrow();
+        assertEquals(DEAD_LETTER_ACCOUNT_ID, deadLetter.getAcctId());
+        assertNotNull(deadLetter.getErrorMessage());
+        assertTrue(deadLetter.getEntryRecord().length > 0);
+        assertTrue(journalPostingPipeline.getMetrics().getLastAppliedSeq() >= deadLetter.getJournalSeq());
+        assertEquals(0, balance.compareTo(accountValue("acct_curr_bal", DEAD_LETTER_ACCOUNT_ID)));
+
+        // Later postings to the account apply, and are validated without the dead-lettered delta.
+        journalPostingPipeline.submit(DEAD_LETTER_ACCOUNT_ID, transaction("4111111111111111", "JP-AFTER-DL", "1.00"));
+        awaitTrue(() -> journalPostingPipeline.getMetrics().getApplyLag() == 0);
+        assertEquals(1, transactionCount("JP-AFTER-DL"));
+        assertEquals(0, balance.add(BigDecimal.ONE).compareTo(accountValue("acct_curr_bal", DEAD_LETTER_ACCOUNT_ID)));
+    }
+
+    @Test
+    void pendingDeltasAreCountedExactlyOnceWhileBatchesApply() {
+        // Seeded with a credit limit of 7500.00 and no cycle credit or debit: exactly the first 75 postings
+        // of 100.00 fit. SlowAfterCommit holds each batch between its commit and the pruning of its pending
+        // entries, so many postings are validated while a committed batch is both stored and still pending.
+        // Counting it twice would reject a posting early; missing it would accept one too many.
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            try {
+                journalPostingPipeline.submit(LIMIT_ACCOUNT_ID, transaction("4111111111111113", "JP-LIMIT-" + i, "100.00"));
+            } catch (IllegalArgumentException e) {
+                assertEquals("Transaction would exceed credit limit", e.getMessage());
+                rejected.add(i);
+            }
+        }
+        assertEquals(75, rejected.get(0));
+        assertEquals(25, rejected.size());
+
+        awaitTrue(() -> journalPostingPipeline.getMetrics().getApplyLag() == 0);
+        assertTrue(journalPostingPipeline.getMetrics().getApplyBatches() > 1);
+        assertEquals(0, new BigDecimal("7500.00").compareTo(accountValue("acct_curr_cyc_credit", LIMIT_ACCOUNT_ID)));
+        assertEquals(75, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction WHERE tran_id LIKE 'JP-LIMIT-%'", Integer.class));
+    }
+
+    /**
+     * Widens the window in which a committed batch's entries are still pending: the applier runs
+     * after-commit listeners before it prunes them.
+     */
+    @TestConfiguration
+    static class SlowAfterCommit {
+
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+        public void onTransactionsPosted(TransactionsPostedEvent event) throws InterruptedException {
+            if (event.getTransactions().stream().anyMatch(transaction -> transaction.getTranId().startsWith("JP-LIMIT-"))) {
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private BigDecimal accountValue(String column, Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM account WHERE acct_id = ?", BigDecimal.class,
+                accountId);
+    }
+
+    private int transactionCount(String tranId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction WHERE tran_id = ?", Integer.class, tranId);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the journal applier");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static Entry entry(Long accountId, String cardNum, String tranId, String amount) {
+        Transaction transaction = transaction(cardNum, tranId, amount);
+        return new Entry(accountId, transaction,
+                new AccountDelta(accountId, transaction.getTranAmt(), transaction.getTranAmt(), BigDecimal.ZERO));
+    }
+
+    private static Transaction transaction(String cardNum, String tranId, String amount) {
+        return new Transaction(tranId, "01", 1, "POS", "JOURNAL TEST", new BigDecimal(amount), 1001L,
+                "Merchant", "City", "10001", cardNum, "2024-05-01 10:00:00", "2024-05-01 10:00:00");
+    }
+}
@@ -0,0 +1,162 @@
+package com.modernized.services;
+
+import com.modernized.entities.Account;
+import com.modernized.services.MoneyKernel.AccountCents;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The batch money loops on MoneyKernel long cents against the same loops on the BigDecimal business
+ * rules: monthly interest over category balances (RULE-CALC-001, CBACT04C) and credit-limit checked
+ * postings to accounts (RULE-DECISION-002 and RULE-CALC-004, CBTRN02C). Each pair must produce the
+ * same totals, which also keeps the JIT from discarding either loop.
+ */
+@Tag("benchmark")
+class MoneyKernelBenchmark {
+
+    private static final long SEED = 20240131L;
+    private static final int BALANCES = 1_000_000;
+    private static final int ACCOUNTS = 1_000;
+    private static final int POSTINGS = 1_000_000;
+
+    private final InterestCalculationService interestCalculationService = new InterestCalculationService(null, null, null);
+    private final AccountValidationService accountValidationService = new AccountValidationService(null);
+
+    @Test
+    void monthlyInterestOnCentsAgainstBigDecimal() {
+        Random random = new Random(SEED);
+        long[] balanceCents = new long[BALANCES];
+        long[] rateHundredths = new long[BALANCES];
+        BigDecimal[] balances = new BigDecimal[BALANCES];
+        BigDecimal[] rates = new BigDecimal[BALANCES];
+        for (int i = 0; i < BALANCES; i++) {
+            balanceCents[i] = random.nextInt(2_000_000) - 100_000L;
+            rateHundredths[i] = 500 + random.nextInt(2_500);
+            balances[i] = MoneyKernel.toAmount(balanceCents[i]);
+            rates[i] = MoneyKernel.toAmount(rateHundredths[i]);
+        }
+
+        long[] kernelTotal = new long[1];
+        BigDecimal[] bigDecimalTotal = new BigDecimal[1];
+        Runnable kernel = () -> {
+            long total = 0;
+            for (int i = 0; i < BALANCES; i++) {
+                total = MoneyKernel.add(total, MoneyKernel.monthlyInterest(balanceCents[i], rateHundredths[i]));
+            }
+            kernelTotal[0] = total;
+        };
+        Runnable bigDecimal = () -> {
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < BALANCES; i++) {
+                total = total.add(interestCalculationService.calculateMonthlyInterest(balances[i], rates[i]));
+            }
+            bigDecimalTotal[0] = total;
+        };
+
+        compare("monthly interest", "balance", BALANCES, kernel, bigDecimal);
+        assertEquals(0, bigDecimalTotal[0].compareTo(MoneyKernel.toAmount(kernelTotal[0])));
+    }
+
+    @Test
+    void creditLimitCheckedPostingsOnCentsAgainstBigDecimal() {
+        Random random = new Random(SEED);
+        int[] accountIndexes = new int[POSTINGS];
+        long[] amountCents = new long[POSTINGS];
+        BigDecimal[] amounts = new BigDecimal[POSTINGS];
+        for (int i = 0; i < POSTINGS; i++) {
+            accountIndexes[i] = random.nextInt(ACCOUNTS);
+            amountCents[i] = random.nextInt(60_000) - 20_000L;
+            amounts[i] = MoneyKernel.toAmount(amountCents[i]);
+        }
+
+        long[] kernelResult = new long[2];
+        BigDecimal[] bigDecimalBalance = new BigDecimal[1];
+        long[] bigDecimalRejected = new long[1];
+        Runnable kernel = () -> {
+            AccountCents[] accounts = new AccountCents[ACCOUNTS];
+            for (int a = 0; a < ACCOUNTS; a++) {
+                accounts[a] = new AccountCents(account());
+            }
+            long rejected = 0;
+            for (int i = 0; i < POSTINGS; i++) {
+                AccountCents account = accounts[accountIndexes[i]];
+                if (account.withinCreditLimit(amountCents[i])) {
+                    account.post(amountCents[i]);
+                } else {
+                    rejected++;
+                }
+            }
+            long balance = 0;
+            for (AccountCents account : accounts) {
+                balance = MoneyKernel.add(balance, account.getBalance());
+            }
+            kernelResult[0] = balance;
+            kernelResult[1] = rejected;
+        };
+        Runnable bigDecimal = () -> {
+            Account[] accounts = new Account[ACCOUNTS];
+            for (int a = 0; a < ACCOUNTS; a++) {
+                accounts[a] = account();
+            }
+            long rejected = 0;
+            for (int i = 0; i < POSTINGS; i++) {
+                Account account = accounts[accountIndexes[i]];
+                BigDecimal amount = amounts[i];
+                if (accountValidationService.validateCreditLimit(account, amount)) {
+                    account.setAcctCurrBal(account.getAcctCurrBal().add(amount));
+                    if (amount.signum() >= 0) {
+                        account.setAcctCurrCycCredit(account.getAcctCurrCycCredit().add(amount));
+                    } else {
+                        account.setAcctCurrCycDebit(account.getAcctCurrCycDebit().add(amount));
+                    }
+                } else {
+                    rejected++;
+                }
+            }
+            BigDecimal balance = BigDecimal.ZERO;
+            for (Account account : accounts) {
+                balance = balance.add(account.getAcctCurrBal());
+            }
+            bigDecimalBalance[0] = balance;
+            bigDecimalRejected[0] = rejected;
+        };
+
+        compare("credit-limit checked posting", "posting", POSTINGS, kernel, bigDecimal);
+        assertEquals(0, bigDecimalBalance[0].compareTo(MoneyKernel.toAmount(kernelResult[0])));
+        assertEquals(bigDecimalRejected[0], kernelResult[1]);
+        assertTrue(kernelResult[1] > 0 && kernelResult[1] < POSTINGS, kernelResult[1] + " rejected");
+    }
+
+    private void compare(String benchmark, String unit, int operations, Runnable kernel, Runnable bigDecimal) {
+        double kernelNanos = BenchmarkSupport.bestMillis(10, kernel) * 1_000_000 / operations;
+        double bigDecimalNanos = BenchmarkSupport.bestMillis(10, bigDecimal) * 1_000_000 / operations;
+        double kernelBytes = allocatedBytes(kernel) / operations;
+        double bigDecimalBytes = allocatedBytes(bigDecimal) / operations;
+
+        BenchmarkSupport.report(benchmark + ", MoneyKernel", String.format("%.1f ns/%s, %.1f bytes allocated/%s",
+                kernelNanos, unit, kernelBytes, unit));
+        BenchmarkSupport.report(benchmark + ", BigDecimal", String.format("%.1f ns/%s, %.1f bytes allocated/%s",
+                bigDecimalNanos, unit, bigDecimalBytes, unit));
+        BenchmarkSupport.report(benchmark + " speedup", String.format("%.1fx", bigDecimalNanos / kernelNanos));
+        assertTrue(kernelBytes < 1, kernelBytes + " bytes allocated per " + unit);
+    }
+
+    private static double allocatedBytes(Runnable operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        operation.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static Account account() {
+        BigDecimal creditLimit = new BigDecimal("5000.00");
+        return new Account(12345678901L, "Y", BigDecimal.ZERO.setScale(2), creditLimit, creditLimit,
+                "2020-01-01", "2030-12-31", "2020-01-01", BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2),
+                "12345", "DEFAULT");
+    }
+}
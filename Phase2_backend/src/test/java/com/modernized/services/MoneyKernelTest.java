@@ -0,0 +1,149 @@
+package com.modernized.services;
+
+import com.modernized.entities.Account;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import com.modernized.services.MoneyKernel.AccountCents;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyKernelTest {
+
+    private static final long SEED = 20240131L;
+    private static final int SAMPLES = 100_000;
+
+    private final InterestCalculationService interestCalculationService = new InterestCalculationService(null, null, null);
+    private final AccountValidationService accountValidationService = new AccountValidationService(null);
+
+    @Test
+    void centsRoundTripThroughAmounts() {
+        for (String value : List.of("0", "0.00", "0.01", "-0.01", "12.3", "-12.30", "1500.00",
+                "999999999.99", "-999999999.99", "92233720368547758.07", "-92233720368547758.08")) {
+            BigDecimal amount = new BigDecimal(value);
+            long cents = MoneyKernel.toCents(amount);
+            assertEquals(0, amount.compareTo(MoneyKernel.toAmount(cents)), value);
+            assertEquals(2, MoneyKernel.toAmount(cents).scale());
+        }
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            long cents = random.nextLong();
+            assertEquals(cents, MoneyKernel.toCents(MoneyKernel.toAmount(cents)));
+        }
+    }
+
+    @Test
+    void toCentsRejectsMoreThanTwoDecimalsAndValuesOutOfRange() {
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.toCents(new BigDecimal("10.005")));
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.toCents(new BigDecimal("-0.001")));
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.toCents(new BigDecimal("92233720368547758.08")));
+        assertEquals(1000, MoneyKernel.toCents(new BigDecimal("10.000")));
+    }
+
+    @Test
+    void addAndSubtractMatchBigDecimalAndThrowOnOverflow() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            long a = random.nextInt() * 1000L + random.nextInt(1000);
+            long b = random.nextInt() * 1000L - random.nextInt(1000);
+            assertEquals(MoneyKernel.toAmount(a).add(MoneyKernel.toAmount(b)), MoneyKernel.toAmount(MoneyKernel.add(a, b)));
+            assertEquals(MoneyKernel.toAmount(a).subtract(MoneyKernel.toAmount(b)),
+                    MoneyKernel.toAmount(MoneyKernel.subtract(a, b)));
+        }
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.add(Long.MIN_VALUE, -1));
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.subtract(Long.MIN_VALUE, 1));
+        assertEquals(Long.MAX_VALUE, MoneyKernel.add(Long.MAX_VALUE - 1, 1));
+    }
+
+    @Test
+    void monthlyInterestRoundsHalfUpLikeBigDecimal() {
+        // 6.00 * 1.00 / 1200 = 0.005 and 18.00 * 1.00 / 1200 = 0.015: exact halves round away from zero.
+        assertMonthlyInterest("0.01", "6.00", "1.00");
+        assertMonthlyInterest("-0.01", "-6.00", "1.00");
+        assertMonthlyInterest("0.02", "18.00", "1.00");
+        assertMonthlyInterest("-0.02", "-18.00", "1.00");
+        // 5.99 * 1.00 / 1200 = 0.00499...: just below half rounds toward zero.
+        assertMonthlyInterest("0.00", "5.99", "1.00");
+        assertMonthlyInterest("0.00", "-5.99", "1.00");
+        assertMonthlyInterest("27.50", "1500.00", "22.00");
+        assertMonthlyInterest("-27.50", "-1500.00", "22.00");
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            long balanceCents = random.nextInt(200_000_000) - 100_000_000L;
+            long rateHundredths = random.nextInt(10_000);
+            BigDecimal expected = interestCalculationService.calculateMonthlyInterest(
+                    MoneyKernel.toAmount(balanceCents), MoneyKernel.toAmount(rateHundredths));
+            assertEquals(0, expected.compareTo(MoneyKernel.toAmount(MoneyKernel.monthlyInterest(balanceCents, rateHundredths))),
+                    balanceCents + " cents at " + rateHundredths);
+        }
+    }
+
+    @Test
+    void monthlyInterestThrowsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> MoneyKernel.monthlyInterest(Long.MAX_VALUE / 100, 9999));
+    }
+
+    @Test
+    void withinCreditLimitMatchesValidateCreditLimit() {
+        assertCreditLimit("1000.00", "200.00", "50.00", "850.00");
+        assertCreditLimit("1000.00", "200.00", "50.00", "850.01");
+        assertCreditLimit("1000.00", "200.00", "50.00", "-5000.00");
+        assertCreditLimit("0.00", "0.00", "0.00", "0.00");
+        assertCreditLimit("0.00", "0.00", "0.01", "0.01");
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            Account account = account(MoneyKernel.toAmount(random.nextInt(1_000_000)),
+                    MoneyKernel.toAmount(random.nextInt(1_000_000)), MoneyKernel.toAmount(-random.nextInt(1_000_000)));
+            BigDecimal amount = MoneyKernel.toAmount(random.nextInt(2_000_000) - 1_000_000L);
+            assertEquals(accountValidationService.validateCreditLimit(account, amount),
+                    new AccountCents(account).withinCreditLimit(MoneyKernel.toCents(amount)));
+        }
+    }
+
+    @Test
+    void accountCentsPostsLikeBigDecimalAndReportsOnlyTheChange() {
+        Account account = account(new BigDecimal("1000.00"), new BigDecimal("200.00"), new BigDecimal("-50.00"));
+        account.setAcctCurrBal(new BigDecimal("150.00"));
+        AccountCents cents = new AccountCents(account);
+        assertFalse(cents.isChanged());
+
+        cents.post(MoneyKernel.toCents(new BigDecimal("25.10")));
+        cents.post(MoneyKernel.toCents(new BigDecimal("-10.05")));
+        cents.addInterest(MoneyKernel.toCents(new BigDecimal("0.86")));
+        assertTrue(cents.isChanged());
+        assertEquals(16591, cents.getBalance());
+        assertEquals(22510, cents.getCycleCredit());
+        assertEquals(-6005, cents.getCycleDebit());
+
+        AccountDelta delta = cents.toDelta();
+        assertEquals(new BigDecimal("15.91"), delta.getBalance());
+        assertEquals(new BigDecimal("25.10"), delta.getCycleCredit());
+        assertEquals(new BigDecimal("-10.05"), delta.getCycleDebit());
+    }
+
+    private void assertMonthlyInterest(String expected, String balance, String rate) {
+        BigDecimal balanceAmount = new BigDecimal(balance);
+        BigDecimal rateAmount = new BigDecimal(rate);
+        assertEquals(new BigDecimal(expected), interestCalculationService.calculateMonthlyInterest(balanceAmount, rateAmount));
+        assertEquals(new BigDecimal(expected), MoneyKernel.toAmount(
+                MoneyKernel.monthlyInterest(MoneyKernel.toCents(balanceAmount), MoneyKernel.toCents(rateAmount))));
+    }
+
+    private void assertCreditLimit(String creditLimit, String cycleCredit, String cycleDebit, String amount) {
+        Account account = account(new BigDecimal(creditLimit), new BigDecimal(cycleCredit), new BigDecimal(cycleDebit));
+        BigDecimal transactionAmount = new BigDecimal(amount);
+        assertEquals(accountValidationService.validateCreditLimit(account, transactionAmount),
+                new AccountCents(account).withinCreditLimit(MoneyKernel.toCents(transactionAmount)),
+                creditLimit + " / " + cycleCredit + " / " + cycleDebit + " / " + amount);
+    }
+
+    private static Account account(BigDecimal creditLimit, BigDecimal cycleCredit, BigDecimal cycleDebit) {
+        return new Account(12345678901L, "Y", BigDecimal.ZERO.setScale(2), creditLimit, creditLimit,
+                "2020-01-01", "2030-12-31", "2020-01-01", cycleCredit, cycleDebit, "12345", "DEFAULT");
+    }
+}
@@ -0,0 +1,178 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import com.modernized.repositories.PostingJdbcRepository.AccountDelta;
+import com.modernized.services.PostingJournal.Entry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingJournalTest {
+
+    private static final Long ACCOUNT_ID = 12345678902L;
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void entriesAfterTheCheckpointAreReplayedAfterAnUncleanStop() throws IOException {
+        PostingJournal crashed = openJournal();
+        try {
+            for (int i = 1; i <= 3; i++) {
+                crashed.awaitSynced(crashed.append(entry("JT-REPLAY-" + i, i + ".00"), appended -> {}));
+            }
+
+            // The first journal is never shut down, as after a crash.
+            List<Entry> all = new ArrayList<>();
+            PostingJournal recovered = new PostingJournal(directory.toString(), SEGMENT_SIZE, 0);
+            assertEquals(3, recovered.recover(0, all::add));
+            assertEquals(List.of(1L, 2L, 3L), all.stream().map(Entry::getSeq).collect(Collectors.toList()));
+            Entry second = all.get(1);
+            assertEquals("JT-REPLAY-2", second.getTransaction().getTranId());
+            assertEquals(ACCOUNT_ID, second.getAccountId());
+            assertEquals(new BigDecimal("2.00"), second.getTransaction().getTranAmt());
+            assertEquals(new BigDecimal("2.00"), second.getDelta().getCycleCredit());
+            assertEquals(1001L, second.getTransaction().getTranMerchantId());
+
+            List<Entry> unapplied = new ArrayList<>();
+            PostingJournal afterCheckpoint = new PostingJournal(directory.toString(), SEGMENT_SIZE, 0);
+            assertEquals(3, afterCheckpoint.recover(2, unapplied::add));
+            assertEquals(List.of(3L), unapplied.stream().map(Entry::getSeq).collect(Collectors.toList()));
+
+            afterCheckpoint.open();
+            try {
+                assertEquals(4, afterCheckpoint.append(entry("JT-REPLAY-4", "4.00"), appended -> {}));
+            } finally {
+                afterCheckpoint.shutdown();
+            }
+        } finally {
+            crashed.shutdown();
+        }
+    }
+
+    @Test
+    void recoveryStopsAtATornRecordAndNewAppendsContinueAfterIt() throws IOException {
+        PostingJournal journal = openJournal();
+        for (int i = 1; i <= 3; i++) {
+            journal.awaitSynced(journal.append(entry("JT-TORN-" + i, "1.00"), appended -> {}));
+        }
+        journal.shutdown();
+
+        // Flip one payload byte of the last record, as if the crash hit in the middle of writing it.
+        Path segment = onlySegment();
+        int lastRecord = recordOffset(segment, 2);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(lastRecord + 20);
+            int value = file.read();
+            file.seek(lastRecord + 20);
+            file.write(value ^ 0xFF);
+        }
+
+        List<Entry> recovered = new ArrayList<>();
+        PostingJournal reopened = new PostingJournal(directory.toString(), SEGMENT_SIZE, 0);
+        assertEquals(2, reopened.recover(0, recovered::add));
+        assertEquals(List.of("JT-TORN-1", "JT-TORN-2"), tranIds(recovered));
+
+        // The torn sequence is handed out again, in a new segment that recovery reads after the torn one.
+        reopened.open();
+        try {
+            assertEquals(3, reopened.append(entry("JT-TORN-NEW", "1.00"), appended -> {}));
+        } finally {
+            reopened.shutdown();
+        }
+        List<Entry> afterAppend = new ArrayList<>();
+        new PostingJournal(directory.toString(), SEGMENT_SIZE, 0).recover(0, afterAppend::add);
+        assertEquals(List.of("JT-TORN-1", "JT-TORN-2", "JT-TORN-NEW"), tranIds(afterAppend));
+    }
+
+    @Test
+    void recoveryStopsAtARecordLongerThanTheSegment() throws IOException {
+        PostingJournal journal = openJournal();
+        for (int i = 1; i <= 2; i++) {
+            journal.awaitSynced(journal.append(entry("JT-LENGTH-" + i, "1.00"), appended -> {}));
+        }
+        journal.shutdown();
+
+        Path segment = onlySegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(recordOffset(segment, 1));
+            file.writeInt(SEGMENT_SIZE);
+        }
+
+        List<Entry> recovered = new ArrayList<>();
+        assertEquals(1, new PostingJournal(directory.toString(), SEGMENT_SIZE, 0).recover(0, recovered::add));
+        assertEquals(List.of("JT-LENGTH-1"), tranIds(recovered));
+    }
+
+    @Test
+    void appliedSegmentsAreReleasedAfterRolling() throws IOException {
+        PostingJournal journal = openJournal();
+        try {
+            long lastSeq = 0;
+            while (segments().size() < 3) {
+                lastSeq = journal.append(entry("JT-ROLL-" + lastSeq, "1.00"), appended -> {});
+            }
+            journal.awaitSynced(lastSeq);
+
+            journal.release(lastSeq);
+            assertEquals(1, segments().size());
+        } finally {
+            journal.shutdown();
+        }
+    }
+
+    private PostingJournal openJournal() throws IOException {
+        PostingJournal journal = new PostingJournal(directory.toString(), SEGMENT_SIZE, 0);
+        journal.recover(0, entry -> fail("Unexpected journal entry " + entry.getSeq()));
+        journal.open();
+        return journal;
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * File offset of the index-th record of a segment, following the record length headers.
+     */
+    private static int recordOffset(Path segment, int index) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            int offset = 0;
+            for (int i = 0; i < index; i++) {
+                file.seek(offset);
+                offset += 8 + file.readInt();
+            }
+            return offset;
+        }
+    }
+
+    private static List<String> tranIds(List<Entry> entries) {
+        return entries.stream().map(entry -> entry.getTransaction().getTranId()).collect(Collectors.toList());
+    }
+
+    private static Entry entry(String tranId, String amount) {
+        BigDecimal tranAmt = new BigDecimal(amount);
+        Transaction transaction = new Transaction(tranId, "01", 1, "POS", "JOURNAL TEST", tranAmt, 1001L,
+                "Merchant", "City", "10001", "4111111111111112", "2024-05-01 10:00:00", "2024-05-01 10:00:00");
+        return new Entry(ACCOUNT_ID, transaction, new AccountDelta(ACCOUNT_ID, tranAmt, tranAmt, BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,115 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportResultCacheTest {
+
+    private static final int RACE_ROUNDS = 2_000;
+
+    @Test
+    void postingDropsOnlyTheReportsCoveringItsDays() {
+        ReportResultCache cache = new ReportResultCache(64);
+        long sequence = cache.currentSequence();
+        assertTrue(cache.put("MONTHLY", "2024-01-01", "2024-01-31", "JAN", sequence));
+        assertTrue(cache.put("MONTHLY", "2024-02-01", "2024-02-29", "FEB", sequence));
+        assertTrue(cache.put("YEARLY", "2024-01-01", "2024-12-31", "YEAR", sequence));
+        assertTrue(cache.put("CUSTOM", "2024-01-31", "2024-02-01", "EDGES", sequence));
+
+        cache.onTransactionsPosted(posted("2024-02-01 00:00:00"));
+        assertEquals(Optional.of("JAN"), cache.find("MONTHLY", "2024-01-01", "2024-01-31"));
+        assertEquals(Optional.empty(), cache.find("MONTHLY", "2024-02-01", "2024-02-29"));
+        assertEquals(Optional.empty(), cache.find("YEARLY", "2024-01-01", "2024-12-31"));
+        assertEquals(Optional.empty(), cache.find("CUSTOM", "2024-01-31", "2024-02-01"));
+
+        // Postings without a usable origin date mark nothing.
+        long before = cache.currentSequence();
+        cache.onTransactionsPosted(posted(null, "2024"));
+        assertEquals(before, cache.currentSequence());
+        assertEquals(Optional.of("JAN"), cache.find("MONTHLY", "2024-01-01", "2024-01-31"));
+    }
+
+    @Test
+    void reportIsNotCachedIfAPostingLandedInItsRangeAfterItStartedReading() {
+        ReportResultCache cache = new ReportResultCache(64);
+        long readSequence = cache.currentSequence();
+        cache.onTransactionsPosted(posted("2024-03-10 12:00:00"));
+
+        assertFalse(cache.put("MONTHLY", "2024-03-01", "2024-03-31", "STALE", readSequence));
+        assertEquals(Optional.empty(), cache.find("MONTHLY", "2024-03-01", "2024-03-31"));
+        // The dirty day only blocks reports that cover it.
+        assertTrue(cache.put("MONTHLY", "2024-04-01", "2024-04-30", "APR", readSequence));
+
+        // A report that started reading after the posting saw it and may be cached.
+        assertTrue(cache.put("MONTHLY", "2024-03-01", "2024-03-31", "FRESH", cache.currentSequence()));
+        assertEquals(Optional.of("FRESH"), cache.find("MONTHLY", "2024-03-01", "2024-03-31"));
+    }
+
+    @Test
+    void postingRacingWithPutNeverLeavesTheReportCached() throws Exception {
+        ReportResultCache cache = new ReportResultCache(64);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < RACE_ROUNDS; round++) {
+                String jobId = "RACE-" + round;
+                long readSequence = cache.currentSequence();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> posting = executor.submit(() -> {
+                    start.await();
+                    cache.onTransactionsPosted(posted("2024-05-15 09:00:00"));
+                    return null;
+                });
+                Future<Boolean> put = executor.submit(() -> {
+                    start.await();
+                    return cache.put("MONTHLY", "2024-05-01", "2024-05-31", jobId, readSequence);
+                });
+                start.countDown();
+                posting.get(10, TimeUnit.SECONDS);
+                put.get(10, TimeUnit.SECONDS);
+                assertEquals(Optional.empty(), cache.find("MONTHLY", "2024-05-01", "2024-05-31"), jobId);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedReportIsEvictedAndADisabledCacheKeepsNothing() {
+        ReportResultCache cache = new ReportResultCache(2);
+        long sequence = cache.currentSequence();
+        cache.put("MONTHLY", "2024-01-01", "2024-01-31", "JAN", sequence);
+        cache.put("MONTHLY", "2024-02-01", "2024-02-29", "FEB", sequence);
+        assertEquals(Optional.of("JAN"), cache.find("MONTHLY", "2024-01-01", "2024-01-31"));
+        cache.put("MONTHLY", "2024-03-01", "2024-03-31", "MAR", sequence);
+        assertEquals(Optional.empty(), cache.find("MONTHLY", "2024-02-01", "2024-02-29"));
+        assertEquals(Optional.of("JAN"), cache.find("MONTHLY", "2024-01-01", "2024-01-31"));
+
+        cache.remove("MONTHLY", "2024-01-01", "2024-01-31");
+        assertEquals(Optional.empty(), cache.find("MONTHLY", "2024-01-01", "2024-01-31"));
+
+        ReportResultCache disabled = new ReportResultCache(0);
+        assertFalse(disabled.put("MONTHLY", "2024-01-01", "2024-01-31", "JAN", disabled.currentSequence()));
+        assertEquals(Optional.empty(), disabled.find("MONTHLY", "2024-01-01", "2024-01-31"));
+    }
+
+    private static TransactionsPostedEvent posted(String... origTimestamps) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (String origTs : Arrays.asList(origTimestamps)) {
+            transactions.add(new Transaction("RC-" + transactions.size(), "01", 1, "POS", "CACHE TEST",
+                    new BigDecimal("1.00"), 1001L, "M", "C", "10001", "4111111111111111", origTs, origTs));
+        }
+        return new TransactionsPostedEvent(transactions);
+    }
+}
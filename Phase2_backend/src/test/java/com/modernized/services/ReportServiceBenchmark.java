@@ -0,0 +1,133 @@
+package com.modernized.services;
+
+import com.modernized.entities.ReportJob;
+import com.modernized.repositories.ReportJdbcRepository;
+import com.modernized.repositories.ReportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Wall-clock time of a yearly report over ROWS generated transactions, read as one sequential
+ * range and as twelve month partitions on 1, 2 and 4 partition threads. Each run uses its own
+ * ReportService with the result cache disabled, so every submission scans the transactions.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.modernized=INFO"})
+class ReportServiceBenchmark {
+
+    private static final int ROWS = 1_200_000;
+    private static final int CARDS = 1_000;
+    private static final String ID_PREFIX = "BR";
+    private static final String CARD_NUM_SQL = "'4111111111' || LPAD(CAST(x AS VARCHAR), 6, '0')";
+    private static final LocalDate START_DATE = LocalDate.parse("2024-01-01");
+    private static final LocalDate END_DATE = LocalDate.parse("2024-12-31");
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private ReportJdbcRepository reportJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void generateTransactions() {
+        // One transaction every 26 seconds through 2024, over 1,000 cards and four categories.
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO card (card_num, card_acct_id, card_embossed_name, card_active_status, " +
+                "card_expiraion_date) SELECT " + CARD_NUM_SQL + ", 12345678901 + MOD(x, 3), 'Benchmark', 'Y', '12/2027' " +
+                "FROM SYSTEM_RANGE(0, " + (CARDS - 1) + ")");
+        jdbcTemplate.update("INSERT INTO transaction (tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, " +
+                "tran_desc, tran_amt, tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, " +
+                "tran_merchant_city, tran_merchant_zip) " +
+                "SELECT '" + ID_PREFIX + "' || LPAD(CAST(x AS VARCHAR), 10, '0'), " +
+                CARD_NUM_SQL.replace("x", "MOD(x, " + CARDS + ")") + ", '01', MOD(x, 4) + 1, 'POS', 'BENCHMARK', " +
+                "MOD(x, 10000) / 100.0, " +
+                "FORMATDATETIME(DATEADD('SECOND', x * 26, TIMESTAMP '2024-01-01 00:00:00'), 'yyyy-MM-dd HH:mm:ss'), " +
+                "'2024-12-31 23:59:59', 1001, 'M', 'C', '10001' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        BenchmarkSupport.report("loading " + ROWS + " transactions",
+                String.format("%.1f s", (System.nanoTime() - start) / 1e9));
+    }
+
+    @AfterEach
+    void deleteTransactions() {
+        for (int from = 0; from < ROWS; from += 100_000) {
+            jdbcTemplate.update("DELETE FROM transaction WHERE tran_id > ? AND tran_id <= ?",
+                    String.format("%s%010d", ID_PREFIX, from), String.format("%s%010d", ID_PREFIX, from + 100_000));
+        }
+        jdbcTemplate.update("DELETE FROM card WHERE card_embossed_name = 'Benchmark'");
+    }
+
+    @Test
+    void monthPartitionsAgainstASequentialScan() throws Exception {
+        byte[] sequentialReport = new byte[0];
+        double sequentialMillis = 0;
+        for (int partitionThreads : new int[] {0, 1, 2, 4}) {
+            ReportService reportService = new ReportService(reportJobRepository, reportJdbcRepository,
+                    new ReportResultCache(0), transactionManager, directory.toString(), 1, 4, false, partitionThreads);
+            try {
+                Path[] file = new Path[1];
+                double millis = BenchmarkSupport.bestMillis(3, () -> file[0] = runReport(reportService));
+                byte[] report = Files.readAllBytes(file[0]);
+                if (partitionThreads == 0) {
+                    sequentialReport = report;
+                    sequentialMillis = millis;
+                    BenchmarkSupport.report("yearly report, sequential scan, " + ROWS + " rows",
+                            String.format("%,.0f ms", millis));
+                } else {
+                    assertArrayEquals(sequentialReport, report);
+                    BenchmarkSupport.report("yearly report, 12 month partitions on " + partitionThreads + " threads, "
+                            + ROWS + " rows", String.format("%,.0f ms, %.2fx the sequential scan", millis,
+                            sequentialMillis / millis));
+                }
+            } finally {
+                reportService.shutdown();
+            }
+        }
+    }
+
+    private Path runReport(ReportService reportService) {
+        // H2 answers a repeated query from its previous result while none of the tables it reads has
+        // changed, so touch one row first, as a posting would between two real report runs.
+        jdbcTemplate.update("UPDATE transaction SET tran_proc_ts = tran_proc_ts WHERE tran_id = ?",
+                String.format("%s%010d", ID_PREFIX, 1));
+        ReportJob job = reportService.submit("CUSTOM", START_DATE, END_DATE);
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(10);
+        while (true) {
+            ReportJob found = reportService.findJob(job.getJobId()).orElseThrow();
+            if (found.getStatus() == ReportJob.Status.COMPLETED) {
+                assertEquals(ROWS + 4, found.getRowsRead());
+                return reportService.getReportFile(found);
+            }
+            assertNotEquals(ReportJob.Status.FAILED, found.getStatus(), found.getErrorMessage());
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for report " + job.getJobId());
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.modernized.services;
+
+import com.modernized.dto.RollupCheckResponse;
+import com.modernized.dto.RollupCheckResponse.Mismatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against its own in-memory database, so the rollup rows it corrupts are not read by other tests.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:rollupcheck")
+class RollupServiceTest {
+
+    // The seeded transactions T001 to T004 originate one per day on these dates.
+    private static final LocalDate FROM_DATE = LocalDate.parse("2024-01-15");
+    private static final LocalDate TO_DATE = LocalDate.parse("2024-01-18");
+    private static final Long ACCOUNT_ID = 12345678901L;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void checkReportsCorruptedMissingAndOrphanedRowsUntilTheDayIsRebuilt() {
+        rollupService.backfill(FROM_DATE, TO_DATE, true);
+        RollupCheckResponse clean = rollupService.check(FROM_DATE, TO_DATE);
+        assertTrue(clean.isConsistent());
+        assertEquals(4, clean.getDaysChecked());
+        assertEquals(4, clean.getGroupsChecked());
+
+        // T001: 85.50 of type 01, category 1 on 2024-01-15.
+        assertEquals(1, jdbcTemplate.update("UPDATE transaction_daily_rollup SET tran_amt = tran_amt + 1.00 " +
+                "WHERE rollup_date = '2024-01-15' AND acct_id = ?", ACCOUNT_ID));
+        RollupCheckResponse corrupted = rollupService.check(FROM_DATE, TO_DATE);
+        assertFalse(corrupted.isConsistent());
+        assertEquals(1, corrupted.getMismatchCount());
+        Mismatch mismatch = corrupted.getMismatches().get(0);
+        assertEquals("2024-01-15", mismatch.getRollupDate());
+        assertEquals(ACCOUNT_ID, mismatch.getAcctId());
+        assertEquals("01", mismatch.getTranTypeCd());
+        assertEquals(1, mismatch.getTranCatCd());
+        assertEquals(1, mismatch.getExpectedCount());
+        assertEquals(0, new BigDecimal("85.50").compareTo(mismatch.getExpectedAmt()));
+        assertEquals(1, mismatch.getRollupCount());
+        assertEquals(0, new BigDecimal("86.50").compareTo(mismatch.getRollupAmt()));
+
+        // T002's row goes missing and a row with no transactions behind it appears.
+        assertEquals(1, jdbcTemplate.update("DELETE FROM transaction_daily_rollup WHERE rollup_date = '2024-01-16'"));
+        jdbcTemplate.update("INSERT INTO transaction_daily_rollup (rollup_date, acct_id, tran_type_cd, tran_cat_cd, " +
+                "tran_count, tran_amt) VALUES ('2024-01-17', ?, '04', 7, 2, 30.00)", ACCOUNT_ID);
+        RollupCheckResponse damaged = rollupService.check(FROM_DATE, TO_DATE);
+        assertEquals(3, damaged.getMismatchCount());
+        Mismatch missing = mismatchOn(damaged, "2024-01-16");
+        assertEquals(1, missing.getExpectedCount());
+        assertEquals(0, new BigDecimal("45.00").compareTo(missing.getExpectedAmt()));
+        assertEquals(0, missing.getRollupCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(missing.getRollupAmt()));
+        Mismatch orphan = mismatchOn(damaged, "2024-01-17");
+        assertEquals("04", orphan.getTranTypeCd());
+        assertEquals(0, orphan.getExpectedCount());
+        assertEquals(2, orphan.getRollupCount());
+
+        // Checking a range without the damaged days finds nothing.
+        assertTrue(rollupService.check(TO_DATE, TO_DATE).isConsistent());
+
+        rollupService.backfill(FROM_DATE, TO_DATE, true);
+        assertTrue(rollupService.check(FROM_DATE, TO_DATE).isConsistent());
+    }
+
+    private static Mismatch mismatchOn(RollupCheckResponse response, String rollupDate) {
+        return response.getMismatches().stream()
+                .filter(mismatch -> rollupDate.equals(mismatch.getRollupDate()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No mismatch on " + rollupDate));
+    }
+}
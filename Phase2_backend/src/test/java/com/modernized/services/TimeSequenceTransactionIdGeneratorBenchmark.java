@@ -0,0 +1,49 @@
+package com.modernized.services;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("benchmark")
+class TimeSequenceTransactionIdGeneratorBenchmark {
+
+    private static final int IDS = 1_600_000;
+
+    @Test
+    void throughputAcrossThreads() throws Exception {
+        for (int threads : new int[] {1, 8, 64}) {
+            TimeSequenceTransactionIdGenerator generator = new TimeSequenceTransactionIdGenerator(1);
+            double idsPerSecond = BenchmarkSupport.throughput(threads, IDS / threads, generator::nextId);
+            BenchmarkSupport.report("TimeSequenceTransactionIdGenerator.nextId " + threads + " threads",
+                    String.format("%,.0f ids/s", idsPerSecond));
+        }
+    }
+
+    @Test
+    void idsFromTwoNodesUnderContentionAreUnique() throws Exception {
+        TimeSequenceTransactionIdGenerator first = new TimeSequenceTransactionIdGenerator(1);
+        TimeSequenceTransactionIdGenerator second = new TimeSequenceTransactionIdGenerator(2);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        Set<String> duplicates = ConcurrentHashMap.newKeySet();
+        int threads = 64;
+        int idsPerThread = 10_000;
+        BenchmarkSupport.throughput(threads, idsPerThread, () -> {
+            String id = (Thread.currentThread().getId() % 2 == 0 ? first : second).nextId();
+            if (!ids.add(id)) {
+                duplicates.add(id);
+            }
+        });
+        // throughput() runs the operation twice over: one warm-up and one timed pass.
+        assertEquals(2 * threads * idsPerThread, ids.size());
+        assertTrue(duplicates.isEmpty(), duplicates.size() + " duplicate IDs");
+
+        // The previous "T" + System.currentTimeMillis() scheme, for comparison.
+        Set<String> millisIds = ConcurrentHashMap.newKeySet();
+        BenchmarkSupport.throughput(threads, idsPerThread, () -> millisIds.add("T" + System.currentTimeMillis()));
+        BenchmarkSupport.report("unique IDs from " + 2 * threads * idsPerThread + " generated",
+                String.format("time/sequence %,d, currentTimeMillis %,d", ids.size(), millisIds.size()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.modernized.services;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSequenceTransactionIdGeneratorTest {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final long NOW = EPOCH_MILLIS + 86_400_000L;
+
+    @Test
+    void idsFromManyThreadsAreUniqueAndIncreasePerThread() throws Exception {
+        TimeSequenceTransactionIdGenerator generator = new TimeSequenceTransactionIdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 20_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<String> generated = new ArrayList<>(idsPerThread);
+                    for (int i = 0; i < idsPerThread; i++) {
+                        generated.add(generator.nextId());
+                    }
+                    return generated;
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<String>> result : results) {
+                List<String> generated = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < generated.size(); i++) {
+                    String id = generated.get(i);
+                    assertEquals(14, id.length());
+                    assertEquals(7, node(id));
+                    if (i > 0) {
+                        assertTrue(id.compareTo(generated.get(i - 1)) > 0,
+                                generated.get(i - 1) + " is not before " + id);
+                    }
+                    ids.add(id);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @Test
+    void exhaustedSequenceRollsOverIntoTheNextMillisecond() {
+        TimeSequenceTransactionIdGenerator generator = new TimeSequenceTransactionIdGenerator(1, () -> NOW);
+
+        String previous = null;
+        for (int i = 0; i < 4096; i++) {
+            String id = generator.nextId();
+            assertEquals(NOW - EPOCH_MILLIS, timestamp(id));
+            assertEquals(i, sequence(id));
+            if (previous != null) {
+                assertTrue(id.compareTo(previous) > 0);
+            }
+            previous = id;
+        }
+
+        String rolledOver = generator.nextId();
+        assertEquals(NOW - EPOCH_MILLIS + 1, timestamp(rolledOver));
+        assertEquals(0, sequence(rolledOver));
+        assertEquals(1, node(rolledOver));
+        assertTrue(rolledOver.compareTo(previous) > 0);
+    }
+
+    @Test
+    void clockRegressionKeepsCountingFromTheLastId() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeSequenceTransactionIdGenerator generator = new TimeSequenceTransactionIdGenerator(0, clock::get);
+
+        String beforeRegression = generator.nextId();
+        clock.set(NOW - 5_000);
+        String afterRegression = generator.nextId();
+        String later = generator.nextId();
+
+        assertTrue(afterRegression.compareTo(beforeRegression) > 0);
+        assertTrue(later.compareTo(afterRegression) > 0);
+        assertEquals(NOW - EPOCH_MILLIS, timestamp(afterRegression));
+        assertEquals(1, sequence(afterRegression));
+        assertEquals(2, sequence(later));
+
+        clock.set(NOW + 10);
+        String recovered = generator.nextId();
+        assertEquals(NOW - EPOCH_MILLIS + 10, timestamp(recovered));
+        assertEquals(0, sequence(recovered));
+    }
+
+    @Test
+    void nodeIdOutsideTenBitsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeSequenceTransactionIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TimeSequenceTransactionIdGenerator(1024));
+    }
+
+    private static long decode(String id) {
+        assertEquals('T', id.charAt(0));
+        return Long.parseLong(id.substring(1), 36);
+    }
+
+    private static long timestamp(String id) {
+        return decode(id) >>> 22;
+    }
+
+    private static long node(String id) {
+        return (decode(id) >>> 12) & 1023;
+    }
+
+    private static long sequence(String id) {
+        return decode(id) & 4095;
+    }
+}
@@ -0,0 +1,80 @@
+package com.modernized.services;
+
+import com.modernized.controllers.TransactionController;
+import com.modernized.dto.CursorPagedResponse;
+import com.modernized.dto.TransactionResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GET /api/transactions/cursor over ROWS generated transactions, timed for next and prev pages
+ * half-way through the list. H2 result reuse is switched off so every call reads the index.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:listpages;OPTIMIZE_REUSE_RESULTS=FALSE",
+        "spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO", "logging.level.com.modernized=INFO"})
+class TransactionCursorBenchmark {
+
+    private static final int ROWS = 300_000;
+    private static final String ID_PREFIX = "BL";
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void generateTransactions() {
+        // Two transactions a second, so some share an origin timestamp and are ordered by ID.
+        jdbcTemplate.update("INSERT INTO transaction (tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, " +
+                "tran_desc, tran_amt, tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, " +
+                "tran_merchant_city, tran_merchant_zip) " +
+                "SELECT '" + ID_PREFIX + "' || LPAD(CAST(x AS VARCHAR), 10, '0'), '411111111111111' || (MOD(x, 3) + 1), " +
+                "'01', 1, 'POS', 'BENCHMARK', 1.00, " +
+                "FORMATDATETIME(DATEADD('SECOND', x / 2, TIMESTAMP '2024-03-01 00:00:00'), 'yyyy-MM-dd HH:mm:ss'), " +
+                "'2024-03-01 00:00:00', 1001, 'M', 'C', '10001' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+    }
+
+    @AfterEach
+    void deleteTransactions() {
+        for (int from = 0; from < ROWS; from += 100_000) {
+            jdbcTemplate.update("DELETE FROM transaction WHERE tran_id > ? AND tran_id <= ?",
+                    String.format("%s%010d", ID_PREFIX, from), String.format("%s%010d", ID_PREFIX, from + 100_000));
+        }
+    }
+
+    @Test
+    void nextAndPrevPagesInTheMiddleOfTheList() {
+        String cursor = null;
+        for (int i = 0; i < ROWS / 2 / 100; i++) {
+            cursor = page(cursor, 100).getNextCursor();
+        }
+        String deep = cursor;
+        CursorPagedResponse<TransactionResponse> deepPage = page(deep, 10);
+        String back = deepPage.getPrevCursor();
+        CursorPagedResponse<TransactionResponse> backPage = page(back, 10);
+        assertEquals(deepPage.getContent().get(0).getTranId(),
+                String.format("%s%010d", ID_PREFIX, Integer.parseInt(backPage.getContent().get(9).getTranId().substring(2)) + 1));
+
+        long[] next = BenchmarkSupport.latencies(1_000, () -> assertEquals(10, page(deep, 10).getContent().size()));
+        long[] prev = BenchmarkSupport.latencies(1_000, () -> assertEquals(10, page(back, 10).getContent().size()));
+        BenchmarkSupport.report("page of 10 at the middle of " + ROWS + " transactions, next cursor",
+                BenchmarkSupport.summary(next));
+        BenchmarkSupport.report("page of 10 at the middle of " + ROWS + " transactions, prev cursor",
+                BenchmarkSupport.summary(prev));
+
+        assertTrue(BenchmarkSupport.percentileMillis(prev, 95) < 10);
+    }
+
+    private CursorPagedResponse<TransactionResponse> page(String cursor, int size) {
+        return transactionController.getTransactionsByCursor(cursor, size).getBody();
+    }
+}
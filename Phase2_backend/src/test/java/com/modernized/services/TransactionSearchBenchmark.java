@@ -0,0 +1,89 @@
+package com.modernized.services;
+
+import com.modernized.entities.Transaction;
+import com.modernized.repositories.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transaction ID search as issued by GET /api/transactions, over a table of ROWS generated transactions.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.modernized=INFO"})
+class TransactionSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final String ID_PREFIX = "BS";
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("tranId"));
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void generateTransactions() {
+        // IDs BS0000000001 .. BS0001000000 spread over the seeded cards.
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO transaction (tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, " +
+                "tran_desc, tran_amt, tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, " +
+                "tran_merchant_city, tran_merchant_zip) " +
+                "SELECT '" + ID_PREFIX + "' || LPAD(CAST(x AS VARCHAR), 10, '0'), '411111111111111' || (MOD(x, 3) + 1), " +
+                "'01', 1, 'POS', 'BENCHMARK', 1.00, '2024-02-01 10:00:00', '2024-02-01 10:00:00', 1001, 'M', 'C', " +
+                "'10001' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        BenchmarkSupport.report("loading " + ROWS + " transactions",
+                String.format("%.1f s", (System.nanoTime() - start) / 1e9));
+    }
+
+    @AfterEach
+    void deleteTransactions() {
+        for (int from = 0; from < ROWS; from += 100_000) {
+            jdbcTemplate.update("DELETE FROM transaction WHERE tran_id > ? AND tran_id <= ?",
+                    String.format("%s%010d", ID_PREFIX, from), String.format("%s%010d", ID_PREFIX, from + 100_000));
+        }
+    }
+
+    @Test
+    void prefixSearchStaysUnderTenMilliseconds() {
+        long[] exact = BenchmarkSupport.latencies(1_000, () ->
+                assertEquals(1, transactionRepository.findByTranIdStartingWith(randomId(), FIRST_PAGE).getTotalElements()));
+        long[] tenMatches = BenchmarkSupport.latencies(1_000, () -> {
+            String id = randomId();
+            Page<Transaction> page = transactionRepository.findByTranIdStartingWith(id.substring(0, id.length() - 1), FIRST_PAGE);
+            assertFalse(page.isEmpty());
+        });
+        long[] thousandMatches = BenchmarkSupport.latencies(1_000, () -> {
+            String id = randomId();
+            transactionRepository.findByTranIdStartingWith(id.substring(0, id.length() - 3), FIRST_PAGE);
+        });
+        BenchmarkSupport.report("PREFIX search, full ID, " + ROWS + " rows", BenchmarkSupport.summary(exact));
+        BenchmarkSupport.report("PREFIX search, up to 10 matches, " + ROWS + " rows", BenchmarkSupport.summary(tenMatches));
+        BenchmarkSupport.report("PREFIX search, up to 1000 matches, " + ROWS + " rows",
+                BenchmarkSupport.summary(thousandMatches));
+
+        long[] contains = BenchmarkSupport.latencies(5, () -> transactionRepository.findByTranIdContaining(
+                randomId().substring(ID_PREFIX.length()), FIRST_PAGE));
+        BenchmarkSupport.report("CONTAINS search, " + ROWS + " rows", BenchmarkSupport.summary(contains));
+
+        assertTrue(BenchmarkSupport.percentileMillis(exact, 95) < 10);
+        assertTrue(BenchmarkSupport.percentileMillis(tenMatches, 95) < 10);
+    }
+
+    private static String randomId() {
+        return String.format("%s%010d", ID_PREFIX, ThreadLocalRandom.current().nextInt(1, ROWS + 1));
+    }
+}
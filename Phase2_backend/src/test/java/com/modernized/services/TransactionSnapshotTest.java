@@ -0,0 +1,72 @@
+package com.modernized.services;
+
+import com.modernized.controllers.GlobalExceptionHandler.ConflictException;
+import com.modernized.dto.TransactionAnalyticsResponse;
+import com.modernized.entities.Transaction;
+import com.modernized.services.TransactionSnapshot.GroupBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against its own in-memory database, so the snapshot's row counts only change with this test's postings.
+ */
+@SpringBootTest(properties = {"carddemo.analytics.enabled=true", "spring.datasource.url=jdbc:h2:mem:snapshot"})
+class TransactionSnapshotTest {
+
+    @Autowired
+    private TransactionSnapshot transactionSnapshot;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batchThatFailsToAppendIsDroppedAndQueriesConflictUntilReload() {
+        assertEquals(storedCount(), aggregate().getRowsScanned());
+        long rows = aggregate().getRowsScanned();
+
+        // A third decimal cannot be held in cents, so the second posting of the batch fails to append.
+        transactionSnapshot.onTransactionsPosted(new TransactionsPostedEvent(List.of(
+                transaction("SN-GOOD-1", "10.00"), transaction("SN-BAD-1", "10.005"))));
+        assertTrue(transactionSnapshot.isStale());
+        assertEquals(1, transactionSnapshot.getAppendFailures());
+        assertThrows(ConflictException.class, this::aggregate);
+
+        // Later batches are not appended to a stale snapshot; the reload reads them from the table.
+        transactionSnapshot.onTransactionsPosted(new TransactionsPostedEvent(List.of(transaction("SN-GOOD-2", "5.00"))));
+        assertThrows(ConflictException.class, this::aggregate);
+        jdbcTemplate.update("INSERT INTO transaction (tran_id, tran_card_num, tran_type_cd, tran_cat_cd, tran_source, " +
+                "tran_desc, tran_amt, tran_orig_ts, tran_proc_ts, tran_merchant_id, tran_merchant_name, " +
+                "tran_merchant_city, tran_merchant_zip) VALUES ('SN-GOOD-2', '4111111111111112', '01', 1, 'POS', " +
+                "'SNAPSHOT TEST', 5.00, '2024-05-01 10:00:00', '2024-05-01 10:00:00', 1001, 'M', 'C', '10001')");
+
+        assertEquals(rows + 1, transactionSnapshot.reload());
+        assertFalse(transactionSnapshot.isStale());
+        TransactionAnalyticsResponse reloaded = aggregate();
+        assertEquals(storedCount(), reloaded.getRowsScanned());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT SUM(tran_amt) FROM transaction", BigDecimal.class)
+                .compareTo(reloaded.getTotalAmt()));
+
+        transactionSnapshot.onTransactionsPosted(new TransactionsPostedEvent(List.of(transaction("SN-GOOD-3", "1.00"))));
+        assertEquals(rows + 2, aggregate().getRowsScanned());
+        assertEquals(1, transactionSnapshot.getAppendFailures());
+    }
+
+    private TransactionAnalyticsResponse aggregate() {
+        return transactionSnapshot.aggregate(GroupBy.CATEGORY, null, null, 100);
+    }
+
+    private long storedCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction", Long.class);
+    }
+
+    private static Transaction transaction(String tranId, String amount) {
+        return new Transaction(tranId, "01", 1, "POS", "SNAPSHOT TEST", new BigDecimal(amount), 1001L,
+                "M", "C", "10001", "4111111111111112", "2024-05-01 10:00:00", "2024-05-01 10:00:00");
+    }
+}